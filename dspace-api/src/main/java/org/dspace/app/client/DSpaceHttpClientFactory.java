@@ -10,6 +10,7 @@ package org.dspace.app.client;
 import static org.apache.commons.collections4.ListUtils.emptyIfNull;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.http.HttpRequestInterceptor;
 import org.apache.http.HttpResponseInterceptor;
@@ -17,6 +18,7 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.utils.DSpace;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +31,13 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class DSpaceHttpClientFactory {
 
+    /**
+     * The pool for the requests to external services.
+     */
+    public static final String EXTERNAL_POOL = "external";
+
+    private static final String POOL_BEAN_SUFFIX = "HttpConnectionPoolService";
+
     @Autowired
     private ConfigurationService configurationService;
 
@@ -41,6 +50,12 @@ public class DSpaceHttpClientFactory {
     @Autowired(required = false)
     private List<HttpResponseInterceptor> responseInterceptors;
 
+    /**
+     * The connection pools, by bean name.
+     */
+    @Autowired(required = false)
+    private Map<String, HttpConnectionPoolService> connectionPools;
+
     /**
      * Get an instance of {@link DSpaceHttpClientFactory} from the Spring context.
      * @return the bean instance
@@ -109,6 +124,23 @@ public class DSpaceHttpClientFactory {
         return build(httpClientBuilder, true);
     }
 
+    /**
+     * Get an instance of {@link HttpClient} using the connections of the named
+     * pool, i.e. of the {@link HttpConnectionPoolService} bean named
+     * {@code <poolName>HttpConnectionPoolService}. The connections are kept
+     * alive and reused across the requests, and closing the client does not
+     * close the pool. If no such pool is defined, a client with its own
+     * connections is built.
+     *
+     * @param  poolName the name of the pool
+     * @return          the client
+     */
+    public CloseableHttpClient buildPooled(String poolName) {
+        HttpConnectionPoolService pool = connectionPools != null
+            ? connectionPools.get(poolName + POOL_BEAN_SUFFIX) : null;
+        return pool != null ? pool.getClient() : build();
+    }
+
     private CloseableHttpClient build(HttpClientBuilder clientBuilder, boolean setProxy) {
         if (setProxy) {
             clientBuilder.setRoutePlanner(proxyRoutePlanner);
@@ -15,6 +15,7 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
@@ -28,8 +29,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -38,6 +41,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.itemexport.service.ItemExportService;
 import org.dspace.content.Bitstream;
+import org.dspace.content.BitstreamFormat;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
@@ -90,6 +94,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class ItemExportServiceImpl implements ItemExportService {
     protected final int SUBDIR_LIMIT = 0;
 
+    /**
+     * Size of the buffer between the zip archive and the stream it is written to
+     */
+    protected static final int ZIP_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Formats stored without compression in zip exports, unless configured otherwise
+     */
+    protected static final String[] DEFAULT_STORED_MIMETYPES = {
+        "image/jpeg", "image/png", "image/gif", "image/jp2", "image/webp", "audio/*", "video/*",
+        "application/zip", "application/gzip", "application/x-gzip", "application/x-7z-compressed",
+        "application/vnd.openxmlformats-officedocument.*", "application/vnd.oasis.opendocument.*"
+    };
+
     @Autowired(required = true)
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
@@ -200,15 +218,38 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, Item i, File destDir, boolean migrate)
         throws Exception {
+        // Save each of the schemas into it's own metadata file
+        for (String schema : getMetadataSchemas(i)) {
+            writeMetadata(c, schema, i, destDir, migrate);
+        }
+    }
+
+    /**
+     * Discover the different schemas in use by the metadata of an item.
+     *
+     * @param i DSpace Item
+     * @return the names of the schemas
+     */
+    protected Set<String> getMetadataSchemas(Item i) {
         Set<String> schemas = new HashSet<>();
         List<MetadataValue> dcValues = itemService.getMetadata(i, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
         for (MetadataValue metadataValue : dcValues) {
             schemas.add(metadataValue.getMetadataField().getMetadataSchema().getName());
         }
+        return schemas;
+    }
 
-        // Save each of the schemas into it's own metadata file
-        for (String schema : schemas) {
-            writeMetadata(c, schema, i, destDir, migrate);
+    /**
+     * Get the name of the metadata file of a schema.
+     *
+     * @param schema schema
+     * @return dublin_core.xml for the DC schema, metadata_[schema].xml for the others
+     */
+    protected String getMetadataFileName(String schema) {
+        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
+            return "dublin_core.xml";
+        } else {
+            return "metadata_" + schema + ".xml";
         }
     }
 
@@ -224,101 +265,106 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, String schema, Item i,
                                  File destDir, boolean migrate) throws Exception {
-        String filename;
-        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
-            filename = "dublin_core.xml";
-        } else {
-            filename = "metadata_" + schema + ".xml";
-        }
-
-        File outFile = new File(destDir, filename);
+        File outFile = new File(destDir, getMetadataFileName(schema));
 
         logInfo("Attempting to create file " + outFile);
 
         if (outFile.createNewFile()) {
-            BufferedOutputStream out = new BufferedOutputStream(
-                new FileOutputStream(outFile));
+            try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(outFile))) {
+                writeMetadata(c, schema, i, out, migrate);
+            }
+        } else {
+            throw new Exception("Cannot create dublin_core.xml in " + destDir);
+        }
+    }
 
-            List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
-                                                                      Item.ANY);
+    /**
+     * Write the item's metadata of a schema as a dublin core XML document
+     *
+     * @param c       DSpace context
+     * @param schema  schema
+     * @param i       DSpace Item
+     * @param out     the stream to write the document to, left open
+     * @param migrate Whether to use the migrate option or not
+     * @throws Exception if error
+     */
+    protected void writeMetadata(Context c, String schema, Item i,
+                                 OutputStream out, boolean migrate) throws Exception {
+        List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
+                                                                  Item.ANY);
 
-            // XML preamble
-            byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
-                .getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+        // XML preamble
+        byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
+            .getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
-            utf8 = dcTag.getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+        String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
+        utf8 = dcTag.getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            String dateIssued = null;
-            String dateAccessioned = null;
+        String dateIssued = null;
+        String dateAccessioned = null;
 
-            for (MetadataValue dcv : dcorevalues) {
-                MetadataField metadataField = dcv.getMetadataField();
-                String qualifier = metadataField.getQualifier();
+        for (MetadataValue dcv : dcorevalues) {
+            MetadataField metadataField = dcv.getMetadataField();
+            String qualifier = metadataField.getQualifier();
 
-                if (qualifier == null) {
-                    qualifier = "none";
-                }
+            if (qualifier == null) {
+                qualifier = "none";
+            }
 
-                String language = dcv.getLanguage();
+            String language = dcv.getLanguage();
 
-                if (language != null) {
-                    language = " language=\"" + language + "\"";
-                } else {
-                    language = "";
-                }
+            if (language != null) {
+                language = " language=\"" + language + "\"";
+            } else {
+                language = "";
+            }
 
-                utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
-                    + "qualifier=\"" + qualifier + "\""
-                    + language + ">"
-                    + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-
-                if (!migrate ||
-                    (migrate && !(
-                        ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
-                            ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
-                                (dcv.getValue() != null && dcv.getValue().startsWith(
-                                    handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
-                            ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
-                    out.write(utf8, 0, utf8.length);
-                }
+            utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
+                + "qualifier=\"" + qualifier + "\""
+                + language + ">"
+                + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
+                .getBytes("UTF-8");
 
-                // Store the date issued and accession to see if they are different
-                // because we need to keep date.issued if they are, when migrating
-                if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
-                    dateIssued = dcv.getValue();
-                }
-                if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
-                    dateAccessioned = dcv.getValue();
-                }
+            if (!migrate ||
+                (migrate && !(
+                    ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
+                        ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
+                            (dcv.getValue() != null && dcv.getValue().startsWith(
+                                handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
+                        ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
+                out.write(utf8, 0, utf8.length);
             }
 
-            // When migrating, only keep date.issued if it is different to date.accessioned
-            if (migrate &&
-                (dateIssued != null) &&
-                (dateAccessioned != null) &&
-                !dateIssued.equals(dateAccessioned)) {
-                utf8 = ("  <dcvalue element=\"date\" "
-                    + "qualifier=\"issued\">"
-                    + Utils.addEntities(dateIssued) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-                out.write(utf8, 0, utf8.length);
+            // Store the date issued and accession to see if they are different
+            // because we need to keep date.issued if they are, when migrating
+            if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
+                dateIssued = dcv.getValue();
             }
+            if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
+                dateAccessioned = dcv.getValue();
+            }
+        }
 
-            utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        // When migrating, only keep date.issued if it is different to date.accessioned
+        if (migrate &&
+            (dateIssued != null) &&
+            (dateAccessioned != null) &&
+            !dateIssued.equals(dateAccessioned)) {
+            utf8 = ("  <dcvalue element=\"date\" "
+                + "qualifier=\"issued\">"
+                + Utils.addEntities(dateIssued) + "</dcvalue>\n")
+                .getBytes("UTF-8");
             out.write(utf8, 0, utf8.length);
-
-            out.close();
-        } else {
-            throw new Exception("Cannot create dublin_core.xml in " + destDir);
         }
+
+        utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
     }
 
     /**
@@ -364,13 +410,8 @@ public class ItemExportServiceImpl implements ItemExportService {
         File outFile = new File(destDir, "collections");
         if (outFile.createNewFile()) {
             try (PrintWriter out = new PrintWriter(new FileWriter(outFile))) {
-                String ownerHandle = item.getOwningCollection().getHandle();
-                out.println(ownerHandle);
-                for (Collection collection : item.getCollections()) {
-                    String collectionHandle = collection.getHandle();
-                    if (!collectionHandle.equals(ownerHandle)) {
-                        out.println(collectionHandle);
-                    }
+                for (String collectionHandle : getCollectionHandles(item)) {
+                    out.println(collectionHandle);
                 }
             }
         } else {
@@ -378,6 +419,26 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * List handles of all Collections which contain this Item.  The "owning"
+     * Collection is listed first.
+     *
+     * @param item list collections holding this Item.
+     * @return the handles of the collections
+     */
+    protected List<String> getCollectionHandles(Item item) {
+        List<String> handles = new ArrayList<>();
+        String ownerHandle = item.getOwningCollection().getHandle();
+        handles.add(ownerHandle);
+        for (Collection collection : item.getCollections()) {
+            String collectionHandle = collection.getHandle();
+            if (!collectionHandle.equals(ownerHandle)) {
+                handles.add(collectionHandle);
+            }
+        }
+        return handles;
+    }
+
     /**
      * Create both the bitstreams and the contents file. Any bitstreams that
      * were originally registered will be marked in the contents file as such.
@@ -404,24 +465,10 @@ public class ItemExportServiceImpl implements ItemExportService {
                 // bundles can have multiple bitstreams now...
                 List<Bitstream> bitstreams = bundle.getBitstreams();
 
-                String bundleName = bundle.getName();
-
                 for (Bitstream bitstream : bitstreams) {
                     String myName = bitstream.getName();
                     String oldName = myName;
 
-                    String description = bitstream.getDescription();
-                    if (!StringUtils.isEmpty(description)) {
-                        description = "\tdescription:" + description;
-                    } else {
-                        description = "";
-                    }
-
-                    String primary = "";
-                    if (bitstream.equals(bundle.getPrimaryBitstream())) {
-                        primary = "\tprimary:true ";
-                    }
-
                     int myPrefix = 1; // only used with name conflict
 
                     boolean isDone = false; // done when bitstream is finally
@@ -460,16 +507,7 @@ public class ItemExportServiceImpl implements ItemExportService {
                     }
 
                     // write the manifest file entry
-                    if (bitstreamService.isRegisteredBitstream(bitstream)) {
-                        out.println("-r -s " + bitstream.getStoreNumber()
-                                        + " -f " + myName +
-                                        "\tbundle:" + bundleName +
-                                        primary + description);
-                    } else {
-                        out.println(myName + "\tbundle:" + bundleName +
-                                        primary + description);
-                    }
-
+                    out.println(getContentsEntry(bundle, bitstream, myName));
                 }
             }
 
@@ -480,37 +518,194 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * Build the line of the contents file describing a bitstream. Bitstreams
+     * that were originally registered are marked as such.
+     *
+     * @param bundle    the bundle of the bitstream
+     * @param bitstream the bitstream
+     * @param fileName  the name of the exported file of the bitstream
+     * @return the line of the contents file
+     */
+    protected String getContentsEntry(Bundle bundle, Bitstream bitstream, String fileName) {
+        String description = bitstream.getDescription();
+        if (!StringUtils.isEmpty(description)) {
+            description = "\tdescription:" + description;
+        } else {
+            description = "";
+        }
+
+        String primary = "";
+        if (bitstream.equals(bundle.getPrimaryBitstream())) {
+            primary = "\tprimary:true ";
+        }
+
+        if (bitstreamService.isRegisteredBitstream(bitstream)) {
+            return "-r -s " + bitstream.getStoreNumber() + " -f " + fileName
+                + "\tbundle:" + bundle.getName() + primary + description;
+        } else {
+            return fileName + "\tbundle:" + bundle.getName() + primary + description;
+        }
+    }
+
     @Override
     public void exportAsZip(Context context, Iterator<Item> items,
                             String destDirName, String zipFileName,
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception {
-        String workDir = getExportWorkDirectory() +
-            System.getProperty("file.separator") +
-            zipFileName;
-
-        File wkDir = new File(workDir);
-        if (!wkDir.exists() && !wkDir.mkdirs()) {
-            logError("Unable to create working directory");
-        }
-
         File dnDir = new File(destDirName);
         if (!dnDir.exists() && !dnDir.mkdirs()) {
             logError("Unable to create destination directory");
         }
 
-        try {
-            // export the items using normal export method (this exports items to our workDir)
-            exportItem(context, items, workDir, seqStart, migrate, excludeBitstreams);
+        // stream the items straight into the zip file, without exporting them to a work directory first
+        File tempFile = new File(destDirName + System.getProperty("file.separator") + zipFileName + "_tmp");
+        try (OutputStream out = new FileOutputStream(tempFile)) {
+            exportAsZip(context, items, out, seqStart, migrate, excludeBitstreams);
+        } catch (Exception e) {
+            if (tempFile.exists() && !tempFile.delete()) {
+                logError("Unable to delete file: " + tempFile.getName());
+            }
+            throw e;
+        }
+        if (!tempFile.renameTo(new File(destDirName + System.getProperty("file.separator") + zipFileName))) {
+            logError("Unable to rename file");
+        }
+    }
 
-            // now zip up the workDir directory created above
-            zip(workDir, destDirName + System.getProperty("file.separator") + zipFileName);
-        } finally {
-            // Cleanup workDir created above, if it still exists
-            if (wkDir.exists()) {
-                deleteDirectory(wkDir);
+    @Override
+    public void exportAsZip(Context context, Iterator<Item> items, OutputStream out,
+                            int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, ZIP_BUFFER_SIZE));
+        exportItemsToZip(context, items, "", zip, seqStart, migrate, excludeBitstreams);
+        // finish the archive but leave the stream of the caller open
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Export the items in the Simple Archive Format to the entries of a zip
+     * archive, one directory per item.
+     *
+     * @param c                 DSpace context
+     * @param i                 the items to export
+     * @param path              the path of the item directories in the archive, empty or ending with a slash
+     * @param zip               the archive to write the entries to
+     * @param seqStart          the first number in the sequence
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams whether to exclude bitstreams
+     * @throws Exception if error
+     */
+    protected void exportItemsToZip(Context c, Iterator<Item> i, String path, ZipOutputStream zip,
+                                    int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception {
+        int mySequenceNumber = seqStart;
+
+        logInfo("Beginning export");
+
+        while (i.hasNext()) {
+            Item item = i.next();
+            logInfo("Exporting Item " + item.getID() +
+                        (item.getHandle() != null ? ", handle " + item.getHandle() : "") +
+                        " to " + path + mySequenceNumber);
+            exportItemToZip(c, item, path + mySequenceNumber + "/", zip, migrate, excludeBitstreams);
+            c.uncacheEntity(item);
+            mySequenceNumber++;
+        }
+    }
+
+    /**
+     * Export an item to the entries of a zip archive, laid out as the item
+     * directory of {@link #exportItem(Context, Item, String, int, boolean, boolean)}
+     *
+     * @param c                 DSpace context
+     * @param myItem            the item to export
+     * @param itemPath          the path of the item directory in the archive, ending with a slash
+     * @param zip               the archive to write the entries to
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams whether to exclude bitstreams
+     * @throws Exception if error
+     */
+    protected void exportItemToZip(Context c, Item myItem, String itemPath, ZipOutputStream zip,
+                                   boolean migrate, boolean excludeBitstreams) throws Exception {
+        Set<String> fileNames = new HashSet<>(List.of("contents", "collections", "handle"));
+        zip.setLevel(Deflater.BEST_COMPRESSION);
+
+        for (String schema : getMetadataSchemas(myItem)) {
+            String fileName = getMetadataFileName(schema);
+            fileNames.add(fileName);
+            zip.putNextEntry(new ZipEntry(itemPath + fileName));
+            writeMetadata(c, schema, myItem, zip, migrate);
+            zip.closeEntry();
+        }
+
+        StringBuilder contents = new StringBuilder();
+        for (Bundle bundle : myItem.getBundles()) {
+            for (Bitstream bitstream : bundle.getBitstreams()) {
+                String myName = bitstream.getName();
+                if (!excludeBitstreams) {
+                    // keep appending numbers to the filename until unique
+                    int myPrefix = 1;
+                    while (!fileNames.add(myName)) {
+                        myName = myPrefix + "_" + bitstream.getName();
+                        myPrefix++;
+                    }
+                    // deflating already compressed content only costs time
+                    zip.setLevel(isCompressedFormat(c, bitstream) ? Deflater.NO_COMPRESSION
+                                     : Deflater.BEST_COMPRESSION);
+                    zip.putNextEntry(new ZipEntry(itemPath + myName.replace(File.separatorChar, '/')));
+                    try (InputStream is = bitstreamService.retrieve(c, bitstream)) {
+                        Utils.bufferedCopy(is, zip);
+                    }
+                    zip.closeEntry();
+                    zip.setLevel(Deflater.BEST_COMPRESSION);
+                }
+                contents.append(getContentsEntry(bundle, bitstream, myName)).append(System.lineSeparator());
+            }
+        }
+        writeZipEntry(zip, itemPath + "contents", contents.toString());
+
+        StringBuilder collections = new StringBuilder();
+        for (String collectionHandle : getCollectionHandles(myItem)) {
+            collections.append(collectionHandle).append(System.lineSeparator());
+        }
+        writeZipEntry(zip, itemPath + "collections", collections.toString());
+
+        if (!migrate && myItem.getHandle() != null) {
+            writeZipEntry(zip, itemPath + "handle", myItem.getHandle() + System.lineSeparator());
+        }
+    }
+
+    /**
+     * Check whether the format of a bitstream is configured as already
+     * compressed in org.dspace.app.itemexport.zip.stored-mimetypes, a
+     * trailing * matching any subtype.
+     *
+     * @param c         DSpace context
+     * @param bitstream the bitstream
+     * @return true if the bitstream should not be compressed again
+     * @throws SQLException if database error
+     */
+    protected boolean isCompressedFormat(Context c, Bitstream bitstream) throws SQLException {
+        BitstreamFormat format = bitstream.getFormat(c);
+        String mimeType = format != null ? format.getMIMEType() : null;
+        if (StringUtils.isBlank(mimeType)) {
+            return false;
+        }
+        String[] storedTypes = configurationService.getArrayProperty("org.dspace.app.itemexport.zip.stored-mimetypes",
+                                                                     DEFAULT_STORED_MIMETYPES);
+        for (String storedType : storedTypes) {
+            if (storedType.endsWith("*") ? StringUtils.startsWithIgnoreCase(mimeType, StringUtils.chop(storedType))
+                    : StringUtils.equalsIgnoreCase(mimeType, storedType)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private void writeZipEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
     }
 
     @Override
@@ -650,22 +845,7 @@ public class ItemExportServiceImpl implements ItemExportService {
 
         // check the size of all the bitstreams against the configuration file
         // entry if it exists
-        String megaBytes = configurationService
-            .getProperty("org.dspace.app.itemexport.max.size");
-        if (megaBytes != null) {
-            float maxSize = 0;
-            try {
-                maxSize = Float.parseFloat(megaBytes);
-            } catch (Exception e) {
-                // ignore...configuration entry may not be present
-            }
-
-            if (maxSize > 0 && maxSize < (size / 1048576.00)) { // a megabyte
-                throw new ItemExportException(ItemExportException.EXPORT_TOO_LARGE,
-                                              "The overall size of this export is too large.  Please contact your " +
-                                                  "administrator for more information.");
-            }
-        }
+        checkExportSize((long) size);
 
         // if we have any items to process then kick off anonymous thread
         if (itemsMap.size() > 0) {
@@ -673,50 +853,43 @@ public class ItemExportServiceImpl implements ItemExportService {
                 @Override
                 public void run() {
                     Context context = new Context();
-                    Iterator<Item> iitems = null;
                     try {
                         // ignore auths
                         context.turnOffAuthorisationSystem();
 
                         String fileName = assembleFileName("item", eperson,
                                                            LocalDate.now());
-                        String workParentDir = getExportWorkDirectory()
-                            + System.getProperty("file.separator")
-                            + fileName;
                         String downloadDir = getExportDownloadDirectory(eperson);
                         File dnDir = new File(downloadDir);
                         if (!dnDir.exists() && !dnDir.mkdirs()) {
                             logError("Unable to create download directory");
                         }
 
-                        Iterator<String> iter = itemsMap.keySet().iterator();
-                        while (iter.hasNext()) {
-                            String keyName = iter.next();
-                            List<UUID> uuids = itemsMap.get(keyName);
-                            List<Item> items = new ArrayList<>();
-                            for (UUID uuid : uuids) {
-                                items.add(itemService.find(context, uuid));
+                        // stream the items straight into the zip file, without exporting them to a work
+                        // directory first
+                        String target = downloadDir + System.getProperty("file.separator") + fileName + ".zip";
+                        File tempFile = new File(target + "_tmp");
+                        try (ZipOutputStream zip = new ZipOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(tempFile), ZIP_BUFFER_SIZE))) {
+                            for (Map.Entry<String, List<UUID>> itemsEntry : itemsMap.entrySet()) {
+                                List<Item> items = new ArrayList<>();
+                                for (UUID uuid : itemsEntry.getValue()) {
+                                    items.add(itemService.find(context, uuid));
+                                }
+                                exportItemsToZip(context, items.iterator(), itemsEntry.getKey() + "/", zip, 1,
+                                                 migrate, false);
                             }
-                            iitems = items.iterator();
-
-                            String workDir = workParentDir
-                                + System.getProperty("file.separator")
-                                + keyName;
-
-                            File wkDir = new File(workDir);
-                            if (!wkDir.exists() && !wkDir.mkdirs()) {
-                                logError("Unable to create working directory");
+                            zip.finish();
+                        } catch (Exception e) {
+                            if (tempFile.exists() && !tempFile.delete()) {
+                                logError("Unable to delete file: " + tempFile.getName());
                             }
-
-
-                            // export the items using normal export method
-                            exportItem(context, iitems, workDir, 1, migrate, false);
+                            throw e;
+                        }
+                        if (!tempFile.renameTo(new File(target))) {
+                            logError("Unable to rename file");
                         }
 
-                        // now zip up the export directory created above
-                        zip(workParentDir, downloadDir
-                            + System.getProperty("file.separator")
-                            + fileName + ".zip");
                         // email message letting user know the file is ready for
                         // download
                         emailSuccessMessage(context, eperson, fileName + ".zip");
@@ -812,6 +985,36 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    @Override
+    public long getExportDownloadSize(Context context, DSpaceObject dso) throws Exception {
+        if (dso.getType() == Constants.ITEM) {
+            return bitstreamService.sumSizeByItem(context, (Item) dso);
+        } else if (dso.getType() == Constants.COLLECTION) {
+            return bitstreamService.sumSizeByArchivedItemsOfCollection(context, (Collection) dso);
+        }
+        throw new IllegalArgumentException("Only items and collections can be exported: " + dso.getID());
+    }
+
+    @Override
+    public void checkExportSize(long size) throws ItemExportException {
+        String megaBytes = configurationService
+            .getProperty("org.dspace.app.itemexport.max.size");
+        if (megaBytes != null) {
+            float maxSize = 0;
+            try {
+                maxSize = Float.parseFloat(megaBytes);
+            } catch (Exception e) {
+                // ignore...configuration entry may not be present
+            }
+
+            if (maxSize > 0 && maxSize < (size / 1048576.00)) { // a megabyte
+                throw new ItemExportException(ItemExportException.EXPORT_TOO_LARGE,
+                                              "The overall size of this export is too large.  Please contact your " +
+                                                  "administrator for more information.");
+            }
+        }
+    }
+
     @Override
     public long getExportFileSize(Context context, String fileName) throws Exception {
         String strID = fileName.substring(fileName.lastIndexOf('_') + 1,
@@ -8,11 +8,13 @@
 package org.dspace.app.itemexport.service;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Iterator;
 import java.util.List;
 
 import jakarta.mail.MessagingException;
+import org.dspace.app.itemexport.ItemExportException;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
@@ -68,6 +70,44 @@ public interface ItemExportService {
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception;
 
+    /**
+     * Method to perform an export and stream it as a zip archive. The items
+     * are written straight to the archive, without an intermediate directory,
+     * and the formats configured in
+     * <code>org.dspace.app.itemexport.zip.stored-mimetypes</code> are not
+     * compressed again.
+     *
+     * @param context           The DSpace Context
+     * @param items             The items to export
+     * @param out               The stream to write the zip archive to, left open
+     * @param seqStart          The first number in the sequence
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams Whether to exclude bitstreams or not
+     * @throws Exception if error
+     */
+    public void exportAsZip(Context context, Iterator<Item> items, OutputStream out,
+                            int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception;
+
+    /**
+     * Get the overall size of the bitstreams of the export of an item or of the archived items of a collection,
+     * summed by the database without loading the items.
+     *
+     * @param context The DSpace context
+     * @param dso     the item or collection to export
+     * @return the size of the bitstreams of the export, in bytes
+     * @throws Exception if error
+     */
+    public long getExportDownloadSize(Context context, DSpaceObject dso) throws Exception;
+
+    /**
+     * Check the size of an export against the {@code org.dspace.app.itemexport.max.size} configuration, in
+     * megabytes.
+     *
+     * @param size the size of the bitstreams of the export, in bytes
+     * @throws ItemExportException if the export is too large
+     */
+    public void checkExportSize(long size) throws ItemExportException;
+
     /**
      * Convenience method to create export a single Community, Collection, or
      * Item
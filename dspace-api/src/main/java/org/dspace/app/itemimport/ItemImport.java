@@ -39,6 +39,8 @@ import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
 /**
@@ -75,6 +77,8 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
     protected boolean useWorkflow = false;
     protected boolean useWorkflowSendEmail = false;
     protected boolean isQuiet = false;
+    protected int threads = 1;
+    protected int batchSize = 100;
     protected boolean commandLineCollections = false;
     protected boolean zip = false;
     protected boolean remoteUrl = false;
@@ -147,6 +151,12 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             isQuiet = true;
         }
 
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        threads = commandLine.hasOption('t') ? Integer.parseInt(commandLine.getOptionValue('t'))
+            : configurationService.getIntProperty("org.dspace.app.batchitemimport.threads", 1);
+        batchSize = commandLine.hasOption('b') ? Integer.parseInt(commandLine.getOptionValue('b'))
+            : configurationService.getIntProperty("org.dspace.app.batchitemimport.batch-size", 100);
+
         setZip();
     }
 
@@ -217,6 +227,8 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             itemImportService.setUseWorkflow(useWorkflow);
             itemImportService.setUseWorkflowSendEmail(useWorkflowSendEmail);
             itemImportService.setQuiet(isQuiet);
+            itemImportService.setThreads(threads);
+            itemImportService.setBatchSize(batchSize);
             itemImportService.setHandler(handler);
 
             try {
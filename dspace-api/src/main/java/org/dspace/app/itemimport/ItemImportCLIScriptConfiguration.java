@@ -70,6 +70,12 @@ public class ItemImportCLIScriptConfiguration extends ItemImportScriptConfigurat
         options.addOption(Option.builder("q").longOpt("quiet")
                 .desc("don't display metadata")
                 .hasArg(false).required(false).build());
+        options.addOption(Option.builder("t").longOpt("threads")
+                .desc("number of items imported in parallel (add only)")
+                .hasArg().required(false).build());
+        options.addOption(Option.builder("b").longOpt("batch-size")
+                .desc("number of items committed at once by each thread of a parallel import")
+                .hasArg().required(false).build());
 
         options.addOption(Option.builder("h").longOpt("help")
                 .desc("help")
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.net.URL;
 import java.sql.SQLException;
 import java.time.Instant;
@@ -42,9 +43,17 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.xml.parsers.DocumentBuilder;
@@ -102,6 +111,9 @@ import org.dspace.core.Context;
 import org.dspace.core.Email;
 import org.dspace.core.I18nUtil;
 import org.dspace.core.LogHelper;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.EPersonService;
@@ -109,6 +121,7 @@ import org.dspace.eperson.service.GroupService;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.workflow.WorkflowItem;
 import org.dspace.workflow.WorkflowService;
 import org.springframework.beans.factory.InitializingBean;
@@ -188,6 +201,8 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
     protected boolean useWorkflow = false;
     protected boolean useWorkflowSendEmail = false;
     protected boolean isQuiet = false;
+    protected int threads = 1;
+    protected int batchSize = 100;
 
     //remember which folder item was imported from
     Map<String, Item> itemFolderMap = null;
@@ -242,6 +257,11 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
     @Override
     public void addItems(Context c, List<Collection> mycollections,
                          String sourceDir, String mapFile, boolean template) throws Exception {
+        if (threads > 1 && !isTest) {
+            addItemsInParallel(c, mycollections, sourceDir, mapFile, template);
+            return;
+        }
+
         // create the mapfile
         File outFile = null;
         PrintWriter mapOut = null;
@@ -331,6 +351,214 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         }
     }
 
+    /**
+     * Add the items of a source directory with a pool of worker threads. The item directories are taken from a shared
+     * queue by the workers, each importing them on its own Context and committing every batch of items. The mapfile
+     * only lists the committed items, so that a resumed import skips exactly these. Discovery indexing is deferred
+     * to a single pass over the imported items at the end, after the relationships are linked.
+     *
+     * @param c             The main DSpace context, used for the relationships and the indexing
+     * @param mycollections The collections the items are inserted to, or null to use the collections file of each
+     *                      item directory
+     * @param sourceDir     The filepath to the file to read data from
+     * @param mapFile       The filepath to mapfile to be generated
+     * @param template      whether to use collection template item as starting point
+     * @throws Exception if error
+     */
+    protected void addItemsInParallel(Context c, List<Collection> mycollections, String sourceDir, String mapFile,
+                                      boolean template) throws Exception {
+        itemFolderMap = new HashMap<>();
+
+        logDebug("Adding items from directory: " + sourceDir);
+        logDebug("Generating mapfile: " + mapFile);
+
+        // get the directory names of items to skip (will be in keys of hash)
+        Map<String, String> skipItems = isResume ? readMapFile(mapFile) : new HashMap<>();
+
+        // open and process the source directory
+        File d = new java.io.File(sourceDir);
+        if (!d.isDirectory()) {
+            throw new Exception("Error, cannot open source directory " + sourceDir);
+        }
+        String[] dircontents = d.list(directoryFilter);
+        Arrays.sort(dircontents, ComparatorUtils.naturalComparator());
+
+        Queue<String> pending = new ConcurrentLinkedQueue<>();
+        for (String dircontent : dircontents) {
+            if (skipItems.containsKey(dircontent)) {
+                logInfo("Skipping import of " + dircontent);
+
+                //we still need the item in the map for relationship linking
+                Item skippedItem = (Item) handleService.resolveToObject(c, skipItems.get(dircontent));
+                itemFolderMap.put(dircontent, skippedItem);
+                c.uncacheEntity(skippedItem);
+            } else {
+                pending.add(dircontent);
+            }
+        }
+
+        logInfo("Importing " + pending.size() + " items with " + threads + " threads, committing every "
+                    + batchSize + " items");
+
+        List<UUID> collectionIds = null;
+        if (mycollections != null) {
+            collectionIds = new ArrayList<>();
+            for (Collection collection : mycollections) {
+                collectionIds.add(collection.getID());
+            }
+        }
+        UUID epersonId = c.getCurrentUser() != null ? c.getCurrentUser().getID() : null;
+        Map<String, UUID> imported = new ConcurrentHashMap<>();
+        AtomicBoolean failed = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (PrintWriter mapOut = new PrintWriter(new FileWriter(mapFile, isResume))) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                List<UUID> workerCollectionIds = collectionIds;
+                workers.add(executor.submit(() -> {
+                    importDirectories(epersonId, workerCollectionIds, sourceDir, pending, mapOut, imported, failed,
+                                      template);
+                    return null;
+                }));
+            }
+
+            Exception failure = null;
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Map.Entry<String, UUID> importedItem : imported.entrySet()) {
+            Item item = itemService.find(c, importedItem.getValue());
+            itemFolderMap.put(importedItem.getKey(), item);
+            c.uncacheEntity(item);
+        }
+
+        //now that all items are imported, iterate again to link relationships
+        addRelationships(c, sourceDir);
+
+        indexItems(c, imported.values());
+    }
+
+    /**
+     * Import item directories taken from the queue until it is empty or another worker failed, on a Context of this
+     * worker committed every batch of items.
+     */
+    private void importDirectories(UUID epersonId, List<UUID> collectionIds, String sourceDir, Queue<String> pending,
+                                   PrintWriter mapOut, Map<String, UUID> imported, AtomicBoolean failed,
+                                   boolean template) throws Exception {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        try {
+            if (epersonId != null) {
+                context.setCurrentUser(ePersonService.find(context, epersonId));
+            }
+            context.turnOffAuthorisationSystem();
+            // the consumers of the default dispatcher but discovery, the imported items are indexed at once at the end
+            context.setDispatcher(
+                configurationService.getProperty("org.dspace.app.batchitemimport.parallel.dispatcher", "batchimport"));
+
+            StringWriter batchMapLines = new StringWriter();
+            PrintWriter batchMapOut = new PrintWriter(batchMapLines);
+            Map<String, UUID> batch = new HashMap<>();
+            String dircontent;
+            while (!failed.get() && (dircontent = pending.poll()) != null) {
+                List<Collection> clist;
+                if (collectionIds == null) {
+                    String path = sourceDir + File.separatorChar + dircontent;
+                    try {
+                        clist = processCollectionFile(context, path, "collections");
+                        if (clist == null) {
+                            logError("No collections specified for item " + dircontent + ". Skipping.");
+                            continue;
+                        }
+                    } catch (IllegalArgumentException e) {
+                        logError(e.getMessage() + " Skipping.");
+                        continue;
+                    }
+                } else {
+                    clist = new ArrayList<>();
+                    for (UUID collectionId : collectionIds) {
+                        clist.add(collectionService.find(context, collectionId));
+                    }
+                }
+
+                Item item = addItem(context, clist, sourceDir, dircontent, batchMapOut, template);
+                batch.put(dircontent, item.getID());
+                logInfo(dircontent);
+
+                if (batch.size() >= batchSize) {
+                    commitBatch(context, batchMapLines, mapOut, batch, imported);
+                }
+            }
+            if (!failed.get()) {
+                commitBatch(context, batchMapLines, mapOut, batch, imported);
+            }
+            context.complete();
+        } catch (Exception e) {
+            failed.set(true);
+            logError("Import worker failed, aborting its uncommitted items", e);
+            throw e;
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    /**
+     * Commit a batch of imported items and only then write them to the mapfile
+     */
+    private void commitBatch(Context context, StringWriter batchMapLines, PrintWriter mapOut, Map<String, UUID> batch,
+                             Map<String, UUID> imported) throws SQLException {
+        context.commit();
+        synchronized (mapOut) {
+            mapOut.print(batchMapLines);
+            mapOut.flush();
+        }
+        batchMapLines.getBuffer().setLength(0);
+        imported.putAll(batch);
+        batch.clear();
+        context.uncacheEntities();
+    }
+
+    /**
+     * Index the imported items in Discovery, committing the index every batch of items
+     */
+    protected void indexItems(Context c, Iterable<UUID> itemIds) throws Exception {
+        IndexingService indexingService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexingService.class.getName(), IndexingService.class);
+        IndexObjectFactoryFactory indexObjectFactory = IndexObjectFactoryFactory.getInstance();
+
+        int count = 0;
+        for (UUID itemId : itemIds) {
+            Item item = itemService.find(c, itemId);
+            if (item != null) {
+                for (IndexableObject indexableObject : indexObjectFactory.getIndexableObjects(c, item)) {
+                    indexingService.indexContent(c, indexableObject, true, false);
+                }
+                c.uncacheEntity(item);
+            }
+            if (++count % batchSize == 0) {
+                indexingService.commit();
+                logInfo("Indexed " + count + " imported items");
+            }
+        }
+        indexingService.commit();
+        logInfo("Indexed " + count + " imported items");
+    }
+
      /**
       * Add relationships from a 'relationships' manifest file.
       * 
@@ -2379,6 +2607,16 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         this.isQuiet = isQuiet;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
     @Override
     public void setHandler(DSpaceRunnableHandler handler) {
         this.handler = handler;
@@ -244,6 +244,22 @@ public interface ItemImportService {
      */
     public void setQuiet(boolean isQuiet);
 
+    /**
+     * Set the number of worker threads importing items. With more than one
+     * thread, the items are imported in parallel, each worker on its own
+     * context, and indexed in Discovery once all are imported.
+     *
+     * @param threads the number of worker threads
+     */
+    public void setThreads(int threads);
+
+    /**
+     * Set the number of items each worker of a parallel import commits at once
+     *
+     * @param batchSize the number of items per commit
+     */
+    public void setBatchSize(int batchSize);
+
     /**
      * Set the DSpace Runnable Handler
      * @param handler
@@ -8,14 +8,22 @@
 package org.dspace.app.ldn;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.ldn.factory.LDNMessageServiceFactory;
 import org.dspace.app.ldn.service.LDNMessageService;
 import org.dspace.core.Context;
+import org.dspace.core.DSpaceMetrics;
 
 /**
  * LDN Message manager: scheduled task invoking extractAndProcessMessageFromQueue() of {@link LDNMessageService}
+ * <p>
+ * The state of the queue after each extraction is reported by the gauges {@code dspace.ldn.queue.depth}, the number
+ * of messages waiting to be processed, and {@code dspace.ldn.queue.oldest.age}, how long in seconds the oldest of them
+ * has been waiting (see {@link DSpaceMetrics}).
  *
  * @author Francesco Bacchelli (francesco.bacchelli at 4science dot it)
  */
@@ -25,6 +33,19 @@ public class LDNQueueExtractor {
         .getLDNMessageService();
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(LDNQueueExtractor.class);
 
+    /**
+     * The state of the queue after the last extraction
+     */
+    private static final AtomicReference<LDNQueueMetrics> queueMetrics =
+        new AtomicReference<>(new LDNQueueMetrics(Collections.emptyMap(), Duration.ZERO));
+
+    static {
+        DSpaceMetrics.gauge("ldn.queue.depth", "LDN messages waiting to be processed", queueMetrics,
+                            metrics -> metrics.get().getWaitingCount());
+        DSpaceMetrics.gauge("ldn.queue.oldest.age", "Seconds the oldest LDN message has been waiting to be processed",
+                            queueMetrics, metrics -> metrics.get().getLag().toMillis() / 1000.0);
+    }
+
     /**
      * Default constructor
      */
@@ -47,6 +68,9 @@ public class LDNQueueExtractor {
         if (processed_messages > 0) {
             log.info("Processed Messages x" + processed_messages);
         }
+        LDNQueueMetrics metrics = ldnMessageService.getQueueMetrics(context);
+        queueMetrics.set(metrics);
+        log.info("LDN queue: " + metrics);
         context.complete();
         return processed_messages;
     }
@@ -0,0 +1,67 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.ldn;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Snapshot of the state of the LDN message queue: the number of messages in each queue status and how long the
+ * longest waiting message has been ready to be processed.
+ */
+public class LDNQueueMetrics {
+
+    private final Map<Integer, Long> countByQueueStatus;
+
+    private final Duration lag;
+
+    public LDNQueueMetrics(Map<Integer, Long> countByQueueStatus, Duration lag) {
+        this.countByQueueStatus = Collections.unmodifiableMap(countByQueueStatus);
+        this.lag = lag;
+    }
+
+    /**
+     * @return the number of messages, keyed by queue status
+     */
+    public Map<Integer, Long> getCountByQueueStatus() {
+        return countByQueueStatus;
+    }
+
+    /**
+     * @param queueStatus one of the LDNMessageEntity.QUEUE_STATUS_* values
+     * @return the number of messages in the given queue status
+     */
+    public long getCount(Integer queueStatus) {
+        return countByQueueStatus.getOrDefault(queueStatus, 0L);
+    }
+
+    /**
+     * @return the number of messages waiting to be processed, queued for the first time or for a retry
+     */
+    public long getWaitingCount() {
+        return getCount(LDNMessageEntity.QUEUE_STATUS_QUEUED)
+            + getCount(LDNMessageEntity.QUEUE_STATUS_QUEUED_FOR_RETRY);
+    }
+
+    /**
+     * @return how long the longest waiting message has been ready to be processed, zero if none is waiting
+     */
+    public Duration getLag() {
+        return lag;
+    }
+
+    @Override
+    public String toString() {
+        return "queued=" + getWaitingCount()
+            + ", processing=" + getCount(LDNMessageEntity.QUEUE_STATUS_PROCESSING)
+            + ", processed=" + getCount(LDNMessageEntity.QUEUE_STATUS_PROCESSED)
+            + ", failed=" + getCount(LDNMessageEntity.QUEUE_STATUS_FAILED)
+            + ", lag=" + lag.getSeconds() + "s";
+    }
+}
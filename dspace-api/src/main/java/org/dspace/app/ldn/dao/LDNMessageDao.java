@@ -8,7 +8,9 @@
 package org.dspace.app.ldn.dao;
 
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import org.dspace.app.ldn.LDNMessageEntity;
 import org.dspace.content.Item;
@@ -73,4 +75,35 @@ public interface LDNMessageDao extends GenericDAO<LDNMessageEntity> {
      * @throws SQLException
      */
     public List<LDNMessageEntity> findMessagesToBeReprocessed(Context context) throws SQLException;
+
+    /**
+     * find and lock the oldest ldn messages ready to be processed, that is queued ones with
+     * queue_attempts < max_attempts and an expired queue_timeout, plus the ones queued for retry.
+     * The rows are selected with SELECT ... FOR UPDATE SKIP LOCKED, so that concurrent callers, also
+     * on other DSpace nodes, never obtain the same messages. The locks are held until the transaction ends.
+     * @param context
+     * @param max_attempts consider queued ldn_message entity with queue_attempts < max_attempts
+     * @param limit maximum number of messages to lock
+     * @return the locked ldn message entities
+     * @throws SQLException
+     */
+    public List<LDNMessageEntity> findAndLockMessagesToProcess(Context context, int max_attempts, int limit)
+        throws SQLException;
+
+    /**
+     * count the ldn messages in each queue status
+     * @param context
+     * @return the number of ldn messages, keyed by queue_status
+     * @throws SQLException
+     */
+    public Map<Integer, Long> countByQueueStatus(Context context) throws SQLException;
+
+    /**
+     * find the time since which the longest waiting ldn message is ready to be processed
+     * @param context
+     * @param max_attempts consider queued ldn_message entity with queue_attempts < max_attempts
+     * @return the oldest queue_timeout of the messages ready to be processed, or null if there are none
+     * @throws SQLException
+     */
+    public Instant findOldestQueueTimeoutToProcess(Context context, int max_attempts) throws SQLException;
 }
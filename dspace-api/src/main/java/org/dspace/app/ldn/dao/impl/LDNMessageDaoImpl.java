@@ -10,9 +10,13 @@ package org.dspace.app.ldn.dao.impl;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Order;
@@ -25,6 +29,8 @@ import org.dspace.app.ldn.dao.LDNMessageDao;
 import org.dspace.content.Item;
 import org.dspace.core.AbstractHibernateDAO;
 import org.dspace.core.Context;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
 
 /**
  * Hibernate implementation of the Database Access Object interface class for
@@ -83,6 +89,60 @@ public class LDNMessageDaoImpl extends AbstractHibernateDAO<LDNMessageEntity> im
         return result;
     }
 
+    @Override
+    public List<LDNMessageEntity> findAndLockMessagesToProcess(Context context, int max_attempts, int limit)
+        throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<LDNMessageEntity> criteriaQuery = getCriteriaQuery(criteriaBuilder, LDNMessageEntity.class);
+        Root<LDNMessageEntity> root = criteriaQuery.from(LDNMessageEntity.class);
+        criteriaQuery.select(root);
+        Predicate queued = criteriaBuilder.and(
+            criteriaBuilder.equal(root.get(LDNMessageEntity_.queueStatus), LDNMessageEntity.QUEUE_STATUS_QUEUED),
+            criteriaBuilder.lessThan(root.get(LDNMessageEntity_.queueAttempts), max_attempts),
+            criteriaBuilder.lessThan(root.get(LDNMessageEntity_.queueTimeout), Instant.now()));
+        Predicate queuedForRetry = criteriaBuilder.equal(root.get(LDNMessageEntity_.queueStatus),
+            LDNMessageEntity.QUEUE_STATUS_QUEUED_FOR_RETRY);
+        criteriaQuery.where(criteriaBuilder.or(queued, queuedForRetry));
+        List<Order> orderList = new LinkedList<>();
+        orderList.add(criteriaBuilder.desc(root.get(LDNMessageEntity_.queueAttempts)));
+        orderList.add(criteriaBuilder.asc(root.get(LDNMessageEntity_.queueLastStartTime)));
+        criteriaQuery.orderBy(orderList);
+        Query query = createQuery(context, criteriaQuery);
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        // rows locked by a concurrent claim are skipped instead of waited for
+        query.setHint(AvailableSettings.JAKARTA_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED);
+        List<LDNMessageEntity> result = list(query, limit, 0);
+        if (result == null || result.isEmpty()) {
+            log.debug("No LDN messages found to be processed");
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Integer, Long> countByQueueStatus(Context context) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT m.queueStatus, count(*) FROM LDNMessageEntity m GROUP BY m.queueStatus");
+        Map<Integer, Long> counts = new HashMap<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            counts.put((Integer) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Override
+    public Instant findOldestQueueTimeoutToProcess(Context context, int max_attempts) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT min(m.queueTimeout) FROM LDNMessageEntity m WHERE " +
+                "(m.queueStatus = :queued AND m.queueAttempts < :maxAttempts AND m.queueTimeout < :now) " +
+                "OR m.queueStatus = :queuedForRetry");
+        query.setParameter("queued", LDNMessageEntity.QUEUE_STATUS_QUEUED);
+        query.setParameter("maxAttempts", max_attempts);
+        query.setParameter("now", Instant.now());
+        query.setParameter("queuedForRetry", LDNMessageEntity.QUEUE_STATUS_QUEUED_FOR_RETRY);
+        return (Instant) query.getSingleResult();
+    }
+
     @Override
     public List<LDNMessageEntity> findProcessingTimedoutMessages(Context context, int max_attempts)
         throws SQLException {
@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.util.List;
 
 import org.dspace.app.ldn.LDNMessageEntity;
+import org.dspace.app.ldn.LDNQueueMetrics;
 import org.dspace.app.ldn.NotifyServiceEntity;
 import org.dspace.app.ldn.model.Notification;
 import org.dspace.app.ldn.model.NotifyRequestStatus;
@@ -103,13 +104,24 @@ public interface LDNMessageService {
     public int checkQueueMessageTimeout(Context context) throws SQLException;
 
     /**
-     * Elaborates the oldest enqueued message
+     * Elaborates the enqueued messages, oldest first. Messages are claimed in batches of
+     * "ldn.processor.batch.size" with row locks skipping the rows claimed by concurrent callers, so several
+     * DSpace nodes can safely consume the same queue, and are processed by "ldn.processor.workers" workers.
      * 
-     * @return number of messages fixed
-     * @param context The DSpace context
+     * @return number of messages processed
+     * @param context The DSpace context. It is committed after every claimed batch.
      */
     public int extractAndProcessMessageFromQueue(Context context) throws SQLException;
 
+    /**
+     * Get the number of messages in each queue status and the current queue lag
+     *
+     * @param context The DSpace context
+     * @return the queue metrics
+     * @throws SQLException If something goes wrong in the database
+     */
+    public LDNQueueMetrics getQueueMetrics(Context context) throws SQLException;
+
     /**
      * find the related notify service entity
      *
@@ -10,6 +10,7 @@ package org.dspace.app.ldn.service.impl;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -19,6 +20,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,6 +32,7 @@ import com.google.gson.JsonSyntaxException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.ldn.LDNMessageEntity;
+import org.dspace.app.ldn.LDNQueueMetrics;
 import org.dspace.app.ldn.LDNRouter;
 import org.dspace.app.ldn.NotifyServiceEntity;
 import org.dspace.app.ldn.dao.LDNMessageDao;
@@ -73,6 +80,11 @@ public class LDNMessageServiceImpl implements LDNMessageService {
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(LDNMessageServiceImpl.class);
     private static final String LDN_ID_PREFIX = "urn:uuid:";
 
+    /**
+     * Shared by all message conversions, an ObjectMapper is thread-safe once configured
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     protected LDNMessageServiceImpl() {
 
     }
@@ -123,10 +135,9 @@ public class LDNMessageServiceImpl implements LDNMessageService {
         }
         ldnMessage.setOrigin(findNotifyService(context, notification.getOrigin()));
         ldnMessage.setInReplyTo(find(context, notification.getInReplyTo()));
-        ObjectMapper mapper = new ObjectMapper();
         String message = null;
         try {
-            message = mapper.writeValueAsString(notification);
+            message = OBJECT_MAPPER.writeValueAsString(notification);
             ldnMessage.setMessage(message);
         } catch (JsonProcessingException e) {
             log.error("Notification json can't be correctly processed " +
@@ -267,53 +278,167 @@ public class LDNMessageServiceImpl implements LDNMessageService {
     @Override
     public int extractAndProcessMessageFromQueue(Context context) throws SQLException {
         int count = 0;
-        int timeoutInMinutes = configurationService.getIntProperty("ldn.processor.queue.msg.timeout", 60);
+        int workers = Math.max(1, configurationService.getIntProperty("ldn.processor.workers", 1));
+        int batchSize = Math.max(1, configurationService.getIntProperty("ldn.processor.batch.size", 20));
 
-        List<LDNMessageEntity> messages = findOldestMessagesToProcess(context);
-        messages.addAll(findMessagesToBeReprocessed(context));
+        ExecutorService workerPool = workers > 1 ? Executors.newFixedThreadPool(workers) : null;
+        try {
+            List<String> claimed = claimMessagesToProcess(context, batchSize);
+            while (!claimed.isEmpty()) {
+                if (workerPool == null) {
+                    for (String id : claimed) {
+                        if (processClaimedMessage(context, id)) {
+                            count++;
+                        }
+                    }
+                } else {
+                    count += processClaimedMessages(workerPool, claimed);
+                }
+                claimed = claimMessagesToProcess(context, batchSize);
+            }
+        } finally {
+            if (workerPool != null) {
+                workerPool.shutdownNow();
+            }
+        }
+        return count;
+    }
 
-        Optional<LDNMessageEntity> msgOpt = getSingleMessageEntity(messages);
+    /**
+     * Claim a batch of messages ready to be processed: lock their rows (skipping the ones locked by
+     * concurrent claims), flag them as processing and commit, so that no other process picks them up.
+     *
+     * @param context   the DSpace context
+     * @param batchSize maximum number of messages to claim
+     * @return the IDs of the claimed messages
+     */
+    private List<String> claimMessagesToProcess(Context context, int batchSize) throws SQLException {
+        int maxAttempts = configurationService.getIntProperty("ldn.processor.max.attempts", 5);
+        int timeoutInMinutes = configurationService.getIntProperty("ldn.processor.queue.msg.timeout", 60);
 
-        while (msgOpt.isPresent()) {
-            LDNProcessor processor = null;
-            LDNMessageEntity msg = msgOpt.get();
-            processor = ldnRouter.route(msg);
-            try {
-                boolean isServiceDisabled = !isServiceEnabled(msg);
-                if (processor == null || isServiceDisabled) {
-                    log.warn("No processor found for LDN message " + msg);
-                    Integer status = isServiceDisabled ? LDNMessageEntity.QUEUE_STATUS_UNTRUSTED
-                        : LDNMessageEntity.QUEUE_STATUS_UNMAPPED_ACTION;
-                    msg.setQueueStatus(status);
-                    msg.setQueueAttempts(msg.getQueueAttempts() + 1);
-                    update(context, msg);
-                } else {
-                    msg.setQueueLastStartTime(Instant.now());
-                    msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_PROCESSING);
-                    msg.setQueueTimeout(Instant.now().plus(timeoutInMinutes, ChronoUnit.MINUTES));
-                    update(context, msg);
-                    ObjectMapper mapper = new ObjectMapper();
-                    Notification notification = mapper.readValue(msg.getMessage(), Notification.class);
-                    processor.process(context, notification);
-                    msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_PROCESSED);
-                    count++;
+        List<LDNMessageEntity> messages = ldnMessageDao.findAndLockMessagesToProcess(context, maxAttempts, batchSize);
+        List<String> claimed = new ArrayList<>(messages.size());
+        for (LDNMessageEntity msg : messages) {
+            msg.setQueueLastStartTime(Instant.now());
+            msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_PROCESSING);
+            msg.setQueueTimeout(Instant.now().plus(timeoutInMinutes, ChronoUnit.MINUTES));
+            update(context, msg);
+            claimed.add(msg.getID());
+        }
+        // release the row locks, the messages are now protected by their processing status
+        context.commit();
+        for (LDNMessageEntity msg : messages) {
+            context.uncacheEntity(msg);
+        }
+        return claimed;
+    }
+
+    /**
+     * Process claimed messages on the worker pool, each one with its own context.
+     *
+     * @return the number of successfully processed messages
+     */
+    private int processClaimedMessages(ExecutorService workerPool, List<String> claimed) {
+        List<Callable<Boolean>> tasks = new ArrayList<>(claimed.size());
+        for (String id : claimed) {
+            tasks.add(() -> {
+                Context workerContext = new Context(Context.Mode.READ_WRITE);
+                try {
+                    boolean processed = processClaimedMessage(workerContext, id);
+                    workerContext.complete();
+                    return processed;
+                } finally {
+                    if (workerContext.isValid()) {
+                        workerContext.abort();
+                    }
                 }
-            } catch (JsonSyntaxException jse) {
-                log.error("Unable to read JSON notification from LdnMessage " + msg, jse);
-                msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_FAILED);
-            } catch (Exception e) {
-                log.error(e);
-                msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_FAILED);
-            } finally {
+            });
+        }
+        int count = 0;
+        try {
+            for (Future<Boolean> result : workerPool.invokeAll(tasks)) {
+                try {
+                    if (result.get()) {
+                        count++;
+                    }
+                } catch (ExecutionException e) {
+                    // the message stays in processing status and is requeued by the timeout checker
+                    log.error("Unable to process LDN message", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return count;
+    }
+
+    /**
+     * Route a claimed message to its processor and record the outcome. A message whose processing fails is
+     * queued again with an exponential backoff, until ldn.processor.max.attempts is reached.
+     *
+     * @param context the DSpace context
+     * @param id      the ID of the claimed message
+     * @return true if the message was processed successfully
+     */
+    private boolean processClaimedMessage(Context context, String id) throws SQLException {
+        LDNMessageEntity msg = ldnMessageDao.findByID(context, LDNMessageEntity.class, id);
+        if (msg == null) {
+            return false;
+        }
+        boolean processed = false;
+        LDNProcessor processor = ldnRouter.route(msg);
+        try {
+            boolean isServiceDisabled = !isServiceEnabled(msg);
+            if (processor == null || isServiceDisabled) {
+                log.warn("No processor found for LDN message " + msg);
+                Integer status = isServiceDisabled ? LDNMessageEntity.QUEUE_STATUS_UNTRUSTED
+                    : LDNMessageEntity.QUEUE_STATUS_UNMAPPED_ACTION;
+                msg.setQueueStatus(status);
                 msg.setQueueAttempts(msg.getQueueAttempts() + 1);
                 update(context, msg);
+            } else {
+                Notification notification = OBJECT_MAPPER.readValue(msg.getMessage(), Notification.class);
+                processor.process(context, notification);
+                msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_PROCESSED);
+                processed = true;
             }
+        } catch (JsonSyntaxException | JsonProcessingException jse) {
+            log.error("Unable to read JSON notification from LdnMessage " + msg, jse);
+            msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_FAILED);
+        } catch (Exception e) {
+            log.error(e);
+            requeueWithBackoff(msg);
+        } finally {
+            msg.setQueueAttempts(msg.getQueueAttempts() + 1);
+            update(context, msg);
+        }
+        return processed;
+    }
 
-            messages = findOldestMessagesToProcess(context);
-            messages.addAll(findMessagesToBeReprocessed(context));
-            msgOpt = getSingleMessageEntity(messages);
+    /**
+     * Queue a failed message for another attempt after a delay doubling with every attempt
+     * (ldn.processor.retry.delay seconds after the first one), or flag it as failed if no attempts are left.
+     */
+    private void requeueWithBackoff(LDNMessageEntity msg) {
+        int maxAttempts = configurationService.getIntProperty("ldn.processor.max.attempts", 5);
+        int attempt = msg.getQueueAttempts() + 1;
+        if (attempt >= maxAttempts) {
+            msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_FAILED);
+            return;
         }
-        return count;
+        long delay = configurationService.getLongProperty("ldn.processor.retry.delay", 60);
+        long maxDelay = configurationService.getLongProperty("ldn.processor.retry.max-delay", 86400);
+        long backoff = Math.min(maxDelay, delay << Math.min(attempt - 1, 30));
+        msg.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_QUEUED);
+        msg.setQueueTimeout(Instant.now().plus(backoff, ChronoUnit.SECONDS));
+    }
+
+    @Override
+    public LDNQueueMetrics getQueueMetrics(Context context) throws SQLException {
+        int maxAttempts = configurationService.getIntProperty("ldn.processor.max.attempts", 5);
+        Instant oldest = ldnMessageDao.findOldestQueueTimeoutToProcess(context, maxAttempts);
+        Duration lag = oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now());
+        return new LDNQueueMetrics(ldnMessageDao.countByQueueStatus(context), lag);
     }
 
     private boolean isServiceEnabled(LDNMessageEntity msg) {
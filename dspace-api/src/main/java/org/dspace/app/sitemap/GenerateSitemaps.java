@@ -7,11 +7,14 @@
  */
 package org.dspace.app.sitemap;
 
+import static org.dspace.discovery.SearchUtils.RESOURCE_ID_FIELD;
 import static org.dspace.discovery.SearchUtils.RESOURCE_TYPE_FIELD;
 
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.cli.CommandLine;
@@ -20,19 +23,13 @@ import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
-import org.dspace.content.factory.ContentServiceFactory;
-import org.dspace.content.service.CollectionService;
-import org.dspace.content.service.CommunityService;
-import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
 import org.dspace.discovery.DiscoverQuery;
 import org.dspace.discovery.DiscoverResult;
-import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.SearchUtils;
@@ -51,14 +48,12 @@ public class GenerateSitemaps {
      */
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(GenerateSitemaps.class);
 
-    private static final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
-    private static final CollectionService collectionService =
-        ContentServiceFactory.getInstance().getCollectionService();
-    private static final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private static final ConfigurationService configurationService =
         DSpaceServicesFactory.getInstance().getConfigurationService();
     private static final SearchService searchService = SearchUtils.getSearchService();
-    private static final int PAGE_SIZE = 100;
+    private static final int PAGE_SIZE = 1000;
+    private static final String ENTITY_TYPE_FIELD = "search.entitytype";
+    private static final String LAST_MODIFIED_FIELD = "lastModified";
 
     /**
      * Default constructor
@@ -81,6 +76,8 @@ public class GenerateSitemaps {
         options
             .addOption("d", "delete", false,
                 "delete sitemaps dir and its contents");
+        options.addOption("i", "incremental", false,
+                          "only rewrite the sitemaps.org sitemap files which changed since the last incremental run");
 
         CommandLine line = null;
 
@@ -115,7 +112,7 @@ public class GenerateSitemaps {
 
         // Note the negation (CLI options indicate NOT to generate a sitemap)
         if (!line.hasOption('b') || !line.hasOption('s')) {
-            generateSitemaps(!line.hasOption('b'), !line.hasOption('s'));
+            generateSitemaps(!line.hasOption('b'), !line.hasOption('s'), line.hasOption('i'));
         }
 
         if (line.hasOption('d')) {
@@ -132,7 +129,7 @@ public class GenerateSitemaps {
      * @throws IOException  if IO error occurs.
      */
     public static void generateSitemapsScheduled() throws IOException, SQLException {
-        generateSitemaps(true, true);
+        generateSitemaps(true, true, configurationService.getBooleanProperty("sitemap.incremental", false));
     }
 
     /**
@@ -159,6 +156,26 @@ public class GenerateSitemaps {
      *                      if IO error occurs.
      */
     public static void generateSitemaps(boolean makeHTMLMap, boolean makeSitemapOrg) throws SQLException, IOException {
+        generateSitemaps(makeHTMLMap, makeSitemapOrg, false);
+    }
+
+    /**
+     * Generate sitemap.org protocol and/or basic HTML sitemaps.
+     * <p>
+     * The URLs are read from the stored fields of the Discovery index, without loading the objects from the database.
+     * In incremental mode, the sitemap.org sitemap is split into shards and only the shards whose content changed
+     * since the previous incremental run are written, see {@link IncrementalSitemapsOrgGenerator}.
+     *
+     * @param makeHTMLMap    if {@code true}, generate an HTML sitemap.
+     * @param makeSitemapOrg if {@code true}, generate an sitemap.org sitemap.
+     * @param incremental    if {@code true}, only rewrite the sitemap.org files which changed.
+     * @throws SQLException if database error
+     *                      if a database error occurs.
+     * @throws IOException  if IO error
+     *                      if IO error occurs.
+     */
+    public static void generateSitemaps(boolean makeHTMLMap, boolean makeSitemapOrg, boolean incremental)
+        throws SQLException, IOException {
         String uiURLStem = configurationService.getProperty("dspace.ui.url");
         if (!uiURLStem.endsWith("/")) {
             uiURLStem = uiURLStem + '/';
@@ -172,17 +189,23 @@ public class GenerateSitemaps {
 
         AbstractGenerator html = null;
         AbstractGenerator sitemapsOrg = null;
+        IncrementalSitemapsOrgGenerator incrementalSitemapsOrg = null;
 
         if (makeHTMLMap) {
             html = new HTMLSitemapGenerator(outputDir, sitemapStem, ".html");
         }
 
-        if (makeSitemapOrg) {
+        if (makeSitemapOrg && incremental) {
+            incrementalSitemapsOrg = new IncrementalSitemapsOrgGenerator(outputDir, uiURLStem,
+                configurationService.getBooleanProperty("sitemap.incremental.compress", false),
+                configurationService.getIntProperty("sitemap.incremental.prefix-length", 2));
+        } else if (makeSitemapOrg) {
             sitemapsOrg = new SitemapsOrgGenerator(outputDir, sitemapStem, ".xml");
+            // a full run supersedes the shards of the incremental runs
+            IncrementalSitemapsOrgGenerator.deleteShards(outputDir);
         }
 
         Context c = new Context(Context.Mode.READ_ONLY);
-        int offset = 0;
         long commsCount = 0;
         long collsCount = 0;
         long itemsCount = 0;
@@ -191,86 +214,50 @@ public class GenerateSitemaps {
             DiscoverQuery discoveryQuery = new DiscoverQuery();
             discoveryQuery.setMaxResults(PAGE_SIZE);
             discoveryQuery.setQuery("*:*");
-            discoveryQuery.addFilterQueries(RESOURCE_TYPE_FIELD + ":Community");
-            do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                commsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url = uiURLStem + "communities/" + doc.getID();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
+            discoveryQuery.addFilterQueries(RESOURCE_TYPE_FIELD + ":(Community OR Collection OR Item)");
+            discoveryQuery.addSearchField(RESOURCE_TYPE_FIELD);
+            discoveryQuery.addSearchField(RESOURCE_ID_FIELD);
+            discoveryQuery.addSearchField(ENTITY_TYPE_FIELD);
+            discoveryQuery.addSearchField(LAST_MODIFIED_FIELD);
+
+            Iterator<DiscoverResult.SearchDocument> docs = searchService.iteratorSearchDocuments(c, discoveryQuery);
+            while (docs.hasNext()) {
+                DiscoverResult.SearchDocument doc = docs.next();
+                String type = getFirstValue(doc, RESOURCE_TYPE_FIELD);
+                String id = getFirstValue(doc, RESOURCE_ID_FIELD);
+                String url;
+                Instant lastMod = null;
+                if ("Community".equals(type)) {
+                    url = uiURLStem + "communities/" + id;
+                    commsCount++;
+                } else if ("Collection".equals(type)) {
+                    url = uiURLStem + "collections/" + id;
+                    collsCount++;
+                } else {
+                    String entityType = getFirstValue(doc, ENTITY_TYPE_FIELD);
+                    if (StringUtils.isNotBlank(entityType)) {
+                        url = uiURLStem + "entities/" + StringUtils.lowerCase(entityType) + "/" + id;
+                    } else {
+                        url = uiURLStem + "items/" + id;
                     }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
+                    // only items store their own modification date, for the others it is the indexing date
+                    String lastModified = getFirstValue(doc, LAST_MODIFIED_FIELD);
+                    if (StringUtils.isNotBlank(lastModified)) {
+                        lastMod = Instant.parse(lastModified);
                     }
+                    itemsCount++;
                 }
-                offset += PAGE_SIZE;
-            } while (offset < commsCount);
 
-            offset = 0;
-            discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("*:*");
-            discoveryQuery.addFilterQueries(RESOURCE_TYPE_FIELD + ":Collection");
-            do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                collsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url = uiURLStem + "collections/" + doc.getID();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
+                if (makeHTMLMap) {
+                    html.addURL(url, null);
                 }
-                offset += PAGE_SIZE;
-            } while (offset < collsCount);
-
-            offset = 0;
-            discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("*:*");
-            discoveryQuery.addFilterQueries(RESOURCE_TYPE_FIELD + ":Item");
-            discoveryQuery.addSearchField("search.entitytype");
-            do {
-
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                itemsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url;
-                    List<String> entityTypeFieldValues = discoverResult.getSearchDocument(doc).get(0)
-                                            .getSearchFieldValues("search.entitytype");
-                    if (CollectionUtils.isNotEmpty(entityTypeFieldValues)) {
-                        url = uiURLStem + "entities/" + StringUtils.lowerCase(entityTypeFieldValues.get(0)) + "/"
-                                + doc.getID();
-                    } else {
-                        url = uiURLStem + "items/" + doc.getID();
-                    }
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
+                if (sitemapsOrg != null) {
+                    sitemapsOrg.addURL(url, lastMod);
+                }
+                if (incrementalSitemapsOrg != null) {
+                    incrementalSitemapsOrg.addURL(type, id, url, lastMod);
                 }
-                offset += PAGE_SIZE;
-            } while (offset < itemsCount);
+            }
 
             if (makeHTMLMap) {
                 int files = html.finish();
@@ -280,17 +267,31 @@ public class GenerateSitemaps {
                                                   + ",items=" + itemsCount));
             }
 
-            if (makeSitemapOrg) {
+            if (sitemapsOrg != null) {
                 int files = sitemapsOrg.finish();
                 log.info(LogHelper.getHeader(c, "write_sitemap",
                                               "type=html,num_files=" + files + ",communities="
                                                   + commsCount + ",collections=" + collsCount
                                                   + ",items=" + itemsCount));
             }
+
+            if (incrementalSitemapsOrg != null) {
+                int files = incrementalSitemapsOrg.finish();
+                log.info(LogHelper.getHeader(c, "write_sitemap",
+                                              "type=incremental,num_files=" + files + ",unchanged_files="
+                                                  + incrementalSitemapsOrg.getShardsUnchanged() + ",communities="
+                                                  + commsCount + ",collections=" + collsCount
+                                                  + ",items=" + itemsCount));
+            }
         } catch (SearchServiceException e) {
             throw new RuntimeException(e);
         } finally {
             c.abort();
         }
     }
+
+    private static String getFirstValue(DiscoverResult.SearchDocument doc, String field) {
+        List<String> values = doc.getSearchFieldValues(field);
+        return values.isEmpty() ? null : values.get(0);
+    }
 }
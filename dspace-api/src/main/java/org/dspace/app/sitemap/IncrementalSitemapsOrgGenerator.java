@@ -0,0 +1,308 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Generator for <a href="http://sitemaps.org/">Sitemaps</a> which only rewrites the sitemap files whose content
+ * changed since the previous run.
+ * <p>
+ * URLs are split into shards: one for the communities, one for the collections, and one per UUID prefix for the
+ * items. A digest of the content of every shard is kept in a state file next to the sitemaps, so that a shard is only
+ * written again when a URL was added to it, removed from it, or its last modification date changed. The
+ * {@code <lastmod>} of every shard in the sitemap index is the most recent modification date of its URLs, which lets
+ * search engines skip the shards that did not change.
+ * <p>
+ * URLs must be added grouped by shard, i.e. in the order of their Discovery unique index id.
+ */
+public class IncrementalSitemapsOrgGenerator {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * Name of the file keeping the state of the shards between two runs
+     */
+    public static final String STATE_FILENAME = "sitemap_state.properties";
+
+    /**
+     * Pattern matching the names of the shard files
+     */
+    private static final Pattern SHARD_FILENAME =
+        Pattern.compile("sitemap_(communities|collections|items_[0-9a-f]+)\\.xml(\\.gz)?");
+
+    /**
+     * Pattern matching the names of the numbered files written by {@link SitemapsOrgGenerator}
+     */
+    private static final Pattern NUMBERED_FILENAME = Pattern.compile("sitemap[0-9]+\\.xml");
+
+    private static final String SETTINGS_KEY = "settings";
+
+    private final File outputDir;
+    private final String urlStem;
+    private final boolean compress;
+    private final int prefixLength;
+    private final SitemapsOrgGenerator format;
+    private final DateTimeFormatter w3dtfFormat = DateTimeFormatter.ISO_INSTANT;
+
+    private final Properties previousState = new Properties();
+    private final Properties state = new Properties();
+    private final Set<String> closedShards = new HashSet<>();
+
+    private String currentShard;
+    private StringBuilder currentContent;
+    private MessageDigest currentDigest;
+    private int currentCount;
+    private Instant currentLastMod;
+
+    private int shardsWritten;
+    private int shardsUnchanged;
+
+    /**
+     * Construct an incremental sitemaps.org generator.
+     *
+     * @param outputDir    directory to write the sitemap files to
+     * @param urlStem      start of the URLs the sitemap files will appear at, e.g. {@code http://dspace.myu.edu/}
+     * @param compress     whether the shards should be GZIP-compressed
+     * @param prefixLength number of leading characters of the item UUIDs used to shard the items, between 1 and 4
+     * @throws IOException if the state of the previous run cannot be read
+     */
+    public IncrementalSitemapsOrgGenerator(File outputDir, String urlStem, boolean compress, int prefixLength)
+        throws IOException {
+        this.outputDir = outputDir;
+        this.urlStem = urlStem;
+        this.compress = compress;
+        this.prefixLength = Math.max(1, Math.min(prefixLength, 4));
+        this.format = new SitemapsOrgGenerator(outputDir, urlStem, ".xml");
+
+        File stateFile = new File(outputDir, STATE_FILENAME);
+        if (stateFile.isFile()) {
+            try (InputStream in = new FileInputStream(stateFile)) {
+                previousState.load(in);
+            }
+        }
+        // any change of the settings changes the content or the name of every shard: start from scratch
+        String settings = urlStem + "|" + compress + "|" + this.prefixLength;
+        if (!settings.equals(previousState.getProperty(SETTINGS_KEY))) {
+            previousState.clear();
+            deleteShards(outputDir);
+        }
+        state.setProperty(SETTINGS_KEY, settings);
+    }
+
+    /**
+     * Add the given URL to the sitemap.
+     *
+     * @param resourceType the Discovery resource type of the object, e.g. {@code Item}
+     * @param uuid         the UUID of the object
+     * @param url          full URL to add
+     * @param lastMod      date the object was last modified, or {@code null}
+     * @throws IOException if an error occurs writing a completed shard
+     */
+    public void addURL(String resourceType, String uuid, String url, Instant lastMod) throws IOException {
+        String shard = getShard(resourceType, uuid);
+        if (!shard.equals(currentShard)) {
+            closeCurrentShard();
+            if (!closedShards.add(shard)) {
+                throw new IllegalArgumentException("URLs must be added in the order of their unique index id, "
+                                                       + "shard " + shard + " was already completed");
+            }
+            currentShard = shard;
+            currentContent = new StringBuilder(format.getLeadingBoilerPlate());
+            currentDigest = newDigest();
+            currentCount = 0;
+            currentLastMod = null;
+        }
+
+        String urlText = format.getURLText(url, lastMod);
+        currentContent.append(urlText);
+        currentDigest.update(urlText.getBytes(StandardCharsets.UTF_8));
+        currentCount++;
+        if (lastMod != null && (currentLastMod == null || lastMod.isAfter(currentLastMod))) {
+            currentLastMod = lastMod;
+        }
+    }
+
+    /**
+     * Write the last shard, remove the shards which are now empty and write the sitemap index and the state file.
+     * This is invoked when all calls to {@link #addURL(String, String, String, Instant)} have been completed, and
+     * invalidates the generator.
+     *
+     * @return number of shards which were (re)written.
+     * @throws IOException if an error occurs writing
+     */
+    public int finish() throws IOException {
+        closeCurrentShard();
+
+        for (String shard : previousState.stringPropertyNames()) {
+            if (shard.endsWith(".digest") && !state.containsKey(shard)) {
+                String name = StringUtils.removeEnd(shard, ".digest");
+                Files.deleteIfExists(new File(outputDir, getFilename(name)).toPath());
+                log.info("Removed empty sitemap shard {}", name);
+            }
+        }
+        // the numbered files of a full run are superseded by the shards
+        File[] files = outputDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (NUMBERED_FILENAME.matcher(file.getName()).matches()) {
+                    Files.deleteIfExists(file.toPath());
+                }
+            }
+        }
+
+        writeAtomically(format.getIndexFilename(), false, this::writeIndex);
+        writeAtomically(STATE_FILENAME, false, out -> state.store(out, "Incremental sitemap state"));
+
+        log.info("Incremental sitemap: {} shards written, {} unchanged", shardsWritten, shardsUnchanged);
+        return shardsWritten;
+    }
+
+    /**
+     * @return number of shards which were left untouched because their content did not change
+     */
+    public int getShardsUnchanged() {
+        return shardsUnchanged;
+    }
+
+    /**
+     * Delete the shards and the state file of the incremental generator, so that the next incremental run starts
+     * from scratch. Used when the sitemaps are fully regenerated.
+     *
+     * @param outputDir the sitemap directory
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void deleteShards(File outputDir) throws IOException {
+        File[] files = outputDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (SHARD_FILENAME.matcher(file.getName()).matches() || STATE_FILENAME.equals(file.getName())) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    private String getShard(String resourceType, String uuid) {
+        switch (resourceType) {
+            case "Community":
+                return "communities";
+            case "Collection":
+                return "collections";
+            default:
+                return "items_" + StringUtils.lowerCase(StringUtils.left(uuid, prefixLength));
+        }
+    }
+
+    private String getFilename(String shard) {
+        return "sitemap_" + shard + ".xml" + (compress ? ".gz" : "");
+    }
+
+    private void closeCurrentShard() throws IOException {
+        if (currentShard == null) {
+            return;
+        }
+        String digest = HexFormat.of().formatHex(currentDigest.digest());
+        String filename = getFilename(currentShard);
+        String lastMod;
+        if (digest.equals(previousState.getProperty(currentShard + ".digest"))
+            && new File(outputDir, filename).isFile()) {
+            lastMod = previousState.getProperty(currentShard + ".lastmod", w3dtfFormat.format(Instant.now()));
+            shardsUnchanged++;
+        } else {
+            if (currentCount > format.getMaxURLs()) {
+                log.warn("Sitemap shard {} contains {} URLs, more than the {} allowed by the sitemaps.org protocol. "
+                             + "Increase sitemap.incremental.prefix-length.",
+                         currentShard, currentCount, format.getMaxURLs());
+            }
+            currentContent.append(format.getTrailingBoilerPlate());
+            writeAtomically(filename, compress, out -> out.print(currentContent));
+            lastMod = w3dtfFormat.format(currentLastMod != null ? currentLastMod : Instant.now());
+            shardsWritten++;
+        }
+        state.setProperty(currentShard + ".digest", digest);
+        state.setProperty(currentShard + ".lastmod", lastMod);
+        state.setProperty(currentShard + ".count", String.valueOf(currentCount));
+
+        currentShard = null;
+        currentContent = null;
+    }
+
+    private void writeIndex(PrintStream output) {
+        output.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        output.println("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
+        for (String key : new TreeSet<>(state.stringPropertyNames())) {
+            if (key.endsWith(".digest")) {
+                String shard = StringUtils.removeEnd(key, ".digest");
+                output.print("<sitemap><loc>" + urlStem + getFilename(shard) + "</loc>");
+                output.print("<lastmod>" + state.getProperty(shard + ".lastmod") + "</lastmod></sitemap>\n");
+            }
+        }
+        output.println("</sitemapindex>");
+    }
+
+    /**
+     * Write a file through a temporary file in the same directory, so that the sitemap controller never serves a
+     * partially written file.
+     */
+    private void writeAtomically(String filename, boolean gzip, FileContent content) throws IOException {
+        File target = new File(outputDir, filename);
+        File tmp = File.createTempFile(filename, ".tmp", outputDir);
+        try {
+            OutputStream fo = new FileOutputStream(tmp);
+            if (gzip) {
+                fo = new GZIPOutputStream(fo);
+            }
+            try (PrintStream out = new PrintStream(fo, false, StandardCharsets.UTF_8)) {
+                content.write(out);
+            }
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileContent {
+        void write(PrintStream out) throws IOException;
+    }
+}
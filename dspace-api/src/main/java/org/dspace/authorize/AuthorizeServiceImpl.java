@@ -18,6 +18,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import io.micrometer.core.instrument.Counter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -36,6 +37,7 @@ import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.DSpaceMetrics;
 import org.dspace.discovery.DiscoverQuery;
 import org.dspace.discovery.DiscoverQuery.SORT_ORDER;
 import org.dspace.discovery.DiscoverResult;
@@ -85,6 +87,13 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     @Autowired(required = true)
     private SearchService searchService;
 
+    /**
+     * Authorization checks answered from the cache of the context, and checks evaluating the policies
+     */
+    private final Counter cacheHitCounter = DSpaceMetrics.counter("authorize.checks",
+        "Authorization checks of an action on an object", "cache", "hit");
+    private final Counter cacheMissCounter = DSpaceMetrics.counter("authorize.checks",
+        "Authorization checks of an action on an object", "cache", "miss");
 
     protected AuthorizeServiceImpl() {
 
@@ -249,8 +258,10 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         // If authorization was given before and cached
         Boolean cachedResult = c.getCachedAuthorizationResult(o, action, e);
         if (cachedResult != null) {
+            cacheHitCounter.increment();
             return cachedResult;
         }
+        cacheMissCounter.increment();
 
         // is eperson set? if not, userToCheck = null (anonymous)
         EPerson userToCheck = null;
@@ -102,6 +102,15 @@ public interface BrowseDAO {
      */
     public int doDistinctOffsetQuery(String column, String value, boolean isAscending) throws BrowseException;
 
+    /**
+     * Whether {@link #doDistinctOffsetQuery(String, String, boolean)} can compute the offset of a value across the
+     * whole distinct browse with the current settings of the DAO, so that a distinct browse can be positioned on a
+     * jump-to value rather than filtered on it.
+     *
+     * @return true if the offset of any value in the distinct browse can be computed
+     */
+    public boolean isDistinctOffsetSupported();
+
     /**
      * Does the query use the equals comparator when doing less than or greater than
      * comparisons.  @see setEqualsComparator
@@ -436,6 +436,13 @@ public class BrowseEngine {
                 rawFocusValue = getJumpToValue();
             }
 
+            // position the browse on the jump-to value rather than filtering on it, when the DAO can work out
+            // its offset across the whole browse
+            if (offset < 1 && scope.hasJumpToValue() && !scope.hasStartsWith() && dao.isDistinctOffsetSupported()) {
+                dao.setStartsWith(null);
+                offset = getOffsetForDistinctValue(normalizeJumpToValue(null));
+            }
+
 
             // assemble the offset and limit
             dao.setOffset(offset);
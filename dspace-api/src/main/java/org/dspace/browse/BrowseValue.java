@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+import org.hibernate.Length;
+
+/**
+ * Database entity representation of the browse_value table: one distinct value of a metadata browse index, with
+ * the number of publicly visible items carrying it.
+ * <p>
+ * The items of every value are kept in the browse_value2item table, so that the counts can be maintained
+ * incrementally when an item changes, see {@link org.dspace.browse.service.BrowseValueService}.
+ */
+@Entity
+@Table(name = "browse_value")
+public class BrowseValue implements ReloadableEntity<Integer> {
+
+    /**
+     * Maximum length of the stored sort value, long enough to order any realistic value while keeping the
+     * sort index within the limits of the database
+     */
+    public static final int SORT_VALUE_LENGTH = 256;
+
+    @Id
+    @Column(name = "browse_value_id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "browse_value_seq")
+    @SequenceGenerator(name = "browse_value_seq", sequenceName = "browse_value_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The distinct table name of the browse index, e.g. bi_2_dis
+     */
+    @Column(name = "index_name", length = 64, nullable = false)
+    private String indexName;
+
+    /**
+     * Hash of the sort value, value and authority, identifying the value within its index
+     */
+    @Column(name = "value_hash", length = 64, nullable = false)
+    private String valueHash;
+
+    @Column(name = "sort_value", length = SORT_VALUE_LENGTH, nullable = false)
+    private String sortValue;
+
+    @Column(name = "value", length = Length.LONG32, nullable = false)
+    private String value;
+
+    @Column(name = "authority", length = 256)
+    private String authority;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    /**
+     * Protected constructor, values are created by
+     * {@link org.dspace.browse.service.BrowseValueService#update(org.dspace.core.Context, org.dspace.content.Item)}
+     */
+    protected BrowseValue() {
+    }
+
+    BrowseValue(String indexName, String valueHash, String sortValue, String value, String authority) {
+        this.indexName = indexName;
+        this.valueHash = valueHash;
+        this.sortValue = sortValue;
+        this.value = value;
+        this.authority = authority;
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public String getValueHash() {
+        return valueHash;
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getAuthority() {
+        return authority;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+}
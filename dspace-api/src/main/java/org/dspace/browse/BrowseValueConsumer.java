@@ -0,0 +1,108 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.browse.service.BrowseValueService;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.utils.DSpace;
+import org.dspace.versioning.Version;
+import org.dspace.versioning.VersionHistory;
+import org.dspace.versioning.factory.VersionServiceFactory;
+import org.dspace.versioning.service.VersionHistoryService;
+
+/**
+ * Consumer keeping the browse value store up to date with the items which were created, modified, installed or
+ * deleted. The changed items are collected during the transaction and their values are updated once, at the end.
+ * <p>
+ * Besides the changes of their metadata, the visibility of the items changes with their policies, withdrawal and
+ * discoverability, which all end in an Item+Modify event, with the collections they are mapped to or unmapped from
+ * (Collection+Add|Remove events), and with a new version being installed, which hides the previous version.
+ *
+ * @see BrowseValueService
+ */
+public class BrowseValueConsumer implements Consumer {
+
+    private BrowseValueService browseValueService;
+
+    private ItemService itemService;
+
+    private VersionHistoryService versionHistoryService;
+
+    private final Set<UUID> itemsToUpdate = new LinkedHashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        browseValueService = new DSpace().getSingletonService(BrowseValueService.class);
+        itemService = ContentServiceFactory.getInstance().getItemService();
+        versionHistoryService = VersionServiceFactory.getInstance().getVersionHistoryService();
+    }
+
+    @Override
+    public void consume(Context context, Event event) throws Exception {
+        if (!browseValueService.isEnabled()) {
+            return;
+        }
+        if (event.getSubjectType() == Constants.ITEM && event.getSubjectID() != null) {
+            itemsToUpdate.add(event.getSubjectID());
+            if (event.getEventType() == Event.INSTALL) {
+                addPreviousVersion(context, (Item) event.getSubject(context));
+            }
+        } else if (event.getSubjectType() == Constants.COLLECTION && event.getObjectType() == Constants.ITEM
+            && event.getObjectID() != null) {
+            itemsToUpdate.add(event.getObjectID());
+        }
+    }
+
+    /**
+     * The previous version of an installed item is not the latest version anymore
+     */
+    private void addPreviousVersion(Context context, Item item) throws Exception {
+        if (item == null) {
+            return;
+        }
+        VersionHistory history = versionHistoryService.findByItem(context, item);
+        if (history == null) {
+            return;
+        }
+        Version version = versionHistoryService.getVersion(context, history, item);
+        Version previous = version != null ? versionHistoryService.getPrevious(context, history, version) : null;
+        if (previous != null && previous.getItem() != null) {
+            itemsToUpdate.add(previous.getItem().getID());
+        }
+    }
+
+    @Override
+    public void end(Context context) throws Exception {
+        try {
+            for (UUID itemId : itemsToUpdate) {
+                Item item = itemService.find(context, itemId);
+                if (item == null) {
+                    browseValueService.delete(context, itemId);
+                } else {
+                    browseValueService.update(context, item);
+                }
+            }
+        } finally {
+            itemsToUpdate.clear();
+        }
+    }
+
+    @Override
+    public void finish(Context context) throws Exception {
+    }
+}
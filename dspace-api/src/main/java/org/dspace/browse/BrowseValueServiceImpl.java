@@ -0,0 +1,225 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.ResourcePolicy;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.browse.dao.BrowseValueDAO;
+import org.dspace.browse.service.BrowseValueService;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrServiceMetadataBrowseIndexingPlugin;
+import org.dspace.eperson.Group;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Service implementation for the {@link BrowseValue} object.
+ * This class is responsible for all business logic calls for the browse value store and is autowired by spring.
+ * This class should never be accessed directly.
+ * <p>
+ * The values of an item are computed by the {@link SolrServiceMetadataBrowseIndexingPlugin}, exactly as they are
+ * indexed in the {@code <distinct table name>_filter} field of Solr. Only the items an anonymous user finds in a
+ * browse are counted: archived, not withdrawn, discoverable, latest version items with an anonymous READ policy.
+ */
+public class BrowseValueServiceImpl implements BrowseValueService {
+
+    private static final Logger log = LogManager.getLogger();
+
+    @Autowired(required = true)
+    protected BrowseValueDAO browseValueDAO;
+
+    @Autowired(required = true)
+    protected ItemService itemService;
+
+    @Autowired(required = true)
+    protected AuthorizeService authorizeService;
+
+    @Autowired(required = true)
+    protected ResourcePolicyService resourcePolicyService;
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = true)
+    protected SolrServiceMetadataBrowseIndexingPlugin browseIndexingPlugin;
+
+    protected BrowseValueServiceImpl() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("browse.value-store.enabled", false);
+    }
+
+    @Override
+    public void update(Context context, Item item) throws SQLException {
+        Map<String, String[]> values = isVisible(context, item) ? getValues(item) : Map.of();
+        Map<String, Integer> current = browseValueDAO.findIdsByItem(context, item.getID());
+
+        for (Map.Entry<String, Integer> entry : current.entrySet()) {
+            if (!values.containsKey(entry.getKey())) {
+                browseValueDAO.removeItem(context, entry.getValue(), item.getID());
+                browseValueDAO.updateItemCount(context, entry.getValue(), -1);
+            }
+        }
+        for (Map.Entry<String, String[]> entry : values.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                String[] value = entry.getValue();
+                Integer id = browseValueDAO.findIdByHash(context, value[0], value[1]);
+                if (id == null) {
+                    id = browseValueDAO.createIfAbsent(context,
+                        new BrowseValue(value[0], value[1], value[2], value[3], value[4]));
+                }
+                browseValueDAO.addItem(context, id, item.getID());
+                browseValueDAO.updateItemCount(context, id, 1);
+            }
+        }
+    }
+
+    @Override
+    public void delete(Context context, UUID itemId) throws SQLException {
+        for (Integer id : browseValueDAO.findIdsByItem(context, itemId).values()) {
+            browseValueDAO.removeItem(context, id, itemId);
+            browseValueDAO.updateItemCount(context, id, -1);
+        }
+    }
+
+    @Override
+    public int rebuild(Context context) throws SQLException {
+        browseValueDAO.deleteAll(context);
+        int counted = 0;
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            if (isVisible(context, item)) {
+                update(context, item);
+                counted++;
+            }
+            context.uncacheEntity(item);
+        }
+        log.info("Rebuilt the browse value store from {} items", counted);
+        return counted;
+    }
+
+    @Override
+    public List<BrowseValue> findValues(Context context, String indexName, String startsWith, boolean ascending,
+                                        int offset, int limit) throws SQLException {
+        List<BrowseValue> values = browseValueDAO.findValues(context, indexName, startsWith, ascending, offset,
+                                                             limit);
+        // the item counts are maintained by bulk updates, don't let a later lookup return stale cached entities
+        for (BrowseValue value : values) {
+            context.uncacheEntity(value);
+        }
+        return values;
+    }
+
+    @Override
+    public List<BrowseValue> findValuesFrom(Context context, String indexName, String startsWith, boolean ascending,
+                                            String sortValue, int limit) throws SQLException {
+        // (sort value, 0) sorts before every value with the sort value, which ascending starts with them and
+        // descending skips them
+        List<BrowseValue> values = browseValueDAO.findValuesAfter(context, indexName, startsWith, ascending,
+            StringUtils.left(sortValue, BrowseValue.SORT_VALUE_LENGTH), 0, limit);
+        for (BrowseValue value : values) {
+            context.uncacheEntity(value);
+        }
+        return values;
+    }
+
+    @Override
+    public int countValues(Context context, String indexName, String startsWith) throws SQLException {
+        return browseValueDAO.countValues(context, indexName, startsWith);
+    }
+
+    @Override
+    public int countValuesBefore(Context context, String indexName, String sortValue) throws SQLException {
+        return browseValueDAO.countValuesBefore(context, indexName,
+                                                StringUtils.left(sortValue, BrowseValue.SORT_VALUE_LENGTH));
+    }
+
+    /**
+     * Whether an anonymous user finds the item in a browse.
+     */
+    protected boolean isVisible(Context context, Item item) throws SQLException {
+        if (!item.isArchived() || item.isWithdrawn() || !item.isDiscoverable()
+            || !itemService.isLatestVersion(context, item)) {
+            return false;
+        }
+        for (ResourcePolicy policy : authorizeService.getPoliciesActionFilter(context, item, Constants.READ)) {
+            if (policy.getGroup() != null && Group.ANONYMOUS.equals(policy.getGroup().getName())
+                && resourcePolicyService.isDateValid(policy)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compute the values of every metadata browse index for an item.
+     *
+     * @return the index name, value hash, sort value, value and authority of every value, keyed by the index name
+     * and the value hash joined by a colon
+     */
+    protected Map<String, String[]> getValues(Item item) {
+        BrowseIndex[] bis;
+        try {
+            bis = BrowseIndex.getBrowseIndices();
+        } catch (BrowseException e) {
+            throw new IllegalStateException(e);
+        }
+        Map<String, String[]> values = new HashMap<>();
+        for (BrowseIndex bi : bis) {
+            if (!bi.isMetadataIndex()) {
+                continue;
+            }
+            for (String facet : browseIndexingPlugin.getDistinctValues(item, bi)) {
+                String sortValue = StringUtils.substringBefore(facet, SearchUtils.FILTER_SEPARATOR);
+                String value = StringUtils.substringAfter(facet, SearchUtils.FILTER_SEPARATOR);
+                String authority = null;
+                if (value.contains(SearchUtils.AUTHORITY_SEPARATOR)) {
+                    authority = StringUtils.substringAfterLast(value, SearchUtils.AUTHORITY_SEPARATOR);
+                    value = StringUtils.substringBeforeLast(value, SearchUtils.AUTHORITY_SEPARATOR);
+                }
+                String hash = hash(facet);
+                values.put(bi.getDistinctTableName() + ":" + hash, new String[] {
+                    bi.getDistinctTableName(), hash, StringUtils.left(sortValue, BrowseValue.SORT_VALUE_LENGTH),
+                    value, authority
+                });
+            }
+        }
+        return values;
+    }
+
+    private String hash(String facet) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(facet.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
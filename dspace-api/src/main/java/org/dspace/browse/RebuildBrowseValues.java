@@ -0,0 +1,78 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.browse.service.BrowseValueService;
+import org.dspace.core.Context;
+import org.dspace.utils.DSpace;
+
+/**
+ * Command line tool rebuilding the browse value store from the items in the database. It must be run once when the
+ * store is enabled, and again after changes to the browse index configuration or to the access policies of items,
+ * which are not picked up incrementally.
+ */
+public class RebuildBrowseValues {
+
+    private static final Logger log = LogManager.getLogger(RebuildBrowseValues.class);
+
+    /**
+     * Default constructor
+     */
+    private RebuildBrowseValues() { }
+
+    /**
+     * Rebuild the browse value store.
+     *
+     * @param argv the command line arguments given
+     */
+    public static void main(String[] argv) {
+        CommandLineParser parser = new DefaultParser();
+        Options options = new Options();
+        options.addOption("h", "help", false, "Help");
+
+        CommandLine line = null;
+        try {
+            line = parser.parse(options, argv);
+        } catch (ParseException e) {
+            log.fatal(e);
+            System.exit(1);
+        }
+        if (line.hasOption('h')) {
+            HelpFormatter myhelp = new HelpFormatter();
+            myhelp.printHelp("RebuildBrowseValues\n", options);
+            System.exit(0);
+        }
+
+        BrowseValueService browseValueService = new DSpace().getSingletonService(BrowseValueService.class);
+        if (!browseValueService.isEnabled()) {
+            System.out.println("The browse value store is disabled, set browse.value-store.enabled = true first");
+            System.exit(1);
+        }
+
+        Context context = new Context();
+        try {
+            context.turnOffAuthorisationSystem();
+            int items = browseValueService.rebuild(context);
+            context.complete();
+            System.out.println("Browse value store rebuilt from " + items + " items");
+            System.exit(0);
+        } catch (Exception e) {
+            log.fatal("Caught exception:", e);
+            context.abort();
+            System.exit(1);
+        }
+    }
+}
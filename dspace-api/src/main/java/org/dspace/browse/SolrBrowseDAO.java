@@ -11,6 +11,7 @@ import static org.dspace.discovery.SearchUtils.RESOURCE_ID_FIELD;
 import static org.dspace.discovery.SearchUtils.RESOURCE_TYPE_FIELD;
 
 import java.io.Serializable;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -23,6 +24,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.util.ClientUtils;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.browse.service.BrowseValueService;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
@@ -172,10 +174,31 @@ public class SolrBrowseDAO implements BrowseDAO {
     SearchService searcher = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
         SearchService.class.getName(), SearchService.class);
 
+    BrowseValueService browseValueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(BrowseValueService.class.getName(), BrowseValueService.class);
+
     private DiscoverResult sResponse = null;
 
     private boolean showFrequencies;
 
+    private Integer valueStoreCount = null;
+
+    /**
+     * The last sort value whose offset was computed from the browse value store, and that offset: a page at that
+     * offset is read from the sort value rather than by skipping the values before it
+     */
+    private String valueStoreFocus = null;
+    private int valueStoreFocusOffset = -1;
+
+    /**
+     * Whether the distinct values are read from the browse value store rather than from a Solr facet. The store only
+     * counts the items visible to anonymous users, across the whole repository.
+     */
+    private boolean isValueStoreQuery() {
+        return distinct && container == null && context.getCurrentUser() == null && browseValueService != null
+            && browseValueService.isEnabled();
+    }
+
     private DiscoverResult getSolrResponse() throws BrowseException {
         if (sResponse == null) {
             DiscoverQuery query = new DiscoverQuery();
@@ -259,6 +282,16 @@ public class SolrBrowseDAO implements BrowseDAO {
 
     @Override
     public int doCountQuery() throws BrowseException {
+        if (isValueStoreQuery()) {
+            if (valueStoreCount == null) {
+                try {
+                    valueStoreCount = browseValueService.countValues(context, facetField, startsWith);
+                } catch (SQLException e) {
+                    throw new BrowseException(e);
+                }
+            }
+            return valueStoreCount;
+        }
         DiscoverResult resp = getSolrResponse();
         int count = 0;
         if (distinct) {
@@ -276,6 +309,26 @@ public class SolrBrowseDAO implements BrowseDAO {
 
     @Override
     public List doValueQuery() throws BrowseException {
+        if (isValueStoreQuery()) {
+            List<String[]> result = new ArrayList<>();
+            try {
+                List<BrowseValue> values;
+                if (valueStoreFocus != null && offset == valueStoreFocusOffset) {
+                    values = browseValueService.findValuesFrom(context, facetField, startsWith, ascending,
+                                                               valueStoreFocus, limit);
+                } else {
+                    values = browseValueService.findValues(context, facetField, startsWith, ascending, offset,
+                                                           limit);
+                }
+                for (BrowseValue value : values) {
+                    String freq = showFrequencies ? String.valueOf(value.getItemCount()) : "";
+                    result.add(new String[] {value.getValue(), value.getAuthority(), freq});
+                }
+            } catch (SQLException e) {
+                throw new BrowseException(e);
+            }
+            return result;
+        }
         DiscoverResult resp = getSolrResponse();
         List<FacetResult> facet = resp.getFacetResult(facetField);
         int count = doCountQuery();
@@ -367,6 +420,16 @@ public class SolrBrowseDAO implements BrowseDAO {
     @Override
     public int doDistinctOffsetQuery(String column, String value,
                                      boolean isAscending) throws BrowseException {
+        if (isValueStoreQuery()) {
+            try {
+                int ascValue = browseValueService.countValuesBefore(context, facetField, value);
+                valueStoreFocus = value;
+                valueStoreFocusOffset = isAscending ? ascValue : doCountQuery() - ascValue;
+                return valueStoreFocusOffset;
+            } catch (SQLException e) {
+                throw new BrowseException(e);
+            }
+        }
         DiscoverResult resp = getSolrResponse();
         List<FacetResult> facets = resp.getFacetResult(facetField);
         Comparator comparator = new SolrBrowseDAO.FacetValueComparator();
@@ -380,6 +443,12 @@ public class SolrBrowseDAO implements BrowseDAO {
         }
     }
 
+    @Override
+    public boolean isDistinctOffsetSupported() {
+        // the Solr facet only holds the current page of values
+        return isValueStoreQuery();
+    }
+
     @Override
     public boolean isEnableBrowseFrequencies() {
         return showFrequencies;
@@ -449,6 +518,8 @@ public class SolrBrowseDAO implements BrowseDAO {
     @Override
     public void setStartsWith(String startsWith) {
         this.startsWith = startsWith;
+        valueStoreCount = null;
+        valueStoreFocus = null;
     }
 
     @Override
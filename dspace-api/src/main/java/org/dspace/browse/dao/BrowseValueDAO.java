@@ -0,0 +1,151 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.browse.BrowseValue;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+
+/**
+ * Database Access Object interface class for the BrowseValue object.
+ * The implementation of this class is responsible for all database calls for the BrowseValue object and its
+ * mapping to items, and is autowired by spring.
+ */
+public interface BrowseValueDAO extends GenericDAO<BrowseValue> {
+
+    /**
+     * Find the id of a value of a browse index.
+     *
+     * @param context   The DSpace context
+     * @param indexName the distinct table name of the browse index
+     * @param valueHash the hash identifying the value in the index
+     * @return the id of the value, or null if the index has no such value yet
+     * @throws SQLException If something goes wrong in the database
+     */
+    Integer findIdByHash(Context context, String indexName, String valueHash) throws SQLException;
+
+    /**
+     * Create a value of a browse index, unless the index already has a value with the same hash, which may have been
+     * created concurrently by another transaction.
+     *
+     * @param context     The DSpace context
+     * @param browseValue the value to create, its item count is ignored
+     * @return the id of the created value, or of the existing value with the same hash
+     * @throws SQLException If something goes wrong in the database
+     */
+    Integer createIfAbsent(Context context, BrowseValue browseValue) throws SQLException;
+
+    /**
+     * Find the values an item is currently counted in.
+     *
+     * @param context The DSpace context
+     * @param itemId  the UUID of the item
+     * @return the ids of the values, keyed by the index name and the value hash joined by a colon
+     * @throws SQLException If something goes wrong in the database
+     */
+    Map<String, Integer> findIdsByItem(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Count an item in a value.
+     *
+     * @param context The DSpace context
+     * @param valueId the id of the value
+     * @param itemId  the UUID of the item
+     * @throws SQLException If something goes wrong in the database
+     */
+    void addItem(Context context, Integer valueId, UUID itemId) throws SQLException;
+
+    /**
+     * Stop counting an item in a value.
+     *
+     * @param context The DSpace context
+     * @param valueId the id of the value
+     * @param itemId  the UUID of the item
+     * @throws SQLException If something goes wrong in the database
+     */
+    void removeItem(Context context, Integer valueId, UUID itemId) throws SQLException;
+
+    /**
+     * Atomically add a delta to the item count of a value.
+     *
+     * @param context The DSpace context
+     * @param valueId the id of the value
+     * @param delta   the number of items to add, negative to remove
+     * @throws SQLException If something goes wrong in the database
+     */
+    void updateItemCount(Context context, Integer valueId, int delta) throws SQLException;
+
+    /**
+     * Find a page of the values of a browse index which are carried by at least one item, in sort order.
+     *
+     * @param context    The DSpace context
+     * @param indexName  the distinct table name of the browse index
+     * @param startsWith only return the values whose sort value starts with this prefix, or null
+     * @param ascending  the sort order
+     * @param offset     the number of values to skip
+     * @param limit      the maximum number of values to return
+     * @return the values
+     * @throws SQLException If something goes wrong in the database
+     */
+    List<BrowseValue> findValues(Context context, String indexName, String startsWith, boolean ascending,
+                                 int offset, int limit) throws SQLException;
+
+    /**
+     * Find a page of the values of a browse index which are carried by at least one item, starting after a given
+     * value in sort order. The page is read by seeking the (sort value, id) key in the sort index, whatever the
+     * position of the key in the index.
+     *
+     * @param context    The DSpace context
+     * @param indexName  the distinct table name of the browse index
+     * @param startsWith only return the values whose sort value starts with this prefix, or null
+     * @param ascending  the sort order
+     * @param sortValue  the sort value of the key to start after
+     * @param id         the id of the key to start after, 0 to start at the first value with the sort value in
+     *                   ascending order, after the last one in descending order
+     * @param limit      the maximum number of values to return
+     * @return the values
+     * @throws SQLException If something goes wrong in the database
+     */
+    List<BrowseValue> findValuesAfter(Context context, String indexName, String startsWith, boolean ascending,
+                                      String sortValue, int id, int limit) throws SQLException;
+
+    /**
+     * Count the values of a browse index which are carried by at least one item.
+     *
+     * @param context    The DSpace context
+     * @param indexName  the distinct table name of the browse index
+     * @param startsWith only count the values whose sort value starts with this prefix, or null
+     * @return the number of values
+     * @throws SQLException If something goes wrong in the database
+     */
+    int countValues(Context context, String indexName, String startsWith) throws SQLException;
+
+    /**
+     * Count the values of a browse index which sort before the given sort value.
+     *
+     * @param context   The DSpace context
+     * @param indexName the distinct table name of the browse index
+     * @param sortValue the sort value
+     * @return the number of values sorting strictly before the sort value
+     * @throws SQLException If something goes wrong in the database
+     */
+    int countValuesBefore(Context context, String indexName, String sortValue) throws SQLException;
+
+    /**
+     * Delete all values and item mappings.
+     *
+     * @param context The DSpace context
+     * @throws SQLException If something goes wrong in the database
+     */
+    void deleteAll(Context context) throws SQLException;
+}
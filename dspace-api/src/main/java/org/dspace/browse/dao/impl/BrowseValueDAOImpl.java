@@ -0,0 +1,184 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse.dao.impl;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.browse.BrowseValue;
+import org.dspace.browse.dao.BrowseValueDAO;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the BrowseValue object.
+ * This class is responsible for all database calls for the BrowseValue object and is autowired by Spring.
+ * This class should never be accessed directly.
+ * <p>
+ * The lookups are served by the unique (index_name, value_hash) index and the (index_name, sort_value,
+ * browse_value_id) index of the browse_value table. The pages read from a known value, e.g. a jump-to value, seek the
+ * sort index on that key instead of skipping an offset. The counts are still proportional to the number of values
+ * they count.
+ */
+public class BrowseValueDAOImpl extends AbstractHibernateDAO<BrowseValue> implements BrowseValueDAO {
+
+    /**
+     * Escape character of the LIKE patterns built for the prefix queries
+     */
+    private static final String LIKE_ESCAPE = "!";
+
+    protected BrowseValueDAOImpl() {
+        super();
+    }
+
+    @Override
+    public Integer createIfAbsent(Context context, BrowseValue browseValue) throws SQLException {
+        // another transaction may insert the same value concurrently: the unique hash index keeps a single row
+        insertUnlessDuplicate(context, "insert into browse_value (browse_value_id, index_name, value_hash, "
+                                  + "sort_value, value, authority, item_count) "
+                                  + "VALUES (nextval('browse_value_seq'), ?, ?, ?, ?, ?, 0)",
+                              browseValue.getIndexName(), browseValue.getValueHash(), browseValue.getSortValue(),
+                              browseValue.getValue(), browseValue.getAuthority());
+        return findIdByHash(context, browseValue.getIndexName(), browseValue.getValueHash());
+    }
+
+    @Override
+    public Integer findIdByHash(Context context, String indexName, String valueHash) throws SQLException {
+        Query query = createQuery(context, "SELECT v.id FROM BrowseValue v "
+            + "WHERE v.indexName = :indexName AND v.valueHash = :valueHash ORDER BY v.id");
+        query.setParameter("indexName", indexName);
+        query.setParameter("valueHash", valueHash);
+        query.setMaxResults(1);
+        List<Integer> ids = query.getResultList();
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    @Override
+    public Map<String, Integer> findIdsByItem(Context context, UUID itemId) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "SELECT v.index_name, v.value_hash, v.browse_value_id FROM browse_value v "
+                + "JOIN browse_value2item vi ON vi.browse_value_id = v.browse_value_id WHERE vi.item_id = :item",
+            Object[].class
+        );
+        query.setParameter("item", itemId);
+        List<Object[]> rows = query.getResultList();
+        Map<String, Integer> ids = new HashMap<>();
+        for (Object[] row : rows) {
+            ids.put(row[0] + ":" + row[1], ((Number) row[2]).intValue());
+        }
+        return ids;
+    }
+
+    @Override
+    public void addItem(Context context, Integer valueId, UUID itemId) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "insert into browse_value2item (browse_value_id, item_id) VALUES (:value, :item)"
+        );
+        query.setParameter("value", valueId);
+        query.setParameter("item", itemId);
+        query.executeUpdate();
+    }
+
+    @Override
+    public void removeItem(Context context, Integer valueId, UUID itemId) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "delete from browse_value2item WHERE browse_value_id = :value AND item_id = :item"
+        );
+        query.setParameter("value", valueId);
+        query.setParameter("item", itemId);
+        query.executeUpdate();
+    }
+
+    @Override
+    public void updateItemCount(Context context, Integer valueId, int delta) throws SQLException {
+        Query query = createQuery(context,
+                                  "UPDATE BrowseValue v SET v.itemCount = v.itemCount + :delta WHERE v.id = :id");
+        query.setParameter("delta", delta);
+        query.setParameter("id", valueId);
+        query.executeUpdate();
+    }
+
+    @Override
+    public List<BrowseValue> findValues(Context context, String indexName, String startsWith, boolean ascending,
+                                        int offset, int limit) throws SQLException {
+        String direction = ascending ? "ASC" : "DESC";
+        Query query = createQuery(context, "FROM BrowseValue v WHERE v.indexName = :indexName AND v.itemCount > 0"
+            + prefixCondition(startsWith) + " ORDER BY v.sortValue " + direction + ", v.id " + direction);
+        query.setParameter("indexName", indexName);
+        setPrefix(query, startsWith);
+        query.setFirstResult(Math.max(offset, 0));
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return list(query);
+    }
+
+    @Override
+    public List<BrowseValue> findValuesAfter(Context context, String indexName, String startsWith, boolean ascending,
+                                             String sortValue, int id, int limit) throws SQLException {
+        String direction = ascending ? "ASC" : "DESC";
+        String after = ascending ? ">" : "<";
+        Query query = createQuery(context, "FROM BrowseValue v WHERE v.indexName = :indexName AND v.itemCount > 0"
+            + prefixCondition(startsWith) + " AND (v.sortValue " + after + " :sortValue"
+            + " OR (v.sortValue = :sortValue AND v.id " + after + " :id))"
+            + " ORDER BY v.sortValue " + direction + ", v.id " + direction);
+        query.setParameter("indexName", indexName);
+        setPrefix(query, startsWith);
+        query.setParameter("sortValue", sortValue);
+        query.setParameter("id", id);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return list(query);
+    }
+
+    @Override
+    public int countValues(Context context, String indexName, String startsWith) throws SQLException {
+        Query query = createQuery(context, "SELECT count(*) FROM BrowseValue v "
+            + "WHERE v.indexName = :indexName AND v.itemCount > 0" + prefixCondition(startsWith));
+        query.setParameter("indexName", indexName);
+        setPrefix(query, startsWith);
+        return count(query);
+    }
+
+    @Override
+    public int countValuesBefore(Context context, String indexName, String sortValue) throws SQLException {
+        Query query = createQuery(context, "SELECT count(*) FROM BrowseValue v "
+            + "WHERE v.indexName = :indexName AND v.itemCount > 0 AND v.sortValue < :sortValue");
+        query.setParameter("indexName", indexName);
+        query.setParameter("sortValue", sortValue);
+        return count(query);
+    }
+
+    @Override
+    public void deleteAll(Context context) throws SQLException {
+        getHibernateSession(context).createNativeQuery("delete from browse_value2item").executeUpdate();
+        createQuery(context, "DELETE FROM BrowseValue").executeUpdate();
+    }
+
+    private String prefixCondition(String startsWith) {
+        if (StringUtils.isEmpty(startsWith)) {
+            return "";
+        }
+        return " AND v.sortValue LIKE :prefix ESCAPE '" + LIKE_ESCAPE + "'";
+    }
+
+    private void setPrefix(Query query, String startsWith) {
+        if (StringUtils.isNotEmpty(startsWith)) {
+            String escaped = startsWith.replace(LIKE_ESCAPE, LIKE_ESCAPE + LIKE_ESCAPE)
+                                       .replace("%", LIKE_ESCAPE + "%")
+                                       .replace("_", LIKE_ESCAPE + "_");
+            query.setParameter("prefix", escaped + "%");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.browse.BrowseValue;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+
+/**
+ * Service maintaining the browse value store: a table of the distinct values of every metadata browse index, with the
+ * number of publicly visible items carrying each of them.
+ * <p>
+ * The store is kept up to date incrementally by the {@link org.dspace.browse.BrowseValueConsumer} and serves the
+ * distinct value browses of anonymous users across the whole repository from the database indexes, so that paging,
+ * prefix filtering and jump-to offsets do not need to materialize the full facet of the browse index in Solr. It can
+ * be rebuilt from scratch with the {@code rebuild-browse-values} command.
+ */
+public interface BrowseValueService {
+
+    /**
+     * @return whether the browse value store is enabled, see {@code browse.value-store.enabled}
+     */
+    boolean isEnabled();
+
+    /**
+     * Update the values an item is counted in to the current metadata and visibility of the item.
+     *
+     * @param context The DSpace context
+     * @param item    the item
+     * @throws SQLException If something goes wrong in the database
+     */
+    void update(Context context, Item item) throws SQLException;
+
+    /**
+     * Stop counting a deleted item in any value.
+     *
+     * @param context The DSpace context
+     * @param itemId  the UUID of the deleted item
+     * @throws SQLException If something goes wrong in the database
+     */
+    void delete(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Rebuild the whole store from the items in the database.
+     *
+     * @param context The DSpace context
+     * @return the number of items counted in at least one value
+     * @throws SQLException If something goes wrong in the database
+     */
+    int rebuild(Context context) throws SQLException;
+
+    /**
+     * Find a page of the values of a browse index, in sort order.
+     *
+     * @param context    The DSpace context
+     * @param indexName  the distinct table name of the browse index, see
+     *                   {@link org.dspace.browse.BrowseIndex#getDistinctTableName()}
+     * @param startsWith only return the values whose sort value starts with this prefix, or null
+     * @param ascending  the sort order
+     * @param offset     the number of values to skip
+     * @param limit      the maximum number of values to return
+     * @return the values
+     * @throws SQLException If something goes wrong in the database
+     */
+    List<BrowseValue> findValues(Context context, String indexName, String startsWith, boolean ascending,
+                                 int offset, int limit) throws SQLException;
+
+    /**
+     * Find the page of the values of a browse index at the offset returned by
+     * {@link #countValuesBefore(Context, String, String)} for a sort value: in ascending order the values sorting at
+     * or after the sort value, in descending order the values sorting before it. The page is read by seeking the sort
+     * value in the index rather than by skipping the values before it.
+     *
+     * @param context    The DSpace context
+     * @param indexName  the distinct table name of the browse index, see
+     *                   {@link org.dspace.browse.BrowseIndex#getDistinctTableName()}
+     * @param startsWith only return the values whose sort value starts with this prefix, or null
+     * @param ascending  the sort order
+     * @param sortValue  the normalized sort value
+     * @param limit      the maximum number of values to return
+     * @return the values
+     * @throws SQLException If something goes wrong in the database
+     */
+    List<BrowseValue> findValuesFrom(Context context, String indexName, String startsWith, boolean ascending,
+                                     String sortValue, int limit) throws SQLException;
+
+    /**
+     * Count the values of a browse index.
+     *
+     * @param context    The DSpace context
+     * @param indexName  the distinct table name of the browse index, see
+     *                   {@link org.dspace.browse.BrowseIndex#getDistinctTableName()}
+     * @param startsWith only count the values whose sort value starts with this prefix, or null
+     * @return the number of values
+     * @throws SQLException If something goes wrong in the database
+     */
+    int countValues(Context context, String indexName, String startsWith) throws SQLException;
+
+    /**
+     * Count the values of a browse index which sort before the given sort value, i.e. the offset of the first value
+     * at or after it in an ascending browse.
+     *
+     * @param context   The DSpace context
+     * @param indexName the distinct table name of the browse index, see
+     *                  {@link org.dspace.browse.BrowseIndex#getDistinctTableName()}
+     * @param sortValue the normalized sort value
+     * @return the number of values sorting strictly before the sort value
+     * @throws SQLException If something goes wrong in the database
+     */
+    int countValuesBefore(Context context, String indexName, String sortValue) throws SQLException;
+}
@@ -107,6 +107,12 @@ public class ChecksumHistoryServiceImpl implements ChecksumHistoryService {
         checksumHistoryDAO.deleteByBitstream(context, bitstream);
     }
 
+    @Override
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException {
+        mostRecentChecksumService.deleteByBitstreams(context, bitstreams);
+        checksumHistoryDAO.deleteByBitstreams(context, bitstreams);
+    }
+
     @Override
     public int prune(Context context, Map<ChecksumResultCode, Long> interests) throws SQLException {
         long now = Instant.now().toEpochMilli();
@@ -154,6 +154,11 @@ public class MostRecentChecksumServiceImpl implements MostRecentChecksumService
         mostRecentChecksumDAO.deleteByBitstream(context, bitstream);
     }
 
+    @Override
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException {
+        mostRecentChecksumDAO.deleteByBitstreams(context, bitstreams);
+    }
+
     /**
      * Get the oldest most recent checksum record. If more than
      * one found the first one in the result set is returned.
@@ -9,6 +9,7 @@ package org.dspace.checker.service;
 
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 import org.dspace.checker.ChecksumResultCode;
@@ -34,6 +35,15 @@ public interface ChecksumHistoryService {
 
     public void deleteByBitstream(Context context, Bitstream bitstream) throws SQLException;
 
+    /**
+     * Delete the checksum history and most recent checksum of many bitstreams at once.
+     *
+     * @param context    Context
+     * @param bitstreams the bitstreams
+     * @throws SQLException if database error
+     */
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException;
+
     /**
      * Prune the history records from the database.
      *
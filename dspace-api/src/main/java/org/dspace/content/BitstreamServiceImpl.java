@@ -12,6 +12,7 @@ import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Pattern;
@@ -343,6 +344,27 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findDeletedBitstreams(context, limit, offset);
     }
 
+    @Override
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException {
+        return bitstreamDAO.findDeletedBitstreams(context, after, limit);
+    }
+
+    @Override
+    public Map<String, Long> countByInternalIds(Context context, Set<String> internalIds)
+        throws SQLException {
+        return bitstreamDAO.countByInternalIds(context, internalIds);
+    }
+
+    @Override
+    public long sumSizeByItem(Context context, Item item) throws SQLException {
+        return bitstreamDAO.sumSizeByItem(context, item);
+    }
+
+    @Override
+    public long sumSizeByArchivedItemsOfCollection(Context context, Collection collection) throws SQLException {
+        return bitstreamDAO.sumSizeByArchivedItemsOfCollection(context, collection);
+    }
+
     @Override
     public void expunge(Context context, Bitstream bitstream) throws SQLException, AuthorizeException {
         authorizeService.authorizeAction(context, bitstream, Constants.DELETE);
@@ -8,17 +8,16 @@
 package org.dspace.content.authority;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -26,9 +25,10 @@ import org.apache.logging.log4j.Logger;
 import org.dspace.core.SelfNamedPlugin;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * ChoiceAuthority source that reads the hierarchical vocabularies
@@ -54,29 +54,26 @@ import org.xml.sax.InputSource;
  * # Delimiter to use when building hierarchy strings. Default: "::"
  * }
  *
+ * The XML file is parsed once, on first use, and compiled into arrays of the nodes in document order, with hash
+ * maps of the node ids and values and a trigram index of the lower cased labels, so that lookups don't have to
+ * scan the whole vocabulary.
+ *
  * @author Michael B. Klein
  */
 
 public class DSpaceControlledVocabulary extends SelfNamedPlugin implements HierarchicalAuthority {
 
     private static Logger log = org.apache.logging.log4j.LogManager.getLogger(DSpaceControlledVocabulary.class);
-    protected static String xpathTemplate = "//node[contains(translate(@label,'ABCDEFGHIJKLMNOPQRSTUVWXYZ'," +
-        "'abcdefghijklmnopqrstuvwxyz'),'%s')]";
-    protected static String idTemplate = "//node[@id = '%s']";
-    protected static String labelTemplate = "//node[@label = '%s']";
-    protected static String idParentTemplate = "//node[@id = '%s']/parent::isComposedBy/parent::node";
-    protected static String rootTemplate = "/node";
     protected static String idAttribute = "id";
     protected static String labelAttribute = "label";
     protected static String pluginNames[] = null;
     protected String vocabularyName = null;
-    protected InputSource vocabulary = null;
     protected Boolean suggestHierarchy = false;
     protected Boolean storeHierarchy = true;
     protected String hierarchyDelimiter = "::";
     protected Integer preloadLevel = 1;
     protected String valueAttribute = labelAttribute;
-    protected String valueTemplate = labelTemplate;
+    private volatile CompiledVocabulary vocabulary = null;
 
     public DSpaceControlledVocabulary() {
         super();
@@ -121,35 +118,50 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
 
     protected void init(String locale) {
         if (vocabulary == null) {
-            ConfigurationService config = DSpaceServicesFactory.getInstance().getConfigurationService();
-
-            log.info("Initializing " + this.getClass().getName());
-            vocabularyName = this.getPluginInstanceName();
-            String vocabulariesPath = config.getProperty("dspace.dir") + File.separator + "config" +
-                File.separator + "controlled-vocabularies" + File.separator;
-            String configurationPrefix = "vocabulary.plugin." + vocabularyName;
-            storeHierarchy = config.getBooleanProperty(configurationPrefix + ".hierarchy.store", storeHierarchy);
-            boolean storeIDs = config.getBooleanProperty(configurationPrefix + ".storeIDs", false);
-            suggestHierarchy = config.getBooleanProperty(configurationPrefix + ".hierarchy.suggest", suggestHierarchy);
-            preloadLevel = config.getIntProperty(configurationPrefix + ".hierarchy.preloadLevel", preloadLevel);
-            String configuredDelimiter = config.getProperty(configurationPrefix + ".delimiter");
-            if (configuredDelimiter != null) {
-                hierarchyDelimiter = configuredDelimiter.replaceAll("(^\"|\"$)", "");
-            }
-            if (storeIDs) {
-                valueAttribute = idAttribute;
-                valueTemplate = idTemplate;
+            synchronized (this) {
+                if (vocabulary == null) {
+                    load(locale);
+                }
             }
+        }
+    }
 
-            String filename = vocabulariesPath + vocabularyName + ".xml";
-            if (StringUtils.isNotEmpty(locale)) {
-                String localizedFilename = vocabulariesPath + vocabularyName + "_" + locale + ".xml";
-                if (Paths.get(localizedFilename).toFile().exists()) {
-                    filename = localizedFilename;
-                }
+    private void load(String locale) {
+        ConfigurationService config = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+        log.info("Initializing " + this.getClass().getName());
+        vocabularyName = this.getPluginInstanceName();
+        String vocabulariesPath = config.getProperty("dspace.dir") + File.separator + "config" +
+            File.separator + "controlled-vocabularies" + File.separator;
+        String configurationPrefix = "vocabulary.plugin." + vocabularyName;
+        storeHierarchy = config.getBooleanProperty(configurationPrefix + ".hierarchy.store", storeHierarchy);
+        boolean storeIDs = config.getBooleanProperty(configurationPrefix + ".storeIDs", false);
+        suggestHierarchy = config.getBooleanProperty(configurationPrefix + ".hierarchy.suggest", suggestHierarchy);
+        preloadLevel = config.getIntProperty(configurationPrefix + ".hierarchy.preloadLevel", preloadLevel);
+        String configuredDelimiter = config.getProperty(configurationPrefix + ".delimiter");
+        if (configuredDelimiter != null) {
+            hierarchyDelimiter = configuredDelimiter.replaceAll("(^\"|\"$)", "");
+        }
+        if (storeIDs) {
+            valueAttribute = idAttribute;
+        }
+
+        String filename = vocabulariesPath + vocabularyName + ".xml";
+        if (StringUtils.isNotEmpty(locale)) {
+            String localizedFilename = vocabulariesPath + vocabularyName + "_" + locale + ".xml";
+            if (Paths.get(localizedFilename).toFile().exists()) {
+                filename = localizedFilename;
             }
-            log.info("Loading " + filename);
-            vocabulary = new InputSource(filename);
+        }
+        log.info("Loading " + filename);
+        try {
+            long begin = System.currentTimeMillis();
+            vocabulary = new CompiledVocabulary(filename, valueAttribute);
+            log.info("Compiled {} nodes of {} in {} ms", vocabulary.size(), filename,
+                     System.currentTimeMillis() - begin);
+        } catch (IOException | ParserConfigurationException | SAXException e) {
+            // the vocabulary stays unloaded, so the next lookup tries again
+            log.error("Unable to load the controlled vocabulary " + filename, e);
         }
     }
 
@@ -174,53 +186,105 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
         }
     }
 
+    /**
+     * Build the hierarchy string of a compiled node, the same way as {@link #buildString(Node)} does for an XML
+     * node: the values of its ancestors, except the root, and its own value, joined by the hierarchy delimiter.
+     */
+    private String buildString(CompiledVocabulary compiled, int node) {
+        if (node == 0) {
+            return "";
+        }
+        String parentValue = buildString(compiled, compiled.parents[node]);
+        String currentValue = compiled.values[node];
+        if (currentValue == null) {
+            return parentValue;
+        } else if (parentValue.equals("")) {
+            return currentValue;
+        } else {
+            return parentValue + this.hierarchyDelimiter + currentValue;
+        }
+    }
+
     @Override
     public Choices getMatches(String text, int start, int limit, String locale) {
         init(locale);
         log.debug("Getting matches for '" + text + "'");
-        String xpathExpression = "";
+        CompiledVocabulary compiled = vocabulary;
+        if (compiled == null) {
+            return new Choices(true);
+        }
         String[] textHierarchy = text.split(hierarchyDelimiter, -1);
         for (int i = 0; i < textHierarchy.length; i++) {
-            xpathExpression +=
-                String.format(xpathTemplate, textHierarchy[i].replaceAll("'", "&apos;").toLowerCase());
+            textHierarchy[i] = CompiledVocabulary.normalize(textHierarchy[i]);
         }
-        XPath xpath = XPathFactory.newInstance().newXPath();
+        // each part of the text must be found in the label of a node descending from the node matching the
+        // previous part, i.e. in the labels of the ancestors of the matching nodes, in order
         int total = 0;
         List<Choice> choices = new ArrayList<Choice>();
-        try {
-            NodeList results = (NodeList) xpath.evaluate(xpathExpression, vocabulary, XPathConstants.NODESET);
-            total = results.getLength();
-            choices = getChoicesFromNodeList(results, start, limit);
-        } catch (XPathExpressionException e) {
-            log.warn(e.getMessage(), e);
-            return new Choices(true);
+        for (int node : compiled.findCandidates(textHierarchy[textHierarchy.length - 1])) {
+            if (!compiled.normalizedLabels[node].contains(textHierarchy[textHierarchy.length - 1])
+                || !hasMatchingAncestors(compiled, node, textHierarchy)) {
+                continue;
+            }
+            if (total >= start && choices.size() < limit) {
+                choices.add(createChoice(compiled, node));
+            }
+            total++;
         }
         return new Choices(choices.toArray(new Choice[choices.size()]), start, total, Choices.CF_AMBIGUOUS,
                 total > start + limit);
     }
 
+    private boolean hasMatchingAncestors(CompiledVocabulary compiled, int node, String[] textHierarchy) {
+        int ancestor = compiled.parents[node];
+        for (int i = textHierarchy.length - 2; i >= 0; i--) {
+            while (ancestor >= 0 && !compiled.normalizedLabels[ancestor].contains(textHierarchy[i])) {
+                ancestor = compiled.parents[ancestor];
+            }
+            if (ancestor < 0) {
+                return false;
+            }
+            ancestor = compiled.parents[ancestor];
+        }
+        return true;
+    }
+
     @Override
     public Choices getBestMatch(String text, String locale) {
         init(locale);
         log.debug("Getting best matches for '" + text + "'");
-        String xpathExpression = "";
-        String[] textHierarchy = text.split(hierarchyDelimiter, -1);
-        for (int i = 0; i < textHierarchy.length; i++) {
-            xpathExpression +=
-                String.format(valueTemplate, textHierarchy[i].replaceAll("'", "&apos;"));
+        CompiledVocabulary compiled = vocabulary;
+        if (compiled == null) {
+            return new Choices(true);
         }
-        XPath xpath = XPathFactory.newInstance().newXPath();
+        String[] textHierarchy = text.split(hierarchyDelimiter, -1);
         List<Choice> choices = new ArrayList<Choice>();
-        try {
-            NodeList results = (NodeList) xpath.evaluate(xpathExpression, vocabulary, XPathConstants.NODESET);
-            choices = getChoicesFromNodeList(results, 0, 1);
-        } catch (XPathExpressionException e) {
-            log.warn(e.getMessage(), e);
-            return new Choices(true);
+        int[] candidates = compiled.valueIndex.get(textHierarchy[textHierarchy.length - 1]);
+        if (candidates != null) {
+            for (int node : candidates) {
+                if (hasAncestorsWithValues(compiled, node, textHierarchy)) {
+                    choices.add(createChoice(compiled, node));
+                    break;
+                }
+            }
         }
         return new Choices(choices.toArray(new Choice[choices.size()]), 0, choices.size(), Choices.CF_AMBIGUOUS, false);
     }
 
+    private boolean hasAncestorsWithValues(CompiledVocabulary compiled, int node, String[] textHierarchy) {
+        int ancestor = compiled.parents[node];
+        for (int i = textHierarchy.length - 2; i >= 0; i--) {
+            while (ancestor >= 0 && !textHierarchy[i].equals(compiled.values[ancestor])) {
+                ancestor = compiled.parents[ancestor];
+            }
+            if (ancestor < 0) {
+                return false;
+            }
+            ancestor = compiled.parents[ancestor];
+        }
+        return true;
+    }
+
     @Override
     public String getLabel(String key, String locale) {
         return getNodeValue(key, locale, this.suggestHierarchy);
@@ -233,13 +297,12 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
 
     @Override
     public Choice getChoice(String authKey, String locale) {
-        Node node;
-        try {
-            node = getNode(authKey, locale);
-        } catch (XPathExpressionException e) {
+        init(locale);
+        CompiledVocabulary compiled = vocabulary;
+        if (compiled == null) {
             return null;
         }
-        return createChoiceFromNode(node);
+        return createChoiceFromNode(compiled, compiled.getNode(authKey));
     }
 
     @Override
@@ -251,28 +314,32 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
     @Override
     public Choices getTopChoices(String authorityName, int start, int limit, String locale) {
         init(locale);
-        String xpathExpression = rootTemplate;
-        return getChoicesByXpath(xpathExpression, start, limit);
+        CompiledVocabulary compiled = vocabulary;
+        if (compiled == null) {
+            return new Choices(true);
+        }
+        return getChildChoices(compiled, compiled.size() > 0 ? 0 : -1, start, limit);
     }
 
     @Override
     public Choices getChoicesByParent(String authorityName, String parentId, int start, int limit, String locale) {
         init(locale);
-        String xpathExpression = String.format(idTemplate, parentId);
-        return getChoicesByXpath(xpathExpression, start, limit);
+        CompiledVocabulary compiled = vocabulary;
+        if (compiled == null) {
+            return new Choices(true);
+        }
+        return getChildChoices(compiled, compiled.getNode(parentId), start, limit);
     }
 
     @Override
     public Choice getParentChoice(String authorityName, String childId, String locale) {
         init(locale);
-        try {
-            String xpathExpression = String.format(idParentTemplate, childId);
-            Choice choice = createChoiceFromNode(getNodeFromXPath(xpathExpression));
-            return choice;
-        } catch (XPathExpressionException e) {
-            log.error(e.getMessage(), e);
+        CompiledVocabulary compiled = vocabulary;
+        if (compiled == null) {
             return null;
         }
+        int node = compiled.getNode(childId);
+        return createChoiceFromNode(compiled, node >= 0 ? compiled.parents[node] : -1);
     }
 
     @Override
@@ -281,46 +348,25 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
         return preloadLevel;
     }
 
-    private boolean isRootElement(Node node) {
-        if (node != null && node.getOwnerDocument().getDocumentElement().equals(node)) {
-            return true;
-        }
-        return false;
-    }
-
-    private Node getNode(String key, String locale) throws XPathExpressionException {
+    private String getNodeValue(String key, String locale, boolean useHierarchy) {
         init(locale);
-        String xpathExpression = String.format(idTemplate, key);
-        Node node = getNodeFromXPath(xpathExpression);
-        return node;
-    }
-
-    private Node getNodeFromXPath(String xpathExpression) throws XPathExpressionException {
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        Node node = (Node) xpath.evaluate(xpathExpression, vocabulary, XPathConstants.NODE);
-        return node;
-    }
-
-    private List<Choice> getChoicesFromNodeList(NodeList results, int start, int limit) {
-        List<Choice> choices = new ArrayList<Choice>();
-        for (int i = 0; i < results.getLength(); i++) {
-            if (i < start) {
-                continue;
-            }
-            if (choices.size() == limit) {
-                break;
-            }
-            Node node = results.item(i);
-            Choice choice = new Choice(getAuthority(node), getLabel(node), getValue(node),
-                    isSelectable(node));
-            choice.extras = addOtherInformation(getParent(node), getNote(node), getChildren(node), getAuthority(node));
-            choices.add(choice);
+        CompiledVocabulary compiled = vocabulary;
+        if (compiled == null) {
+            return "";
+        }
+        int node = compiled.getNode(key);
+        if (node < 0) {
+            return null;
+        }
+        if (useHierarchy) {
+            return this.buildString(compiled, node);
+        } else {
+            return compiled.values[node];
         }
-        return choices;
     }
 
     private Map<String, String> addOtherInformation(String parentCurr, String noteCurr,
-            List<String> childrenCurr, String authorityCurr) {
+            boolean hasChildren, String authorityCurr) {
         Map<String, String> extras = new HashMap<String, String>();
         if (StringUtils.isNotBlank(parentCurr)) {
             extras.put("parent", parentCurr);
@@ -328,7 +374,7 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
         if (StringUtils.isNotBlank(noteCurr)) {
             extras.put("note", noteCurr);
         }
-        if (childrenCurr.size() > 0) {
+        if (hasChildren) {
             extras.put("hasChildren", "true");
         } else {
             extras.put("hasChildren", "false");
@@ -337,143 +383,263 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
         return extras;
     }
 
-    private String getNodeValue(String key, String locale, boolean useHierarchy) {
-        try {
-            Node node = getNode(key, locale);
-            if (Objects.isNull(node)) {
-                return null;
-            }
-            if (useHierarchy) {
-                return this.buildString(node);
-            } else {
-                return node.getAttributes().getNamedItem(valueAttribute).getNodeValue();
-            }
-        } catch (XPathExpressionException e) {
-            return ("");
-        }
-    }
-
-    private String getLabel(Node node) {
-        String hierarchy = this.buildString(node);
+    private String getLabel(CompiledVocabulary compiled, int node) {
         if (this.suggestHierarchy) {
-            return hierarchy;
+            return this.buildString(compiled, node);
         } else {
-            return node.getAttributes().getNamedItem("label").getNodeValue();
+            return compiled.labels[node];
         }
     }
 
-    private String getValue(Node node) {
-        String hierarchy = this.buildString(node);
+    private String getValue(CompiledVocabulary compiled, int node) {
         if (this.storeHierarchy) {
-            return hierarchy;
+            return this.buildString(compiled, node);
         } else {
-            return node.getAttributes().getNamedItem(valueAttribute).getNodeValue();
+            return compiled.values[node];
         }
     }
 
-    private String getNote(Node node) {
-        NodeList childNodes = node.getChildNodes();
-        for (int ci = 0; ci < childNodes.getLength(); ci++) {
-            Node firstChild = childNodes.item(ci);
-            if (firstChild != null && "hasNote".equals(firstChild.getNodeName())) {
-                String nodeValue = firstChild.getTextContent();
-                if (StringUtils.isNotBlank(nodeValue)) {
-                    return nodeValue;
-                }
-            }
+    private String getParent(CompiledVocabulary compiled, int node) {
+        int parent = compiled.parents[node];
+        if (parent > 0) {
+            return buildString(compiled, parent);
         }
         return null;
     }
 
-    private List<String> getChildren(Node node) {
-        List<String> children = new ArrayList<String>();
-        NodeList childNodes = node.getChildNodes();
-        for (int ci = 0; ci < childNodes.getLength(); ci++) {
-            Node firstChild = childNodes.item(ci);
-            if (firstChild != null && "isComposedBy".equals(firstChild.getNodeName())) {
-                for (int cii = 0; cii < firstChild.getChildNodes().getLength(); cii++) {
-                    Node childN = firstChild.getChildNodes().item(cii);
-                    if (childN != null && "node".equals(childN.getNodeName())) {
-                        Node childIdAttr = childN.getAttributes().getNamedItem("id");
-                        if (null != childIdAttr) {
-                            children.add(childIdAttr.getNodeValue());
-                        }
+    private Choices getChildChoices(CompiledVocabulary compiled, int parent, int start, int limit) {
+        if (parent < 0) {
+            return new Choices(false);
+        }
+        int[] children = compiled.children[parent];
+        List<Choice> choices = new ArrayList<Choice>();
+        for (int i = Math.max(start, 0); i < children.length && choices.size() < limit; i++) {
+            choices.add(createChoiceFromNode(compiled, children[i]));
+        }
+        return new Choices(choices.toArray(new Choice[choices.size()]), start, children.length,
+                Choices.CF_AMBIGUOUS, false);
+    }
+
+    private Choice createChoiceFromNode(CompiledVocabulary compiled, int node) {
+        // the root node is not a choice of its own
+        if (node > 0) {
+            return createChoice(compiled, node);
+        }
+        return null;
+    }
+
+    private Choice createChoice(CompiledVocabulary compiled, int node) {
+        Choice choice = new Choice(compiled.ids[node], getLabel(compiled, node), getValue(compiled, node),
+                compiled.selectable[node]);
+        choice.extras = addOtherInformation(getParent(compiled, node), compiled.notes[node],
+                compiled.hasChildren[node], compiled.ids[node]);
+        return choice;
+    }
+
+    /**
+     * A vocabulary compiled from its XML file. The {@code node} elements are numbered in document order, the root
+     * being 0, and their attributes are kept in arrays indexed by that number. The parent of a node is the
+     * {@code node} element its {@code isComposedBy} element belongs to.
+     * <p>
+     * The lower cased labels are indexed by trigram: the nodes whose label contains a text are among the nodes
+     * whose label contains the least frequent trigram of the text, which keeps the substring searches from
+     * scanning all the labels.
+     */
+    private static final class CompiledVocabulary {
+
+        private static final int[] NO_NODES = new int[0];
+
+        private final String[] ids;
+        private final String[] labels;
+        private final String[] normalizedLabels;
+        private final String[] values;
+        private final String[] notes;
+        private final boolean[] selectable;
+        private final boolean[] hasChildren;
+        private final int[] parents;
+        private final int[][] children;
+        private final int[] allNodes;
+
+        // the first node with each id
+        private final Map<String, Integer> idIndex = new HashMap<>();
+        // the nodes with each value, in document order
+        private final Map<String, int[]> valueIndex;
+        // the nodes whose lower cased label contains each trigram, in document order
+        private final Map<Long, int[]> trigramIndex;
+
+        CompiledVocabulary(String filename, String valueAttribute)
+            throws IOException, ParserConfigurationException, SAXException {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new File(filename));
+            List<Element> nodes = new ArrayList<>();
+            List<Integer> parentList = new ArrayList<>();
+            Element root = document.getDocumentElement();
+            if (root != null && "node".equals(root.getNodeName())) {
+                collectNodes(root, -1, nodes, parentList);
+            }
+
+            int size = nodes.size();
+            ids = new String[size];
+            labels = new String[size];
+            normalizedLabels = new String[size];
+            values = new String[size];
+            notes = new String[size];
+            selectable = new boolean[size];
+            hasChildren = new boolean[size];
+            parents = new int[size];
+            children = new int[size][];
+            allNodes = new int[size];
+            Map<String, List<Integer>> valueLists = new HashMap<>();
+            Map<Long, IntList> trigramLists = new HashMap<>();
+            List<IntList> childLists = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Element node = nodes.get(i);
+                ids[i] = getAttribute(node, idAttribute);
+                labels[i] = getAttribute(node, labelAttribute);
+                normalizedLabels[i] = normalize(StringUtils.defaultString(labels[i]));
+                values[i] = getAttribute(node, valueAttribute);
+                notes[i] = getNote(node);
+                String selectableAttribute = getAttribute(node, "selectable");
+                selectable[i] = selectableAttribute == null || Boolean.parseBoolean(selectableAttribute);
+                parents[i] = parentList.get(i);
+                allNodes[i] = i;
+                childLists.add(new IntList());
+                if (ids[i] != null) {
+                    idIndex.putIfAbsent(ids[i], i);
+                }
+                if (values[i] != null) {
+                    valueLists.computeIfAbsent(values[i], value -> new ArrayList<>()).add(i);
+                }
+                String label = normalizedLabels[i];
+                for (int c = 0; c + 3 <= label.length(); c++) {
+                    IntList postings = trigramLists.computeIfAbsent(trigram(label, c), key -> new IntList());
+                    if (postings.size == 0 || postings.values[postings.size - 1] != i) {
+                        postings.add(i);
                     }
                 }
-                break;
+                if (parents[i] >= 0 && nodes.get(i).getParentNode() == getFirstChild(nodes.get(parents[i]),
+                                                                                     "isComposedBy")) {
+                    childLists.get(parents[i]).add(i);
+                    hasChildren[parents[i]] |= ids[i] != null;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                children[i] = childLists.get(i).toArray();
+            }
+            valueIndex = new HashMap<>(valueLists.size() * 2);
+            for (Map.Entry<String, List<Integer>> entry : valueLists.entrySet()) {
+                valueIndex.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            trigramIndex = new HashMap<>(trigramLists.size() * 2);
+            for (Map.Entry<Long, IntList> entry : trigramLists.entrySet()) {
+                trigramIndex.put(entry.getKey(), entry.getValue().toArray());
             }
         }
-        return children;
-    }
 
-    private boolean isSelectable(Node node) {
-        Node selectableAttr = node.getAttributes().getNamedItem("selectable");
-        if (null != selectableAttr) {
-            return Boolean.valueOf(selectableAttr.getNodeValue());
-        } else { // Default is true
-            return true;
+        int size() {
+            return ids.length;
         }
-    }
 
-    private String getParent(Node node) {
-        Node parentN = node.getParentNode();
-        if (parentN != null) {
-            parentN = parentN.getParentNode();
-            if (parentN != null && !isRootElement(parentN)) {
-                return buildString(parentN);
+        /**
+         * Return the index of the first node with the given id, or -1.
+         */
+        int getNode(String id) {
+            Integer node = idIndex.get(id);
+            return node != null ? node : -1;
+        }
+
+        /**
+         * Return the nodes, in document order, which may have a label containing the given normalized text. The
+         * candidates must still be checked against the text.
+         */
+        int[] findCandidates(String text) {
+            if (text.length() < 3) {
+                return allNodes;
+            }
+            int[] candidates = null;
+            for (int c = 0; c + 3 <= text.length(); c++) {
+                int[] postings = trigramIndex.get(trigram(text, c));
+                if (postings == null) {
+                    return NO_NODES;
+                }
+                if (candidates == null || postings.length < candidates.length) {
+                    candidates = postings;
+                }
             }
+            return candidates;
         }
-        return null;
-    }
 
-    private String getAuthority(Node node) {
-        Node idAttr = node.getAttributes().getNamedItem("id");
-        if (null != idAttr) { // 'id' is optional
-            return idAttr.getNodeValue();
-        } else {
+        /**
+         * Lower case a label or a searched text. Both sides of the substring searches must be normalized the same
+         * way.
+         */
+        static String normalize(String text) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+
+        private static long trigram(String text, int offset) {
+            return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16)
+                | text.charAt(offset + 2);
+        }
+
+        /**
+         * Collect the node elements in document order, along with the index of their parent node.
+         */
+        private static void collectNodes(Element element, int parent, List<Element> nodes, List<Integer> parents) {
+            int current = parent;
+            if ("node".equals(element.getNodeName())) {
+                current = nodes.size();
+                nodes.add(element);
+                parents.add(parent);
+            }
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (child.getNodeType() == Node.ELEMENT_NODE) {
+                    collectNodes((Element) child, current, nodes, parents);
+                }
+            }
+        }
+
+        private static String getAttribute(Element element, String name) {
+            return element.hasAttribute(name) ? element.getAttribute(name) : null;
+        }
+
+        private static Element getFirstChild(Element element, String name) {
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (name.equals(child.getNodeName())) {
+                    return (Element) child;
+                }
+            }
             return null;
         }
-    }
 
-    private Choices getChoicesByXpath(String xpathExpression, int start, int limit) {
-        List<Choice> choices = new ArrayList<Choice>();
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        try {
-            Node parentNode = (Node) xpath.evaluate(xpathExpression, vocabulary, XPathConstants.NODE);
-            int count = 0;
-            if (parentNode != null) {
-                NodeList childNodes = (NodeList) xpath.evaluate(".//isComposedBy", parentNode, XPathConstants.NODE);
-                if (null != childNodes) {
-                    for (int i = 0; i < childNodes.getLength(); i++) {
-                        Node childNode = childNodes.item(i);
-                        if (childNode != null && "node".equals(childNode.getNodeName())) {
-                            if (count < start || choices.size() >= limit) {
-                                count++;
-                                continue;
-                            }
-                            count++;
-                            choices.add(createChoiceFromNode(childNode));
-                        }
+        private static String getNote(Element element) {
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if ("hasNote".equals(child.getNodeName())) {
+                    String note = child.getTextContent();
+                    if (StringUtils.isNotBlank(note)) {
+                        return note;
                     }
                 }
-                return new Choices(choices.toArray(new Choice[choices.size()]), start, count,
-                        Choices.CF_AMBIGUOUS, false);
             }
-        } catch (XPathExpressionException e) {
-            log.warn(e.getMessage(), e);
-            return new Choices(true);
+            return null;
         }
-        return new Choices(false);
     }
 
-    private Choice createChoiceFromNode(Node node) {
-        if (node != null && !isRootElement(node)) {
-            Choice choice = new Choice(getAuthority(node), getLabel(node), getValue(node),
-                    isSelectable(node));
-            choice.extras = addOtherInformation(getParent(node), getNote(node),getChildren(node), getAuthority(node));
-            return choice;
+    /**
+     * A growable array of ints, to build the index without boxing.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
         }
-        return null;
     }
-
 }
@@ -13,6 +13,7 @@ import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.List;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
@@ -130,18 +131,22 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
         return aliasList.toArray(new String[aliasList.size()]);
     }
 
-    private Transformer transformer = null;
+    /**
+     * The compiled stylesheet, shared by the transformers of the concurrent crosswalks
+     */
+    private Templates templates = null;
     private File transformFile = null;
     private long transformLastModified = 0;
 
     /**
      * Initialize the Transformation stylesheet from configured stylesheet file.
+     * A new transformer is returned on each call, as transformers are not thread safe.
      *
      * @param direction the direction of xwalk, either "submission" or
      *                  "dissemination"
      * @return transformer or null if there was error initializing.
      */
-    protected Transformer getTransformer(String direction) {
+    protected synchronized Transformer getTransformer(String direction) {
         if (transformFile == null) {
             String myAlias = getPluginInstanceName();
             if (myAlias == null) {
@@ -164,11 +169,11 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
         }
 
         // load if first time, or reload if stylesheet changed:
-        if (transformer == null ||
+        if (templates == null ||
             transformFile.lastModified() > transformLastModified) {
             try {
                 LOG.debug(
-                    (transformer == null ? "Loading {} XSLT stylesheet from {}"
+                    (templates == null ? "Loading {} XSLT stylesheet from {}"
                             : "Reloading {} XSLT stylesheet from {}"),
                     getPluginInstanceName(), transformFile.toString());
 
@@ -176,13 +181,22 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
                     = new StreamSource(new FileInputStream(transformFile));
                 TransformerFactory transformerFactory
                     = TransformerFactory.newInstance();
-                transformer = transformerFactory.newTransformer(transformSource);
+                templates = transformerFactory.newTemplates(transformSource);
                 transformLastModified = transformFile.lastModified();
             } catch (TransformerConfigurationException | FileNotFoundException e) {
                 LOG.error("Failed to initialize XSLTCrosswalk({}):  {}",
                           getPluginInstanceName(), e.toString());
             }
         }
-        return transformer;
+        if (templates == null) {
+            return null;
+        }
+        try {
+            return templates.newTransformer();
+        } catch (TransformerConfigurationException e) {
+            LOG.error("Failed to initialize XSLTCrosswalk({}):  {}",
+                      getPluginInstanceName(), e.toString());
+            return null;
+        }
     }
 }
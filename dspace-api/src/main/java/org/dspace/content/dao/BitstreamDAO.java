@@ -10,6 +10,9 @@ package org.dspace.content.dao;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 import org.dspace.content.Bitstream;
 import org.dspace.content.Collection;
@@ -31,6 +34,14 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public List<Bitstream> findDeletedBitstreams(Context context, int limit, int offset) throws SQLException;
 
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException;
+
+    public Map<String, Long> countByInternalIds(Context context, Set<String> internalIds) throws SQLException;
+
+    public long sumSizeByItem(Context context, Item item) throws SQLException;
+
+    public long sumSizeByArchivedItemsOfCollection(Context context, Collection collection) throws SQLException;
+
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
     public List<Bitstream> findBitstreamsWithNoRecentChecksum(Context context) throws SQLException;
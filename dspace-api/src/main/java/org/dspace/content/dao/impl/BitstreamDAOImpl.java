@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import jakarta.persistence.Query;
@@ -59,6 +60,54 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
 
     }
 
+    @Override
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT b FROM Bitstream b WHERE b.deleted = true"
+            + (after != null ? " AND b.id > :after" : "") + " ORDER BY b.id");
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        query.setMaxResults(limit);
+        @SuppressWarnings("unchecked")
+        List<Bitstream> bitstreams = query.getResultList();
+        return bitstreams;
+    }
+
+    @Override
+    public Map<String, Long> countByInternalIds(Context context, Set<String> internalIds)
+        throws SQLException {
+        Map<String, Long> counts = new HashMap<>();
+        if (internalIds.isEmpty()) {
+            return counts;
+        }
+        Query query = createQuery(context, "SELECT b.internalId, count(b) FROM Bitstream b "
+            + "WHERE b.internalId IN (:internalIds) GROUP BY b.internalId");
+        query.setParameter("internalIds", internalIds);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public long sumSizeByItem(Context context, Item item) throws SQLException {
+        Query query = createQuery(context, "SELECT coalesce(sum(b.sizeBytes), 0) FROM Item i "
+            + "JOIN i.bundles bu JOIN bu.bitstreams b WHERE i = :item");
+        query.setParameter("item", item);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public long sumSizeByArchivedItemsOfCollection(Context context, Collection collection) throws SQLException {
+        Query query = createQuery(context, "SELECT coalesce(sum(b.sizeBytes), 0) FROM Item i "
+            + "JOIN i.collections c JOIN i.bundles bu JOIN bu.bitstreams b "
+            + "WHERE c = :collection AND i.inArchive = true");
+        query.setParameter("collection", collection);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
     @Override
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
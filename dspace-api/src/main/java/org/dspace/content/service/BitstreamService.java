@@ -12,6 +12,8 @@ import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import jakarta.annotation.Nullable;
@@ -185,6 +187,50 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
      */
     public List<Bitstream> findDeletedBitstreams(Context context, int limit, int offset) throws SQLException;
 
+    /**
+     * Retrieve a page of the bitstreams with the deleted flag set to true, in the order of their UUID. Unlike offset
+     * paging, reading the next page costs the same however many pages were read or deleted before.
+     *
+     * @param context the dspace context
+     * @param after   the UUID of the last bitstream of the previous page, or null for the first page
+     * @param limit   the maximum number of bitstreams to return
+     * @return the page of "deleted" bitstreams
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException;
+
+    /**
+     * Count the bitstreams, deleted or not, referencing each of the given internal identifiers.
+     *
+     * @param context     the dspace context
+     * @param internalIds the internal identifiers
+     * @return the number of bitstreams per internal identifier, internal identifiers without bitstream are absent
+     * @throws SQLException if database error
+     */
+    public Map<String, Long> countByInternalIds(Context context, Set<String> internalIds)
+        throws SQLException;
+
+    /**
+     * Sum the sizes of the bitstreams in the bundles of an item, without loading them.
+     *
+     * @param context the dspace context
+     * @param item    the item
+     * @return the overall size of the bitstreams of the item, in bytes
+     * @throws SQLException if database error
+     */
+    public long sumSizeByItem(Context context, Item item) throws SQLException;
+
+    /**
+     * Sum the sizes of the bitstreams in the bundles of the archived items of a collection, mapped items included,
+     * without loading them.
+     *
+     * @param context    the dspace context
+     * @param collection the collection
+     * @return the overall size of the bitstreams of the archived items of the collection, in bytes
+     * @throws SQLException if database error
+     */
+    public long sumSizeByArchivedItemsOfCollection(Context context, Collection collection) throws SQLException;
+
 
     /**
      * Remove a bitstream that has been set to "deleted" from the database
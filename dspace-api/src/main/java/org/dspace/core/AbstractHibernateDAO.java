@@ -7,7 +7,9 @@
  */
 package org.dspace.core;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +35,11 @@ import org.hibernate.Session;
  */
 public abstract class AbstractHibernateDAO<T> implements GenericDAO<T> {
 
+    /**
+     * SQLSTATE of a unique constraint violation
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
     protected AbstractHibernateDAO() {
 
     }
@@ -59,6 +66,37 @@ public abstract class AbstractHibernateDAO<T> implements GenericDAO<T> {
         return ((Session) context.getDBConnection().getSession());
     }
 
+    /**
+     * Insert a row unless it duplicates a row of a unique index, e.g. one inserted concurrently by another
+     * transaction. The insert runs under a savepoint, so that the transaction of the context remains usable when the
+     * row is a duplicate.
+     *
+     * @param context    current DSpace context.
+     * @param sql        the native insert statement
+     * @param parameters the parameters of the statement
+     * @return true if the row was inserted, false if it was a duplicate
+     * @throws SQLException if the insert failed for another reason
+     */
+    protected boolean insertUnlessDuplicate(Context context, String sql, Object... parameters) throws SQLException {
+        return getHibernateSession(context).doReturningWork(connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                statement.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    return false;
+                }
+                throw e;
+            }
+        });
+    }
+
     @Override
     public void delete(Context context, T t) throws SQLException {
         getHibernateSession(context).delete(t);
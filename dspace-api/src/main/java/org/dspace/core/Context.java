@@ -18,8 +18,12 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.DSpaceObject;
@@ -53,6 +57,30 @@ public class Context implements AutoCloseable {
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(Context.class);
     protected static final AtomicBoolean databaseUpdated = new AtomicBoolean(false);
 
+    /**
+     * Durations of the initialization, commit and abort of the contexts, and number of entities held by the
+     * Hibernate session when committing, see {@link DSpaceMetrics}
+     */
+    private static final Timer openTimer = DSpaceMetrics.timer("context.open", "Initialization of a context");
+    private static final Timer commitTimer = DSpaceMetrics.timer("context.commit",
+        "Commit of a context, including the dispatch of its events");
+    private static final Timer abortTimer = DSpaceMetrics.timer("context.abort", "Abort of a context");
+    private static final DistributionSummary entityCountSummary = DSpaceMetrics.summary("context.entities",
+        "Number of entities in the Hibernate session of a context when committing", "entities");
+    /**
+     * Time the contexts are held, from their opening to their completion or abort, and number of contexts garbage
+     * collected without being completed or aborted
+     */
+    private static final Timer lifetimeTimer = DSpaceMetrics.timer("context.lifetime",
+        "Time a context is held, from its opening to its completion or abort");
+    private static final Counter leakCounter = DSpaceMetrics.counter("context.leaks",
+        "Contexts garbage collected without being completed or aborted");
+
+    /**
+     * Value of {@link System#nanoTime()} when this context was opened
+     */
+    private long openTime;
+
     /**
      * Current user - null means anonymous access
      */
@@ -169,6 +197,8 @@ public class Context implements AutoCloseable {
      * Initializes a new context object.
      */
     protected void init() {
+        long start = System.nanoTime();
+        openTime = start;
         updateDatabase();
 
         if (eventService == null) {
@@ -198,6 +228,7 @@ public class Context implements AutoCloseable {
             setMode(this.mode);
         }
 
+        openTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -410,6 +441,7 @@ public class Context implements AutoCloseable {
                 dbConnection.closeDBConnection();
                 dbConnection = null;
             }
+            recordLifetime("complete");
         }
     }
 
@@ -434,6 +466,7 @@ public class Context implements AutoCloseable {
             throw new UnsupportedOperationException("You cannot commit a read-only context");
         }
 
+        long start = System.nanoTime();
         try {
             // Dispatch events before committing changes to the database,
             // as the consumers may change something too
@@ -444,10 +477,14 @@ public class Context implements AutoCloseable {
             }
 
             if (dbConnection != null) {
+                if (isTransactionAlive()) {
+                    entityCountSummary.record(getCacheSize());
+                }
                 // Commit our changes (this closes the transaction but leaves database connection open)
                 dbConnection.commit();
                 reloadContextBoundEntities();
             }
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -590,6 +627,7 @@ public class Context implements AutoCloseable {
             return;
         }
 
+        long start = System.nanoTime();
         try {
             // Rollback ONLY if we have a database transaction, and it is NOT Read Only
             if (!isReadOnly() && isTransactionAlive()) {
@@ -608,6 +646,25 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            abortTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            recordLifetime("abort");
+        }
+    }
+
+    /**
+     * Record the time this context was held when it is completed or aborted, and log it when it is longer than the
+     * database leak detection threshold ({@code db.leakdetectionthreshold}), as the context may hold a database
+     * connection for its whole life.
+     *
+     * @param action the closing action, "complete" or "abort"
+     */
+    private void recordLifetime(String action) {
+        long lifetime = System.nanoTime() - openTime;
+        lifetimeTimer.record(lifetime, TimeUnit.NANOSECONDS);
+        long threshold = new DSpace().getConfigurationService().getLongProperty("db.leakdetectionthreshold", 0);
+        if (threshold > 0 && TimeUnit.NANOSECONDS.toMillis(lifetime) > threshold) {
+            log.warn(LogHelper.getHeader(this, "long_held_context",
+                                         action + " after " + TimeUnit.NANOSECONDS.toMillis(lifetime) + " ms"));
         }
     }
 
@@ -748,6 +805,9 @@ public class Context implements AutoCloseable {
          * database connection if there is one.
          */
         if (dbConnection != null && dbConnection.isTransActionAlive()) {
+            leakCounter.increment();
+            log.warn(LogHelper.getHeader(this, "leaked_context",
+                                         "garbage collected without being completed or aborted"));
             abort();
         }
 
@@ -0,0 +1,124 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers, counters and distribution summaries recorded by DSpace on its hot paths: the lifecycle of the
+ * {@link Context}, the Solr requests, the bitstores, the authorization checks and the event consumers.
+ * <p>
+ * The meters are registered in the Micrometer global registry. Outside of the webapp no registry is attached to it,
+ * so recording is a no-op; in the webapp, Spring Boot actuator attaches its registries, and the meters are exported
+ * by the {@code /actuator/prometheus} endpoint when it is enabled (see {@code actuator.cfg}).
+ * <p>
+ * All the meter names are prefixed with {@code dspace.}. Their tags only take a bounded set of values (a store
+ * number, a consumer name, an outcome), never an identifier or a query, to keep the number of time series low.
+ * The meters of the frequent calls should be looked up once and kept, in a field or a map by tag value, so that
+ * recording a measure is not slowed down by the lookup of the meter in the registry.
+ */
+public final class DSpaceMetrics {
+
+    /**
+     * Prefix of the names of all DSpace meters.
+     */
+    public static final String PREFIX = "dspace.";
+
+    /**
+     * Name of the tag holding the outcome of an operation: {@link #SUCCESS} or {@link #ERROR}.
+     */
+    public static final String OUTCOME = "outcome";
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    /**
+     * Default constructor
+     */
+    private DSpaceMetrics() { }
+
+    /**
+     * @return the registry in which the DSpace meters are registered
+     */
+    public static MeterRegistry getRegistry() {
+        return Metrics.globalRegistry;
+    }
+
+    /**
+     * Get or register a timer.
+     *
+     * @param name        the name of the timer, without the {@link #PREFIX}
+     * @param description the description of the timer
+     * @param tags        the tags of the timer, as key/value pairs
+     * @return the timer
+     */
+    public static Timer timer(String name, String description, String... tags) {
+        return Timer.builder(PREFIX + name)
+                    .description(description)
+                    .tags(tags)
+                    .register(getRegistry());
+    }
+
+    /**
+     * Get or register a counter.
+     *
+     * @param name        the name of the counter, without the {@link #PREFIX}
+     * @param description the description of the counter
+     * @param tags        the tags of the counter, as key/value pairs
+     * @return the counter
+     */
+    public static Counter counter(String name, String description, String... tags) {
+        return Counter.builder(PREFIX + name)
+                      .description(description)
+                      .tags(tags)
+                      .register(getRegistry());
+    }
+
+    /**
+     * Get or register a gauge, sampling a value of an object when the meters are exported. The registry only keeps a
+     * weak reference to the object.
+     *
+     * @param name        the name of the gauge, without the {@link #PREFIX}
+     * @param description the description of the gauge
+     * @param obj         the object whose value is sampled
+     * @param value       the function sampling the value of the object
+     * @param tags        the tags of the gauge, as key/value pairs
+     * @param <T>         the type of the object
+     * @return the gauge
+     */
+    public static <T> Gauge gauge(String name, String description, T obj, ToDoubleFunction<T> value,
+                                  String... tags) {
+        return Gauge.builder(PREFIX + name, obj, value)
+                    .description(description)
+                    .tags(tags)
+                    .register(getRegistry());
+    }
+
+    /**
+     * Get or register a distribution summary.
+     *
+     * @param name        the name of the summary, without the {@link #PREFIX}
+     * @param description the description of the summary
+     * @param baseUnit    the unit of the recorded amounts, e.g. "bytes", or null
+     * @param tags        the tags of the summary, as key/value pairs
+     * @return the distribution summary
+     */
+    public static DistributionSummary summary(String name, String description, String baseUnit, String... tags) {
+        return DistributionSummary.builder(PREFIX + name)
+                                  .description(description)
+                                  .baseUnit(baseUnit)
+                                  .tags(tags)
+                                  .register(getRegistry());
+    }
+}
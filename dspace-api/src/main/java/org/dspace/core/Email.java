@@ -51,6 +51,8 @@ import org.apache.velocity.exception.ParseErrorException;
 import org.apache.velocity.exception.ResourceNotFoundException;
 import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
 import org.apache.velocity.runtime.resource.util.StringResourceRepository;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.core.service.MailOutboxService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
@@ -340,19 +342,40 @@ public class Email {
 
     /**
      * Sends the email.  If sending is disabled then the assembled message is
-     * logged instead.
+     * logged instead.  If the mail outbox is enabled ({@code mail.outbox.enabled})
+     * then the message is queued in the outbox, to be sent in the background.
      *
      * @throws MessagingException if there was a problem sending the mail.
      * @throws IOException        if IO error
      */
     public void send() throws MessagingException, IOException {
+        send(null);
+    }
+
+    /**
+     * Sends the email as part of a batch of emails sent in bulk, sharing one
+     * connection to the mail server.  If sending is disabled then the
+     * assembled message is logged instead.
+     *
+     * @param batch the batch, or null to send the email on its own.
+     * @throws MessagingException if there was a problem sending the mail.
+     * @throws IOException        if IO error
+     */
+    public void send(EmailBatch batch) throws MessagingException, IOException {
         build();
 
         ConfigurationService config
                 = DSpaceServicesFactory.getInstance().getConfigurationService();
         boolean disabled = config.getBooleanProperty("mail.server.disabled", false);
+        MailOutboxService outbox = CoreServiceFactory.getInstance().getMailOutboxService();
         if (disabled) {
             LOG.info(format(message, body));
+        } else if (batch != null) {
+            message.saveChanges();
+            batch.send(message);
+        } else if (outbox.isEnabled()) {
+            message.saveChanges();
+            outbox.enqueue(message);
         } else {
             Transport.send(message);
         }
@@ -0,0 +1,71 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.io.IOException;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.core.service.MailOutboxService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * A batch of emails sent in bulk, e.g. the subscription digests of a run, see {@link Email#send(EmailBatch)}.
+ * <p>
+ * The messages are queued in the mail outbox when it is enabled, else they are sent through one connection to the
+ * mail server for the whole batch, at most {@code mail.outbox.max-per-second} messages per second. Typical use:
+ * <pre>
+ * <code>try (EmailBatch batch = new EmailBatch()) {</code>
+ * <code>    for (...) {</code>
+ * <code>        email.send(batch);</code>
+ * <code>    }</code>
+ * <code>}</code>
+ * </pre>
+ * Not thread safe.
+ */
+public class EmailBatch implements AutoCloseable {
+
+    private final MailOutboxService mailOutboxService;
+    private MailTransport transport;
+
+    public EmailBatch() {
+        mailOutboxService = CoreServiceFactory.getInstance().getMailOutboxService();
+    }
+
+    /**
+     * Send a message of the batch.
+     *
+     * @param message the message, its changes saved
+     * @throws MessagingException if the message could not be sent
+     * @throws IOException        if the message could not be queued
+     */
+    void send(MimeMessage message) throws MessagingException, IOException {
+        if (mailOutboxService.isEnabled()) {
+            mailOutboxService.enqueue(message);
+            return;
+        }
+        if (transport == null) {
+            transport = new MailTransport(DSpaceServicesFactory.getInstance().getEmailService().getSession(),
+                DSpaceServicesFactory.getInstance().getConfigurationService()
+                                     .getIntProperty("mail.outbox.max-per-second", 0));
+        }
+        transport.send(message);
+    }
+
+    /**
+     * Close the connection to the mail server.
+     */
+    @Override
+    public void close() {
+        if (transport != null) {
+            transport.close();
+            transport = null;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.service.MailOutboxService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.EmailService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Outbox of the messages kept as files in the {@code mail.outbox.dir} directory, sent by a background thread through
+ * one connection to the mail server reused across messages.
+ * <p>
+ * The name of a queued message file is {@code <time of the next attempt>-<attempts>-<id>.eml}. A message which could
+ * not be sent is attempted again after a delay doubling with every attempt ({@code mail.outbox.retry.delay}, up to
+ * {@code mail.outbox.retry.max-delay}), and moved to the {@code failed} subdirectory after
+ * {@code mail.outbox.retry.max-attempts} attempts or when all its recipients were rejected. When some recipients
+ * were rejected and the message could not be sent to the others, it is only attempted again for the others, listed
+ * in its {@code X-DSpace-Outbox-Recipients} header, which is not sent. A file of the outbox with another name is
+ * moved to the {@code failed} subdirectory.
+ * <p>
+ * A single process sends the messages of an outbox at a time, holding a lock on its {@code .lock} file; the other
+ * processes of the installation with the outbox enabled only queue messages, and take over when it ends. So the
+ * messages left by a command line script which ended before sending them are sent by the web application.
+ */
+public class MailOutboxServiceImpl implements MailOutboxService {
+    private static final Logger log = LogManager.getLogger();
+
+    private static final String SUFFIX = ".eml";
+
+    /**
+     * Name of a queued message file: the time of the next attempt, the number of attempts, and the ID of the message
+     */
+    private static final Pattern QUEUED_NAME = Pattern.compile("(\\d+)-(\\d+)-(.+" + Pattern.quote(SUFFIX) + ")");
+
+    /**
+     * Header of a queued message holding the recipients it is still to be sent to, when not all its recipients
+     */
+    private static final String RECIPIENTS_HEADER = "X-DSpace-Outbox-Recipients";
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = true)
+    protected EmailService emailService;
+
+    private final Object signal = new Object();
+    private Thread sender;
+    private volatile boolean running = false;
+
+    protected MailOutboxServiceImpl() {
+    }
+
+    /**
+     * Start sending the messages left in the outbox by previous processes.
+     */
+    @PostConstruct
+    public void init() {
+        if (isEnabled()) {
+            start();
+        }
+    }
+
+    /**
+     * Stop the background sender, once it sent the messages due, or after {@code mail.outbox.shutdown-timeout}
+     * seconds. The messages not sent remain in the outbox.
+     */
+    @PreDestroy
+    public void destroy() {
+        Thread thread;
+        synchronized (this) {
+            thread = sender;
+            running = false;
+        }
+        if (thread != null) {
+            wakeUp();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(
+                    configurationService.getLongProperty("mail.outbox.shutdown-timeout", 10)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("mail.outbox.enabled", false);
+    }
+
+    @Override
+    public void enqueue(MimeMessage message) throws IOException, MessagingException {
+        Path directory = getDirectory();
+        Files.createDirectories(directory);
+        String name = fileName(System.currentTimeMillis(), 0, UUID.randomUUID().toString());
+        // written under a temporary name, so that the sender never reads a partial message
+        Path temporary = directory.resolve(name + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            message.writeTo(out);
+        }
+        Files.move(temporary, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        if (isEnabled()) {
+            start();
+            wakeUp();
+        }
+    }
+
+    @Override
+    public int getQueueSize() throws IOException {
+        return listQueued().size();
+    }
+
+    protected synchronized void start() {
+        if (sender == null || !sender.isAlive()) {
+            running = true;
+            sender = new Thread(this::run, "mail-outbox");
+            sender.setDaemon(true);
+            sender.start();
+        }
+    }
+
+    private void wakeUp() {
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Send the messages due until stopped, then the ones still due.
+     */
+    protected void run() {
+        long idleNanos = TimeUnit.SECONDS.toNanos(configurationService.getLongProperty("mail.outbox.idle-timeout", 60));
+        Path directory = getDirectory();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.error("Unable to create the mail outbox {}", directory, e);
+            return;
+        }
+        try (FileChannel lockChannel = FileChannel.open(directory.resolve(".lock"), StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE);
+             MailTransport transport = new MailTransport(emailService.getSession(),
+                configurationService.getIntProperty("mail.outbox.max-per-second", 0))) {
+            // released when the channel is closed
+            FileLock lock = lockChannel.tryLock();
+            while (lock == null) {
+                if (!running) {
+                    return;
+                }
+                synchronized (signal) {
+                    signal.wait(TimeUnit.NANOSECONDS.toMillis(idleNanos));
+                }
+                lock = lockChannel.tryLock();
+            }
+            while (true) {
+                long now = System.currentTimeMillis();
+                long nextAttempt = Long.MAX_VALUE;
+                List<Path> due = new ArrayList<>();
+                for (Path file : listQueued()) {
+                    Matcher name = QUEUED_NAME.matcher(file.getFileName().toString());
+                    if (!name.matches()) {
+                        log.warn("Unexpected file {} in the mail outbox, moved to the failed messages", file);
+                        fail(file);
+                        continue;
+                    }
+                    long attemptTime = Long.parseLong(name.group(1));
+                    if (attemptTime <= now) {
+                        due.add(file);
+                    } else {
+                        nextAttempt = Math.min(nextAttempt, attemptTime);
+                    }
+                }
+                if (due.isEmpty()) {
+                    if (!running) {
+                        break;
+                    }
+                    if (transport.isIdle(idleNanos)) {
+                        transport.close();
+                    }
+                    long wait = Math.min(nextAttempt - now, TimeUnit.NANOSECONDS.toMillis(idleNanos));
+                    synchronized (signal) {
+                        signal.wait(Math.max(wait, 1));
+                    }
+                    continue;
+                }
+                for (Path file : due) {
+                    deliver(transport, file);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.error("The mail outbox sender stopped, the queued messages will be sent on the next start", e);
+        }
+    }
+
+    /**
+     * Send a queued message, and remove it from the outbox, or schedule its next attempt.
+     *
+     * @param transport the connection to the mail server
+     * @param file      the message file
+     * @throws IOException if the outbox could not be updated
+     */
+    protected void deliver(MailTransport transport, Path file) throws IOException {
+        Matcher name = QUEUED_NAME.matcher(file.getFileName().toString());
+        if (!name.matches()) {
+            log.warn("Unexpected file {} in the mail outbox, moved to the failed messages", file);
+            fail(file);
+            return;
+        }
+        int attempts = Integer.parseInt(name.group(2)) + 1;
+        MimeMessage message;
+        Address[] recipients;
+        try (InputStream in = Files.newInputStream(file)) {
+            message = new MimeMessage(emailService.getSession(), in);
+            String pending = message.getHeader(RECIPIENTS_HEADER, ",");
+            if (pending != null) {
+                recipients = InternetAddress.parse(pending);
+                message.removeHeader(RECIPIENTS_HEADER);
+            } else {
+                recipients = message.getAllRecipients();
+            }
+        } catch (MessagingException e) {
+            log.error("Unable to read the queued message {}", file, e);
+            fail(file);
+            return;
+        }
+        try {
+            transport.send(message, recipients);
+            Files.delete(file);
+        } catch (MessagingException e) {
+            int maxAttempts = configurationService.getIntProperty("mail.outbox.retry.max-attempts", 5);
+            Address[] unsent = e instanceof SendFailedException
+                ? ((SendFailedException) e).getValidUnsentAddresses() : recipients;
+            if (ArrayUtils.isEmpty(unsent) || attempts >= maxAttempts) {
+                log.error("Unable to send the message {} after {} attempts", file, attempts, e);
+                fail(file);
+            } else {
+                long delay = Math.min(
+                    configurationService.getLongProperty("mail.outbox.retry.delay", 60) << (attempts - 1),
+                    configurationService.getLongProperty("mail.outbox.retry.max-delay", 3600));
+                log.warn("Unable to send the message {}, attempt {} in {} seconds: {}", file, attempts + 1, delay,
+                         e.getMessage());
+                Path next = file.resolveSibling(fileName(
+                    System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delay), attempts, name.group(3)));
+                if (unsent == recipients) {
+                    Files.move(file, next);
+                } else {
+                    // only the recipients not rejected, to which the message was not sent yet, are attempted again
+                    requeue(message, unsent, file, next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace a queued message file with the message to send to some of its recipients only.
+     */
+    private void requeue(MimeMessage message, Address[] recipients, Path file, Path next) throws IOException {
+        Path temporary = next.resolveSibling(next.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            message.setHeader(RECIPIENTS_HEADER, InternetAddress.toString(recipients));
+            message.writeTo(out);
+        } catch (MessagingException e) {
+            Files.deleteIfExists(temporary);
+            throw new IOException("Unable to queue the message " + file + " again", e);
+        }
+        Files.move(temporary, next, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(file);
+    }
+
+    private void fail(Path file) throws IOException {
+        Path failed = file.resolveSibling("failed");
+        Files.createDirectories(failed);
+        Files.move(file, failed.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private List<Path> listQueued() throws IOException {
+        List<Path> files = new ArrayList<>();
+        Path directory = getDirectory();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+                stream.forEach(files::add);
+            }
+        }
+        // the names start with the time of the next attempt
+        files.sort(null);
+        return files;
+    }
+
+    private String fileName(long attemptTime, int attempts, String id) {
+        return String.format("%013d-%d-%s", attemptTime, attempts, id.endsWith(SUFFIX) ? id : id + SUFFIX);
+    }
+
+    private Path getDirectory() {
+        return Paths.get(configurationService.getProperty("mail.outbox.dir",
+            configurationService.getProperty("dspace.dir") + "/mail-outbox"));
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A connection to the mail server reused across messages, instead of the connection opened and closed for every
+ * message by {@link Transport#send(jakarta.mail.Message)}, and limiting the rate of the messages sent through it.
+ * <p>
+ * Not thread safe: each sender uses its own.
+ */
+class MailTransport implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger();
+
+    private final Session session;
+    private final long minIntervalNanos;
+    private Transport transport;
+    private long lastSend;
+
+    /**
+     * @param session       the mail session
+     * @param maxPerSecond  maximum number of messages sent per second, 0 for no limit
+     */
+    MailTransport(Session session, double maxPerSecond) {
+        this.session = session;
+        this.minIntervalNanos = maxPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond) : 0;
+        this.lastSend = System.nanoTime() - minIntervalNanos;
+    }
+
+    /**
+     * Send a message, (re)connecting to the mail server if needed. The changes of the message must have been saved.
+     *
+     * @param message the message
+     * @throws MessagingException if the message could not be sent
+     */
+    void send(MimeMessage message) throws MessagingException {
+        send(message, message.getAllRecipients());
+    }
+
+    /**
+     * Send a message to some recipients, (re)connecting to the mail server if needed. The changes of the message
+     * must have been saved.
+     *
+     * @param message    the message
+     * @param recipients the recipients the message is sent to
+     * @throws MessagingException if the message could not be sent
+     */
+    void send(MimeMessage message, Address[] recipients) throws MessagingException {
+        throttle();
+        if (transport == null || !transport.isConnected()) {
+            close();
+            transport = session.getTransport();
+            transport.connect();
+        }
+        try {
+            transport.sendMessage(message, recipients);
+        } catch (SendFailedException e) {
+            // rejected recipients, the connection remains usable
+            throw e;
+        } catch (MessagingException e) {
+            close();
+            throw e;
+        } finally {
+            lastSend = System.nanoTime();
+        }
+    }
+
+    /**
+     * @param idleNanos a duration in nanoseconds
+     * @return whether the connection is open, and no message was sent through it for the duration
+     */
+    boolean isIdle(long idleNanos) {
+        return transport != null && System.nanoTime() - lastSend > idleNanos;
+    }
+
+    private void throttle() throws MessagingException {
+        long wait = lastSend + minIntervalNanos - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessagingException("Interrupted while waiting to send a message", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.warn("Unable to close the connection to the mail server: {}", e.getMessage());
+            }
+            transport = null;
+        }
+    }
+}
@@ -8,6 +8,7 @@
 package org.dspace.core.factory;
 
 import org.dspace.core.service.LicenseService;
+import org.dspace.core.service.MailOutboxService;
 import org.dspace.core.service.NewsService;
 import org.dspace.core.service.PluginService;
 import org.dspace.service.ClientInfoService;
@@ -29,6 +30,8 @@ public abstract class CoreServiceFactory {
 
     public abstract ClientInfoService getClientInfoService();
 
+    public abstract MailOutboxService getMailOutboxService();
+
     public static CoreServiceFactory getInstance() {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("coreServiceFactory", CoreServiceFactory.class);
@@ -8,6 +8,7 @@
 package org.dspace.core.factory;
 
 import org.dspace.core.service.LicenseService;
+import org.dspace.core.service.MailOutboxService;
 import org.dspace.core.service.NewsService;
 import org.dspace.core.service.PluginService;
 import org.dspace.service.ClientInfoService;
@@ -33,6 +34,9 @@ public class CoreServiceFactoryImpl extends CoreServiceFactory {
     @Autowired(required = true)
     private ClientInfoService clientInfoService;
 
+    @Autowired(required = true)
+    private MailOutboxService mailOutboxService;
+
     @Override
     public LicenseService getLicenseService() {
         return licenseService;
@@ -51,4 +55,9 @@ public class CoreServiceFactoryImpl extends CoreServiceFactory {
     public ClientInfoService getClientInfoService() {
         return clientInfoService;
     }
+
+    @Override
+    public MailOutboxService getMailOutboxService() {
+        return mailOutboxService;
+    }
 }
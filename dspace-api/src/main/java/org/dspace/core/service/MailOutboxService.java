@@ -0,0 +1,41 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core.service;
+
+import java.io.IOException;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Outbox of the messages sent by {@link org.dspace.core.Email}: the messages are queued durably and sent in the
+ * background, so that the senders do not wait for the mail server.
+ */
+public interface MailOutboxService {
+
+    /**
+     * @return whether the messages are sent through the outbox ({@code mail.outbox.enabled})
+     */
+    public boolean isEnabled();
+
+    /**
+     * Queue a message, to be sent in the background. The message is stored before returning, so that it is sent
+     * even if this process ends before.
+     *
+     * @param message the message, its changes saved
+     * @throws IOException        if the message could not be stored
+     * @throws MessagingException if the message could not be written
+     */
+    public void enqueue(MimeMessage message) throws IOException, MessagingException;
+
+    /**
+     * @return the number of messages waiting to be sent, including the ones waiting for a new attempt
+     * @throws IOException if the outbox could not be read
+     */
+    public int getQueueSize() throws IOException;
+}
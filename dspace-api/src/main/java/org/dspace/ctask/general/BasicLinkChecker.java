@@ -22,6 +22,7 @@ import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataValue;
 import org.dspace.curate.AbstractCurationTask;
+import org.dspace.curate.Concurrent;
 import org.dspace.curate.Curator;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -37,11 +38,9 @@ import org.dspace.services.factory.DSpaceServicesFactory;
  * @author Stuart Lewis
  */
 
+@Concurrent
 public class BasicLinkChecker extends AbstractCurationTask {
 
-    // The status of the link checking of this item
-    private int status = Curator.CURATE_UNSET;
-
     // The results of link checking this item
     private List<String> results = null;
 
@@ -65,7 +64,8 @@ public class BasicLinkChecker extends AbstractCurationTask {
         StringBuilder results = new StringBuilder();
 
         // Unless this is  an item, we'll skip this item
-        status = Curator.CURATE_SKIP;
+        // The status of the link checking of this item
+        int status = Curator.CURATE_SKIP;
         if (dso instanceof Item) {
             Item item = (Item) dso;
 
@@ -0,0 +1,26 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation type for CurationTasks. A task is concurrent if a single
+ * instance of it may perform on several items at the same time, from
+ * different threads, each with its own Context. The Curator then curates
+ * the items of a site, community or collection in parallel, when more
+ * than one thread is configured ({@code curate.concurrent.threads}).
+ *
+ * @see Curator#setThreads(int)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Concurrent {
+}
@@ -21,7 +21,9 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.io.output.NullOutputStream;
@@ -59,6 +61,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
     private String taskFile;
     private String id;
     private String queue;
+    private boolean continuous;
     private String scope;
     private String reporter;
     private Map<String, String> parameters;
@@ -89,7 +92,12 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
                 super.handler.logError("No implementation configured for queue");
                 throw new UnsupportedOperationException("No queue service available");
             }
-            long timeRun = this.runQueue(taskQueue, curator);
+            long timeRun = Instant.now().toEpochMilli();
+            if (continuous) {
+                this.drainQueue(taskQueue, curator);
+            } else {
+                this.runQueue(taskQueue, curator);
+            }
             this.endScript(timeRun);
         }
     }
@@ -146,12 +154,13 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
      *
      * @param queue   The task queue
      * @param curator The curator
-     * @return Time when queue started
+     * @return Number of entries processed
      */
-    private long runQueue(TaskQueue queue, Curator curator) throws SQLException, AuthorizeException, IOException {
+    private int runQueue(TaskQueue queue, Curator curator) throws SQLException, AuthorizeException, IOException {
         // use current time as our reader 'ticket'
         long ticket = Instant.now().toEpochMilli();
-        Iterator<TaskQueueEntry> entryIter = queue.dequeue(this.queue, ticket).iterator();
+        Set<TaskQueueEntry> entries = queue.dequeue(this.queue, ticket);
+        Iterator<TaskQueueEntry> entryIter = entries.iterator();
         while (entryIter.hasNext()) {
             TaskQueueEntry entry = entryIter.next();
             if (verbose) {
@@ -164,7 +173,34 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
             curator.curate(context, entry.getObjectId());
         }
         queue.release(this.queue, ticket, true);
-        return ticket;
+        return entries.size();
+    }
+
+    /**
+     * Runs task queue continuously (-q and -c set): processes the entries of the queue as they are queued, waiting
+     * for curate.taskqueue.poll-interval seconds whenever the queue is empty, until interrupted.
+     *
+     * @param queue   The task queue
+     * @param curator The curator
+     */
+    private void drainQueue(TaskQueue queue, Curator curator) throws SQLException, AuthorizeException, IOException {
+        long pollInterval = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                 .getLongProperty("curate.taskqueue.poll-interval", 10);
+        while (!Thread.currentThread().isInterrupted()) {
+            int count = runQueue(queue, curator);
+            // commit the curation of each batch of entries, as the run does not end
+            context.commit();
+            if (verbose && count > 0) {
+                handler.logInfo("Curated " + count + " entries of queue " + this.queue);
+            }
+            if (count == 0) {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(pollInterval));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
     }
 
     /**
@@ -217,6 +253,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
         super.handler.logInfo("\nwhole repo: CurationCli -t estimate -i all");
         super.handler.logInfo("single item: CurationCli -t generate -i itemId");
         super.handler.logInfo("task queue: CurationCli -q monthly");
+        super.handler.logInfo("task queue worker: CurationCli -q monthly -c");
     }
 
     @Override
@@ -235,6 +272,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
                 this.initTaskLineOptionsAndCheckIfValid();
             } else if (curationClientOptions == CurationClientOptions.QUEUE) {
                 this.queue = this.commandLine.getOptionValue('q');
+                this.continuous = this.commandLine.hasOption('c');
             }
         } else {
             throw new IllegalArgumentException("[--help || --task|--taskfile <> -identifier <> || -queue <> ] must be" +
@@ -0,0 +1,137 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Database entity representation of the curation_queue table: a {@link TaskQueueEntry} queued by the
+ * {@link DBTaskQueue}.
+ * <p>
+ * An entry is claimable once its visibility time is reached. Claiming an entry hides it for the visibility timeout
+ * of the queue, so that an entry claimed by a consumer which died before releasing it is eventually claimed again.
+ */
+@Entity
+@Table(name = "curation_queue")
+public class CurationQueueEntry implements ReloadableEntity<Integer> {
+
+    @Id
+    @Column(name = "curation_queue_id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curation_queue_seq")
+    @SequenceGenerator(name = "curation_queue_seq", sequenceName = "curation_queue_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "queue_name", length = 64, nullable = false)
+    private String queueName;
+
+    /**
+     * Name (email) of the EPerson who queued the entry
+     */
+    @Column(name = "eperson_id", length = 256)
+    private String epersonId;
+
+    @Column(name = "submit_time", nullable = false)
+    private long submitTime;
+
+    /**
+     * Comma separated names of the tasks
+     */
+    @Column(name = "tasks", length = 1024, nullable = false)
+    private String tasks;
+
+    @Column(name = "object_id", length = 256, nullable = false)
+    private String objectId;
+
+    /**
+     * Entries of higher priority are claimed first
+     */
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @Column(name = "visible_time", nullable = false)
+    private Instant visibleTime;
+
+    /**
+     * Token of the last claim of the entry, null if it was never claimed or was released
+     */
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Protected constructor, entries are created by {@link DBTaskQueue#enqueue(String, java.util.Set, int)}
+     */
+    protected CurationQueueEntry() {
+    }
+
+    CurationQueueEntry(String queueName, TaskQueueEntry entry, int priority) {
+        this.queueName = queueName;
+        this.epersonId = entry.getEpersonId();
+        this.submitTime = entry.getSubmitTime();
+        this.tasks = String.join(",", entry.getTaskNames());
+        this.objectId = entry.getObjectId();
+        this.priority = priority;
+        this.visibleTime = Instant.now();
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Instant getVisibleTime() {
+        return visibleTime;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Claim the entry, hiding it from the other consumers until the given time.
+     *
+     * @param claim       token of the claim
+     * @param visibleTime time at which the entry may be claimed again
+     */
+    void claim(String claim, Instant visibleTime) {
+        this.claimedBy = claim;
+        this.visibleTime = visibleTime;
+        this.attempts++;
+    }
+
+    /**
+     * @return the queued task entry
+     */
+    public TaskQueueEntry toTaskQueueEntry() {
+        return new TaskQueueEntry(epersonId, submitTime, Arrays.asList(tasks.split(",")), objectId);
+    }
+}
@@ -16,6 +16,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,9 +34,12 @@ import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Curator orchestrates and manages the application of a one or more curation
@@ -90,6 +97,8 @@ public class Curator {
     protected Invoked iMode = null;
     protected TaskResolver resolver = new TaskResolver();
     protected TxScope txScope = TxScope.OPEN;
+    protected int threads = 1;
+    protected ItemWorkers workers = null;
     protected CommunityService communityService;
     protected ItemService itemService;
     protected HandleService handleService;
@@ -113,6 +122,8 @@ public class Curator {
         itemService = ContentServiceFactory.getInstance().getItemService();
         handleService = HandleServiceFactory.getInstance().getHandleService();
         resolver = new TaskResolver();
+        threads = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                       .getIntProperty("curate.concurrent.threads", 1);
     }
 
     /**
@@ -228,6 +239,23 @@ public class Curator {
         return this;
     }
 
+    /**
+     * Defines the number of threads curating the items of a site, community
+     * or collection with a {@link Concurrent} task. Each thread curates the
+     * items in its own Context, committed after each item with a scope of
+     * 'object', and else once all the items are curated (the Context of the
+     * caller cannot see the changes of the threads, so they are committed
+     * even with an 'open' scope). Other tasks are always performed on the
+     * calling thread. Defaults to {@code curate.concurrent.threads}, or 1.
+     *
+     * @param threads number of threads, 1 to curate in the calling thread only
+     * @return return self (Curator instance) with given number of threads set
+     */
+    public Curator setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
     /**
      * Performs all configured tasks upon object identified by id. If
      * the object can be resolved as a handle, the DSO will be the
@@ -287,6 +315,8 @@ public class Curator {
             // do we need to iterate over the object ?
             if (type == Constants.ITEM || tr.task.isDistributive()) {
                 tr.run(dso);
+            } else if (tr.task.isConcurrent() && threads > 1) {
+                doConcurrently(tr, dso);
             } else if (type == Constants.COLLECTION) {
                 doCollection(tr, (Collection) dso);
             } else if (type == Constants.COMMUNITY) {
@@ -357,14 +387,19 @@ public class Curator {
         }
 
         try {
-            reporter.append(message);
+            // concurrent tasks report from several threads
+            synchronized (reporter) {
+                reporter.append(message);
+            }
         } catch (IOException ex) {
             System.out.println("Task reporting failure: " +  ex);
         }
     }
 
     /**
-     * Returns the status code for the latest performance of the named task.
+     * Returns the status code for the latest performance of the named task. After the concurrent curation of a
+     * container, it is the most severe status of the performances on the container and its contents: an error,
+     * then a failure, a success, and a skip.
      *
      * @param taskName the task name
      * @return the status code - one of CURATE_ values
@@ -375,7 +410,8 @@ public class Curator {
     }
 
     /**
-     * Returns the result string for the latest performance of the named task.
+     * Returns the result string for the latest performance of the named task. After the concurrent curation of a
+     * container, it is the result of the performance which completed last.
      *
      * @param taskName the task name
      * @return the result string, or <code>null</code> if task has not set it.
@@ -516,7 +552,7 @@ public class Curator {
             Iterator<Item> iter = itemService.findByCollection(context, coll);
             while (iter.hasNext()) {
                 Item item = iter.next();
-                boolean shouldContinue = tr.run(item);
+                boolean shouldContinue = workers != null ? workers.submit(item) : tr.run(item);
                 context.uncacheEntity(item);
                 if (!shouldContinue) {
                     return false;
@@ -528,6 +564,45 @@ public class Curator {
         return true;
     }
 
+    /**
+     * Run a {@link Concurrent} task for a container along with all its contents, the items being curated by a pool
+     * of {@link ItemWorkers} while the containers are curated by the calling thread.
+     *
+     * @param tr  TaskRunner
+     * @param dso Site, Community or Collection
+     * @return true if successful, false otherwise
+     * @throws IOException if IO error
+     */
+    protected boolean doConcurrently(TaskRunner tr, DSpaceObject dso) throws IOException {
+        try {
+            workers = new ItemWorkers(tr, curationContext(), threads);
+        } catch (SQLException sqlE) {
+            throw new IOException(sqlE.getMessage(), sqlE);
+        }
+        ItemWorkers walkWorkers = workers;
+        boolean walked = false;
+        boolean shouldContinue;
+        tr.aggregateStatus(true);
+        try {
+            if (dso.getType() == Constants.COLLECTION) {
+                shouldContinue = doCollection(tr, (Collection) dso);
+            } else if (dso.getType() == Constants.COMMUNITY) {
+                shouldContinue = doCommunity(tr, (Community) dso);
+            } else {
+                shouldContinue = doSite(tr, (Site) dso);
+            }
+            walked = true;
+        } finally {
+            workers = null;
+            try {
+                walkWorkers.close(!walked);
+            } finally {
+                tr.aggregateStatus(false);
+            }
+        }
+        return shouldContinue && !walkWorkers.isStopped();
+    }
+
     /**
      * Record a 'visit' to a DSpace object and enforce any policies set
      * on this curator.
@@ -546,8 +621,13 @@ public class Curator {
 
     protected class TaskRunner {
         ResolvedTask task = null;
-        int statusCode = CURATE_UNSET;
-        String result = null;
+        volatile int statusCode = CURATE_UNSET;
+        volatile String result = null;
+        // the performances of a concurrent curation run on several threads at once, so each thread logs the status
+        // and result of its own performance, and the status of the task aggregates them
+        private final ThreadLocal<Integer> performanceStatus = new ThreadLocal<>();
+        private final ThreadLocal<String> performanceResult = new ThreadLocal<>();
+        private boolean aggregate = false;
 
         public TaskRunner(ResolvedTask task) {
             this.task = task;
@@ -558,11 +638,13 @@ public class Curator {
                 if (dso == null) {
                     throw new IOException("DSpaceObject is null");
                 }
-                statusCode = task.perform(dso);
+                performanceResult.remove();
+                int code = task.perform(dso);
+                recordStatus(code);
                 String id = (dso.getHandle() != null) ? dso.getHandle() : "workflow item: " + dso.getID();
-                logInfo(logMessage(id));
+                logInfo(logMessage(id, code));
                 visit(dso);
-                return !suspend(statusCode);
+                return !suspend(code);
             } catch (IOException ioe) {
                 //log error & pass exception upwards
                 System.out.println("Error executing curation task '" + task.getName() + "'; " + ioe);
@@ -575,10 +657,12 @@ public class Curator {
                 if (c == null || id == null) {
                     throw new IOException("Context or identifier is null");
                 }
-                statusCode = task.perform(c, id);
-                logInfo(logMessage(id));
+                performanceResult.remove();
+                int code = task.perform(c, id);
+                recordStatus(code);
+                logInfo(logMessage(id, code));
                 visit(null);
-                return !suspend(statusCode);
+                return !suspend(code);
             } catch (IOException ioe) {
                 //log error & pass exception upwards
                 System.out.println("Error executing curation task '" + task.getName() + "'; " + ioe);
@@ -588,6 +672,47 @@ public class Curator {
 
         public void setResult(String result) {
             this.result = result;
+            performanceResult.set(result);
+        }
+
+        /**
+         * Start or end the aggregation of the status codes of the performances, while curating concurrently.
+         *
+         * @param aggregate whether the status codes are aggregated
+         */
+        protected synchronized void aggregateStatus(boolean aggregate) {
+            this.aggregate = aggregate;
+            if (aggregate) {
+                statusCode = CURATE_UNSET;
+            }
+        }
+
+        /**
+         * Record the status code of a performance in this thread, and in the status of the task: the latest one, or
+         * the most severe one while aggregating.
+         *
+         * @param code the status code of the performance
+         */
+        protected synchronized void recordStatus(int code) {
+            performanceStatus.set(code);
+            if (!aggregate || severity(code) > severity(statusCode)) {
+                statusCode = code;
+            }
+        }
+
+        private int severity(int code) {
+            switch (code) {
+                case CURATE_ERROR:
+                    return 4;
+                case CURATE_FAIL:
+                    return 3;
+                case CURATE_SUCCESS:
+                    return 2;
+                case CURATE_SKIP:
+                    return 1;
+                default:
+                    return 0;
+            }
         }
 
         protected boolean suspend(int code) {
@@ -603,16 +728,29 @@ public class Curator {
         }
 
         /**
-         * Builds a useful log message for a curation task.
+         * Builds a useful log message for the latest performance of a curation task in this thread.
          *
          * @param id ID of DSpace Object
          * @return log message text
          */
         protected String logMessage(String id) {
+            Integer code = performanceStatus.get();
+            return logMessage(id, code != null ? code : statusCode);
+        }
+
+        /**
+         * Builds a useful log message for the latest performance of a curation task in this thread.
+         *
+         * @param id   ID of DSpace Object
+         * @param code status code of the performance
+         * @return log message text
+         */
+        protected String logMessage(String id, int code) {
             StringBuilder mb = new StringBuilder();
             mb.append("Curation task: ").append(task.getName()).
                 append(" performed on: ").append(id).
-                  append(" with status: ").append(statusCode);
+                  append(" with status: ").append(code);
+            String result = performanceResult.get();
             if (result != null) {
                 mb.append(". Result: '").append(result).append("'");
             }
@@ -628,10 +766,178 @@ public class Curator {
             if (handler == null) {
                 log.info(message);
             } else {
-                handler.logInfo(message);
+                // concurrent tasks log from several threads
+                synchronized (handler) {
+                    handler.logInfo(message);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Pool of threads curating items with a {@link Concurrent} task, each in its own Context. The items are streamed
+     * to the threads through a bounded queue, so that walking a large container does not load all its items.
+     * <p>
+     * The Context of each thread is set up like the Context of the caller (current user, special groups and
+     * authorization state), and is the {@link Curator#curationContext()} of the task on that thread.
+     */
+    protected class ItemWorkers {
+        // marks the end of the items on the queue, one per thread
+        private final UUID end = new UUID(0, 0);
+        private final TaskRunner tr;
+        private final BlockingQueue<UUID> queue;
+        private final List<Thread> workerThreads = new ArrayList<>();
+        private final EPerson currentUser;
+        private final List<UUID> specialGroups = new ArrayList<>();
+        private final boolean ignoreAuthorization;
+        private final Context.Mode mode;
+        private volatile boolean stopped = false;
+        private volatile Exception failure = null;
+
+        /**
+         * Start the threads.
+         *
+         * @param tr      the task to perform on the items
+         * @param parent  the Context of the caller
+         * @param threads the number of threads
+         * @throws SQLException if the special groups of the caller cannot be read
+         */
+        protected ItemWorkers(TaskRunner tr, Context parent, int threads) throws SQLException {
+            this.tr = tr;
+            this.queue = new ArrayBlockingQueue<>(threads * 4);
+            this.currentUser = parent.getCurrentUser();
+            for (Group group : parent.getSpecialGroups()) {
+                specialGroups.add(group.getID());
+            }
+            this.ignoreAuthorization = parent.ignoreAuthorization();
+            this.mode = parent.getCurrentMode();
+            for (int i = 0; i < threads; i++) {
+                Thread thread = new Thread(this::work, "curation-" + tr.task.getName() + "-" + i);
+                workerThreads.add(thread);
+                thread.start();
+            }
+        }
+
+        /**
+         * Queue an item to be curated, waiting for room on the queue.
+         *
+         * @param item the item
+         * @return false if the curation was suspended or failed, and the walk should stop
+         * @throws IOException if interrupted
+         */
+        public boolean submit(Item item) throws IOException {
+            try {
+                while (!queue.offer(item.getID(), 1, TimeUnit.SECONDS)) {
+                    if (stopped) {
+                        return false;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while queuing " + item.getID(), e);
             }
+            return !stopped;
         }
 
+        /**
+         * @return whether the curation was suspended by the task, or failed
+         */
+        public boolean isStopped() {
+            return stopped;
+        }
+
+        /**
+         * Wait for the threads to curate the queued items and to end their Contexts.
+         *
+         * @param abort whether to drop the queued items, as the walk failed
+         * @throws IOException the failure of the curation of an item, if any, or if interrupted
+         */
+        public void close(boolean abort) throws IOException {
+            if (abort) {
+                stopped = true;
+            }
+            if (stopped) {
+                queue.clear();
+            }
+            try {
+                // the threads drain the queue, unless they all failed
+                int ends = 0;
+                while (ends < workerThreads.size() && workerThreads.stream().anyMatch(Thread::isAlive)) {
+                    if (queue.offer(end, 1, TimeUnit.SECONDS)) {
+                        ends++;
+                    }
+                }
+                for (Thread thread : workerThreads) {
+                    thread.join();
+                }
+            } catch (InterruptedException e) {
+                stopped = true;
+                workerThreads.forEach(Thread::interrupt);
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the curation of the items", e);
+            }
+            if (failure != null && !abort) {
+                throw failure instanceof IOException ? (IOException) failure
+                    : new IOException(failure.getMessage(), failure);
+            }
+        }
+
+        /**
+         * Curate the queued items until the end of the walk, in a Context of this thread.
+         */
+        protected void work() {
+            Context ctx = new Context(mode);
+            try {
+                if (currentUser != null) {
+                    ctx.setCurrentUser(ctx.reloadEntity(currentUser));
+                }
+                for (UUID groupID : specialGroups) {
+                    ctx.setSpecialGroup(groupID);
+                }
+                if (ignoreAuthorization) {
+                    ctx.turnOffAuthorisationSystem();
+                }
+                curationCtx.set(ctx);
+                for (UUID id = queue.take(); !end.equals(id); id = queue.take()) {
+                    // once stopped, drain the queue up to the end
+                    if (stopped) {
+                        continue;
+                    }
+                    Item item = itemService.find(ctx, id);
+                    if (item == null) {
+                        continue;
+                    }
+                    boolean shouldContinue = tr.run(item);
+                    if (txScope.equals(TxScope.OBJECT)) {
+                        ctx.commit();
+                    }
+                    ctx.uncacheEntity(item);
+                    if (!shouldContinue) {
+                        stopped = true;
+                    }
+                }
+                ctx.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } catch (IOException | SQLException | RuntimeException e) {
+                fail(e);
+            } finally {
+                if (ctx.isValid()) {
+                    ctx.abort();
+                }
+                curationCtx.remove();
+            }
+        }
+
+        private void fail(Exception e) {
+            log.error("Curation task '{}' failed", tr.task.getName(), e);
+            if (failure == null) {
+                failure = e;
+            }
+            stopped = true;
+        }
     }
 
     /**
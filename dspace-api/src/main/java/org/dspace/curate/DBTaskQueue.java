@@ -0,0 +1,198 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.curate.dao.CurationQueueEntryDAO;
+import org.dspace.curate.dao.impl.CurationQueueEntryDAOImpl;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * DBTaskQueue provides a TaskQueue implementation based on the curation_queue
+ * database table, which may be shared by the DSpace nodes using the same
+ * database, and consumed by several of them at the same time.
+ * <p>
+ * Unlike the {@link FileTaskQueue}, a dequeue does not lock the whole queue:
+ * it claims at most {@code curate.taskqueue.db.claim-size} entries, by
+ * descending priority then in queuing order, skipping the entries claimed by
+ * concurrent consumers (SELECT ... FOR UPDATE SKIP LOCKED). Claimed entries
+ * are hidden for {@code curate.taskqueue.db.visibility-timeout} seconds: if
+ * they are not released by then, e.g. because their consumer died, they are
+ * claimed again, up to {@code curate.taskqueue.db.max-attempts} times.
+ * <p>
+ * Hibernate sessions are bound to threads, so every operation runs in its own
+ * Context on a thread of the queue, and is committed independently of the
+ * transaction of the caller, like the writes of the {@link FileTaskQueue}.
+ */
+public class DBTaskQueue implements TaskQueue {
+    private static final Logger log = LogManager.getLogger(DBTaskQueue.class);
+
+    protected final CurationQueueEntryDAO curationQueueEntryDAO;
+    protected final ConfigurationService configurationService;
+
+    // identifies the claims of this instance, tickets being only unique per consumer
+    protected final String owner = UUID.randomUUID().toString();
+
+    // thread running the operations in their own Context, ended when idle
+    protected final ExecutorService executor = new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "curation-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    public DBTaskQueue() {
+        curationQueueEntryDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(CurationQueueEntryDAOImpl.class.getName(), CurationQueueEntryDAO.class);
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+    }
+
+    @Override
+    public String[] queueNames() {
+        try {
+            return execute(context -> curationQueueEntryDAO.findQueueNames(context).toArray(new String[0]));
+        } catch (IOException e) {
+            log.error("Unable to list the curation queues", e);
+            return new String[0];
+        }
+    }
+
+    @Override
+    public void enqueue(String queueName, TaskQueueEntry entry) throws IOException {
+        enqueue(queueName, Set.of(entry));
+    }
+
+    /**
+     * Queues a set of task entries to a named queue, with the priority
+     * configured for the queue ({@code curate.taskqueue.db.priority.<queue>},
+     * default 0).
+     */
+    @Override
+    public void enqueue(String queueName, Set<TaskQueueEntry> entrySet) throws IOException {
+        enqueue(queueName, entrySet, configurationService.getIntProperty("curate.taskqueue.db.priority." + queueName,
+                                                                         0));
+    }
+
+    /**
+     * Queues a set of task entries to a named queue, with a given priority.
+     *
+     * @param queueName the name of the queue on which to write
+     * @param entrySet  the set of task entries
+     * @param priority  the priority of the entries: entries of higher priority are dequeued first
+     * @throws IOException if the entries could not be written
+     */
+    public void enqueue(String queueName, Set<TaskQueueEntry> entrySet, int priority) throws IOException {
+        execute(context -> {
+            for (TaskQueueEntry entry : entrySet) {
+                curationQueueEntryDAO.create(context, new CurationQueueEntry(queueName, entry, priority));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Claims the next entries of the named queue. Entries claimed by
+     * concurrent consumers are skipped, and the queue remains open to
+     * further enqueues and dequeues.
+     */
+    @Override
+    public Set<TaskQueueEntry> dequeue(String queueName, long ticket) throws IOException {
+        int claimSize = configurationService.getIntProperty("curate.taskqueue.db.claim-size", 100);
+        int maxAttempts = configurationService.getIntProperty("curate.taskqueue.db.max-attempts", 5);
+        Duration timeout = Duration.ofSeconds(
+            configurationService.getLongProperty("curate.taskqueue.db.visibility-timeout", 3600));
+        return execute(context -> {
+            Instant now = Instant.now();
+            Set<TaskQueueEntry> entrySet = new LinkedHashSet<>();
+            for (CurationQueueEntry entry : curationQueueEntryDAO.findAndLockClaimable(context, queueName, now,
+                                                                                       maxAttempts, claimSize)) {
+                entry.claim(claim(ticket), now.plus(timeout));
+                entrySet.add(entry.toTaskQueueEntry());
+            }
+            return entrySet;
+        });
+    }
+
+    /**
+     * Releases the entries claimed with the ticket, deleting them if
+     * <code>removeEntries</code> is set to true. Entries which were claimed
+     * again by another consumer since, as the visibility timeout expired, are
+     * left to that consumer.
+     */
+    @Override
+    public void release(String queueName, long ticket, boolean removeEntries) {
+        try {
+            execute(context -> removeEntries
+                ? curationQueueEntryDAO.deleteByClaim(context, queueName, claim(ticket))
+                : curationQueueEntryDAO.releaseByClaim(context, queueName, claim(ticket), Instant.now()));
+        } catch (IOException e) {
+            log.error("Unable to release the entries of curation queue {} claimed with ticket {}", queueName,
+                      ticket, e);
+        }
+    }
+
+    protected String claim(long ticket) {
+        return owner + ":" + ticket;
+    }
+
+    /**
+     * Run an operation in a new Context on the thread of the queue, and commit it.
+     *
+     * @param operation the operation
+     * @param <T>       the type of the result of the operation
+     * @return the result of the operation
+     * @throws IOException if the operation failed
+     */
+    protected <T> T execute(Operation<T> operation) throws IOException {
+        try {
+            return executor.submit(() -> {
+                Context context = new Context();
+                try {
+                    T result = operation.run(context);
+                    context.complete();
+                    return result;
+                } finally {
+                    if (context.isValid()) {
+                        context.abort();
+                    }
+                }
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while accessing the curation queue", e);
+        }
+    }
+
+    /**
+     * Database operation on the queue.
+     *
+     * @param <T> the type of the result of the operation
+     */
+    @FunctionalInterface
+    protected interface Operation<T> {
+        T run(Context context) throws SQLException;
+    }
+}
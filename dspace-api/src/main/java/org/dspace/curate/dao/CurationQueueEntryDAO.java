@@ -0,0 +1,72 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.curate.CurationQueueEntry;
+
+/**
+ * Database Access Object interface class for the CurationQueueEntry object.
+ * The implementation of this class is responsible for all database calls for the CurationQueueEntry object and is
+ * autowired by spring.
+ */
+public interface CurationQueueEntryDAO extends GenericDAO<CurationQueueEntry> {
+
+    /**
+     * Find the names of the queues holding entries.
+     *
+     * @param context The DSpace context
+     * @return the distinct queue names
+     * @throws SQLException If something goes wrong in the database
+     */
+    List<String> findQueueNames(Context context) throws SQLException;
+
+    /**
+     * Find and lock the entries of a queue which may be claimed, by descending priority, then in queuing order.
+     * The rows are selected with SELECT ... FOR UPDATE SKIP LOCKED, so that concurrent consumers, also on other
+     * DSpace nodes, never claim the same entry: rows locked by a concurrent claim are skipped.
+     *
+     * @param context     The DSpace context
+     * @param queueName   the name of the queue
+     * @param now         the current time: entries are claimable once their visibility time is reached
+     * @param maxAttempts entries claimed this number of times already are not claimable
+     * @param limit       maximum number of entries
+     * @return the claimable entries, locked until the end of the transaction
+     * @throws SQLException If something goes wrong in the database
+     */
+    List<CurationQueueEntry> findAndLockClaimable(Context context, String queueName, Instant now, int maxAttempts,
+                                                  int limit) throws SQLException;
+
+    /**
+     * Delete the entries of a queue held by a claim.
+     *
+     * @param context   The DSpace context
+     * @param queueName the name of the queue
+     * @param claim     the token of the claim
+     * @return the number of deleted entries
+     * @throws SQLException If something goes wrong in the database
+     */
+    int deleteByClaim(Context context, String queueName, String claim) throws SQLException;
+
+    /**
+     * Make the entries of a queue held by a claim claimable again right away.
+     *
+     * @param context   The DSpace context
+     * @param queueName the name of the queue
+     * @param claim     the token of the claim
+     * @param now       the current time
+     * @return the number of released entries
+     * @throws SQLException If something goes wrong in the database
+     */
+    int releaseByClaim(Context context, String queueName, String claim, Instant now) throws SQLException;
+}
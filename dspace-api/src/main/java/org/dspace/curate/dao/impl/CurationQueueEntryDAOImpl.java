@@ -0,0 +1,76 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.curate.CurationQueueEntry;
+import org.dspace.curate.dao.CurationQueueEntryDAO;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the CurationQueueEntry object.
+ * This class is responsible for all database calls for the CurationQueueEntry object and is autowired by Spring.
+ * This class should never be accessed directly.
+ */
+public class CurationQueueEntryDAOImpl extends AbstractHibernateDAO<CurationQueueEntry>
+    implements CurationQueueEntryDAO {
+
+    protected CurationQueueEntryDAOImpl() {
+        super();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findQueueNames(Context context) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT DISTINCT e.queueName FROM CurationQueueEntry e ORDER BY e.queueName");
+        return query.getResultList();
+    }
+
+    @Override
+    public List<CurationQueueEntry> findAndLockClaimable(Context context, String queueName, Instant now,
+                                                         int maxAttempts, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT e FROM CurationQueueEntry e "
+            + "WHERE e.queueName = :queueName AND e.visibleTime <= :now AND e.attempts < :maxAttempts "
+            + "ORDER BY e.priority DESC, e.id");
+        query.setParameter("queueName", queueName);
+        query.setParameter("now", now);
+        query.setParameter("maxAttempts", maxAttempts);
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        // rows locked by a concurrent claim are skipped instead of waited for
+        query.setHint(AvailableSettings.JAKARTA_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED);
+        return list(query, limit, 0);
+    }
+
+    @Override
+    public int deleteByClaim(Context context, String queueName, String claim) throws SQLException {
+        Query query = createQuery(context,
+            "DELETE FROM CurationQueueEntry e WHERE e.queueName = :queueName AND e.claimedBy = :claim");
+        query.setParameter("queueName", queueName);
+        query.setParameter("claim", claim);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public int releaseByClaim(Context context, String queueName, String claim, Instant now) throws SQLException {
+        Query query = createQuery(context, "UPDATE CurationQueueEntry e SET e.claimedBy = NULL, e.visibleTime = :now "
+            + "WHERE e.queueName = :queueName AND e.claimedBy = :claim");
+        query.setParameter("now", now);
+        query.setParameter("queueName", queueName);
+        query.setParameter("claim", claim);
+        return query.executeUpdate();
+    }
+}
@@ -38,6 +38,6 @@
  * Reporter implementations make no attempt to render it.
  *
  * <p>Tasks may be annotated to inform the Curator of special properties.  See
- * {@link Distributive}, {@link Mutative}, {@link Suspendable} etc.
+ * {@link Distributive}, {@link Mutative}, {@link Suspendable}, {@link Concurrent} etc.
  */
 package org.dspace.curate;
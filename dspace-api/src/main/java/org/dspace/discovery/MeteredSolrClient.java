@@ -0,0 +1,79 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Timer;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.common.util.NamedList;
+import org.dspace.core.DSpaceMetrics;
+
+/**
+ * {@link SolrClient} timing the requests made to a Solr core. All the operations of a SolrClient (queries, updates,
+ * commits...) end up in {@link #request(SolrRequest, String)}, which records the latency of the request in the
+ * {@code dspace.solr.requests} timer, tagged with the name of the core, the path of the request (e.g.
+ * {@code /select} or {@code /update}) and its outcome, before handing it to the wrapped client.
+ */
+public class MeteredSolrClient extends SolrClient {
+
+    private final SolrClient delegate;
+    private final String core;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate the client sending the requests to Solr
+     * @param core     the name of the core in the metrics, e.g. "search" or "statistics"
+     */
+    public MeteredSolrClient(SolrClient delegate, String core) {
+        this.delegate = delegate;
+        this.core = core;
+    }
+
+    @Override
+    public NamedList<Object> request(SolrRequest request, String collection) throws SolrServerException, IOException {
+        long start = System.nanoTime();
+        String outcome = DSpaceMetrics.ERROR;
+        try {
+            NamedList<Object> response = delegate.request(request, collection);
+            outcome = DSpaceMetrics.SUCCESS;
+            return response;
+        } finally {
+            getTimer(request.getPath() != null ? request.getPath() : "unknown", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public DocumentObjectBinder getBinder() {
+        return delegate.getBinder();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * @return the client sending the requests to Solr
+     */
+    public SolrClient getDelegate() {
+        return delegate;
+    }
+
+    private Timer getTimer(String path, String outcome) {
+        return timers.computeIfAbsent(path + ' ' + outcome, key -> DSpaceMetrics.timer(
+            "solr.requests", "Requests to Solr", "core", core, "path", path, DSpaceMetrics.OUTCOME, outcome));
+    }
+}
@@ -67,6 +67,22 @@ public interface SearchService {
     Iterator<Item> iteratorSearch(Context context, IndexableObject dso, DiscoverQuery query)
         throws SearchServiceException;
 
+    /**
+     * Iterate over the stored search fields of every document matching the query, without loading the matching
+     * objects from the database. Documents are read with a cursor in pages of {@link DiscoverQuery#getMaxResults()},
+     * so walking a large result set costs the same for the last page as for the first. Only the search fields, the
+     * filters and the query itself are taken into account: start, sort, facets and highlighting are ignored, and
+     * documents are returned in the order of their unique index id. Date values are returned in ISO-8601 instant
+     * format.
+     *
+     * @param context DSpace context object
+     * @param query   the discovery query object
+     * @return an iterator over the search documents of all results
+     * @throws SearchServiceException if search error
+     */
+    Iterator<DiscoverResult.SearchDocument> iteratorSearchDocuments(Context context, DiscoverQuery query)
+        throws SearchServiceException;
+
 
     List<IndexableObject> search(Context context, String query, String orderfield, boolean ascending, int offset,
                                  int max, String... filterquery);
@@ -101,7 +101,7 @@ public class SolrSearchCore {
                     // if a reindex is in order. If so, reindex everything
                     DatabaseUtils.checkReindexDiscovery(indexingService);
 
-                    solr = solrServer;
+                    solr = new MeteredSolrClient(solrServer, "search");
                 } catch (SolrServerException | IOException e) {
                     log.error("Error while initializing solr server {}",
                             solrService, e);
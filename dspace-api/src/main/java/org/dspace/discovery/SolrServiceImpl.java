@@ -18,12 +18,14 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -44,6 +46,7 @@ import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -781,6 +784,78 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    public Iterator<DiscoverResult.SearchDocument> iteratorSearchDocuments(Context context, DiscoverQuery query)
+        throws SearchServiceException {
+        if (solrSearchCore.getSolr() == null) {
+            return Collections.emptyIterator();
+        }
+        SolrQuery solrQuery = resolveToSolrQuery(context, query);
+        // cursors require a stable sort on the unique key and are incompatible with start
+        solrQuery.setStart(0);
+        solrQuery.clearSorts();
+        solrQuery.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        solrQuery.setRows(query.getMaxResults() > 0 ? query.getMaxResults() : 100);
+        solrQuery.setFacet(false);
+        solrQuery.setHighlight(false);
+        return new SearchDocumentIterator(solrQuery, query.getSearchFields());
+    }
+
+    /**
+     * This class implements an iterator over the stored fields of search results, walking the results with a Solr
+     * cursor so that no page is ever fetched with a deep offset
+     */
+    private class SearchDocumentIterator implements Iterator<DiscoverResult.SearchDocument> {
+        private final SolrQuery solrQuery;
+        private final List<String> searchFields;
+        private Iterator<SolrDocument> page = Collections.emptyIterator();
+        private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        private boolean lastPage = false;
+
+        SearchDocumentIterator(SolrQuery solrQuery, List<String> searchFields) {
+            this.solrQuery = solrQuery;
+            this.searchFields = searchFields;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !lastPage) {
+                fetchNextPage();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public DiscoverResult.SearchDocument next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SolrDocument doc = page.next();
+            DiscoverResult.SearchDocument resultDoc = new DiscoverResult.SearchDocument();
+            for (String field : searchFields) {
+                List<String> valuesAsString = new ArrayList<>();
+                Optional.ofNullable(doc.getFieldValues(field))
+                        .ifPresent(l -> l.forEach(o -> valuesAsString.add(o instanceof Date
+                            ? ((Date) o).toInstant().toString() : String.valueOf(o))));
+                resultDoc.addSearchField(field, valuesAsString.toArray(new String[valuesAsString.size()]));
+            }
+            return resultDoc;
+        }
+
+        private void fetchNextPage() {
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            try {
+                QueryResponse rsp = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+                page = rsp.getResults().iterator();
+                String nextCursorMark = rsp.getNextCursorMark();
+                lastPage = nextCursorMark == null || nextCursorMark.equals(cursorMark);
+                cursorMark = nextCursorMark;
+            } catch (SolrServerException | IOException e) {
+                throw new IllegalStateException("Unable to retrieve search documents", e);
+            }
+        }
+    }
+
     protected SolrQuery resolveToSolrQuery(Context context, DiscoverQuery discoveryQuery)
         throws SearchServiceException {
         SolrQuery solrQuery = new SolrQuery();
@@ -98,171 +98,8 @@ public class SolrServiceMetadataBrowseIndexingPlugin implements SolrServiceIndex
                 // value for lookup when partial search (the item mapper tool use it)
                 Set<String> distValuesForAC = new HashSet<>();
 
-                // now index the new details - but only if it's archived or
-                // withdrawn
-                if (item.isArchived() || item.isWithdrawn()) {
-                    // get the metadata from the item
-                    for (int mdIdx = 0; mdIdx < bi.getMetadataCount(); mdIdx++) {
-                        String[] md = bi.getMdBits(mdIdx);
-                        List<MetadataValue> values = itemService.getMetadata(item, md[0], md[1],
-                                                                             md[2], Item.ANY);
+                collectBrowseValues(item, collection, bi, distFValues, distFAuths, distValuesForAC, distFVal);
 
-                        // if we have values to index on, then do so
-                        if (values != null && values.size() > 0) {
-                            int minConfidence = metadataAuthorityService
-                                .getMinConfidence(values.get(0).getMetadataField());
-
-                            boolean ignoreAuthority =
-                                DSpaceServicesFactory
-                                    .getInstance()
-                                    .getConfigurationService()
-                                    .getPropertyAsType("discovery.browse.authority.ignore." + bi.getName(),
-                                                       DSpaceServicesFactory.getInstance()
-                                                                            .getConfigurationService()
-                                                                            .getPropertyAsType(
-                                                                                    "discovery.browse.authority.ignore",
-                                                                                    Boolean.FALSE),
-                                                       true);
-
-                            for (int x = 0; x < values.size(); x++) {
-                                // Ensure that there is a value to index before
-                                // inserting it
-                                if (StringUtils.isEmpty(values.get(x).getValue())) {
-                                    log.error("Null metadata value for item "
-                                                  + item.getID()
-                                                  + ", field: "
-                                                  + values.get(x).getMetadataField().toString()
-                                    );
-                                } else {
-                                    if (bi.isAuthorityIndex()
-                                        && (values.get(x).getAuthority() == null || values.get(x)
-                                                                                          .getConfidence() <
-                                        minConfidence)) {
-                                        // if we have an authority index only
-                                        // authored metadata will go here!
-                                        log.debug("Skipping item="
-                                                      + item.getID() + ", field="
-                                                      + values.get(x).getMetadataField().toString()
-                                                      + ", value=" + values.get(x).getValue()
-                                                      + ", authority="
-                                                      + values.get(x).getAuthority()
-                                                      + ", confidence="
-                                                      + values.get(x).getConfidence()
-                                                      + " (BAD AUTHORITY)");
-                                        continue;
-                                    }
-
-                                    // is there any valid (with appropriate
-                                    // confidence) authority key?
-                                    if ((ignoreAuthority && !bi.isAuthorityIndex())
-                                        || (values.get(x).getAuthority() != null && values.get(x)
-                                                                                          .getConfidence() >=
-                                        minConfidence)) {
-                                        distFAuths.add(values.get(x).getAuthority());
-                                        distValuesForAC.add(values.get(x).getValue());
-
-                                        String preferedLabel = null;
-                                        boolean ignorePrefered =
-                                            DSpaceServicesFactory
-                                                .getInstance()
-                                                .getConfigurationService()
-                                                .getPropertyAsType("discovery.browse.authority.ignore-prefered."
-                                                                       + bi.getName(),
-                                                                   DSpaceServicesFactory
-                                                                       .getInstance()
-                                                                       .getConfigurationService()
-                                                                       .getPropertyAsType(
-                                                                           "discovery.browse.authority.ignore-prefered",
-                                                                           Boolean.FALSE),
-                                                                   true);
-                                        if (!ignorePrefered) {
-                                            try {
-                                                preferedLabel = choiceAuthorityService
-                                                    .getLabel(values.get(x), collection, values.get(x).getLanguage());
-                                            } catch (Exception e) {
-                                                log.warn("Failed to get preferred label for "
-                                                             + values.get(x).getMetadataField().toString('.'), e);
-                                            }
-                                        }
-                                        List<String> variants = null;
-
-                                        boolean ignoreVariants =
-                                            DSpaceServicesFactory
-                                                .getInstance()
-                                                .getConfigurationService()
-                                                .getPropertyAsType("discovery.browse.authority.ignore-variants."
-                                                                       + bi.getName(),
-                                                                   DSpaceServicesFactory
-                                                                       .getInstance()
-                                                                       .getConfigurationService()
-                                                                       .getPropertyAsType(
-                                                                           "discovery.browse.authority.ignore-variants",
-                                                                           Boolean.FALSE),
-                                                                   true);
-                                        if (!ignoreVariants) {
-                                            try {
-                                                variants = choiceAuthorityService
-                                                    .getVariants(values.get(x), collection);
-                                            } catch (Exception e) {
-                                                log.warn("Failed to get variants for "
-                                                             + values.get(x).getMetadataField().toString(), e);
-                                            }
-                                        }
-
-                                        if (StringUtils
-                                            .isNotBlank(preferedLabel)) {
-                                            String nLabel = OrderFormat
-                                                .makeSortString(
-                                                    preferedLabel,
-                                                    values.get(x).getLanguage(),
-                                                    bi.getDataType());
-                                            distFValues
-                                                .add(nLabel
-                                                         + SearchUtils.FILTER_SEPARATOR
-                                                         + preferedLabel
-                                                         + SearchUtils.AUTHORITY_SEPARATOR
-                                                         + values.get(x).getAuthority());
-                                            distValuesForAC.add(preferedLabel);
-                                        }
-
-                                        if (variants != null) {
-                                            for (String var : variants) {
-                                                String nVal = OrderFormat
-                                                    .makeSortString(
-                                                        var,
-                                                        values.get(x).getLanguage(),
-                                                        bi.getDataType());
-                                                distFValues
-                                                    .add(nVal
-                                                             + SearchUtils.FILTER_SEPARATOR
-                                                             + var
-                                                             + SearchUtils.AUTHORITY_SEPARATOR
-                                                             + values.get(x).getAuthority());
-                                                distValuesForAC.add(var);
-                                            }
-                                        }
-                                    } else {
-                                        // put it in the browse index as if it
-                                        // hasn't have an authority key
-
-                                        // get the normalised version of the value
-                                        String nVal = OrderFormat
-                                            .makeSortString(
-                                                values.get(x).getValue(),
-                                                values.get(x).getLanguage(),
-                                                bi.getDataType());
-                                        distFValues
-                                            .add(nVal
-                                                     + SearchUtils.FILTER_SEPARATOR
-                                                     + values.get(x).getValue());
-                                        distFVal.add(values.get(x).getValue());
-                                        distValuesForAC.add(values.get(x).getValue());
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
                 for (String facet : distFValues) {
                     document.addField(bi.getDistinctTableName() + "_filter", facet);
                     document.addField(bi.getDistinctTableName() + SOLR_FIELD_SUFFIX_FACET_PREFIXES, facet);
@@ -296,4 +133,193 @@ public class SolrServiceMetadataBrowseIndexingPlugin implements SolrServiceIndex
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Compute the distinct values of a metadata browse index for an item, in the format they are indexed in the
+     * {@code <distinct table name>_filter} field: the sort value, the {@link SearchUtils#FILTER_SEPARATOR}, the
+     * displayed value and, for values with an authority, the {@link SearchUtils#AUTHORITY_SEPARATOR} and the authority
+     * key.
+     *
+     * @param item the item
+     * @param bi   a metadata browse index
+     * @return the distinct browse values of the item, empty if the item is neither archived nor withdrawn
+     */
+    public Set<String> getDistinctValues(Item item, BrowseIndex bi) {
+        Set<String> distFValues = new HashSet<>();
+        if (bi.isMetadataIndex()) {
+            bi.generateMdBits();
+            collectBrowseValues(item, item.getOwningCollection(), bi, distFValues, new HashSet<>(), new HashSet<>(),
+                                new HashSet<>());
+        }
+        return distFValues;
+    }
+
+    private void collectBrowseValues(Item item, Collection collection, BrowseIndex bi, Set<String> distFValues,
+                                     Set<String> distFAuths, Set<String> distValuesForAC, Set<String> distFVal) {
+        // now index the new details - but only if it's archived or
+        // withdrawn
+        if (item.isArchived() || item.isWithdrawn()) {
+            // get the metadata from the item
+            for (int mdIdx = 0; mdIdx < bi.getMetadataCount(); mdIdx++) {
+                String[] md = bi.getMdBits(mdIdx);
+                List<MetadataValue> values = itemService.getMetadata(item, md[0], md[1],
+                                                                     md[2], Item.ANY);
+
+                // if we have values to index on, then do so
+                if (values != null && values.size() > 0) {
+                    int minConfidence = metadataAuthorityService
+                        .getMinConfidence(values.get(0).getMetadataField());
+
+                    boolean ignoreAuthority =
+                        DSpaceServicesFactory
+                            .getInstance()
+                            .getConfigurationService()
+                            .getPropertyAsType("discovery.browse.authority.ignore." + bi.getName(),
+                                               DSpaceServicesFactory.getInstance()
+                                                                    .getConfigurationService()
+                                                                    .getPropertyAsType(
+                                                                            "discovery.browse.authority.ignore",
+                                                                            Boolean.FALSE),
+                                               true);
+
+                    for (int x = 0; x < values.size(); x++) {
+                        // Ensure that there is a value to index before
+                        // inserting it
+                        if (StringUtils.isEmpty(values.get(x).getValue())) {
+                            log.error("Null metadata value for item "
+                                          + item.getID()
+                                          + ", field: "
+                                          + values.get(x).getMetadataField().toString()
+                            );
+                        } else {
+                            if (bi.isAuthorityIndex()
+                                && (values.get(x).getAuthority() == null || values.get(x)
+                                                                                  .getConfidence() <
+                                minConfidence)) {
+                                // if we have an authority index only
+                                // authored metadata will go here!
+                                log.debug("Skipping item="
+                                              + item.getID() + ", field="
+                                              + values.get(x).getMetadataField().toString()
+                                              + ", value=" + values.get(x).getValue()
+                                              + ", authority="
+                                              + values.get(x).getAuthority()
+                                              + ", confidence="
+                                              + values.get(x).getConfidence()
+                                              + " (BAD AUTHORITY)");
+                                continue;
+                            }
+
+                            // is there any valid (with appropriate
+                            // confidence) authority key?
+                            if ((ignoreAuthority && !bi.isAuthorityIndex())
+                                || (values.get(x).getAuthority() != null && values.get(x)
+                                                                                  .getConfidence() >=
+                                minConfidence)) {
+                                distFAuths.add(values.get(x).getAuthority());
+                                distValuesForAC.add(values.get(x).getValue());
+
+                                String preferedLabel = null;
+                                boolean ignorePrefered =
+                                    DSpaceServicesFactory
+                                        .getInstance()
+                                        .getConfigurationService()
+                                        .getPropertyAsType("discovery.browse.authority.ignore-prefered."
+                                                               + bi.getName(),
+                                                           DSpaceServicesFactory
+                                                               .getInstance()
+                                                               .getConfigurationService()
+                                                               .getPropertyAsType(
+                                                                   "discovery.browse.authority.ignore-prefered",
+                                                                   Boolean.FALSE),
+                                                           true);
+                                if (!ignorePrefered) {
+                                    try {
+                                        preferedLabel = choiceAuthorityService
+                                            .getLabel(values.get(x), collection, values.get(x).getLanguage());
+                                    } catch (Exception e) {
+                                        log.warn("Failed to get preferred label for "
+                                                     + values.get(x).getMetadataField().toString('.'), e);
+                                    }
+                                }
+                                List<String> variants = null;
+
+                                boolean ignoreVariants =
+                                    DSpaceServicesFactory
+                                        .getInstance()
+                                        .getConfigurationService()
+                                        .getPropertyAsType("discovery.browse.authority.ignore-variants."
+                                                               + bi.getName(),
+                                                           DSpaceServicesFactory
+                                                               .getInstance()
+                                                               .getConfigurationService()
+                                                               .getPropertyAsType(
+                                                                   "discovery.browse.authority.ignore-variants",
+                                                                   Boolean.FALSE),
+                                                           true);
+                                if (!ignoreVariants) {
+                                    try {
+                                        variants = choiceAuthorityService
+                                            .getVariants(values.get(x), collection);
+                                    } catch (Exception e) {
+                                        log.warn("Failed to get variants for "
+                                                     + values.get(x).getMetadataField().toString(), e);
+                                    }
+                                }
+
+                                if (StringUtils
+                                    .isNotBlank(preferedLabel)) {
+                                    String nLabel = OrderFormat
+                                        .makeSortString(
+                                            preferedLabel,
+                                            values.get(x).getLanguage(),
+                                            bi.getDataType());
+                                    distFValues
+                                        .add(nLabel
+                                                 + SearchUtils.FILTER_SEPARATOR
+                                                 + preferedLabel
+                                                 + SearchUtils.AUTHORITY_SEPARATOR
+                                                 + values.get(x).getAuthority());
+                                    distValuesForAC.add(preferedLabel);
+                                }
+
+                                if (variants != null) {
+                                    for (String var : variants) {
+                                        String nVal = OrderFormat
+                                            .makeSortString(
+                                                var,
+                                                values.get(x).getLanguage(),
+                                                bi.getDataType());
+                                        distFValues
+                                            .add(nVal
+                                                     + SearchUtils.FILTER_SEPARATOR
+                                                     + var
+                                                     + SearchUtils.AUTHORITY_SEPARATOR
+                                                     + values.get(x).getAuthority());
+                                        distValuesForAC.add(var);
+                                    }
+                                }
+                            } else {
+                                // put it in the browse index as if it
+                                // hasn't have an authority key
+
+                                // get the normalised version of the value
+                                String nVal = OrderFormat
+                                    .makeSortString(
+                                        values.get(x).getValue(),
+                                        values.get(x).getLanguage(),
+                                        bi.getDataType());
+                                distFValues
+                                    .add(nVal
+                                             + SearchUtils.FILTER_SEPARATOR
+                                             + values.get(x).getValue());
+                                distFVal.add(values.get(x).getValue());
+                                distValuesForAC.add(values.get(x).getValue());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
@@ -8,9 +8,14 @@
 package org.dspace.event;
 
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.Timer;
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
+import org.dspace.core.DSpaceMetrics;
 import org.dspace.core.Utils;
 
 /**
@@ -31,6 +36,11 @@ public class BasicDispatcher extends Dispatcher {
      */
     private static Logger log = org.apache.logging.log4j.LogManager.getLogger(BasicDispatcher.class);
 
+    /**
+     * Durations of the calls to the consumers, by consumer, phase (consume or end) and outcome
+     */
+    private static final Map<String, Timer> consumerTimers = new ConcurrentHashMap<>();
+
     @Override
     public void addConsumerProfile(ConsumerProfile cp)
         throws IllegalArgumentException {
@@ -100,8 +110,11 @@ public class BasicDispatcher extends Dispatcher {
                                           + "\": " + event.toString());
                         }
 
+                        long start = System.nanoTime();
+                        String outcome = DSpaceMetrics.ERROR;
                         try {
                             cp.getConsumer().consume(ctx, event);
+                            outcome = DSpaceMetrics.SUCCESS;
 
                             // Record that the event has been consumed by this
                             // consumer
@@ -109,6 +122,8 @@ public class BasicDispatcher extends Dispatcher {
                         } catch (Exception e) {
                             log.error("Consumer(\"" + cp.getName()
                                           + "\").consume threw: " + e.toString(), e);
+                        } finally {
+                            recordConsumerTime(cp.getName(), "consume", outcome, start);
                         }
                     }
 
@@ -124,15 +139,36 @@ public class BasicDispatcher extends Dispatcher {
                                       + "\"");
                     }
 
+                    long start = System.nanoTime();
+                    String outcome = DSpaceMetrics.ERROR;
                     try {
                         cp.getConsumer().end(ctx);
+                        outcome = DSpaceMetrics.SUCCESS;
                     } catch (Exception e) {
                         log.error("Error in Consumer(\"" + cp.getName()
                                       + "\").end: " + e.toString(), e);
+                    } finally {
+                        recordConsumerTime(cp.getName(), "end", outcome, start);
                     }
                 }
             }
         }
     }
 
+    /**
+     * Record the duration of a call to a consumer in the {@code dspace.event.consumer} timer.
+     *
+     * @param consumer the name of the consumer
+     * @param phase    "consume" or "end"
+     * @param outcome  the outcome of the call
+     * @param start    the value of {@link System#nanoTime()} when the call started
+     */
+    protected void recordConsumerTime(String consumer, String phase, String outcome, long start) {
+        consumerTimers.computeIfAbsent(consumer + ' ' + phase + ' ' + outcome,
+                                       key -> DSpaceMetrics.timer("event.consumer", "Calls to the event consumers",
+                                                                  "consumer", consumer, "phase", phase,
+                                                                  DSpaceMetrics.OUTCOME, outcome))
+                      .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
 }
@@ -7,7 +7,10 @@
  */
 package org.dspace.external;
 
+import static org.dspace.app.client.DSpaceHttpClientFactory.EXTERNAL_POOL;
+
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -120,7 +123,7 @@ public class OpenaireRestConnector {
         params.add(new BasicNameValuePair("grant_type", "client_credentials"));
         httpPost.setEntity(new UrlEncodedFormEntity(params, "UTF-8"));
 
-        try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().build()) {
+        try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL)) {
             HttpResponse getResponse = httpClient.execute(httpPost);
 
             JSONObject responseObject = null;
@@ -172,7 +175,7 @@ public class OpenaireRestConnector {
                 httpGet.addHeader("Authorization", "Bearer " + accessToken);
             }
 
-            try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().build()) {
+            try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL)) {
                 getResponse = httpClient.execute(httpGet);
 
                 StatusLine status = getResponse.getStatusLine();
@@ -206,8 +209,10 @@ public class OpenaireRestConnector {
                         break;
                 }
 
-                // do not close this httpClient
-                result = getResponse.getEntity().getContent();
+                // read the whole response, so that the pooled connection is released
+                try (InputStream responseStream = getResponse.getEntity().getContent()) {
+                    result = new ByteArrayInputStream(responseStream.readAllBytes());
+                }
             }
         } catch (MalformedURLException e1) {
             getGotError(e1, url + '/' + file);
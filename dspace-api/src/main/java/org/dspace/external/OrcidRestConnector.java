@@ -7,6 +7,8 @@
  */
 package org.dspace.external;
 
+import static org.dspace.app.client.DSpaceHttpClientFactory.EXTERNAL_POOL;
+
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -50,7 +52,7 @@ public class OrcidRestConnector {
             httpGet.addHeader("Content-Type", "application/vnd.orcid+xml");
             httpGet.addHeader("Authorization","Bearer " + accessToken);
         }
-        try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().build()) {
+        try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL)) {
             getResponse = httpClient.execute(httpGet);
             try (InputStream responseStream = getResponse.getEntity().getContent()) {
                 // Read all the content of the response stream into a byte array to prevent TruncatedChunkException
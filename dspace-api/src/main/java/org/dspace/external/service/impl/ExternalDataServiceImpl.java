@@ -10,6 +10,7 @@ package org.dspace.external.service.impl;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.Logger;
@@ -27,6 +28,7 @@ import org.dspace.core.LogHelper;
 import org.dspace.external.model.ExternalDataObject;
 import org.dspace.external.provider.ExternalDataProvider;
 import org.dspace.external.service.ExternalDataService;
+import org.dspace.importer.external.service.ExternalLookupCache;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -49,13 +51,22 @@ public class ExternalDataServiceImpl implements ExternalDataService {
     @Autowired
     private SuggestionService suggestionService;
 
+    @Autowired(required = false)
+    private ExternalLookupCache lookupCache;
+
     @Override
     public Optional<ExternalDataObject> getExternalDataObject(String source, String id) {
         ExternalDataProvider provider = getExternalDataProvider(source);
         if (provider == null) {
             throw new IllegalArgumentException("Provider for: " + source + " couldn't be found");
         }
-        return provider.getExternalDataObject(id);
+        if (lookupCache == null) {
+            return provider.getExternalDataObject(id);
+        }
+        // cache the object itself, the empty results are not cached
+        return Optional.ofNullable(lookupCache.get(source, "getExternalDataObject",
+                                                   () -> provider.getExternalDataObject(id).orElse(null),
+                                                   ExternalLookupCache::copyObject, id));
     }
 
     @Override
@@ -64,7 +75,12 @@ public class ExternalDataServiceImpl implements ExternalDataService {
         if (provider == null) {
             throw new IllegalArgumentException("Provider for: " + source + " couldn't be found");
         }
-        return provider.searchExternalDataObjects(query, start, limit);
+        if (lookupCache == null) {
+            return provider.searchExternalDataObjects(query, start, limit);
+        }
+        return lookupCache.get(source, "searchExternalDataObjects",
+                               () -> provider.searchExternalDataObjects(query, start, limit),
+                               ExternalLookupCache::copyObjects, query, start, limit);
     }
 
 
@@ -89,7 +105,11 @@ public class ExternalDataServiceImpl implements ExternalDataService {
         if (provider == null) {
             throw new IllegalArgumentException("Provider for: " + source + " couldn't be found");
         }
-        return provider.getNumberOfResults(query);
+        if (lookupCache == null) {
+            return provider.getNumberOfResults(query);
+        }
+        return lookupCache.get(source, "getNumberOfResults", () -> provider.getNumberOfResults(query),
+                               UnaryOperator.identity(), query);
     }
 
 
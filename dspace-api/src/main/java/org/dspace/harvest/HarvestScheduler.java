@@ -11,9 +11,16 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Stack;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,11 +50,19 @@ public class HarvestScheduler implements Runnable {
 
     public static final Object lock = new Object();
 
-    protected static Stack<HarvestThread> harvestThreads;
+    /**
+     * Harvests queued up for the next iteration, in the order they were queued
+     */
+    protected static Queue<HarvestThread> harvestThreads;
 
     protected static Integer maxActiveThreads;
 
-    protected static volatile Integer activeThreads = 0;
+    /**
+     * Pool of at most maxActiveThreads threads running the harvests
+     */
+    protected static ExecutorService harvestExecutor;
+
+    protected static final AtomicInteger activeThreads = new AtomicInteger();
 
     public static final int HARVESTER_STATUS_RUNNING = 1;
 
@@ -103,6 +118,13 @@ public class HarvestScheduler implements Runnable {
         return interrupt;
     }
 
+    /**
+     * @return the number of harvests currently running
+     */
+    public static int getActiveThreads() {
+        return activeThreads.get();
+    }
+
     public static String getStatus() {
         switch (status) {
             case HARVESTER_STATUS_RUNNING:
@@ -132,12 +154,16 @@ public class HarvestScheduler implements Runnable {
                                                 .findByEmail(mainContext, harvestAdminParam);
         }
 
-        harvestThreads = new Stack<>();
+        harvestThreads = new ConcurrentLinkedQueue<>();
 
         maxActiveThreads = configurationService.getIntProperty("oai.harvester.maxThreads");
         if (maxActiveThreads == 0) {
             maxActiveThreads = 3;
         }
+        if (harvestExecutor != null) {
+            harvestExecutor.shutdown();
+        }
+        harvestExecutor = Executors.newFixedThreadPool(maxActiveThreads);
         minHeartbeat = configurationService.getIntProperty("oai.harvester.minHeartbeat");
         minHeartbeat = minHeartbeat * 1000; // multiple by 1000 to turn seconds to ms
         if (minHeartbeat == 0) {
@@ -178,6 +204,7 @@ public class HarvestScheduler implements Runnable {
                         case HARVESTER_INTERRUPT_STOP:
                             interrupt = HARVESTER_INTERRUPT_NONE;
                             status = HARVESTER_STATUS_STOPPED;
+                            harvestExecutor.shutdown();
                             return;
                         default:
                             break;
@@ -185,8 +212,11 @@ public class HarvestScheduler implements Runnable {
                 }
 
                 if (status == HARVESTER_STATUS_PAUSED) {
-                    while (interrupt != HARVESTER_INTERRUPT_RESUME && interrupt != HARVESTER_INTERRUPT_STOP) {
-                        Thread.sleep(1000);
+                    synchronized (lock) {
+                        while (getInterrupt() != HARVESTER_INTERRUPT_RESUME
+                            && getInterrupt() != HARVESTER_INTERRUPT_STOP) {
+                            lock.wait();
+                        }
                     }
 
                     if (interrupt != HARVESTER_INTERRUPT_STOP) {
@@ -204,30 +234,24 @@ public class HarvestScheduler implements Runnable {
                     addThread(mainContext, harvestedCollection);
                 }
 
-                // Stage #2: start up all the threads currently in the queue up to the maximum number
-                while (!harvestThreads.isEmpty()) {
-                    synchronized (HarvestScheduler.class) {
-                        activeThreads++;
-                    }
-                    Thread activeThread = new Thread(harvestThreads.pop());
-                    activeThread.start();
-                    log.info("Thread started: " + activeThread.toString());
-
-                    /* Wait while the number of threads running is greater than or equal to max */
-                    while (activeThreads >= maxActiveThreads) {
-                        /* Wait a second */
-                        Thread.sleep(1000);
-                    }
+                // Stage #2: hand all the threads currently in the queue to the pool, which runs up to the
+                // maximum number of them at once
+                List<Future<?>> harvests = new ArrayList<>();
+                HarvestThread harvestThread;
+                while ((harvestThread = harvestThreads.poll()) != null) {
+                    harvests.add(harvestExecutor.submit(harvestThread));
+                    log.info("Thread submitted: " + harvestThread.toString());
                 }
 
                 // Finally, wait for the last few remaining threads to finish
                 // TODO: this step might be unnecessary. Theoretically a single very long harvest process
                 // could then lock out all the other ones from starting on their next iteration.
-                // FIXME: also, this might lead to a situation when a single thread getting stuck without
-                // throwing an exception would shut down the whole scheduler
-                while (activeThreads != 0) {
-                    /* Wait a second */
-                    Thread.sleep(1000);
+                for (Future<?> harvest : harvests) {
+                    try {
+                        harvest.get();
+                    } catch (ExecutionException e) {
+                        log.error("Harvest thread failed: " + e.getCause().getMessage(), e.getCause());
+                    }
                 }
 
                 // Commit everything
@@ -305,7 +329,7 @@ public class HarvestScheduler implements Runnable {
         context.dispatchEvents();
 
         HarvestThread ht = new HarvestThread(harvestedCollection.getCollection().getID());
-        harvestThreads.push(ht);
+        harvestThreads.add(ht);
 
         log.debug("****** Queued up a thread. Active threads: " + harvestThreads.toString());
         log.info("Thread queued up: " + ht.toString());
@@ -39,7 +39,12 @@ public class HarvestThread extends Thread {
     @Override
     public void run() {
         log.info("Thread for collection " + collectionId + " starts.");
-        runHarvest();
+        HarvestScheduler.activeThreads.incrementAndGet();
+        try {
+            runHarvest();
+        } finally {
+            HarvestScheduler.activeThreads.decrementAndGet();
+        }
     }
 
     private void runHarvest() {
@@ -77,10 +82,6 @@ public class HarvestThread extends Thread {
                     log.error("Unexpected exception while recovering from a harvesting error: " + e.getMessage(), e);
                     context.abort();
                 }
-
-                synchronized (HarvestScheduler.class) {
-                    HarvestScheduler.activeThreads--;
-                }
             }
         } catch (SQLException e) {
             log.error(e.getMessage(), e);
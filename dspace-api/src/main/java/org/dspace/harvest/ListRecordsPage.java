@@ -0,0 +1,295 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.StAXStreamBuilder;
+
+/**
+ * A single page of an OAI-PMH ListRecords response.
+ * <p>
+ * The raw response is downloaded in full, so that the next page can be fetched while the records of the
+ * current one are still being ingested, but it is only ever parsed as a stream. A first lightweight pass
+ * collects the errors and the resumption token, and {@link #records()} then builds one JDOM element per
+ * record, so that a page never has to be held as a whole DOM tree.
+ */
+public class ListRecordsPage {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final String OAI_NS = "http://www.openarchives.org/OAI/2.0/";
+
+    /**
+     * Maximum number of times a request is retried when the server answers "503 Service Unavailable"
+     */
+    private static final int MAX_RETRIES = 5;
+
+    private static final XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+
+    static {
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final String requestURL;
+    private final byte[] content;
+    private final Set<String> errors = new LinkedHashSet<>();
+    private String resumptionToken;
+    private long completeListSize = -1;
+    private int recordCount;
+
+    protected ListRecordsPage(String requestURL, byte[] content) throws XMLStreamException {
+        this.requestURL = requestURL;
+        this.content = content;
+        scan();
+    }
+
+    /**
+     * Build the URL of the first ListRecords request of a harvest.
+     *
+     * @param baseURL        the address of the OAI-PMH provider
+     * @param from           lower bound of the datestamps, or null
+     * @param until          upper bound of the datestamps, or null
+     * @param set            set to harvest, or null for all records
+     * @param metadataPrefix the metadata format to harvest
+     * @return the request URL
+     */
+    public static String requestURL(String baseURL, String from, String until, String set, String metadataPrefix) {
+        StringBuilder url = new StringBuilder(baseURL).append("?verb=ListRecords");
+        appendParameter(url, "from", from);
+        appendParameter(url, "until", until);
+        appendParameter(url, "set", set);
+        appendParameter(url, "metadataPrefix", metadataPrefix);
+        return url.toString();
+    }
+
+    /**
+     * Build the URL of a ListRecords request resuming an earlier one.
+     *
+     * @param baseURL         the address of the OAI-PMH provider
+     * @param resumptionToken the resumption token returned by the previous page
+     * @return the request URL
+     */
+    public static String requestURL(String baseURL, String resumptionToken) {
+        StringBuilder url = new StringBuilder(baseURL).append("?verb=ListRecords");
+        appendParameter(url, "resumptionToken", resumptionToken);
+        return url.toString();
+    }
+
+    private static void appendParameter(StringBuilder url, String name, String value) {
+        if (value != null) {
+            url.append('&').append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Download a ListRecords page, honouring the Retry-After header of "503 Service Unavailable" responses.
+     *
+     * @param httpClient the client to send the request with
+     * @param requestURL the full request URL
+     * @return the page
+     * @throws IOException          if the page could not be downloaded
+     * @throws XMLStreamException   if the response is not well-formed XML
+     * @throws InterruptedException if interrupted while waiting to retry
+     */
+    public static ListRecordsPage fetch(CloseableHttpClient httpClient, String requestURL)
+        throws IOException, XMLStreamException, InterruptedException {
+        log.info("HTTP Request: " + requestURL);
+        for (int attempt = 0; ; attempt++) {
+            HttpGet get = new HttpGet(requestURL);
+            try (CloseableHttpResponse response = httpClient.execute(get)) {
+                int status = response.getStatusLine().getStatusCode();
+                if (status == HttpStatus.SC_SERVICE_UNAVAILABLE && attempt < MAX_RETRIES) {
+                    long delay = retryAfterSeconds(response.getFirstHeader("Retry-After"));
+                    log.info("OAI server is unavailable, retrying in {} seconds", delay);
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    Thread.sleep(delay * 1000);
+                    continue;
+                }
+                if (status != HttpStatus.SC_OK) {
+                    throw new IOException("OAI server returned HTTP status " + status + " for " + requestURL);
+                }
+                return new ListRecordsPage(requestURL, EntityUtils.toByteArray(response.getEntity()));
+            }
+        }
+    }
+
+    private static long retryAfterSeconds(Header retryAfter) {
+        if (retryAfter != null && StringUtils.isNumeric(retryAfter.getValue())) {
+            return Math.max(1, Long.parseLong(retryAfter.getValue()));
+        }
+        return 5;
+    }
+
+    /**
+     * Stream once through the page, collecting everything but the records themselves.
+     */
+    private void scan() throws XMLStreamException {
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(content));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || !OAI_NS.equals(reader.getNamespaceURI())) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "error":
+                        errors.add(reader.getAttributeValue(null, "code"));
+                        break;
+                    case "record":
+                        recordCount++;
+                        skipElement(reader);
+                        break;
+                    case "resumptionToken":
+                        String size = reader.getAttributeValue(null, "completeListSize");
+                        if (StringUtils.isNotBlank(size)) {
+                            completeListSize = Long.parseLong(size.trim());
+                        }
+                        resumptionToken = StringUtils.trimToNull(reader.getElementText());
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Iterate over the records of this page. Each record is built into a detached JDOM element only when
+     * it is requested.
+     *
+     * @return the records
+     * @throws XMLStreamException if the page cannot be parsed
+     */
+    public Iterator<Element> records() throws XMLStreamException {
+        if (recordCount == 0) {
+            return Collections.emptyIterator();
+        }
+        return new RecordIterator(xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(content)));
+    }
+
+    public String getRequestURL() {
+        return requestURL;
+    }
+
+    /**
+     * @return the OAI-PMH error codes contained in this page
+     */
+    public Set<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the resumption token, or null if this is the last page
+     */
+    public String getResumptionToken() {
+        return resumptionToken;
+    }
+
+    /**
+     * @return the complete list size announced by the server, or -1 if unknown
+     */
+    public long getCompleteListSize() {
+        return completeListSize;
+    }
+
+    /**
+     * @return the number of records on this page
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Iterator building a JDOM element for each OAI record element of the underlying stream.
+     */
+    private static class RecordIterator implements Iterator<Element> {
+        private final StAXStreamBuilder builder = new StAXStreamBuilder();
+        private final XMLStreamReader reader;
+        private Element next;
+
+        RecordIterator(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Element record = next;
+            next = null;
+            return record;
+        }
+
+        private Element advance() {
+            try {
+                // building a record may leave the reader on the start of the next one already
+                while (true) {
+                    if (reader.getEventType() == XMLStreamConstants.START_ELEMENT
+                        && "record".equals(reader.getLocalName()) && OAI_NS.equals(reader.getNamespaceURI())) {
+                        return (Element) builder.fragment(reader);
+                    }
+                    if (!reader.hasNext()) {
+                        break;
+                    }
+                    reader.next();
+                }
+                reader.close();
+                return null;
+            } catch (XMLStreamException | JDOMException e) {
+                throw new IllegalStateException("Unable to parse OAI record", e);
+            }
+        }
+    }
+}
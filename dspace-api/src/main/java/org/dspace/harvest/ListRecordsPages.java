@@ -0,0 +1,115 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The successive pages of an OAI-PMH ListRecords response, following the resumption tokens.
+ * <p>
+ * As soon as a page is returned, the next one is downloaded in the background, so that it is ready once the records
+ * of the current page have been ingested.
+ */
+class ListRecordsPages implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private final CloseableHttpClient httpClient;
+    private final String baseURL;
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor();
+
+    /**
+     * The request of the first page, null once it has been sent
+     */
+    private String firstRequestURL;
+
+    /**
+     * The download of the next page, null after the last page
+     */
+    private Future<ListRecordsPage> nextPage;
+
+    /**
+     * @param httpClient      the client to send the requests with
+     * @param baseURL         the base URL of the OAI-PMH server
+     * @param firstRequestURL the full request URL of the first page
+     */
+    ListRecordsPages(CloseableHttpClient httpClient, String baseURL, String firstRequestURL) {
+        this.httpClient = httpClient;
+        this.baseURL = baseURL;
+        this.firstRequestURL = firstRequestURL;
+    }
+
+    /**
+     * Return the next page, and start downloading the following one if the page carries a resumption token.
+     *
+     * @return the next page, or null after the last one
+     * @throws IOException          if the first page could not be downloaded
+     * @throws XMLStreamException   if the first page is not well-formed XML
+     * @throws HarvestingException  if a following page could not be downloaded or parsed
+     * @throws InterruptedException if interrupted while waiting for a page
+     */
+    ListRecordsPage next() throws IOException, XMLStreamException, HarvestingException, InterruptedException {
+        ListRecordsPage page;
+        if (firstRequestURL != null) {
+            page = ListRecordsPage.fetch(httpClient, firstRequestURL);
+            firstRequestURL = null;
+        } else if (nextPage != null) {
+            page = awaitPage(nextPage);
+        } else {
+            return null;
+        }
+
+        nextPage = null;
+        String resumptionToken = page.getResumptionToken();
+        if (page.getErrors().isEmpty() && StringUtils.isNotEmpty(resumptionToken)) {
+            String nextRequestURL = ListRecordsPage.requestURL(baseURL, resumptionToken);
+            nextPage = prefetcher.submit(() -> ListRecordsPage.fetch(httpClient, nextRequestURL));
+        }
+        return page;
+    }
+
+    /**
+     * Stop any download in progress.
+     */
+    @Override
+    public void close() {
+        prefetcher.shutdownNow();
+    }
+
+    /**
+     * Wait for a prefetched page of records to be downloaded.
+     *
+     * @param page the pending download
+     * @return the downloaded page
+     * @throws HarvestingException if the download failed
+     */
+    private ListRecordsPage awaitPage(Future<ListRecordsPage> page) throws HarvestingException, InterruptedException {
+        try {
+            return page.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectException || cause instanceof FileNotFoundException) {
+                log.error("The OAI server did not respond.");
+                throw new HarvestingException("The OAI server did not respond.", cause);
+            }
+            throw new HarvestingException("Unable to retrieve the next page of records: " + cause.getMessage(), cause);
+        }
+    }
+}
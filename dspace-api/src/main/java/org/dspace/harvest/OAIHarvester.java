@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -31,8 +32,10 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathExpressionException;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.app.client.DSpaceHttpClientFactory;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
 import org.dspace.content.BitstreamFormat;
@@ -74,7 +77,6 @@ import org.jdom2.output.XMLOutputter;
 import org.oclc.oai.harvester2.verb.GetRecord;
 import org.oclc.oai.harvester2.verb.Identify;
 import org.oclc.oai.harvester2.verb.ListMetadataFormats;
-import org.oclc.oai.harvester2.verb.ListRecords;
 import org.xml.sax.SAXException;
 
 /**
@@ -270,7 +272,10 @@ public class OAIHarvester {
 
         String dateGranularity;
 
-        try {
+        // the pages of records, the next one being downloaded while the current one is ingested
+        ListRecordsPages pages = null;
+
+        try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().build()) {
             // obtain the desired descriptive metadata format and verify that the OAI server actually provides it
             // do the same thing for ORE, which should be encoded in Atom and carry its namespace
             String descMDPrefix = null;
@@ -303,10 +308,6 @@ public class OAIHarvester {
                             .getURI());
             }
 
-            Document oaiResponse = null;
-            Element root = null;
-            String resumptionToken;
-
             // set the status indicating the collection is currently being processed
             harvestRow.setHarvestStatus(HarvestedCollection.STATUS_BUSY);
             harvestRow.setHarvestMessage("Collection harvesting is initializing...");
@@ -322,26 +323,21 @@ public class OAIHarvester {
 
             Instant expirationTime = startTime.plus(expirationInterval, ChronoUnit.HOURS);
 
-            // main loop to keep requesting more objects until we're done
-            List<Element> records;
-            Set<String> errorSet = new HashSet<>();
+            // number of records to ingest between dispatching events and committing
+            int commitInterval = Math.max(1, configurationService.getIntProperty("oai.harvester.commitInterval", 100));
 
-            ListRecords listRecords = new ListRecords(oaiSource, fromDate, toDate, oaiSetId, descMDPrefix);
+            // main loop to keep requesting more objects until we're done
             log.debug(
                 "Harvesting request parameters: listRecords " + oaiSource + " " + fromDate + " " + toDate + " " +
                     oaiSetId + " " + descMDPrefix);
-            log.info("HTTP Request: " + listRecords.getRequestURL());
 
-            while (listRecords != null) {
-                records = new ArrayList<>();
-                oaiResponse = db.build(listRecords.getDocument());
+            pages = new ListRecordsPages(httpClient, oaiSource,
+                ListRecordsPage.requestURL(oaiSource, fromDate, toDate, oaiSetId, descMDPrefix));
+            ListRecordsPage page = pages.next();
 
-                if (listRecords.getErrors() != null && listRecords.getErrors().getLength() > 0) {
-                    for (int i = 0; i < listRecords.getErrors().getLength(); i++) {
-                        String errorCode = listRecords.getErrors().item(i).getAttributes().getNamedItem("code")
-                                                      .getTextContent();
-                        errorSet.add(errorCode);
-                    }
+            while (page != null) {
+                Set<String> errorSet = page.getErrors();
+                if (!errorSet.isEmpty()) {
                     if (errorSet.contains("noRecordsMatch")) {
                         log.info("noRecordsMatch: OAI server did not contain any updates");
                         harvestRow.setHarvestStartTime(Instant.now());
@@ -352,24 +348,16 @@ public class OAIHarvester {
                     } else {
                         throw new HarvestingException(errorSet.toString());
                     }
-                } else {
-                    root = oaiResponse.getRootElement();
-                    records.addAll(root.getChild("ListRecords", OAI_NS).getChildren("record", OAI_NS));
-
-                    Element resumptionElement = root.getChild("ListRecords", OAI_NS)
-                                                    .getChild("resumptionToken", OAI_NS);
-                    if (resumptionElement != null && resumptionElement.getAttribute("completeListSize") != null) {
-                        String value = resumptionElement.getAttribute("completeListSize").getValue();
-                        if (StringUtils.isNotBlank(value)) {
-                            totalListSize = Long.parseLong(value);
-                        }
-                    }
+                }
+                if (page.getCompleteListSize() >= 0) {
+                    totalListSize = page.getCompleteListSize();
                 }
 
                 // Process the obtained records
-                if (!records.isEmpty()) {
-                    log.info("Found {} records to process", records::size);
-                    for (Element record : records) {
+                if (page.getRecordCount() > 0) {
+                    log.info("Found {} records to process", page.getRecordCount());
+                    Iterator<Element> records = page.records();
+                    while (records.hasNext()) {
                         // check for STOP interrupt from the scheduler
                         if (HarvestScheduler.getInterrupt() == HarvestScheduler.HARVESTER_INTERRUPT_STOP) {
                             throw new HarvestingException("Harvest process for " + targetCollection
@@ -383,20 +371,18 @@ public class OAIHarvester {
 
                         currentRecord++;
 
-                        processRecord(record, OREPrefix, currentRecord, totalListSize);
-                        ourContext.dispatchEvents();
+                        processRecord(records.next(), OREPrefix, currentRecord, totalListSize);
 
-                        intermediateCommit();
+                        if (currentRecord % commitInterval == 0) {
+                            ourContext.dispatchEvents();
+                            intermediateCommit();
+                        }
                     }
                 }
 
                 // keep going if there are more records to process
-                resumptionToken = listRecords.getResumptionToken();
-                if (resumptionToken == null || resumptionToken.length() == 0) {
-                    listRecords = null;
-                } else {
-                    listRecords = new ListRecords(oaiSource, resumptionToken);
-                }
+                page = pages.next();
+
                 ourContext.turnOffAuthorisationSystem();
                 try {
                     collectionService.update(ourContext, targetCollection);
@@ -435,6 +421,9 @@ public class OAIHarvester {
             ourContext.complete();
             return;
         } finally {
+            if (pages != null) {
+                pages.close();
+            }
             harvestedCollectionService.update(ourContext, harvestRow);
             ourContext.turnOffAuthorisationSystem();
             collectionService.update(ourContext, targetCollection);
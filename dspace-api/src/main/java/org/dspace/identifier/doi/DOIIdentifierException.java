@@ -80,6 +80,11 @@ public class DOIIdentifierException extends IdentifierException {
      * You tried to reserve or register a DOI that is marked as DELETED.
      */
     public static final int DOI_IS_DELETED = 13;
+    /**
+     * The registration agency is temporarily unavailable, cannot be reached
+     * or limits the rate of the requests: the request may succeed later.
+     */
+    public static final int TEMPORARILY_UNAVAILABLE = 14;
 
     private int code;
 
@@ -112,6 +117,8 @@ public class DOIIdentifierException extends IdentifierException {
                 return "UNAUTHORIZED_METADATA_MANIPULATION";
             case DOI_IS_DELETED:
                 return "DELETED";
+            case TEMPORARILY_UNAVAILABLE:
+                return "TEMPORARILY_UNAVAILABLE";
             default:
                 return "UNKNOWN";
         }
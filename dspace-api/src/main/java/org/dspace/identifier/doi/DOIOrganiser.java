@@ -16,6 +16,13 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import jakarta.mail.MessagingException;
 import org.apache.commons.cli.CommandLine;
@@ -65,6 +72,10 @@ public class DOIOrganiser {
     protected ConfigurationService configurationService;
     // This filter will override the default provider filter / behaviour
     protected Filter filter;
+    // Set on the workers of a concurrent run: transient failures are left to
+    // the run to retry instead of being alerted
+    private boolean deferTransientFailures = false;
+    private boolean deferredFailure = false;
 
     /**
      * Constructor to be called within the main() method
@@ -125,6 +136,8 @@ public class DOIOrganiser {
                           "Perform online metadata update for all identifiers queued for metadata update.");
         options.addOption("d", "delete-all", false,
                           "Perform online deletion for all identifiers queued for deletion.");
+        options.addOption("t", "threads", true,
+                          "Reserve, register or update the DOIs with this number of concurrent workers.");
         options.addOption("q", "quiet", false,
                           "Turn the command line output off.");
 
@@ -207,6 +220,16 @@ public class DOIOrganiser {
             organiser.list("deletion", null, null, DOIIdentifierProvider.TO_BE_DELETED);
         }
 
+        int threads = organiser.configurationService.getIntProperty("identifier.doi.organiser.threads", 1);
+        if (line.hasOption('t')) {
+            try {
+                threads = Integer.parseInt(line.getOptionValue('t'));
+            } catch (NumberFormatException ex) {
+                System.err.println("The number of threads must be a number: " + line.getOptionValue('t'));
+                System.exit(1);
+            }
+        }
+
         DOIService doiService = IdentifierServiceFactory.getInstance().getDOIService();
         // Do we get a filter?
         if (line.hasOption("filter")) {
@@ -225,16 +248,20 @@ public class DOIOrganiser {
                                            + "that could be reserved.");
                 }
 
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    try {
-                        organiser.reserve(doi);
-                        context.commit();
-                    } catch (RuntimeException e) {
-                        System.err.format("DOI %s for object %s reservation failed, skipping:  %s%n",
-                                doi.getDSpaceObject().getID().toString(),
-                                doi.getDoi(), e.getMessage());
-                        context.rollback();
+                if (threads > 1) {
+                    organiser.runConcurrently("reservation", dois, DOIOrganiser::reserve, threads);
+                } else {
+                    for (DOI doi : dois) {
+                        doi = context.reloadEntity(doi);
+                        try {
+                            organiser.reserve(doi);
+                            context.commit();
+                        } catch (RuntimeException e) {
+                            System.err.format("DOI %s for object %s reservation failed, skipping:  %s%n",
+                                    doi.getDSpaceObject().getID().toString(),
+                                    doi.getDoi(), e.getMessage());
+                            context.rollback();
+                        }
                     }
                 }
             } catch (SQLException ex) {
@@ -251,16 +278,20 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "that could be registered.");
                 }
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    try {
-                        organiser.register(doi);
-                        context.commit();
-                    } catch (SQLException e) {
-                        System.err.format("DOI %s for object %s registration failed, skipping:  %s%n",
-                                doi.getDSpaceObject().getID().toString(),
-                                doi.getDoi(), e.getMessage());
-                        context.rollback();
+                if (threads > 1) {
+                    organiser.runConcurrently("registration", dois, DOIOrganiser::register, threads);
+                } else {
+                    for (DOI doi : dois) {
+                        doi = context.reloadEntity(doi);
+                        try {
+                            organiser.register(doi);
+                            context.commit();
+                        } catch (SQLException e) {
+                            System.err.format("DOI %s for object %s registration failed, skipping:  %s%n",
+                                    doi.getDSpaceObject().getID().toString(),
+                                    doi.getDoi(), e.getMessage());
+                            context.rollback();
+                        }
                     }
                 }
             } catch (SQLException ex) {
@@ -282,10 +313,14 @@ public class DOIOrganiser {
                                            + "whose metadata needs an update.");
                 }
 
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    organiser.update(doi);
-                    context.commit();
+                if (threads > 1) {
+                    organiser.runConcurrently("update", dois, DOIOrganiser::update, threads);
+                } else {
+                    for (DOI doi : dois) {
+                        doi = context.reloadEntity(doi);
+                        organiser.update(doi);
+                        context.commit();
+                    }
                 }
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
@@ -448,6 +483,11 @@ public class DOIOrganiser {
                                        + " is successfully registered.");
             }
         } catch (IdentifierException ex) {
+            if (deferTransientFailures && isTransient(ex)) {
+                LOG.warn("Transient failure of DOI {}, will retry: {}", doiRow.getDoi(), ex.getMessage());
+                deferredFailure = true;
+                return;
+            }
             String message;
             if (!(ex instanceof DOIIdentifierException)) {
                 message = "It wasn't possible to register this identifier: "
@@ -541,6 +581,11 @@ public class DOIOrganiser {
                 System.out.println("This identifier : " + DOI.SCHEME + doiRow.getDoi() + " is successfully reserved.");
             }
         } catch (IdentifierException ex) {
+            if (deferTransientFailures && isTransient(ex)) {
+                LOG.warn("Transient failure of DOI {}, will retry: {}", doiRow.getDoi(), ex.getMessage());
+                deferredFailure = true;
+                return;
+            }
             String message;
             if (!(ex instanceof DOIIdentifierException)) {
                 message = "It wasn't possible to register this identifier : "
@@ -606,6 +651,11 @@ public class DOIOrganiser {
                                        + doiRow.getDoi() + ".");
             }
         } catch (IdentifierException ex) {
+            if (deferTransientFailures && isTransient(ex)) {
+                LOG.warn("Transient failure of DOI {}, will retry: {}", doiRow.getDoi(), ex.getMessage());
+                deferredFailure = true;
+                return;
+            }
             String message;
             if (!(ex instanceof DOIIdentifierException)) {
                 message = String.format("Registering DOI %s for object %s:  the registrar returned an error.",
@@ -823,6 +873,149 @@ public class DOIOrganiser {
         }
     }
 
+    /**
+     * Reserve, register or update DOIs with concurrent workers. Each worker
+     * runs the operation on the DOIs in its own context, and commits their
+     * status updates in batches of {@code identifier.doi.organiser.batch-size}.
+     * The operations failing transiently are retried later by any worker, up to
+     * {@code identifier.doi.organiser.max-attempts} attempts, with a delay
+     * doubled before each retry. The rate of the requests of all the workers to
+     * DataCite is limited by the DOI connector.
+     *
+     * @param action    - name of the operation, for the messages
+     * @param dois      - DOIs to process
+     * @param operation - operation of an organiser on a DOI
+     * @param threads   - number of concurrent workers
+     */
+    public void runConcurrently(String action, List<DOI> dois, BiConsumer<DOIOrganiser, DOI> operation,
+                                int threads) {
+        DelayQueue<PendingDOI> queue = new DelayQueue<>();
+        for (DOI doi : dois) {
+            queue.add(new PendingDOI(doi.getDoi(), 1, 0));
+        }
+        AtomicInteger remaining = new AtomicInteger(queue.size());
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> work(action, queue, remaining, operation));
+        }
+        workers.shutdown();
+        try {
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.info("DOI {}: {} DOIs remaining", action, remaining.get());
+            }
+        } catch (InterruptedException ex) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (remaining.get() > 0) {
+            System.err.format("DOI %s: %d DOIs were not processed, see the DSpace log file.%n",
+                              action, remaining.get());
+        }
+    }
+
+    /**
+     * Process the DOIs of a concurrent run until none remains.
+     */
+    private void work(String action, DelayQueue<PendingDOI> queue, AtomicInteger remaining,
+                      BiConsumer<DOIOrganiser, DOI> operation) {
+        int batchSize = configurationService.getIntProperty("identifier.doi.organiser.batch-size", 100);
+        int maxAttempts = configurationService.getIntProperty("identifier.doi.organiser.max-attempts", 3);
+        long retryDelay = TimeUnit.SECONDS.toNanos(
+            configurationService.getIntProperty("identifier.doi.organiser.retry-delay", 30));
+
+        Context workerContext = new Context();
+        workerContext.turnOffAuthorisationSystem();
+        DOIOrganiser worker = new DOIOrganiser(workerContext, provider);
+        worker.quiet = quiet;
+        worker.filter = filter;
+        PendingDOI pending = null;
+        try {
+            int uncommitted = 0;
+            while (remaining.get() > 0) {
+                pending = queue.poll(1, TimeUnit.SECONDS);
+                if (pending == null) {
+                    continue;
+                }
+                boolean retry = false;
+                DOI doiRow = doiService.findByDoi(workerContext, pending.doi);
+                if (doiRow != null) {
+                    worker.deferTransientFailures = pending.attempt < maxAttempts;
+                    worker.deferredFailure = false;
+                    try {
+                        operation.accept(worker, doiRow);
+                        retry = worker.deferredFailure;
+                    } catch (RuntimeException ex) {
+                        LOG.error("DOI {} {} failed", pending.doi, action, ex);
+                        System.err.format("DOI %s %s failed, skipping:  %s%n", pending.doi, action,
+                                          ex.getMessage());
+                    }
+                }
+                if (retry) {
+                    queue.add(new PendingDOI(pending.doi, pending.attempt + 1,
+                                             retryDelay << (pending.attempt - 1)));
+                } else {
+                    remaining.decrementAndGet();
+                }
+                pending = null;
+                if (++uncommitted >= batchSize) {
+                    workerContext.commit();
+                    workerContext.uncacheEntities();
+                    uncommitted = 0;
+                }
+            }
+            workerContext.complete();
+        } catch (SQLException ex) {
+            // the DOIs of the uncommitted batch keep their status, to be processed by the next run
+            LOG.error("DOI {} worker stopped on a database error", action, ex);
+            if (pending != null) {
+                remaining.decrementAndGet();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
+
+    /**
+     * @return whether an operation failing with this exception may succeed
+     * later: the registration agency answered with an http status code 429 or
+     * 5xx, or could not be reached. The other failures, such as the errors of
+     * the crosswalk or of the database, are not retried.
+     */
+    private static boolean isTransient(IdentifierException ex) {
+        return ex instanceof DOIIdentifierException
+            && ((DOIIdentifierException) ex).getCode() == DOIIdentifierException.TEMPORARILY_UNAVAILABLE;
+    }
+
+    /**
+     * A DOI waiting for an attempt at its operation in a concurrent run.
+     */
+    private static class PendingDOI implements Delayed {
+        private final String doi;
+        private final int attempt;
+        private final long readyTime;
+
+        PendingDOI(String doi, int attempt, long delay) {
+            this.doi = doi;
+            this.attempt = attempt;
+            this.readyTime = System.nanoTime() + delay;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(readyTime, ((PendingDOI) other).readyTime);
+        }
+    }
+
     /**
      * Set this runner to be in quiet mode, suppressing console output
      */
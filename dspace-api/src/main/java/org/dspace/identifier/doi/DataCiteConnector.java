@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
@@ -82,6 +83,8 @@ public class DataCiteConnector
         = "crosswalk.dissemination.DataCite.hostingInstitution";
     static final String CFG_NAMESPACE
         = "crosswalk.dissemination.DataCite.namespace";
+    static final String CFG_MAX_REQUESTS_PER_SECOND
+        = "identifier.doi.max-requests-per-second";
 
     /**
      * Stores the scheme used to connect to the DataCite server. It will be set
@@ -121,6 +124,13 @@ public class DataCiteConnector
 
     protected String USERNAME;
     protected String PASSWORD;
+
+    /**
+     * Limits the rate of the requests sent to DataCite by all the threads,
+     * null if the rate is not limited.
+     */
+    private RateLimiter rateLimiter;
+    private boolean rateLimiterLoaded = false;
     @Autowired
     protected HandleService handleService;
 
@@ -206,7 +216,7 @@ public class DataCiteConnector
         this.CROSSWALK_NAME = CROSSWALK_NAME;
     }
 
-    protected void prepareXwalk() {
+    protected synchronized void prepareXwalk() {
         if (null != this.xwalk) {
             return;
         }
@@ -222,6 +232,20 @@ public class DataCiteConnector
         }
     }
 
+    /**
+     * @return the limiter of the rate of the requests sent to DataCite, as
+     * configured by {@value #CFG_MAX_REQUESTS_PER_SECOND}, or null if the
+     * rate is not limited
+     */
+    protected synchronized RateLimiter getRateLimiter() {
+        if (!rateLimiterLoaded) {
+            int maxRequestsPerSecond = configurationService.getIntProperty(CFG_MAX_REQUESTS_PER_SECOND, 0);
+            rateLimiter = maxRequestsPerSecond > 0 ? RateLimiter.create(maxRequestsPerSecond) : null;
+            rateLimiterLoaded = true;
+        }
+        return rateLimiter;
+    }
+
     protected String getUsername() {
         if (null == this.USERNAME) {
             this.USERNAME = this.configurationService.getProperty(CFG_USER);
@@ -718,6 +742,11 @@ public class DataCiteConnector
         HttpClientContext httpContext = HttpClientContext.create();
         httpContext.setCredentialsProvider(credentialsProvider);
 
+        RateLimiter limiter = getRateLimiter();
+        if (limiter != null) {
+            limiter.acquire();
+        }
+
         HttpEntity entity = null;
         try (CloseableHttpClient httpclient = DSpaceHttpClientFactory.getInstance().build()) {
             HttpResponse response = httpclient.execute(req, httpContext);
@@ -798,17 +827,30 @@ public class DataCiteConnector
                     throw new DOIIdentifierException("DataCite API has an internal error. "
                                                          + "It is temporarily impossible to manage DOIs. "
                                                          + "Further information can be found in DSpace log file.",
-                                                     DOIIdentifierException.INTERNAL_ERROR);
+                                                     DOIIdentifierException.TEMPORARILY_UNAVAILABLE);
                 }
+
+                // 429 signals that we exceeded the rate limit of the API, the
+                // other 5xx that it is temporarily unavailable: the request can
+                // be retried
                 default:
+                    if (statusCode == 429 || statusCode >= 500) {
+                        log.warn("Caught an http status code {} while managing DOI {}. Message was: {}",
+                                 statusCode, doi, content);
+                        throw new DOIIdentifierException("DataCite API is temporarily unavailable "
+                                                             + "(http status code " + statusCode + ").",
+                                                         DOIIdentifierException.TEMPORARILY_UNAVAILABLE);
+                    }
                     break;
             }
 
 
             return new DataCiteResponse(statusCode, content);
         } catch (IOException e) {
+            // DataCite could not be reached, or the connection was lost
             log.warn("Caught an IOException: {}", e::getMessage);
-            throw new RuntimeException(e);
+            throw new DOIIdentifierException("DataCite API cannot be reached: " + e.getMessage(), e,
+                                             DOIIdentifierException.TEMPORARILY_UNAVAILABLE);
         } finally {
             try {
                 // Release any resources used by HTTP-Request.
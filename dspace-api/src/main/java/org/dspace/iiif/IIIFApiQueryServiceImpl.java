@@ -7,6 +7,7 @@
  */
 package org.dspace.iiif;
 
+import static org.dspace.app.client.DSpaceHttpClientFactory.EXTERNAL_POOL;
 import static org.dspace.iiif.canvasdimension.Util.checkDimensions;
 
 import java.io.BufferedReader;
@@ -38,8 +39,8 @@ public class IIIFApiQueryServiceImpl implements IIIFApiQueryService {
         int[] arr = new int[2];
         String path = IIIFSharedUtils.getInfoJsonPath(bitstream);
         BufferedReader in = null;
-        try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().build()) {
-            CloseableHttpResponse httpResponse = httpClient.execute(new HttpGet(path));
+        try (CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL);
+             CloseableHttpResponse httpResponse = httpClient.execute(new HttpGet(path))) {
             in = new BufferedReader(new InputStreamReader(httpResponse.getEntity().getContent()));
             String inputLine;
             StringBuilder response = new StringBuilder();
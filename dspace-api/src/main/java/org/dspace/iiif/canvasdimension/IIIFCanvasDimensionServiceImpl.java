@@ -15,11 +15,19 @@ import static org.dspace.iiif.util.IIIFSharedUtils.METADATA_IIIF_WIDTH_QUALIFIER
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
@@ -30,10 +38,12 @@ import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.iiif.IIIFApiQueryService;
 import org.dspace.iiif.canvasdimension.service.IIIFCanvasDimensionService;
 import org.dspace.iiif.util.IIIFSharedUtils;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -54,12 +64,22 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
     DSpaceObjectService<Bitstream> dSpaceObjectService;
     @Autowired()
     IIIFApiQueryService iiifApiQuery;
+    @Autowired()
+    AuthorizeService authorizeService;
+    @Autowired()
+    BitstreamStorageService bitstreamStorageService;
+
+    /**
+     * The number of items read per thread in each batch of the parallel mode.
+     */
+    private static final int ITEMS_PER_THREAD = 10;
 
     private boolean forceProcessing = false;
     private boolean isQuiet = false;
     private List<String> skipList = null;
     private int max2Process = Integer.MAX_VALUE;
     private int processed = 0;
+    private int threads = 1;
 
     // used to check for existing canvas dimension
     private static final String IIIF_WIDTH_METADATA = METADATA_IIIF_SCHEMA + "." + METADATA_IIIF_IMAGE_ELEMENT +
@@ -100,12 +120,21 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         return processed;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
     @Override
     public int processCollection(Context context, Collection collection) throws Exception {
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                processItem(context, itemIterator.next());
+            if (threads > 1) {
+                processItemsInParallel(context, itemIterator);
+            } else {
+                while (itemIterator.hasNext() && processed < max2Process) {
+                    processItem(context, itemIterator.next());
+                }
             }
         }
         return processed;
@@ -124,6 +153,91 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         }
     }
 
+    /**
+     * Process the IIIF items in batches. The image dimensions of all the bitstreams of a batch
+     * are read by a pool of threads, then the metadata of the batch is written and committed.
+     * @param context
+     * @param items
+     * @throws Exception
+     */
+    private void processItemsInParallel(Context context, Iterator<Item> items) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Item> batch = new ArrayList<>();
+            while (items.hasNext() && processed < max2Process) {
+                Item item = items.next();
+                if (!inSkipList(item.getHandle()) && IIIFSharedUtils.isIIIFItem(item)) {
+                    batch.add(item);
+                }
+                if (batch.size() >= Math.min(threads * ITEMS_PER_THREAD, max2Process - processed)) {
+                    processItemBatch(context, batch, executor);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                processItemBatch(context, batch, executor);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Read the image dimensions of the IIIF bitstreams of a batch of items in parallel, and
+     * write them to the bitstream metadata.
+     * @param context
+     * @param batch
+     * @param executor
+     * @throws Exception
+     */
+    private void processItemBatch(Context context, List<Item> batch, ExecutorService executor) throws Exception {
+        List<Map<Bitstream, Future<int[]>>> itemDimensions = new ArrayList<>(batch.size());
+        for (Item item : batch) {
+            Map<Bitstream, Future<int[]>> dimensions = new LinkedHashMap<>();
+            for (Bundle bundle : IIIFSharedUtils.getIIIFBundles(item)) {
+                for (Bitstream bit : bundle.getBitstreams()) {
+                    if (needsDimensions(context, bit)) {
+                        authorizeService.authorizeAction(context, bit, Constants.READ);
+                        dimensions.put(bit, executor.submit(() -> readDimensions(context, bit)));
+                    }
+                }
+            }
+            itemDimensions.add(dimensions);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Item item = batch.get(i);
+            boolean done = false;
+            for (Map.Entry<Bitstream, Future<int[]>> entry : itemDimensions.get(i).entrySet()) {
+                Bitstream bit = entry.getKey();
+                int[] dims;
+                try {
+                    dims = entry.getValue().get();
+                } catch (ExecutionException e) {
+                    throw new IOException("Unable to read the dimensions of bitstream " + bit.getID(), e.getCause());
+                }
+                if (dims != null) {
+                    done |= setBitstreamMetadata(context, bit, dims);
+                    bitstreamService.update(context, bit);
+                }
+            }
+            if (done) {
+                ++processed;
+                if (!isQuiet) {
+                    System.out.println("Updated canvas metadata for item: " + item.getID());
+                }
+            }
+        }
+        context.commit();
+
+        for (int i = 0; i < batch.size(); i++) {
+            for (Bitstream bit : itemDimensions.get(i).keySet()) {
+                context.uncacheEntity(bit);
+            }
+            context.uncacheEntity(batch.get(i));
+        }
+    }
+
     /**
      * Process all IIIF bundles for an item.
      * @param context
@@ -164,6 +278,27 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         IOException {
 
         boolean processed = false;
+        if (needsDimensions(context, bitstream)) {
+            authorizeService.authorizeAction(context, bitstream, Constants.READ);
+            int[] dims = readDimensions(context, bitstream);
+            if (dims != null) {
+                processed = setBitstreamMetadata(context, bitstream, dims);
+                // update the bitstream
+                bitstreamService.update(context, bitstream);
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * Tests whether the bitstream is an image without canvas dimensions, or an image
+     * whose dimensions must be replaced because forceProcessing is true.
+     * @param context
+     * @param bitstream
+     * @return
+     * @throws SQLException
+     */
+    private boolean needsDimensions(Context context, Bitstream bitstream) throws SQLException {
         boolean isImage = bitstream.getFormat(context).getMIMEType().contains("image/");
         if (isImage) {
             Optional<MetadataValue> op = bitstream.getMetadata().stream()
@@ -173,34 +308,35 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
                 if (forceProcessing && !isQuiet) {
                     System.out.println("Force processing for bitstream: " + bitstream.getID());
                 }
-                int[] dims;
-                InputStream stream = null;
-                try {
-                    stream = bitstreamService.retrieve(context, bitstream);
-                    try {
-                        dims = ImageDimensionReader.getImageDimensions(stream);
-                        if (dims == null) {
-                            // If image dimensions are not available try the iiif image server.
-                            dims = iiifApiQuery.getImageDimensions(bitstream);
-                        }
-                    } catch (IOException e) {
-                        // If an exception was raised by ImageIO, try the iiif image server.
-                        dims = iiifApiQuery.getImageDimensions(bitstream);
-                    }
-                } finally {
-                    if (stream != null) {
-                        stream.close();
-                    }
-                }
-
-                if (dims != null) {
-                    processed = setBitstreamMetadata(context, bitstream, dims);
-                    // update the bitstream
-                    bitstreamService.update(context, bitstream);
-                }
+                return true;
             }
         }
-        return processed;
+        return false;
+    }
+
+    /**
+     * Reads the image dimensions from the header of the bitstream content, or from the IIIF image
+     * server if the header cannot be read. Only the storage layer is used, which does not query the
+     * context, so the dimensions of several bitstreams can be read in parallel once the READ
+     * authorization has been checked.
+     * @param context
+     * @param bitstream
+     * @return
+     * @throws IOException
+     */
+    private int[] readDimensions(Context context, Bitstream bitstream) throws IOException {
+        int[] dims;
+        try (InputStream stream = bitstreamStorageService.retrieve(context, bitstream)) {
+            dims = ImageDimensionReader.getImageDimensions(stream);
+        } catch (IOException | SQLException e) {
+            // If the header could not be read, try the iiif image server.
+            dims = null;
+        }
+        if (dims == null) {
+            // If image dimensions are not available try the iiif image server.
+            dims = iiifApiQuery.getImageDimensions(bitstream);
+        }
+        return dims;
     }
 
     /**
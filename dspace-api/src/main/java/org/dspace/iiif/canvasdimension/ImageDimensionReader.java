@@ -9,39 +9,147 @@ package org.dspace.iiif.canvasdimension;
 
 import static org.dspace.iiif.canvasdimension.Util.checkDimensions;
 
-import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 /**
  * Reads and return height and width dimensions for image bitstreams.
+ * <p>
+ * Only the image header is read: JPEG 2000 headers are parsed directly and the other formats are handled by the
+ * header parsing of the ImageIO readers, so the raster is never decoded and, for most formats, only the first few
+ * KB of the stream are consumed.
  *
  * @author Michael Spalti mspalti@willamette.edu
  */
 public class ImageDimensionReader {
 
+    /**
+     * The maximum number of bytes scanned for the JPEG 2000 image header box.
+     */
+    private static final int MAX_JP2_HEADER_BYTES = 64 * 1024;
+
+    private static final byte[] JP2_SIGNATURE = {
+        0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20, 0x0D, 0x0A, (byte) 0x87, 0x0A
+    };
+
+    private static final byte[] J2K_SIGNATURE = {(byte) 0xFF, 0x4F, (byte) 0xFF, 0x51};
+
+    private static final int JP2_HEADER_BOX = 0x6A703268; // "jp2h"
+    private static final int JP2_IMAGE_HEADER_BOX = 0x69686472; // "ihdr"
+
     private ImageDimensionReader() {}
 
     /**
-     * Uses ImageIO to read height and width dimensions.
+     * Reads height and width dimensions from the image header.
      * @param image inputstream for dspace image
      * @return image dimensions or null if the image format cannot be read.
-     * @throws Exception
+     * @throws IOException if the image header cannot be read
      */
     public static int[] getImageDimensions(InputStream image) throws IOException {
-        int[] dims = new int[2];
-        BufferedImage buf = ImageIO.read(image);
-        if (buf != null) {
-            int width = buf.getWidth(null);
-            int height = buf.getHeight(null);
-            if (width > 0 && height > 0) {
-                dims[0] = width;
-                dims[1] = height;
-                return checkDimensions(dims);
+        BufferedInputStream in = new BufferedInputStream(image);
+        in.mark(JP2_SIGNATURE.length);
+        byte[] signature = in.readNBytes(JP2_SIGNATURE.length);
+        in.reset();
+
+        int[] dims;
+        if (Arrays.equals(signature, JP2_SIGNATURE)) {
+            dims = readJp2Dimensions(new DataInputStream(in));
+        } else if (signature.length >= J2K_SIGNATURE.length
+            && Arrays.equals(signature, 0, J2K_SIGNATURE.length, J2K_SIGNATURE, 0, J2K_SIGNATURE.length)) {
+            dims = readCodestreamDimensions(new DataInputStream(in));
+        } else {
+            dims = readImageReaderDimensions(in);
+        }
+        if (dims != null && dims[0] > 0 && dims[1] > 0) {
+            return checkDimensions(dims);
+        }
+        return null;
+    }
+
+    /**
+     * Uses the first ImageIO reader that accepts the stream to read the dimensions of the first image. The reader
+     * is told to ignore the metadata, so it stops after the header.
+     */
+    private static int[] readImageReaderDimensions(InputStream in) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                return new int[] {reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
             }
         }
+    }
+
+    /**
+     * Reads the dimensions from the image header (ihdr) box of a JP2 file, which is the first box of the
+     * mandatory JP2 header (jp2h) super box.
+     */
+    private static int[] readJp2Dimensions(DataInputStream in) throws IOException {
+        long position = 0;
+        try {
+            while (position < MAX_JP2_HEADER_BYTES) {
+                long length = in.readInt() & 0xFFFFFFFFL;
+                int type = in.readInt();
+                int headerLength = 8;
+                if (length == 1) {
+                    length = in.readLong();
+                    headerLength = 16;
+                }
+                if (type == JP2_HEADER_BOX) {
+                    in.readInt(); // length of the image header box
+                    if (in.readInt() != JP2_IMAGE_HEADER_BOX) {
+                        return null;
+                    }
+                    int height = in.readInt();
+                    int width = in.readInt();
+                    return new int[] {width, height};
+                }
+                if (length < headerLength) {
+                    // a box running up to the end of the file (length 0) is the last one
+                    return null;
+                }
+                in.skipNBytes(length - headerLength);
+                position += length;
+            }
+        } catch (EOFException e) {
+            // no header box in the file
+        }
         return null;
     }
 
+    /**
+     * Reads the dimensions from the image and tile size (SIZ) marker segment of a raw JPEG 2000 codestream,
+     * which directly follows the start of codestream marker.
+     */
+    private static int[] readCodestreamDimensions(DataInputStream in) throws IOException {
+        try {
+            // SOC and SIZ markers, segment length and capabilities
+            in.skipNBytes(8);
+            long width = in.readInt() & 0xFFFFFFFFL;
+            long height = in.readInt() & 0xFFFFFFFFL;
+            long xOffset = in.readInt() & 0xFFFFFFFFL;
+            long yOffset = in.readInt() & 0xFFFFFFFFL;
+            return new int[] {(int) (width - xOffset), (int) (height - yOffset)};
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
 }
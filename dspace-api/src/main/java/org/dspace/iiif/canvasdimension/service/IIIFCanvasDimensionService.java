@@ -66,4 +66,12 @@ public interface IIIFCanvasDimensionService {
      */
     void setSkipList(List<String> skipList);
 
+    /**
+     * Set the number of threads reading image dimensions when processing
+     * communities and collections. With more than one thread, the items are
+     * processed in batches whose metadata is committed at the end of each batch.
+     * @param threads
+     */
+    void setThreads(int threads);
+
 }
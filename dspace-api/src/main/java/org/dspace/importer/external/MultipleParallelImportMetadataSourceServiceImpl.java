@@ -9,38 +9,89 @@ package org.dspace.importer.external;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
 
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.content.Item;
 import org.dspace.importer.external.datamodel.ImportRecord;
 import org.dspace.importer.external.datamodel.Query;
 import org.dspace.importer.external.exception.MetadataSourceException;
+import org.dspace.importer.external.service.ExternalLookupCache;
 import org.dspace.importer.external.service.components.QuerySource;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Implements a data source for querying multiple external data sources in parallel
  *
  * optional Affiliation information are not part of the API request.
  *
+ * <p>
+ * The inner providers are queried on a bounded pool of threads, whose queue is bounded too. A provider which does
+ * not answer within {@code live-import.parallel.timeout} milliseconds is left out of the results, which are made of
+ * the answers of the other providers. After {@code live-import.parallel.circuit-breaker.failures} consecutive
+ * failures or timeouts, a provider is not queried anymore for {@code live-import.parallel.circuit-breaker.open-time}
+ * milliseconds, after which a single query is let through to test it again. The queries still waiting for a thread
+ * when they time out, or rejected by a full queue, are left out without counting as failures of their provider: the
+ * pool is busy, the provider is not at fault. The results of each provider are cached by the
+ * {@link ExternalLookupCache}, when available.
+ *
  * @author Johanna Staudinger (johanna.staudinger@uni-bamberg.de)
  *
  */
 public class MultipleParallelImportMetadataSourceServiceImpl implements QuerySource {
+
+    private static final Logger log = LogManager.getLogger();
+
     private final List<QuerySource> innerProviders;
-    private final ExecutorService executorService;
+    private final ThreadPoolExecutor executorService;
+    private final Map<QuerySource, CircuitBreaker> circuitBreakers = new IdentityHashMap<>();
+    private final long timeout;
 
     private final String sourceName;
+
+    @Autowired(required = false)
+    private ExternalLookupCache lookupCache;
+
     public MultipleParallelImportMetadataSourceServiceImpl(List<QuerySource> innerProviders, String sourceName) {
         super();
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
         this.innerProviders = innerProviders;
-        this.executorService = Executors.newFixedThreadPool(innerProviders.size());
         this.sourceName = sourceName;
+        this.timeout = configurationService.getLongProperty("live-import.parallel.timeout", 10000);
+        int threads = configurationService.getIntProperty("live-import.parallel.threads",
+                                                          4 * innerProviders.size());
+        int queueSize = configurationService.getIntProperty("live-import.parallel.queue-size",
+                                                            4 * innerProviders.size());
+        this.executorService = new ThreadPoolExecutor(Math.max(threads, 1), Math.max(threads, 1),
+                                                      0L, TimeUnit.MILLISECONDS,
+                                                      new ArrayBlockingQueue<>(Math.max(queueSize, 1)),
+                                                      new BasicThreadFactory.Builder()
+                                                          .namingPattern(sourceName + "-lookup-%d")
+                                                          .daemon(true)
+                                                          .build());
+        int failures = configurationService.getIntProperty("live-import.parallel.circuit-breaker.failures", 5);
+        long openTime = configurationService.getLongProperty("live-import.parallel.circuit-breaker.open-time",
+                                                             60000);
+        for (QuerySource innerProvider : innerProviders) {
+            circuitBreakers.put(innerProvider, new CircuitBreaker(failures, openTime));
+        }
     }
 
     @Override
@@ -50,56 +101,30 @@ public class MultipleParallelImportMetadataSourceServiceImpl implements QuerySou
 
     @Override
     public ImportRecord getRecord(String recordId) throws MetadataSourceException {
-        List<Future<ImportRecord>> futureList = new ArrayList<>();
         ImportRecord result = null;
-        for (QuerySource innerProvider : innerProviders) {
-            futureList.add(executorService.submit(() -> innerProvider.getRecord(recordId)));
-        }
-        for (Future<ImportRecord> future: futureList) {
-            try {
-                ImportRecord importRecord = future.get();
-                if (!Objects.isNull(importRecord)) {
-                    result = importRecord;
-                }
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-            }
+        for (ImportRecord importRecord : queryProviders("getRecord", ExternalLookupCache::copyRecord,
+                                                       provider -> provider.getRecord(recordId), recordId)) {
+            result = importRecord;
         }
         return result;
     }
 
     @Override
     public int getRecordsCount(String query) throws MetadataSourceException {
-        List<Future<Integer>> futureList = new ArrayList<>();
         int result = 0;
-        for (QuerySource innerProvider : innerProviders) {
-            futureList.add(executorService.submit(() -> innerProvider.getRecordsCount(query)));
-        }
-        for (Future<Integer> future: futureList) {
-            try {
-                Integer count = future.get();
-                result += Objects.isNull(count) ? 0 : count;
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-            }
+        for (Integer count : queryProviders("getRecordsCount", UnaryOperator.identity(),
+                                            provider -> provider.getRecordsCount(query), query)) {
+            result += count;
         }
         return result;
     }
 
     @Override
     public int getRecordsCount(Query query) throws MetadataSourceException {
-        List<Future<Integer>> futureList = new ArrayList<>();
         int result = 0;
-        for (QuerySource innerProvider : innerProviders) {
-            futureList.add(executorService.submit(() -> innerProvider.getRecordsCount(query)));
-        }
-        for (Future<Integer> future: futureList) {
-            try {
-                Integer count = future.get();
-                result += Objects.isNull(count) ? 0 : count;
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-            }
+        for (Integer count : queryProviders("getRecordsCountByQuery", UnaryOperator.identity(),
+                                            provider -> provider.getRecordsCount(query), query)) {
+            result += count;
         }
         return result;
     }
@@ -107,36 +132,22 @@ public class MultipleParallelImportMetadataSourceServiceImpl implements QuerySou
 
     @Override
     public Collection<ImportRecord> getRecords(String query, int start, int count) throws MetadataSourceException {
-        List<Future<Collection<ImportRecord>>> futureList = new ArrayList<>();
         List<ImportRecord> result = new ArrayList<>();
-        for (QuerySource innerProvider : innerProviders) {
-            futureList.add(executorService.submit(() -> innerProvider.getRecords(query, start, count)));
-        }
-        for (Future<Collection<ImportRecord>> future: futureList) {
-            try {
-                Collection<ImportRecord> importRecords = future.get();
-                result.addAll(Objects.isNull(importRecords) ? Collections.emptyList() : importRecords);
-            } catch (InterruptedException | ExecutionException e) {
-                //
-            }
+        for (Collection<ImportRecord> importRecords
+            : queryProviders("getRecords", ExternalLookupCache::copyRecords,
+                             provider -> provider.getRecords(query, start, count), query, start, count)) {
+            result.addAll(importRecords);
         }
         return result;
     }
 
     @Override
     public Collection<ImportRecord> getRecords(Query query) throws MetadataSourceException {
-        List<Future<Collection<ImportRecord>>> futureList = new ArrayList<>();
         List<ImportRecord> result = new ArrayList<>();
-        for (QuerySource innerProvider : innerProviders) {
-            futureList.add(executorService.submit(() -> innerProvider.getRecords(query)));
-        }
-        for (Future<Collection<ImportRecord>> future: futureList) {
-            try {
-                Collection<ImportRecord> importRecords = future.get();
-                result.addAll(Objects.isNull(importRecords) ? Collections.emptyList() : importRecords);
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-            }
+        for (Collection<ImportRecord> importRecords
+            : queryProviders("getRecordsByQuery", ExternalLookupCache::copyRecords,
+                             provider -> provider.getRecords(query), query)) {
+            result.addAll(importRecords);
         }
         return result;
     }
@@ -148,18 +159,11 @@ public class MultipleParallelImportMetadataSourceServiceImpl implements QuerySou
 
     @Override
     public Collection<ImportRecord> findMatchingRecords(Query query) throws MetadataSourceException {
-        List<Future<Collection<ImportRecord>>> futureList = new ArrayList<>();
         List<ImportRecord> result = new ArrayList<>();
-        for (QuerySource innerProvider : innerProviders) {
-            futureList.add(executorService.submit(() -> innerProvider.findMatchingRecords(query)));
-        }
-        for (Future<Collection<ImportRecord>> future: futureList) {
-            try {
-                Collection<ImportRecord> importRecords = future.get();
-                result.addAll(Objects.isNull(importRecords) ? Collections.emptyList() : importRecords);
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-            }
+        for (Collection<ImportRecord> importRecords
+            : queryProviders("findMatchingRecords", ExternalLookupCache::copyRecords,
+                             provider -> provider.findMatchingRecords(query), query)) {
+            result.addAll(importRecords);
         }
         return result;
     }
@@ -167,19 +171,149 @@ public class MultipleParallelImportMetadataSourceServiceImpl implements QuerySou
 
     @Override
     public Collection<ImportRecord> findMatchingRecords(Item item) throws MetadataSourceException {
-        List<Future<Collection<ImportRecord>>> futureList = new ArrayList<>();
         List<ImportRecord> result = new ArrayList<>();
+        // the matches depend on the current metadata of the item, so they are not cached
+        for (Collection<ImportRecord> importRecords
+            : queryProviders(null, UnaryOperator.identity(), provider -> provider.findMatchingRecords(item))) {
+            result.addAll(importRecords);
+        }
+        return result;
+    }
+
+    /**
+     * Stop the threads querying the providers.
+     */
+    @PreDestroy
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Query all the providers whose circuit is closed in parallel, and return the non null results of the
+     * providers which answered in time.
+     *
+     * @param operation the name of the operation for the cache key, or null if the results must not be cached
+     * @param copy      the copy of a cached result, given instead of the result shared by the cache
+     * @param call      the query of a provider
+     * @param arguments the arguments of the query, part of the cache key
+     * @return the results of the providers which answered in time
+     * @throws MetadataSourceException if the thread is interrupted while waiting for the providers
+     */
+    private <T> List<T> queryProviders(String operation, UnaryOperator<T> copy, ProviderCall<T> call,
+                                       Object... arguments) throws MetadataSourceException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        Map<QuerySource, Future<T>> futures = new LinkedHashMap<>();
+        Map<QuerySource, AtomicBoolean> started = new IdentityHashMap<>();
         for (QuerySource innerProvider : innerProviders) {
-            futureList.add(executorService.submit(() -> innerProvider.findMatchingRecords(item)));
+            if (!circuitBreakers.get(innerProvider).allowRequest()) {
+                log.debug("Skipping {} in {}: too many recent failures", innerProvider.getImportSource(),
+                          sourceName);
+                continue;
+            }
+            AtomicBoolean providerStarted = new AtomicBoolean();
+            try {
+                futures.put(innerProvider, executorService.submit(() -> {
+                    providerStarted.set(true);
+                    return query(innerProvider, operation, copy, call, arguments);
+                }));
+                started.put(innerProvider, providerStarted);
+            } catch (RejectedExecutionException e) {
+                log.warn("Too many queries waiting for {}, {} is left out", sourceName,
+                         innerProvider.getImportSource());
+            }
         }
-        for (Future<Collection<ImportRecord>> future: futureList) {
+
+        List<T> results = new ArrayList<>();
+        for (Map.Entry<QuerySource, Future<T>> entry : futures.entrySet()) {
+            QuerySource innerProvider = entry.getKey();
+            CircuitBreaker circuitBreaker = circuitBreakers.get(innerProvider);
             try {
-                Collection<ImportRecord> importRecords = future.get();
-                result.addAll(Objects.isNull(importRecords) ? Collections.emptyList() : importRecords);
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
+                T result = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                circuitBreaker.recordSuccess();
+                if (result != null) {
+                    results.add(result);
+                }
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                if (started.get(innerProvider).get()) {
+                    circuitBreaker.recordFailure();
+                    log.warn("{} did not answer within {} ms, its results are left out of {}",
+                             innerProvider.getImportSource(), timeout, sourceName);
+                } else {
+                    log.warn("No thread was free to query {} within {} ms, its results are left out of {}",
+                             innerProvider.getImportSource(), timeout, sourceName);
+                }
+            } catch (ExecutionException e) {
+                circuitBreaker.recordFailure();
+                log.error("Querying " + innerProvider.getImportSource() + " failed, its results are left out of "
+                              + sourceName, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(future -> future.cancel(true));
+                throw new MetadataSourceException("Interrupted while querying " + sourceName, e);
+            }
+        }
+        return results;
+    }
+
+    private <T> T query(QuerySource innerProvider, String operation, UnaryOperator<T> copy, ProviderCall<T> call,
+                        Object... arguments) throws MetadataSourceException {
+        if (lookupCache == null || operation == null) {
+            return call.query(innerProvider);
+        }
+        return lookupCache.get(innerProvider.getImportSource(), operation, () -> call.query(innerProvider), copy,
+                               arguments);
+    }
+
+    public void setLookupCache(ExternalLookupCache lookupCache) {
+        this.lookupCache = lookupCache;
+    }
+
+    /**
+     * A query of one of the inner providers.
+     */
+    @FunctionalInterface
+    private interface ProviderCall<T> {
+        T query(QuerySource provider) throws MetadataSourceException;
+    }
+
+    /**
+     * Circuit breaker of a provider. The circuit opens after a number of consecutive failures; once the open time
+     * has elapsed, a single request is let through: a success closes the circuit, a failure opens it again.
+     */
+    static class CircuitBreaker {
+        private final int maxFailures;
+        private final long openTime;
+        private int failures = 0;
+        private long openUntil = 0;
+
+        CircuitBreaker(int maxFailures, long openTime) {
+            this.maxFailures = maxFailures;
+            this.openTime = openTime;
+        }
+
+        synchronized boolean allowRequest() {
+            if (failures < maxFailures) {
+                return true;
+            }
+            long now = System.currentTimeMillis();
+            if (now < openUntil) {
+                return false;
+            }
+            // let a single trial request through
+            openUntil = now + openTime;
+            return true;
+        }
+
+        synchronized void recordSuccess() {
+            failures = 0;
+        }
+
+        synchronized void recordFailure() {
+            failures++;
+            if (failures >= maxFailures) {
+                openUntil = System.currentTimeMillis() + openTime;
             }
         }
-        return result;
     }
 }
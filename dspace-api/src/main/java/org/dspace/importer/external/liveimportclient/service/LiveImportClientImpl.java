@@ -7,6 +7,8 @@
  */
 package org.dspace.importer.external.liveimportclient.service;
 
+import static org.dspace.app.client.DSpaceHttpClientFactory.EXTERNAL_POOL;
+
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -56,9 +58,10 @@ public class LiveImportClientImpl implements LiveImportClient {
             .setSocketTimeout(timeout)
             .build();
         try (CloseableHttpClient httpClient = Optional.ofNullable(this.httpClient)
-                                        .orElse(DSpaceHttpClientFactory.getInstance().buildWithRequestConfig(config))) {
+                .orElseGet(() -> DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL))) {
             String uri = buildUrl(URL, params.get(URI_PARAMETERS));
             method = new HttpGet(uri);
+            method.setConfig(config);
 
             Map<String, String> headerParams = params.get(HEADER_PARAMETERS);
             if (MapUtils.isNotEmpty(headerParams)) {
@@ -90,9 +93,8 @@ public class LiveImportClientImpl implements LiveImportClient {
     @Override
     public String executeHttpPostRequest(String URL, Map<String, Map<String, String>> params, String entry) {
         HttpPost method = null;
-        RequestConfig config = RequestConfig.custom().build();
         try (CloseableHttpClient httpClient = Optional.ofNullable(this.httpClient)
-                .orElse(DSpaceHttpClientFactory.getInstance().buildWithRequestConfig(config))) {
+                .orElseGet(() -> DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL))) {
 
             String uri = buildUrl(URL, params.get(URI_PARAMETERS));
             method = new HttpPost(uri);
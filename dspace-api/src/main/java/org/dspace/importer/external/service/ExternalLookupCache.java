@@ -0,0 +1,183 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.importer.external.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.dspace.content.dto.MetadataValueDTO;
+import org.dspace.external.model.ExternalDataObject;
+import org.dspace.importer.external.datamodel.ImportRecord;
+import org.dspace.importer.external.datamodel.Query;
+import org.dspace.importer.external.metadatamapping.MetadatumDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Cache of the results of the lookups in external sources, i.e. of the records already mapped to
+ * {@link org.dspace.importer.external.datamodel.ImportRecord}s or
+ * {@link org.dspace.external.model.ExternalDataObject}s, keyed by provider, operation and query.
+ * <p>
+ * The entries are kept in the {@value #CACHE_NAME} cache, whose size and time to live are configured in
+ * ehcache.xml. The lookups are not cached when that cache is not defined.
+ * <p>
+ * The cached results are shared by all the threads, so each caller gets its own copy of them, made by the copy
+ * operation given with the lookup: the copies of this class copy the records and the objects, and make their lists
+ * unmodifiable.
+ */
+public class ExternalLookupCache {
+
+    /**
+     * The name of the cache holding the lookup results.
+     */
+    public static final String CACHE_NAME = "external.lookups";
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    /**
+     * A lookup whose result can be cached.
+     *
+     * @param <T> the type of the result
+     * @param <E> the type of the exception raised by the lookup
+     */
+    @FunctionalInterface
+    public interface Lookup<T, E extends Exception> {
+        T lookup() throws E;
+    }
+
+    /**
+     * Return a copy of the cached result of a lookup, or perform the lookup and cache a copy of its result. Null
+     * results are not cached.
+     *
+     * @param provider  the name of the provider
+     * @param operation the name of the operation
+     * @param lookup    the lookup to perform if its result is not cached
+     * @param copy      the copy of a result, e.g. {@link #copyRecords(Collection)}, or the identity for the
+     *                  immutable results
+     * @param arguments the arguments of the operation, part of the cache key
+     * @return the result of the lookup
+     * @throws E if the lookup fails
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T get(String provider, String operation, Lookup<T, E> lookup,
+                                          UnaryOperator<T> copy, Object... arguments) throws E {
+        Cache cache = cacheManager != null ? cacheManager.getCache(CACHE_NAME) : null;
+        if (cache == null) {
+            return lookup.lookup();
+        }
+        String key = getKey(provider, operation, arguments);
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return copy.apply((T) cached.get());
+        }
+        T result = lookup.lookup();
+        if (result != null) {
+            // the caller may change the result, the cache keeps its own copy
+            cache.put(key, copy.apply(result));
+        }
+        return result;
+    }
+
+    /**
+     * @param record a record
+     * @return a copy of the record and of its values, or null
+     */
+    public static ImportRecord copyRecord(ImportRecord record) {
+        if (record == null) {
+            return null;
+        }
+        List<MetadatumDTO> values = new ArrayList<>();
+        for (MetadatumDTO value : record.getValueList()) {
+            MetadatumDTO copy = new MetadatumDTO();
+            copy.setSchema(value.getSchema());
+            copy.setElement(value.getElement());
+            copy.setQualifier(value.getQualifier());
+            copy.setValue(value.getValue());
+            values.add(copy);
+        }
+        return new ImportRecord(values);
+    }
+
+    /**
+     * @param records some records
+     * @return an unmodifiable list of copies of the records, or null
+     */
+    public static Collection<ImportRecord> copyRecords(Collection<ImportRecord> records) {
+        if (records == null) {
+            return null;
+        }
+        return Collections.unmodifiableList(records.stream().map(ExternalLookupCache::copyRecord)
+                                                   .collect(Collectors.toList()));
+    }
+
+    /**
+     * @param object an external data object
+     * @return a copy of the object and of its metadata, or null
+     */
+    public static ExternalDataObject copyObject(ExternalDataObject object) {
+        if (object == null) {
+            return null;
+        }
+        ExternalDataObject copy = new ExternalDataObject(object.getSource());
+        copy.setId(object.getId());
+        copy.setValue(object.getValue());
+        copy.setDisplayValue(object.getDisplayValue());
+        for (MetadataValueDTO value : object.getMetadata()) {
+            copy.addMetadata(new MetadataValueDTO(value.getSchema(), value.getElement(), value.getQualifier(),
+                                                  value.getLanguage(), value.getValue(), value.getAuthority(),
+                                                  value.getConfidence()));
+        }
+        return copy;
+    }
+
+    /**
+     * @param objects some external data objects
+     * @return an unmodifiable list of copies of the objects, or null
+     */
+    public static List<ExternalDataObject> copyObjects(List<ExternalDataObject> objects) {
+        if (objects == null) {
+            return null;
+        }
+        return Collections.unmodifiableList(objects.stream().map(ExternalLookupCache::copyObject)
+                                                   .collect(Collectors.toList()));
+    }
+
+    /**
+     * Remove all the cached lookups.
+     */
+    public void evictAll() {
+        Cache cache = cacheManager != null ? cacheManager.getCache(CACHE_NAME) : null;
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    private String getKey(String provider, String operation, Object... arguments) {
+        return provider + "|" + operation + "|" + Arrays.stream(arguments)
+                                                        .map(this::getKeyPart)
+                                                        .collect(Collectors.joining("|"));
+    }
+
+    private String getKeyPart(Object argument) {
+        if (argument instanceof Query) {
+            return String.valueOf(((Query) argument).getParameters());
+        }
+        return String.valueOf(argument);
+    }
+
+    public void setCacheManager(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+}
@@ -11,6 +11,7 @@ import static org.apache.http.client.methods.RequestBuilder.delete;
 import static org.apache.http.client.methods.RequestBuilder.get;
 import static org.apache.http.client.methods.RequestBuilder.post;
 import static org.apache.http.client.methods.RequestBuilder.put;
+import static org.dspace.app.client.DSpaceHttpClientFactory.EXTERNAL_POOL;
 
 import java.io.IOException;
 import java.io.StringWriter;
@@ -255,8 +256,8 @@ public class OrcidClientImpl implements OrcidClient {
     }
 
     private void executeSuccessful(HttpUriRequest httpUriRequest) {
-        try (CloseableHttpClient client = DSpaceHttpClientFactory.getInstance().build()) {
-            CloseableHttpResponse response = client.execute(httpUriRequest);
+        try (CloseableHttpClient client = DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL);
+             CloseableHttpResponse response = client.execute(httpUriRequest)) {
             if (isNotSuccessfull(response)) {
                 throw new OrcidClientException(
                     getStatusCode(response),
@@ -271,13 +272,14 @@ public class OrcidClientImpl implements OrcidClient {
     }
 
     private <T> T executeAndParseJson(HttpUriRequest httpUriRequest, Class<T> clazz) {
-        try (CloseableHttpClient client = DSpaceHttpClientFactory.getInstance().build()) {
+        try (CloseableHttpClient client = DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL)) {
             return executeAndReturns(() -> {
-                CloseableHttpResponse response = client.execute(httpUriRequest);
-                if (isNotSuccessfull(response)) {
-                    throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
+                try (CloseableHttpResponse response = client.execute(httpUriRequest)) {
+                    if (isNotSuccessfull(response)) {
+                        throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
+                    }
+                    return objectMapper.readValue(response.getEntity().getContent(), clazz);
                 }
-                return objectMapper.readValue(response.getEntity().getContent(), clazz);
             });
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -296,16 +298,17 @@ public class OrcidClientImpl implements OrcidClient {
      * @throws OrcidClientException if the incoming response is not successful
      */
     private <T> T executeAndUnmarshall(HttpUriRequest httpUriRequest, boolean handleNotFoundAsNull, Class<T> clazz) {
-        try (CloseableHttpClient client = DSpaceHttpClientFactory.getInstance().build()) {
+        try (CloseableHttpClient client = DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL)) {
             return executeAndReturns(() -> {
-                CloseableHttpResponse response = client.execute(httpUriRequest);
-                if (handleNotFoundAsNull && isNotFound(response)) {
-                    return null;
+                try (CloseableHttpResponse response = client.execute(httpUriRequest)) {
+                    if (handleNotFoundAsNull && isNotFound(response)) {
+                        return null;
+                    }
+                    if (isNotSuccessfull(response)) {
+                        throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
+                    }
+                    return unmarshall(response.getEntity(), clazz);
                 }
-                if (isNotSuccessfull(response)) {
-                    throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
-                }
-                return unmarshall(response.getEntity(), clazz);
             });
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -313,16 +316,17 @@ public class OrcidClientImpl implements OrcidClient {
     }
 
     private OrcidResponse execute(HttpUriRequest httpUriRequest, boolean handleNotFoundAsNull) {
-        try (CloseableHttpClient client = DSpaceHttpClientFactory.getInstance().build()) {
+        try (CloseableHttpClient client = DSpaceHttpClientFactory.getInstance().buildPooled(EXTERNAL_POOL)) {
             return executeAndReturns(() -> {
-                CloseableHttpResponse response = client.execute(httpUriRequest);
-                if (handleNotFoundAsNull && isNotFound(response)) {
-                    return new OrcidResponse(getStatusCode(response), null, getContent(response));
-                }
-                if (isNotSuccessfull(response)) {
-                    throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
+                try (CloseableHttpResponse response = client.execute(httpUriRequest)) {
+                    if (handleNotFoundAsNull && isNotFound(response)) {
+                        return new OrcidResponse(getStatusCode(response), null, getContent(response));
+                    }
+                    if (isNotSuccessfull(response)) {
+                        throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
+                    }
+                    return new OrcidResponse(getStatusCode(response), getPutCode(response), getContent(response));
                 }
-                return new OrcidResponse(getStatusCode(response), getPutCode(response), getContent(response));
             });
         } catch (IOException e) {
             throw new RuntimeException(e);
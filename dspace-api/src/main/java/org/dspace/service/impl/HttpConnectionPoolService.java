@@ -7,23 +7,37 @@
  */
 package org.dspace.service.impl;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.apache.http.HeaderElement;
 import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
 import org.dspace.app.client.DSpaceHttpClientFactory;
+import org.dspace.core.DSpaceMetrics;
 import org.dspace.services.ConfigurationService;
 
 /**
@@ -42,8 +56,29 @@ import org.dspace.services.ConfigurationService;
  *   <dd>maximum open connections per service instance</dd>
  *   <dt>PREFIX.client.timeToLive</dt>
  *   <dd>maximum lifetime of a pooled connection, in seconds</dd>
+ *   <dt>PREFIX.client.maxPerHost.HOSTNAME</dt>
+ *   <dd>maximum open connections to the given host, overriding maxPerRoute</dd>
+ *   <dt>PREFIX.client.connectTimeout</dt>
+ *   <dd>timeout to establish a connection, in milliseconds</dd>
+ *   <dt>PREFIX.client.socketTimeout</dt>
+ *   <dd>maximum inactivity while waiting for data, in milliseconds</dd>
+ *   <dt>PREFIX.client.connectionRequestTimeout</dt>
+ *   <dd>timeout to obtain a connection from the pool, in milliseconds</dd>
+ *   <dt>PREFIX.client.useProxy</dt>
+ *   <dd>whether the requests go through the configured HTTP proxy, unless set to false</dd>
  * </dl>
  *
+ * <p>The clients can be closed after use: the connections stay in the pool,
+ * which is only shut down with the service.  The pool utilization and the
+ * latency of the requests to each endpoint are available from
+ * {@link #getTotalStats()}, {@link #getRouteStats()} and
+ * {@link #getEndpointStatistics()}, and are recorded in the metrics (see
+ * {@link DSpaceMetrics}), tagged with the configuration prefix of the pool:
+ * the {@code dspace.http.pool.leased}, {@code dspace.http.pool.available},
+ * {@code dspace.http.pool.pending} and {@code dspace.http.pool.max} gauges,
+ * and the {@code dspace.http.client.requests} timer, also tagged with the
+ * endpoint and the outcome of the request (an error for a 5xx status).
+ *
  * @author Mark H. Wood <mwood@iupui.edu>
  */
 @Named
@@ -75,11 +110,26 @@ public class HttpConnectionPoolService {
     /** Connection idle if unused for this long:  seconds */
     private static final int IDLE_INTERVAL = 30;
 
+    /** Context attribute holding the start time of a request:  nanoseconds */
+    private static final String REQUEST_START_ATTRIBUTE
+            = HttpConnectionPoolService.class.getName() + ".start";
+
     private PoolingHttpClientConnectionManager connManager;
 
+    private RequestConfig requestConfig;
+
+    private IdleConnectionMonitorThread connectionMonitor;
+
     private final ConnectionKeepAliveStrategy keepAliveStrategy
             = new KeepAliveStrategy();
 
+    /** Latency of the requests, by endpoint. */
+    private final Map<String, EndpointStatistics> endpointStatistics
+            = new ConcurrentHashMap<>();
+
+    /** Timers of the requests, by endpoint and outcome. */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
     /**
      * Construct a pool for a given set of configuration properties.
      *
@@ -101,24 +151,158 @@ public class HttpConnectionPoolService {
                 configurationService.getIntProperty(configPrefix + ".client.maxPerRoute",
                         DEFAULT_MAX_PER_ROUTE));
 
-        Thread connectionMonitor = new IdleConnectionMonitorThread(connManager);
+        String hostPrefix = configPrefix + ".client.maxPerHost.";
+        for (String key : configurationService.getPropertyKeys(hostPrefix)) {
+            String host = key.substring(hostPrefix.length());
+            int max = configurationService.getIntProperty(key, DEFAULT_MAX_PER_ROUTE);
+            connManager.setMaxPerRoute(new HttpRoute(new HttpHost(host, 80, "http")), max);
+            connManager.setMaxPerRoute(new HttpRoute(new HttpHost(host, 443, "https"), null, true), max);
+        }
+
+        requestConfig = RequestConfig.custom()
+                .setConnectTimeout(configurationService.getIntProperty(
+                        configPrefix + ".client.connectTimeout", -1))
+                .setSocketTimeout(configurationService.getIntProperty(
+                        configPrefix + ".client.socketTimeout", -1))
+                .setConnectionRequestTimeout(configurationService.getIntProperty(
+                        configPrefix + ".client.connectionRequestTimeout", -1))
+                .build();
+
+        DSpaceMetrics.gauge("http.pool.leased", "Pooled HTTP connections in use", connManager,
+                manager -> manager.getTotalStats().getLeased(), "pool", configPrefix);
+        DSpaceMetrics.gauge("http.pool.available", "Idle pooled HTTP connections", connManager,
+                manager -> manager.getTotalStats().getAvailable(), "pool", configPrefix);
+        DSpaceMetrics.gauge("http.pool.pending", "Requests waiting for a pooled HTTP connection", connManager,
+                manager -> manager.getTotalStats().getPending(), "pool", configPrefix);
+        DSpaceMetrics.gauge("http.pool.max", "Maximum number of pooled HTTP connections", connManager,
+                manager -> manager.getTotalStats().getMax(), "pool", configPrefix);
+
+        connectionMonitor = new IdleConnectionMonitorThread(connManager);
         connectionMonitor.setDaemon(true);
         connectionMonitor.start();
     }
 
+    /**
+     * Stop the connection monitor and close the pooled connections.
+     */
+    @PreDestroy
+    protected void destroy() {
+        if (connectionMonitor != null) {
+            connectionMonitor.shutdown();
+        }
+        if (connManager != null) {
+            connManager.shutdown();
+        }
+    }
+
     /**
      * Create an HTTP client which uses a pooled connection.
      *
      * @return the client.
      */
     public CloseableHttpClient getClient() {
-        CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().builder(true).create()
+        boolean useProxy = configurationService.getBooleanProperty(configPrefix + ".client.useProxy", true);
+        CloseableHttpClient httpClient = DSpaceHttpClientFactory.getInstance().builder(useProxy)
                 .setKeepAliveStrategy(keepAliveStrategy)
                 .setConnectionManager(connManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(requestConfig)
+                .addInterceptorFirst(this::startRequest)
+                .addInterceptorLast(this::endRequest)
                 .build();
         return httpClient;
     }
 
+    /**
+     * @return the utilization of the whole pool.
+     */
+    public PoolStats getTotalStats() {
+        return connManager.getTotalStats();
+    }
+
+    /**
+     * @return the utilization of the pool for each route having connections.
+     */
+    public Map<String, PoolStats> getRouteStats() {
+        Map<String, PoolStats> stats = new TreeMap<>();
+        for (HttpRoute route : connManager.getRoutes()) {
+            stats.put(route.getTargetHost().toURI(), connManager.getStats(route));
+        }
+        return stats;
+    }
+
+    /**
+     * @return the latency of the requests sent to each endpoint, measured up to
+     *         the reception of the response headers.
+     */
+    public Map<String, EndpointStatistics> getEndpointStatistics() {
+        return new TreeMap<>(endpointStatistics);
+    }
+
+    private void startRequest(HttpRequest request, HttpContext context) {
+        context.setAttribute(REQUEST_START_ATTRIBUTE, System.nanoTime());
+    }
+
+    private void endRequest(HttpResponse response, HttpContext context) {
+        Object start = context.getAttribute(REQUEST_START_ATTRIBUTE);
+        HttpHost target = HttpClientContext.adapt(context).getTargetHost();
+        if (start instanceof Long && target != null) {
+            long nanos = System.nanoTime() - (Long) start;
+            String endpoint = target.toURI();
+            endpointStatistics.computeIfAbsent(endpoint, key -> new EndpointStatistics())
+                              .record(nanos);
+            String outcome = response.getStatusLine().getStatusCode() < 500
+                    ? DSpaceMetrics.SUCCESS : DSpaceMetrics.ERROR;
+            timers.computeIfAbsent(endpoint + ' ' + outcome, key -> DSpaceMetrics.timer(
+                    "http.client.requests", "Requests sent through a pool of HTTP connections",
+                    "pool", configPrefix, "endpoint", endpoint, DSpaceMetrics.OUTCOME, outcome))
+                  .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Latency statistics of the requests sent to an endpoint.
+     */
+    public static class EndpointStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        /**
+         * @return the number of requests.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return the mean latency of the requests, in milliseconds.
+         */
+        public double getMeanMillis() {
+            long requests = count.sum();
+            return requests == 0 ? 0 : totalNanos.sum() / (requests * 1_000_000d);
+        }
+
+        /**
+         * @return the highest latency of the requests, in milliseconds.
+         */
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000d;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, mean %.1f ms, max %.1f ms", getCount(), getMeanMillis(),
+                    getMaxMillis());
+        }
+    }
+
     /**
      * A connection keep-alive strategy that obeys the Keep-Alive header and
      * applies a default if none is given.
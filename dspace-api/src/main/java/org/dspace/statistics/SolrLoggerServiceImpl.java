@@ -97,6 +97,7 @@ import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.DSpaceObjectLegacySupportService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.discovery.MeteredSolrClient;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.service.ClientInfoService;
@@ -192,7 +193,8 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             statisticsCoreBase = null;
         }
 
-        solr = solrStatisticsCore.getSolr();
+        SolrClient statisticsClient = solrStatisticsCore.getSolr();
+        solr = statisticsClient != null ? new MeteredSolrClient(statisticsClient, "statistics") : null;
 
         // Read in the file so we don't have to do it all the time
         //spiderIps = SpiderDetector.getSpiderIpAddresses();
@@ -1126,7 +1128,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void shardSolrIndex() throws IOException, SolrServerException {
-        if (!(solr instanceof HttpSolrClient)) {
+        if (getHttpSolrClient() == null) {
             return;
         }
 
@@ -1188,14 +1190,14 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             //Start by creating a new core
             String coreName = statisticsCoreBase + "-" + dcStart.getYearUTC();
-            HttpSolrClient statisticsYearServer = createCore((HttpSolrClient) solr, coreName);
+            HttpSolrClient statisticsYearServer = createCore(getHttpSolrClient(), coreName);
 
             System.out.println("Moving: " + totalRecords + " into core " + coreName);
             log.info("Moving: " + totalRecords + " records into core " + coreName);
 
             List<File> filesToUpload = new ArrayList<>();
             for (int i = 0; i < totalRecords; i += 10000) {
-                String solrRequestUrl = ((HttpSolrClient) solr).getBaseURL() + "/select";
+                String solrRequestUrl = getHttpSolrClient().getBaseURL() + "/select";
                 solrRequestUrl = generateURL(solrRequestUrl, yearQueryParams);
 
                 HttpGet get = new HttpGet(solrRequestUrl);
@@ -1254,6 +1256,15 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         FileUtils.deleteDirectory(tempDirectory);
     }
 
+    /**
+     * Get the HTTP client of the statistics core, needed to create the yearly shards and to export the records.
+     * @return the HTTP client of the statistics core, or null if the core is not accessed over HTTP
+     */
+    protected HttpSolrClient getHttpSolrClient() {
+        SolrClient client = solr instanceof MeteredSolrClient ? ((MeteredSolrClient) solr).getDelegate() : solr;
+        return client instanceof HttpSolrClient ? (HttpSolrClient) client : null;
+    }
+
     protected HttpSolrClient createCore(HttpSolrClient solr, String coreName)
             throws IOException, SolrServerException {
         String baseSolrUrl = solr.getBaseURL().replace(statisticsCoreBase, ""); // Has trailing slash
@@ -1315,7 +1326,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void reindexBitstreamHits(boolean removeDeletedBitstreams) throws Exception {
-        if (!(solr instanceof HttpSolrClient)) {
+        if (getHttpSolrClient() == null) {
             return;
         }
 
@@ -1344,7 +1355,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 params.put(CommonParams.ROWS, String.valueOf(10000));
                 params.put(CommonParams.START, String.valueOf(i));
 
-                String solrRequestUrl = ((HttpSolrClient) solr).getBaseURL() + "/select";
+                String solrRequestUrl = getHttpSolrClient().getBaseURL() + "/select";
                 solrRequestUrl = generateURL(solrRequestUrl, params);
 
                 HttpGet get = new HttpGet(solrRequestUrl);
@@ -1559,13 +1570,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
      * initialization at the same time.
      */
     protected synchronized void initSolrYearCores() {
-        if (statisticYearCoresInit || !(solr instanceof HttpSolrClient) || !configurationService.getBooleanProperty(
+        if (statisticYearCoresInit || getHttpSolrClient() == null || !configurationService.getBooleanProperty(
             "usage-statistics.shardedByYear", false)) {
             return;
         }
 
         //Base url should like : http://localhost:{port.number}/solr
-        String baseSolrUrl = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "");
+        String baseSolrUrl = getHttpSolrClient().getBaseURL().replace(statisticsCoreBase, "");
 
         try (HttpSolrClient enumClient = new HttpSolrClient.Builder(baseSolrUrl).build();) {
             //Attempt to retrieve all the statistic year cores
@@ -1585,12 +1596,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             for (String statCoreName : statCoreNames) {
                 log.info("Loading core with name: " + statCoreName);
 
-                createCore((HttpSolrClient) solr, statCoreName);
+                createCore(getHttpSolrClient(), statCoreName);
                 //Add it to our cores list so we can query it !
                 statisticYearCores
                     .add(baseSolrUrl.replace("http://", "").replace("https://", "") + statCoreName);
             }
-            var baseCore = ((HttpSolrClient) solr)
+            var baseCore = getHttpSolrClient()
                     .getBaseURL()
                     .replace("http://", "")
                     .replace("https://", "");
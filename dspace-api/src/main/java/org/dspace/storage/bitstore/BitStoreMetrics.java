@@ -0,0 +1,133 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import org.dspace.core.DSpaceMetrics;
+
+/**
+ * Metrics of the reads and writes of the bitstores, tagged by store number and outcome:
+ * <ul>
+ *     <li>{@code dspace.bitstore.put} and {@code dspace.bitstore.put.bytes}: the time spent storing the content of a
+ *     bitstream, and its size</li>
+ *     <li>{@code dspace.bitstore.get} and {@code dspace.bitstore.get.bytes}: the time spent opening the content of a
+ *     bitstream, and the number of bytes read from it, recorded when the stream is closed</li>
+ * </ul>
+ */
+class BitStoreMetrics {
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Record the storage of the content of a bitstream.
+     *
+     * @param store   the number of the store
+     * @param start   the value of {@link System#nanoTime()} when the storage started
+     * @param bytes   the size of the stored content
+     * @param success whether the content was stored
+     */
+    void recordPut(int store, long start, long bytes, boolean success) {
+        String outcome = success ? DSpaceMetrics.SUCCESS : DSpaceMetrics.ERROR;
+        getTimer("put", store, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (success) {
+            getSummary("put", store).record(bytes);
+        }
+    }
+
+    /**
+     * Record the opening of the content of a bitstream, and wrap its stream to record the number of bytes read.
+     *
+     * @param store  the number of the store
+     * @param start  the value of {@link System#nanoTime()} when the opening started
+     * @param stream the content, or null if it could not be opened
+     * @return the stream recording the number of bytes read from the content when closed
+     */
+    InputStream recordGet(int store, long start, InputStream stream) {
+        String outcome = stream != null ? DSpaceMetrics.SUCCESS : DSpaceMetrics.ERROR;
+        getTimer("get", store, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return stream != null ? new CountingInputStream(stream, getSummary("get", store)) : null;
+    }
+
+    private Timer getTimer(String operation, int store, String outcome) {
+        return timers.computeIfAbsent(operation + store + outcome, key -> DSpaceMetrics.timer(
+            "bitstore." + operation, "Bitstore " + operation + " operations", "store", String.valueOf(store),
+            DSpaceMetrics.OUTCOME, outcome));
+    }
+
+    private DistributionSummary getSummary(String operation, int store) {
+        return summaries.computeIfAbsent(operation + store, key -> DSpaceMetrics.summary(
+            "bitstore." + operation + ".bytes", "Bytes of the bitstore " + operation + " operations", "bytes",
+            "store", String.valueOf(store)));
+    }
+
+    /**
+     * Stream counting the bytes read, recorded in a distribution summary when closed.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final DistributionSummary summary;
+        private long count = 0;
+        private boolean closed = false;
+
+        CountingInputStream(InputStream in, DistributionSummary summary) {
+            super(in);
+            this.summary = summary;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            // a reset would count the same bytes twice
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    summary.record(count);
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,8 @@ import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -62,6 +64,11 @@ public class BitStoreMigrate {
                               "Delete file from losing assetstore. (Default: Keep bitstream in old assetstore)");
             options.addOption("p", "print", false, "Print out current assetstore information");
             options.addOption("s", "size", true, "Batch commit size. (Default: 1, commit after each file transfer)");
+            options.addOption("t", "threads", true,
+                              "Number of parallel transfers. (Default: assetstore.migrate.threads, 1)");
+            options.addOption("l", "limit", true,
+                              "Maximum bandwidth of the streamed transfers in MB/s. " +
+                                  "(Default: assetstore.migrate.max-bytes-per-second, unlimited)");
             options.addOption("h", "help", false, "Help");
 
             try {
@@ -103,8 +110,20 @@ public class BitStoreMigrate {
                     batchCommitSize = Integer.parseInt(line.getOptionValue('s'));
                 }
 
-                bitstreamStorageService
-                    .migrate(context, sourceAssetstore, destinationAssetstore, deleteOld, batchCommitSize);
+                ConfigurationService configurationService
+                    = DSpaceServicesFactory.getInstance().getConfigurationService();
+                int threads = configurationService.getIntProperty("assetstore.migrate.threads", 1);
+                if (line.hasOption('t')) {
+                    threads = Integer.parseInt(line.getOptionValue('t'));
+                }
+                long maxBytesPerSecond
+                    = configurationService.getLongProperty("assetstore.migrate.max-bytes-per-second", 0);
+                if (line.hasOption('l')) {
+                    maxBytesPerSecond = (long) (Double.parseDouble(line.getOptionValue('l')) * 1024 * 1024);
+                }
+
+                bitstreamStorageService.migrate(context, sourceAssetstore, destinationAssetstore, deleteOld,
+                                                batchCommitSize, threads, maxBytesPerSecond);
             } else {
                 printHelp(options);
                 System.exit(0);
@@ -79,6 +79,33 @@ public interface BitStoreService {
      */
     public void remove(Bitstream bitstream) throws IOException;
 
+    /**
+     * Remove the assets of many bitstreams, e.g. with a single bulk request to an object storage.
+     *
+     * @param bitstreams The bitstreams of the assets to delete
+     * @throws java.io.IOException If a problem occurs while removing the assets
+     */
+    public default void removeAll(List<Bitstream> bitstreams) throws IOException {
+        for (Bitstream bitstream : bitstreams) {
+            remove(bitstream);
+        }
+    }
+
+    /**
+     * Copy the asset of a bitstream from another store into this store without streaming it through DSpace, e.g.
+     * with a server-side copy between two buckets of the same object storage. The asset keeps its internal id, and
+     * the copy is verified against the size and checksum of the bitstream.
+     *
+     * @param source    the store currently holding the asset
+     * @param bitstream the bitstream of the asset to copy
+     * @return true if the asset was copied, false if this store cannot copy directly from the source store, in which
+     * case the caller has to stream the asset with {@link #get(Bitstream)} and {@link #put(Bitstream, InputStream)}
+     * @throws java.io.IOException If a problem occurs while copying or verifying the asset
+     */
+    public default boolean copyFrom(BitStoreService source, Bitstream bitstream) throws IOException {
+        return false;
+    }
+
     /**
      * Determines if a store has been initialized
      * 
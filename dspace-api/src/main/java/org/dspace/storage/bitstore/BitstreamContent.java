@@ -0,0 +1,106 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Database entity representation of the bitstream_content table: one stored object of a deduplicating assetstore,
+ * addressed by the SHA-256 hash of its content, with the number of bitstream rows sharing it through its internal id.
+ * <p>
+ * The object is stored under the internal id of the first bitstream which uploaded the content, see
+ * {@link org.dspace.storage.bitstore.service.BitstreamStorageService#store}.
+ */
+@Entity
+@Table(name = "bitstream_content")
+public class BitstreamContent implements ReloadableEntity<Integer> {
+
+    @Id
+    @Column(name = "bitstream_content_id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bitstream_content_seq")
+    @SequenceGenerator(name = "bitstream_content_seq", sequenceName = "bitstream_content_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "store_number", nullable = false)
+    private int storeNumber;
+
+    /**
+     * Hex encoded SHA-256 hash of the content
+     */
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "internal_id", length = 256, nullable = false)
+    private String internalId;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    /**
+     * Number of bitstream rows, deleted or not, referencing the object
+     */
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    /**
+     * Protected constructor, use {@link #BitstreamContent(int, String, String, long)}
+     */
+    protected BitstreamContent() {
+    }
+
+    public BitstreamContent(int storeNumber, String contentHash, String internalId, long sizeBytes) {
+        this.storeNumber = storeNumber;
+        this.contentHash = contentHash;
+        this.internalId = internalId;
+        this.sizeBytes = sizeBytes;
+        this.refCount = 1;
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public int getStoreNumber() {
+        return storeNumber;
+    }
+
+    public void setStoreNumber(int storeNumber) {
+        this.storeNumber = storeNumber;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public String getInternalId() {
+        return internalId;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * The reference count is maintained with atomic updates of the database, see
+     * {@link org.dspace.storage.bitstore.dao.BitstreamContentDAO#updateRefCount}, so the value of a loaded entity may be
+     * outdated.
+     *
+     * @return the number of bitstream rows referencing the object when the entity was loaded
+     */
+    public int getRefCount() {
+        return refCount;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+import org.hibernate.Length;
+
+/**
+ * Database entity representation of the bitstream_migration table, which records the progress of the migration of a
+ * bitstream between two assetstores so that {@code bitstore-migrate} can be resumed after an interruption.
+ */
+@Entity
+@Table(name = "bitstream_migration")
+public class BitstreamMigration implements ReloadableEntity<UUID> {
+
+    /**
+     * The state of the migration of a bitstream
+     */
+    public enum Status {
+        /**
+         * The bitstream was copied and verified, and now belongs to the destination assetstore, but the copy in the
+         * source assetstore has not been removed yet
+         */
+        COPIED,
+        /**
+         * The bitstream was migrated and its copy in the source assetstore was removed, or had to be kept
+         */
+        DONE,
+        /**
+         * The last attempt to copy the bitstream failed, it is still in the source assetstore
+         */
+        FAILED
+    }
+
+    @Id
+    @Column(name = "bitstream_id")
+    private UUID bitstreamId;
+
+    @Column(name = "source_store", nullable = false)
+    private int sourceStore;
+
+    @Column(name = "destination_store", nullable = false)
+    private int destinationStore;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = Length.LONG32)
+    private String lastError;
+
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    /**
+     * Protected constructor, use {@link #BitstreamMigration(UUID, int, int)}
+     */
+    protected BitstreamMigration() {
+    }
+
+    public BitstreamMigration(UUID bitstreamId, int sourceStore, int destinationStore) {
+        this.bitstreamId = bitstreamId;
+        this.sourceStore = sourceStore;
+        this.destinationStore = destinationStore;
+    }
+
+    @Override
+    public UUID getID() {
+        return bitstreamId;
+    }
+
+    public int getSourceStore() {
+        return sourceStore;
+    }
+
+    public void setSourceStore(int sourceStore) {
+        this.sourceStore = sourceStore;
+    }
+
+    public int getDestinationStore() {
+        return destinationStore;
+    }
+
+    public void setDestinationStore(int destinationStore) {
+        this.destinationStore = destinationStore;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+}
@@ -9,17 +9,34 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.util.concurrent.RateLimiter;
 import jakarta.annotation.Nullable;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -30,6 +47,9 @@ import org.dspace.content.MetadataValue;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.dao.BitstreamContentDAO;
+import org.dspace.storage.bitstore.dao.BitstreamMigrationDAO;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -67,10 +87,22 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
      */
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Number of times the content of a bitstream is looked up and recorded in a deduplicating store, when other
+     * transactions keep recording or releasing the same content in the meantime
+     */
+    private static final int MAX_DEDUPLICATION_ATTEMPTS = 3;
+
     @Autowired(required = true)
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
     protected ChecksumHistoryService checksumHistoryService;
+    @Autowired(required = true)
+    protected BitstreamMigrationDAO bitstreamMigrationDAO;
+    @Autowired(required = true)
+    protected BitstreamContentDAO bitstreamContentDAO;
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
 
     /**
      * asset stores
@@ -87,6 +119,11 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
      */
     protected final String REGISTERED_FLAG = "-R";
 
+    /**
+     * Latency and bytes of the reads and writes of each store
+     */
+    private final BitStoreMetrics metrics = new BitStoreMetrics();
+
     protected BitstreamStorageServiceImpl() {
 
     }
@@ -119,8 +156,20 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         bitstream.setInternalId(id);
 
         BitStoreService store = this.getStore(incoming);
+        // In a deduplicating store, work out the content address along the way
+        MessageDigest contentDigest = isDeduplicated(incoming) ? newContentDigest() : null;
         //For efficiencies sake, PUT is responsible for setting bitstream size_bytes, checksum, and checksum_algorithm
-        store.put(bitstream, is);
+        long start = System.nanoTime();
+        boolean stored = false;
+        try {
+            store.put(bitstream, contentDigest != null ? new DigestInputStream(is, contentDigest) : is);
+            stored = true;
+        } finally {
+            metrics.recordPut(incoming, start, bitstream.getSizeBytes(), stored);
+        }
+        if (contentDigest != null) {
+            deduplicate(context, store, bitstream, Utils.toHex(contentDigest.digest()));
+        }
         //bitstream.setSizeBytes(file.length());
         //bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
         //bitstream.setChecksumAlgorithm("MD5");
@@ -147,6 +196,70 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return bitstreamId;
     }
 
+    /**
+     * Point a bitstream just stored in a deduplicating store to the existing object with the same content, if there
+     * is one, or record its object as the one holding this content.
+     * <p>
+     * The store records a single object per content hash: when another transaction records the same content first,
+     * the bitstream is pointed to the object of that transaction instead.
+     */
+    protected void deduplicate(Context context, BitStoreService store, Bitstream bitstream, String contentHash)
+        throws SQLException, IOException {
+        for (int attempt = 0; attempt < MAX_DEDUPLICATION_ATTEMPTS; attempt++) {
+            BitstreamContent content = bitstreamContentDAO.findByHash(context, bitstream.getStoreNumber(),
+                                                                      contentHash);
+            if (content != null && content.getSizeBytes() != bitstream.getSizeBytes()) {
+                log.warn("Content " + contentHash + " of internalID " + bitstream.getInternalId() + " has the hash "
+                             + "of internalID " + content.getInternalId() + " but not its size, it is not "
+                             + "deduplicated");
+                return;
+            }
+            if (content != null && bitstreamContentDAO.updateRefCount(context, content.getID(), 1)) {
+                // the content is already stored: drop the new copy
+                store.remove(bitstream);
+                bitstream.setInternalId(content.getInternalId());
+                if (log.isDebugEnabled()) {
+                    log.debug("Deduplicated content " + contentHash + " to internalID " + content.getInternalId());
+                }
+                return;
+            }
+            if (bitstreamContentDAO.createIfAbsent(context, new BitstreamContent(bitstream.getStoreNumber(),
+                                                                                 contentHash,
+                                                                                 bitstream.getInternalId(),
+                                                                                 bitstream.getSizeBytes()))) {
+                return;
+            }
+            // the content was recorded by another transaction in the meantime: point to its object
+        }
+        throw new SQLException("Unable to record the content " + contentHash + " of internalID "
+                                   + bitstream.getInternalId());
+    }
+
+    /**
+     * Release the reference of an expunged bitstream row to the object of a deduplicating store, deleting the
+     * record of the object once it is not referenced anymore
+     */
+    private void releaseContent(Context context, BitstreamContent content) throws SQLException {
+        if (content != null) {
+            bitstreamContentDAO.updateRefCount(context, content.getID(), -1);
+            bitstreamContentDAO.deleteIfUnreferenced(context, content.getID());
+        }
+    }
+
+    private boolean isDeduplicated(int storeNumber) {
+        return ArrayUtils.contains(configurationService.getArrayProperty("assetstore.deduplicate"),
+                                   String.valueOf(storeNumber));
+    }
+
+    private MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Should never happen
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Register a bitstream already in storage.
      *
@@ -217,131 +330,312 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException {
         Integer storeNumber = bitstream.getStoreNumber();
-        return this.getStore(storeNumber).get(bitstream);
+        BitStoreService store = this.getStore(storeNumber);
+        long start = System.nanoTime();
+        InputStream content;
+        try {
+            content = store.get(bitstream);
+        } catch (IOException | RuntimeException e) {
+            metrics.recordGet(storeNumber, start, null);
+            throw e;
+        }
+        return metrics.recordGet(storeNumber, start, content);
     }
 
     @Override
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException {
-        Context context = new Context(Context.Mode.BATCH_EDIT);
+        cleanup(deleteDbRecords, verbose, false, configurationService.getIntProperty("assetstore.cleanup.threads", 4));
+    }
 
-        int offset = 0;
-        int limit = 100;
+    @Override
+    public void cleanup(boolean deleteDbRecords, boolean verbose, boolean dryRun, int threads)
+        throws SQLException, IOException, AuthorizeException {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
 
-        int cleanedBitstreamCount = 0;
+        int batchSize = Math.max(1, configurationService.getIntProperty("assetstore.cleanup.batch-size", 1000));
+        int workers = Math.max(1, threads);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CleanupProgress progress = new CleanupProgress();
 
         int deletedBitstreamCount = bitstreamService.countDeletedBitstreams(context);
-        System.out.println("Found " + deletedBitstreamCount + " deleted bitstream to cleanup");
+        System.out.println("Found " + deletedBitstreamCount + " deleted bitstream to cleanup"
+                               + (dryRun ? " (dry run, nothing will be deleted)" : ""));
 
         try {
             context.turnOffAuthorisationSystem();
 
-            while (cleanedBitstreamCount < deletedBitstreamCount) {
+            // Page on the id instead of an offset, so expunged rows do not shift the pages and every page is found
+            // through the index instead of skipping over the rows already seen
+            UUID lastId = null;
+            List<Bitstream> storage = bitstreamService.findDeletedBitstreams(context, lastId, batchSize);
+            while (CollectionUtils.isNotEmpty(storage)) {
+                lastId = storage.get(storage.size() - 1).getID();
 
-                List<Bitstream> storage = bitstreamService.findDeletedBitstreams(context, limit, offset);
+                cleanupBatch(context, executor, workers, storage, deleteDbRecords, verbose, dryRun, progress);
 
-                if (CollectionUtils.isEmpty(storage)) {
-                    break;
+                if (!dryRun) {
+                    // Commit actual changes to DB after dispatch events
+                    System.out.print("Performing incremental commit to the database...");
+                    context.commit();
+                    System.out.println(" Incremental commit done!");
                 }
+                context.uncacheEntities();
 
-                for (Bitstream bitstream : storage) {
-                    UUID bid = bitstream.getID();
-                    List<String> wantedMetadata = List.of("size_bytes", "modified");
-                    Map<String, Object> receivedMetadata = this.getStore(bitstream.getStoreNumber())
-                        .about(bitstream, wantedMetadata);
-
-
-                    // Make sure entries which do not exist are removed
-                    if (MapUtils.isEmpty(receivedMetadata)) {
-                        log.debug("bitstore.about is empty, so file is not present");
-                        if (deleteDbRecords) {
-                            log.debug("deleting record");
-                            if (verbose) {
-                                System.out.println(" - Deleting bitstream information (ID: " + bid + ")");
-                            }
-                            checksumHistoryService.deleteByBitstream(context, bitstream);
-                            if (verbose) {
-                                System.out.println(" - Deleting bitstream record from database (ID: " + bid + ")");
-                            }
-                            bitstreamService.expunge(context, bitstream);
-                        }
-                        context.uncacheEntity(bitstream);
-                        continue;
-                    }
+                storage = bitstreamService.findDeletedBitstreams(context, lastId, batchSize);
+            }
 
-                    // This is a small chance that this is a file which is
-                    // being stored -- get it next time.
-                    if (isRecent(Long.valueOf(receivedMetadata.get("modified").toString()))) {
-                        log.debug("file is recent");
-                        context.uncacheEntity(bitstream);
-                        continue;
-                    }
+            System.out.println((dryRun ? "Would delete " : "Deleted ") + progress.records + " bitstream records and "
+                                   + progress.assets + " stored files, " + progress.missing
+                                   + " files were already missing and " + progress.recent
+                                   + " recent files were left for the next run");
+
+            if (dryRun) {
+                context.abort();
+            } else {
+                System.out.print("Committing changes to the database...");
+                context.complete();
+                System.out.println(" Done!");
+            }
+        } catch (SQLException | IOException sqle) {
+            // Aborting will leave the DB objects around, even if the
+            // bitstreams are deleted. This is OK; deleting them next
+            // time around will be a no-op.
+            if (verbose) {
+                System.err.println("Error: " + sqle.getMessage());
+            }
+            context.abort();
+            throw sqle;
+        } finally {
+            executor.shutdownNow();
+            context.restoreAuthSystemState();
+        }
+    }
 
-                    if (deleteDbRecords) {
-                        log.debug("deleting db record");
-                        if (verbose) {
-                            System.out.println(" - Deleting bitstream information (ID: " + bid + ")");
-                        }
-                        checksumHistoryService.deleteByBitstream(context, bitstream);
-                        if (verbose) {
-                            System.out.println(" - Deleting bitstream record from database (ID: " + bid + ")");
-                        }
-                        bitstreamService.expunge(context, bitstream);
-                    }
+    /**
+     * Clean up one page of deleted bitstreams: the stored files are looked up in parallel, the files which are not
+     * used anymore are removed per store in bulk and the database rows are expunged, all in the transaction of the
+     * given context.
+     */
+    private void cleanupBatch(Context context, ExecutorService executor, int workers, List<Bitstream> bitstreams,
+                              boolean deleteDbRecords, boolean verbose, boolean dryRun, CleanupProgress progress)
+        throws SQLException, IOException, AuthorizeException {
+        // Looking up the files is a round trip for each of them with a remote store, so run these in parallel
+        List<String> wantedMetadata = List.of("size_bytes", "modified");
+        Map<Bitstream, Future<Map<String, Object>>> lookups = new LinkedHashMap<>();
+        for (Bitstream bitstream : bitstreams) {
+            BitStoreService store = this.getStore(bitstream.getStoreNumber());
+            lookups.put(bitstream, executor.submit(() -> store.about(bitstream, wantedMetadata)));
+        }
 
-                    if (isRegisteredBitstream(bitstream.getInternalId())) {
-                        context.uncacheEntity(bitstream);
-                        continue; // do not delete registered bitstreams
-                    }
+        List<Bitstream> toExpunge = new ArrayList<>();
+        List<Bitstream> candidates = new ArrayList<>();
+        for (Map.Entry<Bitstream, Future<Map<String, Object>>> lookup : lookups.entrySet()) {
+            Bitstream bitstream = lookup.getKey();
+            Map<String, Object> receivedMetadata = waitFor(lookup.getValue());
+
+            // Make sure entries which do not exist are removed
+            if (MapUtils.isEmpty(receivedMetadata)) {
+                log.debug("bitstore.about is empty, so file is not present");
+                progress.missing++;
+                if (deleteDbRecords) {
+                    toExpunge.add(bitstream);
+                }
+                continue;
+            }
 
+            // This is a small chance that this is a file which is
+            // being stored -- get it next time.
+            if (isRecent(Long.valueOf(receivedMetadata.get("modified").toString()))) {
+                log.debug("file is recent");
+                progress.recent++;
+                continue;
+            }
 
-                    // Since versioning allows for multiple bitstreams, check if the internal
-                    // identifier isn't used on
-                    // another place
-                    if (bitstreamService.findDuplicateInternalIdentifier(context, bitstream).isEmpty()) {
-                        this.getStore(bitstream.getStoreNumber()).remove(bitstream);
+            if (deleteDbRecords) {
+                toExpunge.add(bitstream);
+            }
+            // do not delete registered bitstreams
+            if (!isRegisteredBitstream(bitstream.getInternalId())) {
+                candidates.add(bitstream);
+            }
+        }
 
-                        String message = ("Deleted bitstreamID " + bid + ", internalID " + bitstream.getInternalId());
-                        if (log.isDebugEnabled()) {
-                            log.debug(message);
-                        }
-                        if (verbose) {
-                            System.out.println(message);
-                        }
-                    }
+        Map<UUID, BitstreamContent> contents = new HashMap<>();
+        for (Bitstream bitstream : ListUtils.union(toExpunge, candidates)) {
+            if (isDeduplicated(bitstream.getStoreNumber()) && !contents.containsKey(bitstream.getID())) {
+                contents.put(bitstream.getID(), bitstreamContentDAO.findByInternalId(context,
+                    bitstream.getStoreNumber(), bitstream.getInternalId()));
+            }
+        }
+        Set<Integer> deletedContents = new HashSet<>();
+        Map<Integer, List<Bitstream>> toRemove = claimUnsharedFiles(context, candidates,
+            deleteDbRecords ? toExpunge : candidates, contents, dryRun, deletedContents);
 
-                    context.uncacheEntity(bitstream);
-                }
+        progress.records += toExpunge.size();
+        toRemove.values().forEach(files -> progress.assets += files.size());
+        if (dryRun) {
+            if (verbose) {
+                toExpunge.forEach(bitstream -> System.out.println(
+                    " - Would delete bitstream record from database (ID: " + bitstream.getID() + ")"));
+                toRemove.values().forEach(files -> files.forEach(bitstream -> System.out.println(
+                    " - Would delete bitstreamID " + bitstream.getID() + ", internalID "
+                        + bitstream.getInternalId())));
+            }
+            return;
+        }
 
-                // Commit actual changes to DB after dispatch events
-                System.out.print("Performing incremental commit to the database...");
-                context.commit();
-                System.out.println(" Incremental commit done!");
+        // The files go first: if the commit fails afterwards, the rows are left around and expunged next time
+        removeFiles(executor, workers, toRemove, verbose);
 
-                cleanedBitstreamCount = cleanedBitstreamCount + storage.size();
+        if (!toExpunge.isEmpty()) {
+            log.debug("deleting db records");
+            if (verbose) {
+                System.out.println(" - Deleting bitstream information of " + toExpunge.size() + " bitstreams");
+            }
+            checksumHistoryService.deleteByBitstreams(context, toExpunge);
+            for (Bitstream bitstream : toExpunge) {
+                if (verbose) {
+                    System.out.println(" - Deleting bitstream record from database (ID: " + bitstream.getID() + ")");
+                }
+                bitstreamService.expunge(context, bitstream);
+                BitstreamContent content = contents.get(bitstream.getID());
+                // the references of a deleted object were all released when claiming its file
+                if (content != null && !deletedContents.contains(content.getID())) {
+                    releaseContent(context, content);
+                }
+            }
+        }
+    }
 
-                if (!deleteDbRecords) {
-                    offset = offset + limit;
+    /**
+     * Since versioning and deduplication allow for multiple bitstreams, only the files whose internal identifier
+     * isn't used on another place can be removed, and a file shared by several rows of the batch is removed once.
+     * <p>
+     * The object of a deduplicating store is claimed before its file is touched: its record is deleted in a single
+     * statement, only if it is referenced by no more than the released rows. The record stays locked until the batch
+     * is committed, so a concurrent upload of the same content cannot be deduplicated to the file being removed and
+     * stores its own copy instead. For the other stores, the bitstreams sharing the internal identifier are counted.
+     *
+     * @param released        the rows whose references are released by this batch
+     * @param deletedContents filled with the identifiers of the deleted objects of deduplicating stores
+     * @return the bitstreams of the files to remove, by store number
+     */
+    private Map<Integer, List<Bitstream>> claimUnsharedFiles(Context context, List<Bitstream> candidates,
+                                                             List<Bitstream> released,
+                                                             Map<UUID, BitstreamContent> contents, boolean dryRun,
+                                                             Set<Integer> deletedContents) throws SQLException {
+        Map<Integer, List<Bitstream>> toRemove = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return toRemove;
+        }
+        Set<String> internalIds = new HashSet<>();
+        candidates.forEach(bitstream -> internalIds.add(bitstream.getInternalId()));
+        Map<String, Long> references = bitstreamService.countByInternalIds(context, internalIds);
+        Map<String, Long> releasedIds = new HashMap<>();
+        Map<Integer, Integer> releasedContents = new HashMap<>();
+        for (Bitstream bitstream : released) {
+            BitstreamContent content = contents.get(bitstream.getID());
+            if (content != null) {
+                releasedContents.merge(content.getID(), 1, Integer::sum);
+            } else {
+                releasedIds.merge(bitstream.getInternalId(), 1L, Long::sum);
+            }
+        }
+
+        Set<String> scheduled = new HashSet<>();
+        for (Bitstream bitstream : candidates) {
+            if (!scheduled.add(bitstream.getStoreNumber() + ":" + bitstream.getInternalId())) {
+                continue;
+            }
+            BitstreamContent content = contents.get(bitstream.getID());
+            boolean unshared;
+            if (content == null) {
+                unshared = references.getOrDefault(bitstream.getInternalId(), 0L)
+                    - releasedIds.getOrDefault(bitstream.getInternalId(), 0L) <= 0;
+            } else if (dryRun) {
+                unshared = bitstreamContentDAO.getRefCount(context, content.getID())
+                    <= releasedContents.getOrDefault(content.getID(), 0);
+            } else {
+                unshared = bitstreamContentDAO.deleteIfReferencedAtMost(context, content.getID(),
+                    releasedContents.getOrDefault(content.getID(), 0));
+                if (unshared) {
+                    deletedContents.add(content.getID());
                 }
+            }
+            if (unshared) {
+                toRemove.computeIfAbsent(bitstream.getStoreNumber(), storeNumber -> new ArrayList<>())
+                        .add(bitstream);
+            }
+        }
+        return toRemove;
+    }
 
+    /**
+     * Remove the files of each store in bulk, splitting the files of a store over the worker threads
+     */
+    private void removeFiles(ExecutorService executor, int workers, Map<Integer, List<Bitstream>> toRemove,
+                             boolean verbose) throws IOException {
+        List<Future<?>> removals = new ArrayList<>();
+        for (Map.Entry<Integer, List<Bitstream>> files : toRemove.entrySet()) {
+            BitStoreService store = this.getStore(files.getKey());
+            int chunkSize = Math.max(1, (files.getValue().size() + workers - 1) / workers);
+            for (List<Bitstream> chunk : ListUtils.partition(files.getValue(), chunkSize)) {
+                removals.add(executor.submit(() -> {
+                    store.removeAll(chunk);
+                    return null;
+                }));
+            }
+        }
+        IOException failure = null;
+        for (Future<?> removal : removals) {
+            try {
+                waitFor(removal);
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
             }
+        }
+        if (failure != null) {
+            throw failure;
+        }
 
-            System.out.print("Committing changes to the database...");
-            context.complete();
-            System.out.println(" Done!");
-        } catch (SQLException | IOException sqle) {
-            // Aborting will leave the DB objects around, even if the
-            // bitstreams are deleted. This is OK; deleting them next
-            // time around will be a no-op.
-            if (verbose) {
-                System.err.println("Error: " + sqle.getMessage());
+        for (List<Bitstream> files : toRemove.values()) {
+            for (Bitstream bitstream : files) {
+                String message = ("Deleted bitstreamID " + bitstream.getID() + ", internalID "
+                    + bitstream.getInternalId());
+                if (log.isDebugEnabled()) {
+                    log.debug(message);
+                }
+                if (verbose) {
+                    System.out.println(message);
+                }
             }
-            context.abort();
-            throw sqle;
-        } finally {
-            context.restoreAuthSystemState();
         }
     }
 
+    private <T> T waitFor(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while cleaning up the assetstores", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Counters of a cleanup run, reported once it is done
+     */
+    private static class CleanupProgress {
+        private long records;
+        private long assets;
+        private long missing;
+        private long recent;
+    }
+
     @Nullable
     @Override
     public Long getLastModified(Bitstream bitstream) throws IOException {
@@ -370,6 +664,14 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
             context.turnOffAuthorisationSystem();
             clonedBitstream = bitstreamService.clone(context, bitstream);
             clonedBitstream.setStoreNumber(bitstream.getStoreNumber());
+            // the clone shares the object of the bitstream
+            if (isDeduplicated(bitstream.getStoreNumber())) {
+                BitstreamContent content = bitstreamContentDAO.findByInternalId(context, bitstream.getStoreNumber(),
+                                                                                bitstream.getInternalId());
+                if (content != null && !bitstreamContentDAO.updateRefCount(context, content.getID(), 1)) {
+                    log.warn("Cloned bitstream " + bitstream.getID() + " whose content is not referenced anymore");
+                }
+            }
 
             List<MetadataValue> metadataValues = bitstreamService.getMetadata(bitstream, Item.ANY, Item.ANY, Item.ANY,
                     Item.ANY);
@@ -402,40 +704,266 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
     @Override
     public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
                         Integer batchCommitSize) throws IOException, SQLException, AuthorizeException {
-        //Find all the bitstreams on the old source, copy it to new destination, update store_number, save, remove old
+        migrate(context, assetstoreSource, assetstoreDestination, deleteOld, batchCommitSize,
+                configurationService.getIntProperty("assetstore.migrate.threads", 1),
+                configurationService.getLongProperty("assetstore.migrate.max-bytes-per-second", 0));
+    }
+
+    @Override
+    public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
+                        Integer batchCommitSize, int threads, long maxBytesPerSecond)
+        throws IOException, SQLException, AuthorizeException {
+        if (assetstoreSource.equals(assetstoreDestination)) {
+            throw new IllegalArgumentException("The source and destination assetstores must be different");
+        }
+        BitStoreService source = this.getStore(assetstoreSource);
+        BitStoreService destination = this.getStore(assetstoreDestination);
+        int poolSize = Math.max(1, threads);
+        int commitSize = Math.max(1, batchCommitSize);
+        RateLimiter rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+
+        // Finish the removal of the old copies of the bitstreams migrated by an interrupted run
+        if (deleteOld) {
+            List<BitstreamMigration> copied = bitstreamMigrationDAO.findByStatus(context, assetstoreSource,
+                assetstoreDestination, BitstreamMigration.Status.COPIED);
+            for (BitstreamMigration migration : copied) {
+                Bitstream bitstream = bitstreamService.find(context, migration.getID());
+                if (bitstream != null) {
+                    log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource
+                                 + "], left over by an interrupted migration");
+                    removeMigratedSource(context, source, assetstoreSource, assetstoreDestination, bitstream);
+                }
+                migration.setStatus(BitstreamMigration.Status.DONE);
+                migration.setLastModified(Instant.now());
+            }
+            context.commit();
+        }
+
+        //Find all the bitstreams on the old source, copy them to the new destination in parallel, then update their
+        //store_number and record their progress from this thread, which owns the context
         Iterator<Bitstream> allBitstreamsInSource = bitstreamService.findByStoreNumber(context, assetstoreSource);
-        int processedCounter = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        CompletionService<MigrationResult> completionService = new ExecutorCompletionService<>(executor);
+        List<Bitstream> toRemove = new ArrayList<>();
+        MigrationProgress progress = new MigrationProgress();
+        int inFlight = 0;
+        try {
+            while (allBitstreamsInSource.hasNext()) {
+                Bitstream bitstream = allBitstreamsInSource.next();
+                // the workers only read and write the detached copy, never the entity of the context
+                context.uncacheEntity(bitstream);
+                completionService.submit(() -> transfer(source, destination, bitstream, rateLimiter));
+                inFlight++;
+                if (inFlight >= 2 * poolSize) {
+                    handleMigrationResult(context, takeMigrationResult(completionService), assetstoreSource,
+                                          assetstoreDestination, deleteOld, toRemove, progress);
+                    inFlight--;
+                    if (progress.handled % commitSize == 0) {
+                        commitMigrationBatch(context, source, assetstoreSource, assetstoreDestination, toRemove,
+                                         progress);
+                    }
+                }
+            }
+            while (inFlight > 0) {
+                handleMigrationResult(context, takeMigrationResult(completionService), assetstoreSource,
+                                      assetstoreDestination, deleteOld, toRemove, progress);
+                inFlight--;
+                if (progress.handled % commitSize == 0) {
+                    commitMigrationBatch(context, source, assetstoreSource, assetstoreDestination, toRemove,
+                                         progress);
+                }
+            }
+            commitMigrationBatch(context, source, assetstoreSource, assetstoreDestination, toRemove,
+                                         progress);
+            // persist the state of the removals of the last batch
+            context.commit();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info(
+            "Assetstore Migration from assetstore[" + assetstoreSource + "] to assetstore[" + assetstoreDestination +
+                "] completed. " + progress.migrated + " objects were transferred (" + progress.copiedServerSide
+                + " server-side), " + progress.failed + " failed.");
+        if (progress.failed > 0) {
+            log.warn(progress.failed + " bitstreams could not be migrated and remain in assetstore["
+                         + assetstoreSource + "], see the bitstream_migration table. Run the migration again to "
+                         + "retry them.");
+        }
+    }
+
+    /**
+     * Copy the asset of a detached bitstream to the destination store and verify the copy. Runs in a worker thread,
+     * so it must not use the context.
+     */
+    protected MigrationResult transfer(BitStoreService source, BitStoreService destination, Bitstream bitstream,
+                                       RateLimiter rateLimiter) {
+        String checksum = bitstream.getChecksum();
+        String checksumAlgorithm = bitstream.getChecksumAlgorithm();
+        long sizeBytes = bitstream.getSizeBytes();
+        // the bitstream is detached: only its own columns can be read here, not its lazy metadata
+        log.info("Copying bitstream:" + bitstream.getID() + ", SizeBytes:" + sizeBytes);
+        try {
+            if (destination.copyFrom(source, bitstream)) {
+                return new MigrationResult(bitstream, sizeBytes, true, null);
+            }
+            InputStream inputStream = source.get(bitstream);
+            if (rateLimiter != null) {
+                inputStream = new RateLimitedInputStream(inputStream, rateLimiter);
+            }
+            try (InputStream in = inputStream) {
+                //PUT sets the size and checksum of the bits it stored on the bitstream
+                destination.put(bitstream, in);
+            }
+            if (checksum != null && StringUtils.equals(checksumAlgorithm, bitstream.getChecksumAlgorithm())
+                && !checksum.equalsIgnoreCase(bitstream.getChecksum())) {
+                destination.remove(bitstream);
+                throw new IOException("Checksum mismatch for bitstream " + bitstream.getID() + ": expected "
+                                          + checksum + ", copied " + bitstream.getChecksum());
+            }
+            return new MigrationResult(bitstream, sizeBytes, false, null);
+        } catch (IOException | RuntimeException e) {
+            return new MigrationResult(bitstream, sizeBytes, false, e);
+        }
+    }
+
+    private MigrationResult takeMigrationResult(CompletionService<MigrationResult> completionService)
+        throws IOException {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Assetstore migration interrupted", e);
+        } catch (ExecutionException e) {
+            // transfer() catches its own failures
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 
-        while (allBitstreamsInSource.hasNext()) {
-            Bitstream bitstream = allBitstreamsInSource.next();
-            log.info("Copying bitstream:" + bitstream
-                .getID() + " from assetstore[" + assetstoreSource + "] to assetstore[" + assetstoreDestination + "] " +
-                         "Name:" + bitstream
-                .getName() + ", SizeBytes:" + bitstream.getSizeBytes());
+    private void handleMigrationResult(Context context, MigrationResult result, Integer assetstoreSource,
+                                       Integer assetstoreDestination, boolean deleteOld, List<Bitstream> toRemove,
+                                       MigrationProgress progress) throws SQLException, AuthorizeException {
+        progress.handled++;
+        UUID id = result.bitstream.getID();
+        BitstreamMigration migration = bitstreamMigrationDAO.findByID(context, BitstreamMigration.class, id);
+        if (migration == null) {
+            migration = bitstreamMigrationDAO.create(context,
+                new BitstreamMigration(id, assetstoreSource, assetstoreDestination));
+        }
+        migration.setSourceStore(assetstoreSource);
+        migration.setDestinationStore(assetstoreDestination);
+        migration.setAttempts(migration.getAttempts() + 1);
+        migration.setLastModified(Instant.now());
+
+        if (result.error != null) {
+            log.error("Failed to migrate bitstream:" + id + " from assetstore[" + assetstoreSource + "] to assetstore["
+                          + assetstoreDestination + "]", result.error);
+            migration.setStatus(BitstreamMigration.Status.FAILED);
+            migration.setLastError(result.error.toString());
+            progress.failed++;
+            return;
+        }
 
-            InputStream inputStream = retrieve(context, bitstream);
-            this.getStore(assetstoreDestination).put(bitstream, inputStream);
+        Bitstream bitstream = bitstreamService.find(context, id);
+        if (bitstream != null) {
             bitstream.setStoreNumber(assetstoreDestination);
             bitstreamService.update(context, bitstream);
+        }
+        migration.setLastError(null);
+        if (deleteOld) {
+            migration.setStatus(BitstreamMigration.Status.COPIED);
+            toRemove.add(result.bitstream);
+        } else {
+            migration.setStatus(BitstreamMigration.Status.DONE);
+        }
+        progress.migrated++;
+        progress.bytes += result.sizeBytes;
+        if (result.serverSide) {
+            progress.copiedServerSide++;
+        }
+    }
 
-            if (deleteOld) {
-                log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource + "]");
-                this.getStore(assetstoreSource).remove(bitstream);
+    /**
+     * Commit the bitstreams migrated so far, then remove their old copies. The old copies are only removed once the
+     * new store_number is committed, and a run interrupted in between removes them when it is resumed.
+     */
+    private void commitMigrationBatch(Context context, BitStoreService source, int assetstoreSource,
+                                      int assetstoreDestination, List<Bitstream> toRemove, MigrationProgress progress)
+        throws SQLException, IOException {
+        context.commit();
+        for (Bitstream bitstream : toRemove) {
+            log.info("Removing bitstream:" + bitstream.getID() + " from the old assetstore");
+            removeMigratedSource(context, source, assetstoreSource, assetstoreDestination, bitstream);
+            BitstreamMigration migration = bitstreamMigrationDAO.findByID(context, BitstreamMigration.class,
+                                                                          bitstream.getID());
+            if (migration != null) {
+                migration.setStatus(BitstreamMigration.Status.DONE);
+                migration.setLastModified(Instant.now());
             }
+        }
+        toRemove.clear();
+        if (progress.handled > 0) {
+            long seconds = Math.max(1, (System.nanoTime() - progress.start) / 1_000_000_000L);
+            log.info("Migration Commit Checkpoint: " + progress.handled + " processed, " + progress.migrated
+                         + " migrated, " + progress.failed + " failed, " + (progress.bytes / seconds / 1024)
+                         + " KB/s");
+        }
+    }
 
-            processedCounter++;
-            context.uncacheEntity(bitstream);
-
-            //modulo
-            if ((processedCounter % batchCommitSize) == 0) {
-                log.info("Migration Commit Checkpoint: " + processedCounter);
-                context.dispatchEvents();
+    /**
+     * Remove the old copy of a migrated bitstream, unless other bitstreams of the source store still share its
+     * object, in which case it is removed with the last of them. The record of a deduplicated object follows it to
+     * the destination store.
+     */
+    private void removeMigratedSource(Context context, BitStoreService source, int assetstoreSource,
+                                      int assetstoreDestination, Bitstream bitstream)
+        throws SQLException, IOException {
+        for (Bitstream duplicate : bitstreamService.findDuplicateInternalIdentifier(context, bitstream)) {
+            if (duplicate.getStoreNumber() == assetstoreSource) {
+                log.debug("Keeping the object of bitstream:" + bitstream.getID() + ", shared with bitstream:"
+                              + duplicate.getID());
+                return;
             }
         }
+        source.remove(bitstream);
+        BitstreamContent content = bitstreamContentDAO.findByInternalId(context, assetstoreSource,
+                                                                        bitstream.getInternalId());
+        if (content != null) {
+            if (isDeduplicated(assetstoreDestination)) {
+                content.setStoreNumber(assetstoreDestination);
+            } else {
+                bitstreamContentDAO.delete(context, content);
+            }
+        }
+    }
 
-        log.info(
-            "Assetstore Migration from assetstore[" + assetstoreSource + "] to assetstore[" + assetstoreDestination +
-                "] completed. " + processedCounter + " objects were transferred.");
+    /**
+     * The outcome of the copy of one bitstream by a migration worker
+     */
+    protected static class MigrationResult {
+        private final Bitstream bitstream;
+        private final long sizeBytes;
+        private final boolean serverSide;
+        private final Exception error;
+
+        MigrationResult(Bitstream bitstream, long sizeBytes, boolean serverSide, Exception error) {
+            this.bitstream = bitstream;
+            this.sizeBytes = sizeBytes;
+            this.serverSide = serverSide;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Counters of a migration run, only accessed from the thread owning the context
+     */
+    private static class MigrationProgress {
+        private final long start = System.nanoTime();
+        private int handled;
+        private int migrated;
+        private int failed;
+        private int copiedServerSide;
+        private long bytes;
     }
 
     @Override
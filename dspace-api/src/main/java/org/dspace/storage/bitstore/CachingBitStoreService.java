@@ -0,0 +1,506 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.Counter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.dspace.core.DSpaceMetrics;
+import org.dspace.core.Utils;
+
+/**
+ * Read-through cache in front of another (remote) asset store, keeping the most recently read assets in a bounded
+ * local directory, e.g. on a local SSD.
+ * <p>
+ * Writes, removals and metadata requests go to the cached store. Reads are served from the local copy when there is
+ * one, and otherwise the asset is downloaded once into the cache, concurrent reads of the same asset waiting for that
+ * single download. Entries are keyed by the internal id and the checksum of the bitstream, so that a stale copy is
+ * never served, and are evicted in least recently used order when the cache exceeds its maximum size. Assets larger
+ * than the maximum object size are never cached.
+ * <p>
+ * The cache is configured per store number in bitstore.xml, by wrapping the bean of the cached store and referencing
+ * the caching bean in the stores map of the BitstreamStorageService.
+ * <p>
+ * The reads served from a cached copy, the reads downloading the asset, the reads waiting for the download of
+ * another read and the evictions are counted by the {@code dspace.bitstore.cache.hits},
+ * {@code dspace.bitstore.cache.misses}, {@code dspace.bitstore.cache.coalesced} and
+ * {@code dspace.bitstore.cache.evictions} counters (see {@link DSpaceMetrics}).
+ */
+public class CachingBitStoreService implements BitStoreService {
+
+    private static final Logger log = LogManager.getLogger(CachingBitStoreService.class);
+
+    private static final String TEMP_PREFIX = "download-";
+
+    /**
+     * Number of cacheable reads between two logs of the cache statistics
+     */
+    private static final int STATISTICS_LOG_INTERVAL = 1000;
+
+    /**
+     * The cached store
+     */
+    private BitStoreService bitStoreService;
+
+    /**
+     * The directory holding the cached copies
+     */
+    private String cacheDir;
+
+    /**
+     * Maximum total size of the cached copies, in bytes
+     */
+    private long maxSize = 10L * 1024 * 1024 * 1024;
+
+    /**
+     * Maximum size of a single cached asset, in bytes
+     */
+    private long maxObjectSize = 512L * 1024 * 1024;
+
+    private Path cachePath;
+
+    /**
+     * Cached entries and their sizes, in least recently used order. Guarded by itself.
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Keys of the cached entries per hashed internal id, to drop the copies of a removed asset without scanning all
+     * the entries. Guarded by entries.
+     */
+    private final Map<String, Set<String>> keysByInternalId = new HashMap<>();
+
+    private long currentSize = 0;
+
+    /**
+     * Downloads in progress, so that concurrent reads of the same asset share one download
+     */
+    private final Map<String, CompletableFuture<Boolean>> downloads = new ConcurrentHashMap<>();
+
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final Counter hitCounter = DSpaceMetrics.counter("bitstore.cache.hits",
+        "Bitstore reads served from a cached copy");
+    private final Counter missCounter = DSpaceMetrics.counter("bitstore.cache.misses",
+        "Bitstore reads downloading the asset into the cache");
+    private final Counter coalescedCounter = DSpaceMetrics.counter("bitstore.cache.coalesced",
+        "Bitstore reads waiting for the download of the asset by another read");
+    private final Counter evictionCounter = DSpaceMetrics.counter("bitstore.cache.evictions",
+        "Cached copies evicted to keep the bitstore cache within its maximum size");
+
+    private boolean initialized = false;
+
+    public CachingBitStoreService() {
+    }
+
+    /**
+     * Initialize the cached store, create the cache directory and index the copies cached by a previous run.
+     *
+     * @throws IOException if the cache directory cannot be read
+     */
+    @Override
+    public void init() throws IOException {
+        if (initialized || !isEnabled()) {
+            return;
+        }
+        if (!bitStoreService.isInitialized()) {
+            bitStoreService.init();
+        }
+        cachePath = Paths.get(cacheDir);
+        Files.createDirectories(cachePath);
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(cachePath)) {
+            stream.forEach(files::add);
+        }
+        // the least recently modified first, so that they are the first evicted
+        files.sort(Comparator.comparing(this::lastModified));
+        synchronized (entries) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(TEMP_PREFIX)) {
+                    // left over by an interrupted download
+                    Files.deleteIfExists(file);
+                } else {
+                    addEntry(name, Files.size(file));
+                }
+            }
+            evict();
+        }
+        initialized = bitStoreService.isInitialized();
+        log.info("Bitstore cache ready in " + cachePath + ": " + entries.size() + " entries, " + currentSize
+                     + " bytes");
+    }
+
+    @Override
+    public String generateId() {
+        return bitStoreService.generateId();
+    }
+
+    /**
+     * Retrieve the bits of an asset, from the local copy if there is one, otherwise downloading it into the cache.
+     *
+     * @param bitstream The bitstream to retrieve
+     * @return The stream of bits
+     * @throws IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream) throws IOException {
+        String key = getKey(bitstream);
+        if (key == null || bitstream.getSizeBytes() > maxObjectSize) {
+            return bitStoreService.get(bitstream);
+        }
+        if (reads.incrementAndGet() % STATISTICS_LOG_INTERVAL == 0) {
+            log.info("Bitstore cache " + cachePath + ": " + hits.get() + " hits, " + misses.get() + " misses, "
+                         + coalesced.get() + " coalesced, " + evictions.get() + " evictions, " + getCurrentSize()
+                         + " bytes");
+        }
+        InputStream cached = openCached(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            hitCounter.increment();
+            return cached;
+        }
+
+        CompletableFuture<Boolean> download = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = downloads.putIfAbsent(key, download);
+        if (existing == null) {
+            misses.incrementAndGet();
+            missCounter.increment();
+            try {
+                download.complete(download(bitstream, key));
+            } catch (IOException | RuntimeException e) {
+                download.completeExceptionally(e);
+                throw e;
+            } finally {
+                downloads.remove(key, download);
+            }
+        } else {
+            coalesced.incrementAndGet();
+            coalescedCounter.increment();
+            try {
+                existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                log.debug("Shared download of " + key + " failed, reading from the cached store", e);
+            }
+        }
+
+        cached = openCached(key);
+        return cached != null ? cached : bitStoreService.get(bitstream);
+    }
+
+    @Override
+    public void put(Bitstream bitstream, InputStream inputStream) throws IOException {
+        bitStoreService.put(bitstream, inputStream);
+    }
+
+    @Override
+    public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException {
+        return bitStoreService.about(bitstream, attrs);
+    }
+
+    @Override
+    public void remove(Bitstream bitstream) throws IOException {
+        bitStoreService.remove(bitstream);
+        dropCached(bitstream);
+    }
+
+    /**
+     * Delete the cached copies of a removed asset
+     */
+    private void dropCached(Bitstream bitstream) throws IOException {
+        if (!initialized || StringUtils.isBlank(bitstream.getInternalId())) {
+            return;
+        }
+        synchronized (entries) {
+            Set<String> keys = keysByInternalId.remove(hashInternalId(bitstream.getInternalId()));
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                currentSize -= entries.remove(key);
+                Files.deleteIfExists(cachePath.resolve(key));
+            }
+        }
+    }
+
+    @Override
+    public void removeAll(List<Bitstream> bitstreams) throws IOException {
+        bitStoreService.removeAll(bitstreams);
+        for (Bitstream bitstream : bitstreams) {
+            dropCached(bitstream);
+        }
+    }
+
+    @Override
+    public boolean copyFrom(BitStoreService source, Bitstream bitstream) throws IOException {
+        return bitStoreService.copyFrom(source, bitstream);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return bitStoreService.isEnabled();
+    }
+
+    /**
+     * Download an asset into the cache, verifying it against the checksum of the bitstream.
+     *
+     * @return true if the asset is now cached
+     */
+    private boolean download(Bitstream bitstream, String key) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(bitstream.getChecksumAlgorithm());
+        } catch (NoSuchAlgorithmException e) {
+            log.warn("Cannot verify the checksum of bitstream " + bitstream.getID() + ", it is not cached", e);
+            return false;
+        }
+        Path temp = Files.createTempFile(cachePath, TEMP_PREFIX, ".tmp");
+        try {
+            long size;
+            try (InputStream in = new DigestInputStream(bitstream.getSizeBytes() > 0
+                                                            ? bitStoreService.get(bitstream)
+                                                            : InputStream.nullInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            if (size != bitstream.getSizeBytes()
+                || !StringUtils.equalsIgnoreCase(Utils.toHex(digest.digest()), bitstream.getChecksum())) {
+                log.warn("The copy of bitstream " + bitstream.getID() + " read from the cached store does not "
+                             + "match its size or checksum, it is not cached");
+                return false;
+            }
+            synchronized (entries) {
+                Files.move(temp, cachePath.resolve(key), StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+                addEntry(key, size);
+                evict();
+            }
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Open the cached copy of an asset, marking it as the most recently used
+     *
+     * @return a stream over the cached copy, or null if the asset is not cached
+     */
+    private InputStream openCached(String key) throws IOException {
+        synchronized (entries) {
+            // opened while holding the lock, so that the copy cannot be evicted in between
+            if (entries.get(key) == null) {
+                return null;
+            }
+            Path file = cachePath.resolve(key);
+            try {
+                return Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ));
+            } catch (IOException e) {
+                log.warn("Cannot read cached copy " + file + ", dropping it", e);
+                currentSize -= entries.remove(key);
+                unindex(key);
+                Files.deleteIfExists(file);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Remove the least recently used entries until the cache fits its maximum size. Must hold the lock on entries.
+     */
+    private void evict() throws IOException {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (currentSize > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            iterator.remove();
+            currentSize -= entry.getValue();
+            unindex(entry.getKey());
+            // copies still being read stay readable until they are closed
+            Files.deleteIfExists(cachePath.resolve(entry.getKey()));
+            evictions.incrementAndGet();
+            evictionCounter.increment();
+        }
+    }
+
+    /**
+     * Add or replace an entry of the cache. Must hold the lock on entries.
+     */
+    private void addEntry(String key, long size) {
+        Long previous = entries.put(key, size);
+        currentSize += size - (previous != null ? previous : 0);
+        keysByInternalId.computeIfAbsent(getInternalIdPart(key), internalId -> new HashSet<>()).add(key);
+    }
+
+    /**
+     * Remove a key removed from the entries from the index by internal id. Must hold the lock on entries.
+     */
+    private void unindex(String key) {
+        String internalId = getInternalIdPart(key);
+        Set<String> keys = keysByInternalId.get(internalId);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByInternalId.remove(internalId);
+            }
+        }
+    }
+
+    /**
+     * @return the hashed internal id of the name of a cached copy
+     */
+    private String getInternalIdPart(String key) {
+        int separator = key.indexOf('_');
+        return separator >= 0 ? key.substring(0, separator) : key;
+    }
+
+    /**
+     * @return the name of the cached copy of the bitstream, or null if it cannot be cached
+     */
+    private String getKey(Bitstream bitstream) {
+        if (!initialized || StringUtils.isBlank(bitstream.getInternalId())
+            || StringUtils.isBlank(bitstream.getChecksum()) || bitstream.getChecksumAlgorithm() == null) {
+            return null;
+        }
+        return hashInternalId(bitstream.getInternalId()) + "_" + bitstream.getChecksum().toLowerCase();
+    }
+
+    /**
+     * Internal ids of registered bitstreams contain paths, which are hashed into a safe file name prefix
+     */
+    private String hashInternalId(String internalId) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(internalId.getBytes(StandardCharsets.UTF_8));
+            return Utils.toHex(hash).substring(0, 32);
+        } catch (NoSuchAlgorithmException e) {
+            // Should never happen
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public BitStoreService getBitStoreService() {
+        return bitStoreService;
+    }
+
+    public void setBitStoreService(BitStoreService bitStoreService) {
+        this.bitStoreService = bitStoreService;
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    public void setMaxObjectSize(long maxObjectSize) {
+        this.maxObjectSize = maxObjectSize;
+    }
+
+    /**
+     * @return number of reads served from a cached copy
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of reads which downloaded the asset into the cache
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of reads which waited for the download of another read instead of downloading the asset again
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return number of cached copies evicted to keep the cache within its maximum size
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return total size of the cached copies, in bytes
+     */
+    public long getCurrentSize() {
+        synchronized (entries) {
+            return currentSize;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 
 /**
@@ -55,6 +56,8 @@ public class Cleanup {
 
             options.addOption("l", "leave", false, "Leave database records but delete file from assetstore");
             options.addOption("v", "verbose", false, "Provide verbose output");
+            options.addOption("n", "dry-run", false, "Only report what would be deleted, without deleting anything");
+            options.addOption("t", "threads", true, "Number of files looked up and deleted in parallel");
             options.addOption("h", "help", false, "Help");
 
             try {
@@ -77,8 +80,12 @@ public class Cleanup {
                 deleteDbRecords = false;
             }
             log.debug("leave db records = " + deleteDbRecords);
+            int threads = line.hasOption('t')
+                ? Integer.parseInt(line.getOptionValue('t'))
+                : DSpaceServicesFactory.getInstance().getConfigurationService()
+                                       .getIntProperty("assetstore.cleanup.threads", 4);
             StorageServiceFactory.getInstance().getBitstreamStorageService()
-                                 .cleanup(deleteDbRecords, line.hasOption('v'));
+                                 .cleanup(deleteDbRecords, line.hasOption('v'), line.hasOption('n'), threads);
 
             System.exit(0);
         } catch (IOException | SQLException | AuthorizeException e) {
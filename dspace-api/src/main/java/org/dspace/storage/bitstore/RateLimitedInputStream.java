@@ -0,0 +1,50 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Input stream limiting the rate at which bytes are read. The {@link RateLimiter} is shared between all the streams
+ * of a transfer, so that it limits their aggregated bandwidth.
+ */
+public class RateLimitedInputStream extends FilterInputStream {
+
+    private final RateLimiter rateLimiter;
+
+    /**
+     * @param in          the stream to read from
+     * @param rateLimiter limiter with one permit per byte
+     */
+    public RateLimitedInputStream(InputStream in, RateLimiter rateLimiter) {
+        super(in);
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            rateLimiter.acquire();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            rateLimiter.acquire(n);
+        }
+        return n;
+    }
+}
@@ -9,18 +9,28 @@ package org.dspace.storage.bitstore;
 
 import static java.lang.String.valueOf;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import com.amazonaws.AmazonClientException;
@@ -31,13 +41,22 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.transfer.Copy;
 import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
-import com.amazonaws.services.s3.transfer.Upload;
+import jakarta.annotation.PreDestroy;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -45,6 +64,8 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
@@ -108,6 +129,43 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private long bufferSize = 5 * 1024 * 1024;
 
+    /**
+     * Maximum number of keys of a multi-object delete request
+     */
+    private static final int MAX_DELETE_KEYS = 1000;
+
+    /**
+     * The size of the first parts of the multipart uploads, which is also the size under which assets are uploaded in
+     * a single request. S3 requires at least 5Mb. Default 8Mb
+     */
+    private int uploadPartSize = 8 * 1024 * 1024;
+
+    /**
+     * Maximum number of parts of a multipart upload allowed by S3
+     */
+    private static final int MAX_UPLOAD_PARTS = 10000;
+
+    /**
+     * Number of parts after which the size of the parts doubles, so that large assets fit in
+     * {@link #MAX_UPLOAD_PARTS} parts
+     */
+    private static final int PARTS_PER_SIZE = 1000;
+
+    /**
+     * The number of parts uploaded in parallel, across all the uploads to this store
+     */
+    private int uploadThreads = 4;
+
+    /**
+     * The maximum number of part buffers in use at the same time, across all the uploads to this store: the memory
+     * used by the uploads is bounded by uploadBuffers * uploadPartSize
+     */
+    private int uploadBuffers = 8;
+
+    private UploadBufferPool uploadBufferPool = null;
+
+    private ExecutorService uploadExecutor = null;
+
     /**
      * container for all the assets
      */
@@ -281,37 +339,197 @@ public class S3BitStoreService extends BaseBitStoreService {
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
         String key = getFullKey(bitstream.getInternalId());
-        //Copy istream to temp file, and send the file, with some metadata
-        File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
-        try (
-                FileOutputStream fos = new FileOutputStream(scratchFile);
-                // Read through a digest input stream that will work out the MD5
-                DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA));
-        ) {
-            Utils.bufferedCopy(dis, fos);
-            in.close();
-
-            Upload upload = tm.upload(bucketName, key, scratchFile);
-
-            upload.waitForUploadResult();
+        UploadBufferPool pool = getUploadBufferPool();
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(CSA);
+        } catch (NoSuchAlgorithmException nsae) {
+            // Should never happen
+            throw new IOException(nsae);
+        }
+        // Stream the asset in parts read into pooled buffers, working out the MD5 along the way: nothing is spooled
+        // to disk and the memory used is bounded by the pool, however large the asset
+        List<Future<PartETag>> parts = new ArrayList<>();
+        String uploadId = null;
+        boolean completed = false;
+        byte[][] buffers = null;
+        try (DigestInputStream dis = new DigestInputStream(in, digest)) {
+            buffers = pool.acquire(1);
+            int length = read(dis, buffers);
+            long size = length;
+            byte[] md5;
+            if (length < pool.getBufferSize()) {
+                // the whole asset fits in a single part
+                md5 = digest.digest();
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(length);
+                objectMetadata.setContentMD5(Base64.getEncoder().encodeToString(md5));
+                s3Service.putObject(bucketName, key, new ByteArrayInputStream(buffers[0], 0, length),
+                                    objectMetadata);
+            } else {
+                uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                    .getUploadId();
+                int partNumber = 1;
+                while (length > 0) {
+                    if (partNumber > MAX_UPLOAD_PARTS) {
+                        throw new IOException("The asset " + key + " exceeds the maximum size of a multipart upload "
+                            + "with the configured assetstore.s3.upload.part-size and assetstore.s3.upload.buffers");
+                    }
+                    parts.add(uploadPart(key, uploadId, partNumber++, buffers, length, pool));
+                    // the buffers now belong to the part upload, which gives them back to the pool
+                    buffers = null;
+                    buffers = pool.acquire(getBuffersPerPart(partNumber, pool));
+                    length = read(dis, buffers);
+                    size += length;
+                }
+                List<PartETag> partETags = new ArrayList<>(parts.size());
+                for (Future<PartETag> part : parts) {
+                    partETags.add(part.get());
+                }
+                s3Service.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+                md5 = digest.digest();
+            }
+            completed = true;
 
-            bitstream.setSizeBytes(scratchFile.length());
+            bitstream.setSizeBytes(size);
             // we cannot use the S3 ETAG here as it could be not a MD5 in case of multipart upload (large files) or if
             // the bucket is encrypted
-            bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
+            bitstream.setChecksum(Utils.toHex(md5));
             bitstream.setChecksumAlgorithm(CSA);
-
-        } catch (AmazonClientException | IOException | InterruptedException e) {
+        } catch (AmazonClientException | ExecutionException e) {
             log.error("put(" + bitstream.getInternalId() + ", is)", e);
             throw new IOException(e);
-        } catch (NoSuchAlgorithmException nsae) {
-            // Should never happen
-            log.warn("Caught NoSuchAlgorithmException", nsae);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
         } finally {
-            if (!scratchFile.delete()) {
-                scratchFile.deleteOnExit();
+            if (buffers != null) {
+                pool.release(buffers);
+            }
+            if (uploadId != null && !completed) {
+                abortMultipartUpload(key, uploadId, parts);
+            }
+        }
+    }
+
+    /**
+     * The number of buffers of a part: the size of the parts doubles every {@link #PARTS_PER_SIZE} parts, up to the
+     * number of buffers of the pool. With the default 8 buffers of 8Mb, the {@link #MAX_UPLOAD_PARTS} parts allowed
+     * by S3 hold assets of up to 504Gb, instead of 80Gb with parts of a constant size.
+     */
+    private static int getBuffersPerPart(int partNumber, UploadBufferPool pool) {
+        return Math.min(1 << ((partNumber - 1) / PARTS_PER_SIZE), pool.getMaxBuffers());
+    }
+
+    /**
+     * Fill buffers from a stream, in order.
+     *
+     * @return the number of bytes read, less than the size of the buffers only at the end of the stream
+     */
+    private static int read(InputStream in, byte[][] buffers) throws IOException {
+        int length = 0;
+        for (byte[] buffer : buffers) {
+            int read = IOUtils.read(in, buffer);
+            length += read;
+            if (read < buffer.length) {
+                break;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Upload a part of a multipart upload in the background. The buffers are given back to the pool once the part is
+     * sent.
+     */
+    private Future<PartETag> uploadPart(String key, String uploadId, int partNumber, byte[][] buffers, int length,
+                                        UploadBufferPool pool) {
+        try {
+            return uploadExecutor.submit(() -> {
+                try {
+                    MessageDigest partDigest = MessageDigest.getInstance(CSA);
+                    List<InputStream> streams = new ArrayList<>(buffers.length);
+                    int remaining = length;
+                    for (byte[] buffer : buffers) {
+                        int bufferLength = Math.min(remaining, buffer.length);
+                        partDigest.update(buffer, 0, bufferLength);
+                        streams.add(new ByteArrayInputStream(buffer, 0, bufferLength));
+                        remaining -= bufferLength;
+                    }
+                    byte[] partMd5 = partDigest.digest();
+                    UploadPartRequest request = new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(length)
+                        .withMD5Digest(Base64.getEncoder().encodeToString(partMd5))
+                        .withInputStream(new SequenceInputStream(Collections.enumeration(streams)));
+                    return s3Service.uploadPart(request).getPartETag();
+                } finally {
+                    pool.release(buffers);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pool.release(buffers);
+            throw e;
+        }
+    }
+
+    /**
+     * Abort a failed multipart upload, once its parts still in flight are done, so that S3 frees the parts already
+     * stored.
+     */
+    private void abortMultipartUpload(String key, String uploadId, List<Future<PartETag>> parts) {
+        for (Future<PartETag> part : parts) {
+            try {
+                part.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // already reported through the failure of the upload
             }
         }
+        try {
+            s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (AmazonClientException e) {
+            log.error("Unable to abort the multipart upload " + uploadId + " of " + key, e);
+        }
+    }
+
+    /**
+     * Stop the threads of the uploads, once the parts in flight are sent or after 30 seconds.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdown();
+            try {
+                if (!uploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    uploadExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                uploadExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            uploadExecutor = null;
+        }
+    }
+
+    private synchronized UploadBufferPool getUploadBufferPool() {
+        if (uploadBufferPool == null) {
+            uploadBufferPool = new UploadBufferPool(uploadPartSize, Math.max(1, uploadBuffers));
+        }
+        if (uploadExecutor == null) {
+            uploadExecutor = Executors.newFixedThreadPool(Math.max(1, uploadThreads), runnable -> {
+                Thread thread = new Thread(runnable, "s3-upload-" + bucketName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return uploadBufferPool;
     }
 
     /**
@@ -390,6 +608,89 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Remove many assets with multi-object delete requests, of up to 1000 keys each.
+     *
+     * @param bitstreams The bitstreams of the assets to delete
+     * @throws java.io.IOException If a problem occurs while removing the assets
+     */
+    @Override
+    public void removeAll(List<Bitstream> bitstreams) throws IOException {
+        List<DeleteObjectsRequest.KeyVersion> keys = new ArrayList<>();
+        for (Bitstream bitstream : bitstreams) {
+            keys.add(new DeleteObjectsRequest.KeyVersion(getFullKey(bitstream.getInternalId())));
+        }
+        for (List<DeleteObjectsRequest.KeyVersion> chunk : ListUtils.partition(keys, MAX_DELETE_KEYS)) {
+            try {
+                s3Service.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(chunk).withQuiet(true));
+            } catch (MultiObjectDeleteException e) {
+                for (MultiObjectDeleteException.DeleteError error : e.getErrors()) {
+                    log.error("removeAll(" + error.getKey() + "): " + error.getCode() + " " + error.getMessage());
+                }
+                throw new IOException(e);
+            } catch (AmazonClientException e) {
+                log.error("removeAll(" + chunk.size() + " keys)", e);
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /**
+     * Copy an asset from another S3 store with a server-side copy, so that the bits never transit through DSpace.
+     * The copy is verified against the size of the bitstream, and against its MD5 checksum either through the ETag
+     * of the copy, when it is a plain MD5, or by reading the copy back.
+     *
+     * @param source    the store currently holding the asset
+     * @param bitstream the bitstream to copy
+     * @return true if the asset was copied, false if the source is not an S3 store
+     * @throws IOException if the copy failed or does not match the bitstream
+     */
+    @Override
+    public boolean copyFrom(BitStoreService source, Bitstream bitstream) throws IOException {
+        BitStoreService origin = source instanceof CachingBitStoreService caching
+            ? caching.getBitStoreService() : source;
+        if (!(origin instanceof S3BitStoreService s3Source)) {
+            return false;
+        }
+        String sourceKey = s3Source.getFullKey(bitstream.getInternalId());
+        if (isRegisteredBitstream(sourceKey)) {
+            // registered bitstreams point to objects which are not managed by the store
+            return false;
+        }
+        String key = getFullKey(bitstream.getInternalId());
+        try {
+            CopyObjectRequest request = new CopyObjectRequest(s3Source.bucketName, sourceKey, bucketName, key);
+            Copy copy = tm.copy(request, s3Source.s3Service, null);
+            copy.waitForCopyResult();
+
+            ObjectMetadata objectMetadata = s3Service.getObjectMetadata(bucketName, key);
+            String copiedChecksum;
+            String etag = objectMetadata.getETag();
+            String encryption = objectMetadata.getSSEAlgorithm();
+            if (etag != null && !etag.contains("-")
+                && (encryption == null || ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION.equals(encryption))) {
+                // single part objects without KMS encryption have the MD5 of their content as ETag
+                copiedChecksum = etag;
+            } else {
+                copiedChecksum = (String) about(bitstream, List.of("checksum")).get("checksum");
+            }
+            if (objectMetadata.getContentLength() != bitstream.getSizeBytes()
+                || (CSA.equals(bitstream.getChecksumAlgorithm())
+                    && !StringUtils.equalsIgnoreCase(bitstream.getChecksum(), copiedChecksum))) {
+                remove(bitstream);
+                throw new IOException("The copy of " + sourceKey + " to " + key + " does not match bitstream "
+                                          + bitstream.getID());
+            }
+            return true;
+        } catch (AmazonClientException e) {
+            log.error("copyFrom(" + sourceKey + ", " + key + ")", e);
+            throw new IOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
     /**
      * Utility Method: Prefix the key with a subfolder, if this instance assets are stored within subfolder
      *
@@ -619,6 +920,18 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.bufferSize = bufferSize;
     }
 
+    public void setUploadPartSize(int uploadPartSize) {
+        this.uploadPartSize = uploadPartSize;
+    }
+
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    public void setUploadBuffers(int uploadBuffers) {
+        this.uploadBuffers = uploadBuffers;
+    }
+
     /**
      * This inner class represent an InputStream that uses temporary files to
      * represent chunk of the object downloaded from S3. When the input stream is
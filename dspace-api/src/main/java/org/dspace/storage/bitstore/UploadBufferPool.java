@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounded pool of reusable byte buffers of a fixed size, shared by the uploads of a store. Buffers are allocated on
+ * first use, so the pool never holds more than {@code maxBuffers * bufferSize} bytes, and
+ * {@link #acquire(int)} blocks while not enough buffers are free.
+ */
+class UploadBufferPool {
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final Semaphore available;
+    private final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param bufferSize size of every buffer in bytes
+     * @param maxBuffers maximum number of buffers in use at the same time
+     */
+    UploadBufferPool(int bufferSize, int maxBuffers) {
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+        this.available = new Semaphore(maxBuffers, true);
+    }
+
+    /**
+     * Take buffers from the pool, waiting for enough of them to be released if they are in use. The buffers are
+     * taken all at once, so that uploads waiting for several buffers never hold some of them while waiting.
+     *
+     * @param count the number of buffers, at most {@link #getMaxBuffers()}
+     * @return buffers of {@link #getBufferSize()} bytes, with undefined content
+     * @throws InterruptedException if interrupted while waiting
+     */
+    byte[][] acquire(int count) throws InterruptedException {
+        available.acquire(count);
+        byte[][] buffers = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            byte[] buffer = free.poll();
+            buffers[i] = buffer != null ? buffer : new byte[bufferSize];
+        }
+        return buffers;
+    }
+
+    /**
+     * Give buffers taken with {@link #acquire(int)} back to the pool.
+     *
+     * @param buffers the buffers, which must not be used anymore by the caller
+     */
+    void release(byte[][] buffers) {
+        for (byte[] buffer : buffers) {
+            free.offer(buffer);
+        }
+        available.release(buffers.length);
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    int getMaxBuffers() {
+        return maxBuffers;
+    }
+}
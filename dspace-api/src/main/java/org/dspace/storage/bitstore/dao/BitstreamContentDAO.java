@@ -0,0 +1,98 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore.dao;
+
+import java.sql.SQLException;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.storage.bitstore.BitstreamContent;
+
+/**
+ * Database Access Object interface class for the BitstreamContent object.
+ * The implementation of this class is responsible for all database calls for the BitstreamContent object and is
+ * autowired by spring.
+ */
+public interface BitstreamContentDAO extends GenericDAO<BitstreamContent> {
+
+    /**
+     * Record an object of an assetstore, with a single reference, unless the assetstore already records an object
+     * with the same content hash, e.g. stored concurrently by another transaction.
+     *
+     * @param context The DSpace context
+     * @param content the object
+     * @return true if the object was recorded, false if an object with the same content hash is already recorded
+     * @throws SQLException If something goes wrong in the database
+     */
+    boolean createIfAbsent(Context context, BitstreamContent content) throws SQLException;
+
+    /**
+     * Find a referenced object of an assetstore by the hash of its content.
+     *
+     * @param context     The DSpace context
+     * @param storeNumber the assetstore
+     * @param contentHash the hex encoded SHA-256 hash of the content
+     * @return the object, or null if the assetstore holds no referenced object with this content
+     * @throws SQLException If something goes wrong in the database
+     */
+    BitstreamContent findByHash(Context context, int storeNumber, String contentHash) throws SQLException;
+
+    /**
+     * Find an object of an assetstore by its internal id.
+     *
+     * @param context     The DSpace context
+     * @param storeNumber the assetstore
+     * @param internalId  the internal id of the object
+     * @return the object, or null if the internal id is not tracked, e.g. because it was stored before the assetstore
+     * was deduplicated
+     * @throws SQLException If something goes wrong in the database
+     */
+    BitstreamContent findByInternalId(Context context, int storeNumber, String internalId) throws SQLException;
+
+    /**
+     * Atomically add a delta to the reference count of an object which is still referenced.
+     *
+     * @param context The DSpace context
+     * @param id      the id of the object
+     * @param delta   the number of references to add, negative to remove
+     * @return true if the count was updated, false if the object is not referenced anymore
+     * @throws SQLException If something goes wrong in the database
+     */
+    boolean updateRefCount(Context context, Integer id, int delta) throws SQLException;
+
+    /**
+     * Read the current reference count of an object from the database.
+     *
+     * @param context The DSpace context
+     * @param id      the id of the object
+     * @return the reference count, 0 if the object does not exist anymore
+     * @throws SQLException If something goes wrong in the database
+     */
+    int getRefCount(Context context, Integer id) throws SQLException;
+
+    /**
+     * Delete an object if it is not referenced anymore.
+     *
+     * @param context The DSpace context
+     * @param id      the id of the object
+     * @return true if the object was deleted
+     * @throws SQLException If something goes wrong in the database
+     */
+    boolean deleteIfUnreferenced(Context context, Integer id) throws SQLException;
+
+    /**
+     * Delete an object if it is referenced at most a given number of times.
+     *
+     * @param context  The DSpace context
+     * @param id       the id of the object
+     * @param refCount the maximum number of references of the object
+     * @return true if the object was deleted
+     * @throws SQLException If something goes wrong in the database
+     */
+    boolean deleteIfReferencedAtMost(Context context, Integer id, int refCount) throws SQLException;
+}
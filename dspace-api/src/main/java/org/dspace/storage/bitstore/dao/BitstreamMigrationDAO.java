@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.storage.bitstore.BitstreamMigration;
+
+/**
+ * Database Access Object interface class for the BitstreamMigration object.
+ * The implementation of this class is responsible for all database calls for the BitstreamMigration object and is
+ * autowired by spring.
+ */
+public interface BitstreamMigrationDAO extends GenericDAO<BitstreamMigration> {
+
+    /**
+     * Find the migrations between two assetstores in the given state.
+     *
+     * @param context          The DSpace context
+     * @param sourceStore      the source assetstore
+     * @param destinationStore the destination assetstore
+     * @param status           the state of the migrations
+     * @return the matching migrations
+     * @throws SQLException If something goes wrong in the database
+     */
+    List<BitstreamMigration> findByStatus(Context context, int sourceStore, int destinationStore,
+                                          BitstreamMigration.Status status) throws SQLException;
+
+    /**
+     * Count the migrations between two assetstores in the given state.
+     *
+     * @param context          The DSpace context
+     * @param sourceStore      the source assetstore
+     * @param destinationStore the destination assetstore
+     * @param status           the state of the migrations
+     * @return the number of matching migrations
+     * @throws SQLException If something goes wrong in the database
+     */
+    int countByStatus(Context context, int sourceStore, int destinationStore, BitstreamMigration.Status status)
+        throws SQLException;
+}
@@ -0,0 +1,86 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore.dao.impl;
+
+import java.sql.SQLException;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.storage.bitstore.BitstreamContent;
+import org.dspace.storage.bitstore.dao.BitstreamContentDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the BitstreamContent object.
+ * This class is responsible for all database calls for the BitstreamContent object and is autowired by Spring.
+ * This class should never be accessed directly.
+ */
+public class BitstreamContentDAOImpl extends AbstractHibernateDAO<BitstreamContent> implements BitstreamContentDAO {
+
+    protected BitstreamContentDAOImpl() {
+        super();
+    }
+
+    @Override
+    public boolean createIfAbsent(Context context, BitstreamContent content) throws SQLException {
+        return insertUnlessDuplicate(context, "insert into bitstream_content (bitstream_content_id, store_number, "
+                                         + "content_hash, internal_id, size_bytes, ref_count) "
+                                         + "VALUES (nextval('bitstream_content_seq'), ?, ?, ?, ?, 1)",
+                                     content.getStoreNumber(), content.getContentHash(), content.getInternalId(),
+                                     content.getSizeBytes());
+    }
+
+    @Override
+    public BitstreamContent findByHash(Context context, int storeNumber, String contentHash) throws SQLException {
+        Query query = createQuery(context, "FROM BitstreamContent c WHERE c.storeNumber = :storeNumber "
+            + "AND c.contentHash = :contentHash AND c.refCount > 0");
+        query.setParameter("storeNumber", storeNumber);
+        query.setParameter("contentHash", contentHash);
+        return singleResult(query);
+    }
+
+    @Override
+    public BitstreamContent findByInternalId(Context context, int storeNumber, String internalId)
+        throws SQLException {
+        Query query = createQuery(context, "FROM BitstreamContent c WHERE c.storeNumber = :storeNumber "
+            + "AND c.internalId = :internalId");
+        query.setParameter("storeNumber", storeNumber);
+        query.setParameter("internalId", internalId);
+        return singleResult(query);
+    }
+
+    @Override
+    public boolean updateRefCount(Context context, Integer id, int delta) throws SQLException {
+        Query query = createQuery(context, "UPDATE BitstreamContent c SET c.refCount = c.refCount + :delta "
+            + "WHERE c.id = :id AND c.refCount > 0");
+        query.setParameter("delta", delta);
+        query.setParameter("id", id);
+        return query.executeUpdate() > 0;
+    }
+
+    @Override
+    public int getRefCount(Context context, Integer id) throws SQLException {
+        Query query = createQuery(context, "SELECT c.refCount FROM BitstreamContent c WHERE c.id = :id");
+        query.setParameter("id", id);
+        return ((Number) query.getResultList().stream().findFirst().orElse(0)).intValue();
+    }
+
+    @Override
+    public boolean deleteIfUnreferenced(Context context, Integer id) throws SQLException {
+        return deleteIfReferencedAtMost(context, id, 0);
+    }
+
+    @Override
+    public boolean deleteIfReferencedAtMost(Context context, Integer id, int refCount) throws SQLException {
+        Query query = createQuery(context,
+                                  "DELETE FROM BitstreamContent c WHERE c.id = :id AND c.refCount <= :refCount");
+        query.setParameter("id", id);
+        query.setParameter("refCount", refCount);
+        return query.executeUpdate() > 0;
+    }
+}
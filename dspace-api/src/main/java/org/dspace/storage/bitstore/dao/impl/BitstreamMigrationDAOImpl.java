@@ -0,0 +1,52 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore.dao.impl;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.storage.bitstore.BitstreamMigration;
+import org.dspace.storage.bitstore.dao.BitstreamMigrationDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the BitstreamMigration object.
+ * This class is responsible for all database calls for the BitstreamMigration object and is autowired by Spring.
+ * This class should never be accessed directly.
+ */
+public class BitstreamMigrationDAOImpl extends AbstractHibernateDAO<BitstreamMigration>
+    implements BitstreamMigrationDAO {
+
+    protected BitstreamMigrationDAOImpl() {
+        super();
+    }
+
+    @Override
+    public List<BitstreamMigration> findByStatus(Context context, int sourceStore, int destinationStore,
+                                                 BitstreamMigration.Status status) throws SQLException {
+        Query query = createQuery(context, "FROM BitstreamMigration m WHERE m.sourceStore = :sourceStore "
+            + "AND m.destinationStore = :destinationStore AND m.status = :status");
+        query.setParameter("sourceStore", sourceStore);
+        query.setParameter("destinationStore", destinationStore);
+        query.setParameter("status", status);
+        return list(query);
+    }
+
+    @Override
+    public int countByStatus(Context context, int sourceStore, int destinationStore,
+                             BitstreamMigration.Status status) throws SQLException {
+        Query query = createQuery(context, "SELECT count(*) FROM BitstreamMigration m "
+            + "WHERE m.sourceStore = :sourceStore AND m.destinationStore = :destinationStore AND m.status = :status");
+        query.setParameter("sourceStore", sourceStore);
+        query.setParameter("destinationStore", destinationStore);
+        query.setParameter("status", status);
+        return count(query);
+    }
+}
@@ -141,6 +141,24 @@ public interface BitstreamStorageService {
      */
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException;
 
+    /**
+     * Clean up the bitstream storage area, as {@link #cleanup(boolean, boolean)} does. The deleted bitstreams are
+     * processed in batches of <code>assetstore.cleanup.batch-size</code>, each committed at once, and the files are
+     * looked up and deleted from the assetstores by a pool of worker threads.
+     *
+     * @param deleteDbRecords if true deletes the database records otherwise it
+     *                        only deletes the files and directories in the assetstore
+     * @param verbose         verbosity flag
+     * @param dryRun          if true nothing is deleted, only report what would be
+     * @param threads         the number of worker threads
+     * @throws IOException        If a problem occurs while cleaning up
+     * @throws SQLException       If a problem occurs accessing the RDBMS
+     * @throws AuthorizeException Exception indicating the current user of the context does not have permission
+     *                            to perform a particular action.
+     */
+    public void cleanup(boolean deleteDbRecords, boolean verbose, boolean dryRun, int threads)
+        throws SQLException, IOException, AuthorizeException;
+
     /**
      * Clone the given bitstream to a new bitstream with a new ID.
      * Metadata of the given bitstream are also copied to the new bitstream.
@@ -180,6 +198,31 @@ public interface BitstreamStorageService {
     public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
                         Integer batchCommitSize) throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Migrate all the assets from assetstoreSource to assetstoreDestination with a pool of transfer threads.
+     * <p>
+     * Assets are copied server-side when the destination store supports it (see
+     * {@link org.dspace.storage.bitstore.BitStoreService#copyFrom}), and otherwise streamed through DSpace. Every copy
+     * is verified against the checksum of the bitstream. The progress of every bitstream is recorded in the
+     * bitstream_migration table and committed every batchCommitSize bitstreams, so an interrupted migration can be
+     * resumed by running it again. Old copies are only removed once the move to the destination is committed.
+     *
+     * @param context               The relevant DSpace Context.
+     * @param assetstoreSource      source assetstore
+     * @param assetstoreDestination destination assetstore
+     * @param deleteOld             whether to delete files from the source assetstore after migration
+     * @param batchCommitSize       number of bitstreams migrated between two commits
+     * @param threads               number of parallel transfers
+     * @param maxBytesPerSecond     maximum aggregated bandwidth of the streamed transfers, 0 for unlimited
+     * @throws IOException        A general class of exceptions produced by failed or interrupted I/O operations.
+     * @throws SQLException       An exception that provides information on a database access error or other errors.
+     * @throws AuthorizeException Exception indicating the current user of the context does not have permission
+     *                            to perform a particular action.
+     */
+    public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
+                        Integer batchCommitSize, int threads, long maxBytesPerSecond)
+        throws IOException, SQLException, AuthorizeException;
+
 
     /**
      * Gets the last modified timestamp of the the given bitstream's content, if known.
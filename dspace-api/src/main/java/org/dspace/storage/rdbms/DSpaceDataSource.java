@@ -0,0 +1,198 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.rdbms;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.DelegatingConnection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.DSpaceMetrics;
+
+/**
+ * The pool of the database connections of DSpace: a DBCP2 {@link BasicDataSource} recording the use of its
+ * connections (see {@link DSpaceMetrics}):
+ * <ul>
+ *     <li>{@code dspace.db.connections.wait}: the time spent waiting for a connection of the pool, by outcome (an
+ *     error when no connection was available within the maximum wait)</li>
+ *     <li>{@code dspace.db.connections.usage}: the time a connection is held, from its borrowing to its return to
+ *     the pool</li>
+ *     <li>{@code dspace.db.connections.active}, {@code dspace.db.connections.idle},
+ *     {@code dspace.db.connections.max} and {@code dspace.db.connections.pending}: the connections in use, the idle
+ *     connections, the maximum number of connections, and the threads waiting for a connection</li>
+ *     <li>{@code dspace.db.connections.leaks}: the connections held longer than the leak detection threshold</li>
+ * </ul>
+ * The gauges are registered by {@link #registerMetrics()}, and removed when the pool is closed, so that they always
+ * sample the pool in use.
+ * <p>
+ * When a leak detection threshold is set, a connection held longer than the threshold is logged, with the stack trace
+ * of the code which borrowed it, and its return to the pool is logged too.
+ */
+public class DSpaceDataSource extends BasicDataSource {
+
+    private static final Logger log = LogManager.getLogger(DSpaceDataSource.class);
+
+    private final Timer waitTimer = DSpaceMetrics.timer("db.connections.wait", "Wait for a database connection",
+                                                        DSpaceMetrics.OUTCOME, DSpaceMetrics.SUCCESS);
+    private final Timer waitErrorTimer = DSpaceMetrics.timer("db.connections.wait", "Wait for a database connection",
+                                                             DSpaceMetrics.OUTCOME, DSpaceMetrics.ERROR);
+    private final Timer usageTimer = DSpaceMetrics.timer("db.connections.usage",
+                                                         "Use of a database connection, from borrowing to return");
+    private final Counter leakCounter = DSpaceMetrics.counter("db.connections.leaks",
+                                                              "Database connections held beyond the leak threshold");
+
+    private long leakDetectionThreshold = 0;
+    private ScheduledThreadPoolExecutor leakDetector;
+
+    /**
+     * The gauges sampling this pool, removed from the registry when it is closed
+     */
+    private final List<Gauge> gauges = new ArrayList<>();
+
+    /**
+     * Register the gauges sampling this pool. A gauge is bound to the first pool registering it: the pool in use
+     * registers them once configured, and a pool closed removes its gauges for the next one.
+     */
+    public synchronized void registerMetrics() {
+        if (!gauges.isEmpty()) {
+            return;
+        }
+        gauges.add(DSpaceMetrics.gauge("db.connections.active", "Database connections in use", this,
+                                       DSpaceDataSource::getNumActive));
+        gauges.add(DSpaceMetrics.gauge("db.connections.idle", "Idle database connections", this,
+                                       DSpaceDataSource::getNumIdle));
+        gauges.add(DSpaceMetrics.gauge("db.connections.max", "Maximum number of database connections", this,
+                                       DSpaceDataSource::getMaxTotal));
+        gauges.add(DSpaceMetrics.gauge("db.connections.pending", "Threads waiting for a database connection", this,
+                                       DSpaceDataSource::getNumWaiters));
+    }
+
+    /**
+     * @return the number of threads waiting for a connection of the pool
+     */
+    public int getNumWaiters() {
+        GenericObjectPool<?> pool = getConnectionPool();
+        return pool != null ? pool.getNumWaiters() : 0;
+    }
+
+    /**
+     * @return the time in milliseconds after which a connection not returned to the pool is logged as a possible
+     * leak, 0 if the leaks are not detected
+     */
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    /**
+     * @param leakDetectionThreshold the time in milliseconds after which a connection not returned to the pool is
+     *                               logged as a possible leak, 0 not to detect the leaks
+     */
+    public synchronized void setLeakDetectionThreshold(long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        if (leakDetectionThreshold > 0 && leakDetector == null) {
+            leakDetector = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "dspace-db-leak-detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            leakDetector.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection;
+        try {
+            connection = super.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            waitErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        long borrowed = System.nanoTime();
+        waitTimer.record(borrowed - start, TimeUnit.NANOSECONDS);
+        return new TrackedConnection(connection, borrowed);
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        for (Gauge gauge : gauges) {
+            DSpaceMetrics.getRegistry().remove(gauge);
+        }
+        gauges.clear();
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+            leakDetector = null;
+        }
+        super.close();
+    }
+
+    /**
+     * Connection of the pool recording the time it is held, and reporting it as a possible leak when held longer
+     * than the leak detection threshold.
+     */
+    private class TrackedConnection extends DelegatingConnection<Connection> {
+        private final long borrowed;
+        private final ScheduledFuture<?> leakReport;
+        private volatile boolean leaked = false;
+
+        TrackedConnection(Connection connection, long borrowed) {
+            super(connection);
+            // the state is held by the connection of the pool
+            setCacheState(false);
+            this.borrowed = borrowed;
+            ScheduledThreadPoolExecutor detector = leakDetector;
+            if (detector != null) {
+                Exception borrowTrace = new Exception("Database connection borrowed by thread "
+                                                          + Thread.currentThread().getName());
+                leakReport = detector.schedule(() -> reportLeak(borrowTrace), leakDetectionThreshold,
+                                               TimeUnit.MILLISECONDS);
+            } else {
+                leakReport = null;
+            }
+        }
+
+        private void reportLeak(Exception borrowTrace) {
+            leaked = true;
+            leakCounter.increment();
+            log.warn("A database connection has been held for more than {} ms, it may have leaked",
+                     leakDetectionThreshold, borrowTrace);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (isClosedInternal()) {
+                return;
+            }
+            try {
+                super.close();
+            } finally {
+                long held = System.nanoTime() - borrowed;
+                usageTimer.record(held, TimeUnit.NANOSECONDS);
+                if (leakReport != null) {
+                    leakReport.cancel(false);
+                }
+                if (leaked) {
+                    log.info("The database connection reported as possibly leaked was returned after {} ms",
+                             TimeUnit.NANOSECONDS.toMillis(held));
+                }
+            }
+        }
+    }
+}
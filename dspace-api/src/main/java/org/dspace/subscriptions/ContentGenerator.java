@@ -25,6 +25,7 @@ import org.dspace.content.crosswalk.StreamDisseminationCrosswalk;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.core.Email;
+import org.dspace.core.EmailBatch;
 import org.dspace.core.I18nUtil;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.eperson.EPerson;
@@ -51,6 +52,14 @@ public class ContentGenerator implements SubscriptionGenerator<IndexableObject>
     public void notifyForSubscriptions(Context context, EPerson ePerson,
                                        List<IndexableObject> indexableComm,
                                        List<IndexableObject> indexableColl) {
+        notifyForSubscriptions(context, ePerson, indexableComm, indexableColl, null);
+    }
+
+    @Override
+    public void notifyForSubscriptions(Context context, EPerson ePerson,
+                                       List<IndexableObject> indexableComm,
+                                       List<IndexableObject> indexableColl,
+                                       EmailBatch batch) {
         try {
             if (Objects.nonNull(ePerson)) {
                 Locale supportedLocale = I18nUtil.getEPersonLocale(ePerson);
@@ -66,7 +75,7 @@ public class ContentGenerator implements SubscriptionGenerator<IndexableObject>
                 }
                 email.addArgument(bodyCommunities);
                 email.addArgument(bodyCollections);
-                email.send();
+                email.send(batch);
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -0,0 +1,133 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.subscriptions;
+
+import static org.dspace.core.Constants.READ;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.subscriptions.service.DSpaceObjectUpdates;
+
+/**
+ * The updates of the subscribed objects of a run of the subscriptions, shared by all the subscribers of the run.
+ * <p>
+ * The updates of each subscribed object are searched once, whatever its number of subscribers, and the READ
+ * authorization of the subscribed objects and of their updated items is decided once per authorization profile: the
+ * subscribers members of the same groups, and without any policy granted to them personally, are authorized alike,
+ * so the decisions taken for the first of them apply to the others. A subscriber with personal policies has a
+ * profile of its own.
+ */
+class SubscriptionDigest {
+
+    private final Context context;
+    private final String frequency;
+    private final AuthorizeService authorizeService;
+    private final GroupService groupService;
+    private final ResourcePolicyService resourcePolicyService;
+
+    /**
+     * The updates of the subscribed objects, by object ID
+     */
+    @SuppressWarnings("rawtypes")
+    private final Map<UUID, List<IndexableObject>> updates = new HashMap<>();
+
+    /**
+     * The authorization profiles of the subscribers, by subscriber ID
+     */
+    private final Map<UUID, Object> profiles = new HashMap<>();
+
+    /**
+     * The READ authorization decisions, by authorization profile and object ID
+     */
+    private final Map<Object, Map<UUID, Boolean>> decisions = new HashMap<>();
+
+    SubscriptionDigest(Context context, String frequency, AuthorizeService authorizeService,
+                       GroupService groupService, ResourcePolicyService resourcePolicyService) {
+        this.context = context;
+        this.frequency = frequency;
+        this.authorizeService = authorizeService;
+        this.groupService = groupService;
+        this.resourcePolicyService = resourcePolicyService;
+    }
+
+    /**
+     * Return the updated items of a subscribed object that a subscriber can read.
+     *
+     * @param ePerson       the subscriber
+     * @param dSpaceObject  the subscribed object
+     * @param objectUpdates the search of the updates of the type of the subscribed object
+     * @return the updated items readable by the subscriber, empty if the subscriber cannot read the subscribed object
+     */
+    @SuppressWarnings("rawtypes")
+    List<IndexableObject> getReadableUpdates(EPerson ePerson, DSpaceObject dSpaceObject,
+                                             DSpaceObjectUpdates objectUpdates)
+        throws SQLException, SearchServiceException {
+        Map<UUID, Boolean> profileDecisions = decisions.computeIfAbsent(getProfile(ePerson), p -> new HashMap<>());
+        if (!canRead(profileDecisions, ePerson, dSpaceObject)) {
+            return Collections.emptyList();
+        }
+        List<IndexableObject> items = updates.get(dSpaceObject.getID());
+        if (items == null) {
+            items = objectUpdates.findUpdates(context, dSpaceObject, frequency);
+            updates.put(dSpaceObject.getID(), items);
+        }
+        List<IndexableObject> readableItems = new ArrayList<>(items.size());
+        for (IndexableObject indexableItem : items) {
+            if (canRead(profileDecisions, ePerson, (Item) indexableItem.getIndexedObject())) {
+                readableItems.add(indexableItem);
+            }
+        }
+        return readableItems;
+    }
+
+    private boolean canRead(Map<UUID, Boolean> profileDecisions, EPerson ePerson, DSpaceObject dSpaceObject)
+        throws SQLException {
+        Boolean canRead = profileDecisions.get(dSpaceObject.getID());
+        if (canRead == null) {
+            canRead = authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject, READ, true);
+            profileDecisions.put(dSpaceObject.getID(), canRead);
+        }
+        return canRead;
+    }
+
+    /**
+     * @return the authorization profile of a subscriber: the IDs of all its groups, or its own ID if some policies
+     * are granted to it personally
+     */
+    private Object getProfile(EPerson ePerson) throws SQLException {
+        Object profile = profiles.get(ePerson.getID());
+        if (profile == null) {
+            if (resourcePolicyService.countByEPerson(context, ePerson) > 0) {
+                profile = ePerson.getID();
+            } else {
+                Set<Group> groups = groupService.allMemberGroupsSet(context, ePerson);
+                profile = groups.stream().map(Group::getID).collect(Collectors.toSet());
+            }
+            profiles.put(ePerson.getID(), profile);
+        }
+        return profile;
+    }
+}
@@ -9,7 +9,6 @@ package org.dspace.subscriptions;
 
 import static org.dspace.core.Constants.COLLECTION;
 import static org.dspace.core.Constants.COMMUNITY;
-import static org.dspace.core.Constants.READ;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -23,14 +22,16 @@ import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
-import org.dspace.content.Item;
 import org.dspace.core.Context;
+import org.dspace.core.EmailBatch;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Subscription;
+import org.dspace.eperson.service.GroupService;
 import org.dspace.eperson.service.SubscribeService;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
@@ -55,6 +56,10 @@ public class SubscriptionEmailNotificationServiceImpl implements SubscriptionEma
     private AuthorizeService authorizeService;
     @Autowired
     private SubscribeService subscribeService;
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private ResourcePolicyService resourcePolicyService;
 
     @SuppressWarnings("rawtypes")
     public SubscriptionEmailNotificationServiceImpl(Map<String, DSpaceObjectUpdates> contentUpdates,
@@ -67,55 +72,39 @@ public class SubscriptionEmailNotificationServiceImpl implements SubscriptionEma
     public void perform(Context context, DSpaceRunnableHandler handler, String subscriptionType, String frequency) {
         List<IndexableObject> communityItems = new ArrayList<>();
         List<IndexableObject> collectionsItems = new ArrayList<>();
-        try {
+        // the digests of the run share one connection to the mail server
+        try (EmailBatch batch = new EmailBatch()) {
             List<Subscription> subscriptions =
                                findAllSubscriptionsBySubscriptionTypeAndFrequency(context, subscriptionType, frequency);
             // Here is verified if SubscriptionType is "content" Or "statistics" as them are configured
             if (subscriptionType2generators.keySet().contains(subscriptionType)) {
-                // the list of the person who has subscribed
-                int iterator = 0;
-                for (Subscription subscription : subscriptions) {
+                // the updates of a subscribed object are shared by its subscribers
+                SubscriptionDigest digest = new SubscriptionDigest(context, frequency, authorizeService,
+                                                                   groupService, resourcePolicyService);
+                for (int i = 0; i < subscriptions.size(); i++) {
+                    Subscription subscription = subscriptions.get(i);
                     DSpaceObject dSpaceObject = subscription.getDSpaceObject();
                     EPerson ePerson = subscription.getEPerson();
 
-                    if (!authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject, READ, true)) {
-                        iterator++;
-                        continue;
-                    }
-
                     if (dSpaceObject.getType() == COMMUNITY) {
-                        List<IndexableObject> indexableCommunityItems = contentUpdates
-                                .get(Community.class.getSimpleName().toLowerCase())
-                                .findUpdates(context, dSpaceObject, frequency);
-                        communityItems.addAll(getItems(context, ePerson, indexableCommunityItems));
+                        communityItems.addAll(digest.getReadableUpdates(ePerson, dSpaceObject, contentUpdates
+                                .get(Community.class.getSimpleName().toLowerCase())));
                     } else if (dSpaceObject.getType() == COLLECTION) {
-                        List<IndexableObject> indexableCollectionItems = contentUpdates
-                                .get(Collection.class.getSimpleName().toLowerCase())
-                                .findUpdates(context, dSpaceObject, frequency);
-                        collectionsItems.addAll(getItems(context, ePerson, indexableCollectionItems));
+                        collectionsItems.addAll(digest.getReadableUpdates(ePerson, dSpaceObject, contentUpdates
+                                .get(Collection.class.getSimpleName().toLowerCase())));
                     } else {
                         log.warn("found an invalid DSpace Object type ({}) among subscriptions to send",
                                  dSpaceObject.getType());
-                        continue;
                     }
 
-                    if (iterator < subscriptions.size() - 1) {
-                        // as the subscriptions are ordered by eperson id, so we send them by ePerson
-                        if (ePerson.equals(subscriptions.get(iterator + 1).getEPerson())) {
-                            iterator++;
-                            continue;
-                        } else {
-                            subscriptionType2generators.get(subscriptionType)
-                                      .notifyForSubscriptions(context, ePerson, communityItems, collectionsItems);
-                            communityItems.clear();
-                            collectionsItems.clear();
-                        }
-                    } else {
-                        //in the end of the iteration
+                    // as the subscriptions are ordered by eperson id, the digest of an eperson is sent after its
+                    // last subscription
+                    if (i == subscriptions.size() - 1 || !ePerson.equals(subscriptions.get(i + 1).getEPerson())) {
                         subscriptionType2generators.get(subscriptionType)
-                                        .notifyForSubscriptions(context, ePerson, communityItems, collectionsItems);
+                                  .notifyForSubscriptions(context, ePerson, communityItems, collectionsItems, batch);
+                        communityItems.clear();
+                        collectionsItems.clear();
                     }
-                    iterator++;
                 }
             } else {
                 throw new IllegalArgumentException("Currently this SubscriptionType:" + subscriptionType +
@@ -128,19 +117,6 @@ public class SubscriptionEmailNotificationServiceImpl implements SubscriptionEma
         }
     }
 
-    @SuppressWarnings("rawtypes")
-    private List<IndexableObject> getItems(Context context, EPerson ePerson, List<IndexableObject> indexableItems)
-            throws SQLException {
-        List<IndexableObject> items = new ArrayList<IndexableObject>();
-        for (IndexableObject indexableitem : indexableItems) {
-            Item item = (Item) indexableitem.getIndexedObject();
-            if (authorizeService.authorizeActionBoolean(context, ePerson, item, READ, true)) {
-                items.add(indexableitem);
-            }
-        }
-        return items;
-    }
-
     /**
      * Return all Subscriptions by subscriptionType and frequency ordered by ePerson ID
      * if there are none it returns an empty list
@@ -10,6 +10,7 @@ package org.dspace.subscriptions.service;
 import java.util.List;
 
 import org.dspace.core.Context;
+import org.dspace.core.EmailBatch;
 import org.dspace.eperson.EPerson;
 
 /**
@@ -22,4 +23,19 @@ public interface SubscriptionGenerator<T> {
 
     public void notifyForSubscriptions(Context c, EPerson ePerson, List<T> comm, List<T> coll);
 
+    /**
+     * Send the notification of an ePerson as part of a batch of emails sent in bulk. By default, the notification is
+     * sent on its own.
+     *
+     * @param c       the DSpace context
+     * @param ePerson the subscribed ePerson
+     * @param comm    the updated objects of the subscribed communities
+     * @param coll    the updated objects of the subscribed collections
+     * @param batch   the batch of emails of the run
+     */
+    public default void notifyForSubscriptions(Context c, EPerson ePerson, List<T> comm, List<T> coll,
+                                               EmailBatch batch) {
+        notifyForSubscriptions(c, ePerson, comm, coll);
+    }
+
 }
\ No newline at end of file
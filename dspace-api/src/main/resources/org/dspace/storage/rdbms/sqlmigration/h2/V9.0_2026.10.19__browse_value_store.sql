@@ -0,0 +1,38 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Creates the tables of the browse value store: the distinct values of the
+-- metadata browse indexes with the number of publicly visible items carrying them
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE IF NOT EXISTS browse_value_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE browse_value (
+  browse_value_id INTEGER NOT NULL,
+  index_name VARCHAR2(64) NOT NULL,
+  value_hash VARCHAR2(64) NOT NULL,
+  sort_value VARCHAR2(256) NOT NULL,
+  value CLOB NOT NULL,
+  authority VARCHAR2(256),
+  item_count INTEGER NOT NULL,
+  CONSTRAINT pk_browse_value PRIMARY KEY (browse_value_id)
+);
+
+CREATE UNIQUE INDEX browse_value_hash_idx ON browse_value (index_name, value_hash);
+CREATE INDEX browse_value_sort_idx ON browse_value (index_name, sort_value, browse_value_id);
+
+CREATE TABLE browse_value2item (
+  browse_value_id INTEGER NOT NULL,
+  item_id UUID NOT NULL,
+  CONSTRAINT pk_browse_value2item PRIMARY KEY (browse_value_id, item_id),
+  CONSTRAINT fk_browse_value2item_value FOREIGN KEY (browse_value_id)
+    REFERENCES browse_value (browse_value_id) ON DELETE CASCADE
+);
+
+CREATE INDEX browse_value2item_item_idx ON browse_value2item (item_id);
@@ -0,0 +1,31 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Creates the table of the database curation task queue (DBTaskQueue): the queued
+-- curation task entries, claimed by the consumers in priority order
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE IF NOT EXISTS curation_queue_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE curation_queue (
+  curation_queue_id INTEGER NOT NULL,
+  queue_name VARCHAR2(64) NOT NULL,
+  eperson_id VARCHAR2(256),
+  submit_time BIGINT NOT NULL,
+  tasks VARCHAR2(1024) NOT NULL,
+  object_id VARCHAR2(256) NOT NULL,
+  priority INTEGER NOT NULL,
+  visible_time TIMESTAMP NOT NULL,
+  claimed_by VARCHAR2(64),
+  attempts INTEGER NOT NULL,
+  CONSTRAINT pk_curation_queue PRIMARY KEY (curation_queue_id)
+);
+
+CREATE INDEX curation_queue_claim_idx ON curation_queue (queue_name, priority DESC, curation_queue_id);
+CREATE INDEX curation_queue_claimed_by_idx ON curation_queue (claimed_by);
@@ -0,0 +1,27 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Creates the table recording the progress of the assetstore migration, so that
+-- an interrupted migration can be resumed
+-----------------------------------------------------------------------------------
+
+CREATE TABLE bitstream_migration (
+  bitstream_id UUID NOT NULL,
+  source_store INTEGER NOT NULL,
+  destination_store INTEGER NOT NULL,
+  status VARCHAR(16) NOT NULL,
+  attempts INTEGER NOT NULL,
+  last_error TEXT,
+  last_modified TIMESTAMP,
+  CONSTRAINT pk_bitstream_migration PRIMARY KEY (bitstream_id),
+  CONSTRAINT fk_bitstream_migration_bitstream FOREIGN KEY (bitstream_id)
+    REFERENCES bitstream (uuid) ON DELETE CASCADE
+);
+
+CREATE INDEX bitstream_migration_status_idx ON bitstream_migration (source_store, destination_store, status);
@@ -0,0 +1,27 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Creates the table of the objects of the deduplicating assetstores, addressed by
+-- the SHA-256 hash of their content and counting the bitstreams referencing them
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE IF NOT EXISTS bitstream_content_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE bitstream_content (
+  bitstream_content_id INTEGER NOT NULL,
+  store_number INTEGER NOT NULL,
+  content_hash VARCHAR(64) NOT NULL,
+  internal_id VARCHAR(256) NOT NULL,
+  size_bytes BIGINT NOT NULL,
+  ref_count INTEGER NOT NULL,
+  CONSTRAINT pk_bitstream_content PRIMARY KEY (bitstream_content_id)
+);
+
+CREATE UNIQUE INDEX bitstream_content_hash_idx ON bitstream_content (store_number, content_hash);
+CREATE UNIQUE INDEX bitstream_content_internal_id_idx ON bitstream_content (store_number, internal_id);
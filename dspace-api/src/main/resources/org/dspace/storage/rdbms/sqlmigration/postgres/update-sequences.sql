@@ -20,8 +20,11 @@
 -- SQL data dump from a backup or somesuch.
 
 SELECT setval('alert_id_seq', max(alert_id)) FROM systemwidealert;
+SELECT setval('bitstream_content_seq', max(bitstream_content_id)) FROM bitstream_content;
 SELECT setval('bitstreamformatregistry_seq', max(bitstream_format_id)) FROM bitstreamformatregistry;
+SELECT setval('browse_value_seq', max(browse_value_id)) FROM browse_value;
 SELECT setval('checksum_history_check_id_seq', max(check_id)) FROM checksum_history;
+SELECT setval('curation_queue_seq', max(curation_queue_id)) FROM curation_queue;
 SELECT setval('cwf_claimtask_seq', max(claimtask_id)) FROM cwf_claimtask;
 SELECT setval('cwf_collectionrole_seq', max(collectionrole_id)) FROM cwf_collectionrole;
 SELECT setval('cwf_in_progress_user_seq', max(in_progress_user_id)) FROM cwf_in_progress_user;
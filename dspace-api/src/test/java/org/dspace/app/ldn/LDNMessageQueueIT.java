@@ -0,0 +1,255 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.ldn;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.ldn.dao.LDNMessageDao;
+import org.dspace.app.ldn.factory.NotifyServiceFactory;
+import org.dspace.app.ldn.model.Notification;
+import org.dspace.app.ldn.processor.LDNProcessor;
+import org.dspace.app.ldn.service.LDNMessageService;
+import org.dspace.builder.LDNMessageBuilder;
+import org.dspace.builder.NotifyServiceBuilder;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests of the processing of the queue of the LDN messages: the claims of the messages by concurrent
+ * processes, the backoff of the failed messages and the worker pool.
+ */
+public class LDNMessageQueueIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final LDNMessageService ldnMessageService = NotifyServiceFactory.getInstance().getLDNMessageService();
+
+    private final LDNMessageDao ldnMessageDao = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(LDNMessageDao.class).get(0);
+
+    private final LDNProcessor processor = mock(LDNProcessor.class);
+
+    private Object originalRouter;
+
+    private NotifyServiceEntity origin;
+
+    /**
+     * The IDs of the messages of the processed notifications, one entry per processing
+     */
+    private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUpRouter() throws Exception {
+        context.turnOffAuthorisationSystem();
+        origin = NotifyServiceBuilder.createNotifyServiceBuilder(context, "Origin")
+                                     .withLdnUrl("https://origin.example.org/inbox").isEnabled(true).build();
+        context.restoreAuthSystemState();
+
+        LDNRouter router = mock(LDNRouter.class);
+        when(router.route(any())).thenReturn(processor);
+        originalRouter = ReflectionTestUtils.getField(ldnMessageService, "ldnRouter");
+        ReflectionTestUtils.setField(ldnMessageService, "ldnRouter", router);
+    }
+
+    @After
+    public void resetRouter() {
+        ReflectionTestUtils.setField(ldnMessageService, "ldnRouter", originalRouter);
+    }
+
+    @Test
+    public void concurrentClaimsNeverGetTheSameMessageTest() throws Exception {
+        List<String> ids = createQueuedMessages(6);
+
+        Context first = new Context();
+        Context second = new Context();
+        try {
+            // the rows locked by the first claim are skipped by the second one, which does not wait for them
+            List<String> firstClaim = claim(first, 3);
+            List<String> secondClaim = claim(second, 10);
+
+            assertThat(firstClaim, hasSize(3));
+            Set<String> overlap = new HashSet<>(firstClaim);
+            overlap.retainAll(secondClaim);
+            assertThat(overlap, empty());
+            List<String> all = new ArrayList<>(firstClaim);
+            all.addAll(secondClaim);
+            assertThat(all.stream().filter(ids::contains).collect(Collectors.toList()),
+                       containsInAnyOrder(ids.toArray()));
+        } finally {
+            first.abort();
+            second.abort();
+        }
+    }
+
+    @Test
+    public void concurrentProcessesProcessEachMessageOnceTest() throws Exception {
+        configurationService.setProperty("ldn.processor.batch.size", 2);
+        List<String> ids = createQueuedMessages(10);
+        recordProcessing();
+
+        ExecutorService processes = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> counts = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                counts.add(processes.submit(() -> {
+                    Context processContext = new Context();
+                    try {
+                        return ldnMessageService.extractAndProcessMessageFromQueue(processContext);
+                    } finally {
+                        processContext.complete();
+                    }
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> count : counts) {
+                total += count.get();
+            }
+            assertThat(total, is(ids.size()));
+        } finally {
+            processes.shutdownNow();
+        }
+        assertThat(processed, containsInAnyOrder(ids.toArray()));
+    }
+
+    @Test
+    public void failedMessagesBackOffUntilTheLastAttemptTest() throws Exception {
+        configurationService.setProperty("ldn.processor.max.attempts", 3);
+        configurationService.setProperty("ldn.processor.retry.delay", 60);
+        String id = createQueuedMessages(1).get(0);
+        doAnswer(invocation -> {
+            throw new IllegalStateException("Unavailable");
+        }).when(processor).process(any(), any());
+
+        // the first failure is retried after the retry delay
+        assertThat(ldnMessageService.extractAndProcessMessageFromQueue(context), is(0));
+        LDNMessageEntity message = reload(id);
+        assertThat(message.getQueueStatus(), is(LDNMessageEntity.QUEUE_STATUS_QUEUED));
+        assertThat(message.getQueueAttempts(), is(1));
+        assertDelay(message, 60);
+
+        // it is not processed again before its delay is over
+        assertThat(ldnMessageService.extractAndProcessMessageFromQueue(context), is(0));
+        assertThat(reload(id).getQueueAttempts(), is(1));
+
+        // the delay doubles with the second failure
+        expireDelay(id);
+        ldnMessageService.extractAndProcessMessageFromQueue(context);
+        message = reload(id);
+        assertThat(message.getQueueStatus(), is(LDNMessageEntity.QUEUE_STATUS_QUEUED));
+        assertThat(message.getQueueAttempts(), is(2));
+        assertDelay(message, 120);
+
+        // the last attempt fails the message for good
+        expireDelay(id);
+        ldnMessageService.extractAndProcessMessageFromQueue(context);
+        message = reload(id);
+        assertThat(message.getQueueStatus(), is(LDNMessageEntity.QUEUE_STATUS_FAILED));
+        assertThat(message.getQueueAttempts(), is(3));
+
+        expireDelay(id);
+        ldnMessageService.extractAndProcessMessageFromQueue(context);
+        assertThat(reload(id).getQueueAttempts(), is(3));
+    }
+
+    @Test
+    public void workerPoolDrainsTheQueueTest() throws Exception {
+        configurationService.setProperty("ldn.processor.workers", 4);
+        configurationService.setProperty("ldn.processor.batch.size", 3);
+        List<String> ids = createQueuedMessages(10);
+        recordProcessing();
+
+        assertThat(ldnMessageService.extractAndProcessMessageFromQueue(context), is(ids.size()));
+
+        assertThat(processed, containsInAnyOrder(ids.toArray()));
+        for (String id : ids) {
+            assertThat(reload(id).getQueueStatus(), is(LDNMessageEntity.QUEUE_STATUS_PROCESSED));
+        }
+    }
+
+    /**
+     * @return the IDs of new messages, ready to be processed
+     */
+    private List<String> createQueuedMessages(int count) throws Exception {
+        List<String> ids = new ArrayList<>();
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < count; i++) {
+            String id = "urn:uuid:" + UUID.randomUUID();
+            LDNMessageEntity message = LDNMessageBuilder.createNotifyServiceBuilder(context, id).build();
+            message.setMessage("{\"id\":\"" + id + "\"}");
+            message.setOrigin(origin);
+            message.setQueueStatus(LDNMessageEntity.QUEUE_STATUS_QUEUED);
+            message.setQueueAttempts(0);
+            message.setQueueTimeout(Instant.now().minusSeconds(60));
+            ldnMessageService.update(context, message);
+            ids.add(id);
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+        return ids;
+    }
+
+    private void recordProcessing() throws Exception {
+        doAnswer(invocation -> {
+            processed.add(((Notification) invocation.getArgument(1)).getId());
+            return null;
+        }).when(processor).process(any(), any());
+    }
+
+    private List<String> claim(Context claimContext, int limit) throws Exception {
+        return ldnMessageDao.findAndLockMessagesToProcess(claimContext, 5, limit).stream()
+                            .map(LDNMessageEntity::getID).collect(Collectors.toList());
+    }
+
+    private LDNMessageEntity reload(String id) throws Exception {
+        context.uncacheEntities();
+        return ldnMessageService.find(context, id);
+    }
+
+    private void expireDelay(String id) throws Exception {
+        LDNMessageEntity message = reload(id);
+        message.setQueueTimeout(Instant.now().minusSeconds(1));
+        ldnMessageService.update(context, message);
+        context.commit();
+    }
+
+    private void assertDelay(LDNMessageEntity message, long seconds) {
+        long delay = Duration.between(Instant.now(), message.getQueueTimeout()).getSeconds();
+        assertThat(delay, greaterThan(seconds - 10));
+        assertThat(delay, lessThan(seconds + 1));
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.browse.service.BrowseValueService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.VersionBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Constants;
+import org.dspace.event.Event;
+import org.dspace.versioning.Version;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests of the items whose browse values are updated by the {@link BrowseValueConsumer}, given the
+ * events of the changes of an item, of its policies, collections and versions.
+ */
+public class BrowseValueConsumerIT extends AbstractIntegrationTestWithDatabase {
+
+    private final BrowseValueService browseValueService = mock(BrowseValueService.class);
+
+    private BrowseValueConsumer consumer;
+
+    private Item item;
+
+    @Before
+    public void setUpConsumer() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").withAuthor("Smith, John").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        consumer = new BrowseValueConsumer();
+        consumer.initialize();
+        ReflectionTestUtils.setField(consumer, "browseValueService", browseValueService);
+        when(browseValueService.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    public void policyChangeUpdatesTheItemTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        AuthorizeServiceFactory.getInstance().getResourcePolicyService()
+                               .removePolicies(context, item, Constants.READ);
+        context.restoreAuthSystemState();
+
+        consumeEvents();
+
+        verify(browseValueService).update(any(), itemWithId(item));
+    }
+
+    @Test
+    public void mappingToACollectionUpdatesTheItemTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Collection other = CollectionBuilder.createCollection(context, parentCommunity).withName("Other").build();
+        context.commit();
+        ContentServiceFactory.getInstance().getCollectionService().addItem(context, other, item);
+        context.restoreAuthSystemState();
+
+        consumeEvents();
+
+        verify(browseValueService).update(any(), itemWithId(item));
+    }
+
+    @Test
+    public void installedVersionUpdatesThePreviousVersionTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Version version = VersionBuilder.createVersion(context, item, "New version").build();
+        context.commit();
+        Item newVersion = version.getItem();
+        ContentServiceFactory.getInstance().getInstallItemService().installItem(context,
+            ContentServiceFactory.getInstance().getWorkspaceItemService().findByItem(context, newVersion));
+        context.restoreAuthSystemState();
+
+        consumeEvents();
+
+        verify(browseValueService).update(any(), itemWithId(newVersion));
+        // the previous version is not the latest anymore
+        verify(browseValueService).update(any(), itemWithId(item));
+    }
+
+    @Test
+    public void deletedItemIsDeletedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        ContentServiceFactory.getInstance().getItemService().delete(context, item);
+        context.restoreAuthSystemState();
+
+        consumeEvents();
+
+        verify(browseValueService).delete(any(), eq(item.getID()));
+        verify(browseValueService, never()).update(any(), any());
+    }
+
+    @Test
+    public void disabledStoreIsNotUpdatedTest() throws Exception {
+        when(browseValueService.isEnabled()).thenReturn(false);
+        context.turnOffAuthorisationSystem();
+        AuthorizeServiceFactory.getInstance().getResourcePolicyService()
+                               .removePolicies(context, item, Constants.READ);
+        context.restoreAuthSystemState();
+
+        consumeEvents();
+
+        verify(browseValueService, never()).update(any(), any());
+        verify(browseValueService, never()).delete(any(), any());
+    }
+
+    private static Item itemWithId(Item item) {
+        return argThat(updated -> updated != null && item.getID().equals(updated.getID()));
+    }
+
+    /**
+     * Pass the events of the current transaction which match the filters of the consumer in dspace.cfg to the
+     * consumer, as the dispatcher does, then end it
+     */
+    private void consumeEvents() throws Exception {
+        List<Event> events = context.getEvents() != null ? new ArrayList<>(context.getEvents()) : List.of();
+        for (Event event : events) {
+            if (event.getSubjectType() == Constants.ITEM || event.getSubjectType() == Constants.COLLECTION
+                && (event.getEventType() == Event.ADD || event.getEventType() == Event.REMOVE)) {
+                consumer.consume(context, event);
+            }
+        }
+        consumer.end(context);
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.browse.dao.BrowseValueDAO;
+import org.dspace.browse.service.BrowseValueService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.sort.OrderFormat;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the {@link BrowseValueService}
+ */
+public class BrowseValueServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final BrowseValueService browseValueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(BrowseValueService.class.getName(), BrowseValueService.class);
+
+    private final BrowseValueDAO browseValueDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(BrowseValueDAO.class).get(0);
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private String authorIndex;
+
+    private Item smith;
+
+    @Before
+    public void setUpItems() throws Exception {
+        authorIndex = BrowseIndex.getBrowseIndex("author").getDistinctTableName();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        smith = ItemBuilder.createItem(context, collection).withTitle("Item 1")
+                           .withAuthor("Smith, John").withAuthor("Adams, Anne").build();
+        ItemBuilder.createItem(context, collection).withTitle("Item 2")
+                   .withAuthor("Adams, Anne").withAuthor("Brown, Bob").build();
+        ItemBuilder.createItem(context, collection).withTitle("Withdrawn item")
+                   .withAuthor("Withdrawn, Walter").withdrawn().build();
+        ItemBuilder.createItem(context, collection).withTitle("Undiscoverable item")
+                   .withAuthor("Hidden, Harriet").makeUnDiscoverable().build();
+
+        browseValueService.rebuild(context);
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void rebuildCountsOnlyVisibleItemsTest() throws Exception {
+        assertThat(browseValueService.countValues(context, authorIndex, null), is(3));
+
+        List<BrowseValue> values = browseValueService.findValues(context, authorIndex, null, true, 0, 10);
+        assertThat(getValues(values), contains("Adams, Anne", "Brown, Bob", "Smith, John"));
+        assertThat(values.get(0).getItemCount(), is(2));
+        assertThat(values.get(1).getItemCount(), is(1));
+    }
+
+    @Test
+    public void findValuesPagingAndPrefixTest() throws Exception {
+        assertThat(getValues(browseValueService.findValues(context, authorIndex, null, false, 1, 1)),
+                   contains("Brown, Bob"));
+
+        String prefix = OrderFormat.makeSortString("b", null, OrderFormat.TEXT);
+        assertThat(browseValueService.countValues(context, authorIndex, prefix), is(1));
+        assertThat(getValues(browseValueService.findValues(context, authorIndex, prefix, true, 0, 10)),
+                   contains("Brown, Bob"));
+    }
+
+    @Test
+    public void countValuesBeforeTest() throws Exception {
+        assertThat(browseValueService.countValuesBefore(context, authorIndex,
+            OrderFormat.makeSortString("Brown", null, OrderFormat.TEXT)), is(1));
+        assertThat(browseValueService.countValuesBefore(context, authorIndex,
+            OrderFormat.makeSortString("Smith, John", null, OrderFormat.TEXT)), is(2));
+        assertThat(browseValueService.countValuesBefore(context, authorIndex,
+            OrderFormat.makeSortString("Zz", null, OrderFormat.TEXT)), is(3));
+    }
+
+    @Test
+    public void findValuesFromTest() throws Exception {
+        String brown = OrderFormat.makeSortString("Brown", null, OrderFormat.TEXT);
+        // the same page as at the offset of the sort value
+        assertThat(getValues(browseValueService.findValuesFrom(context, authorIndex, null, true, brown, 10)),
+                   contains("Brown, Bob", "Smith, John"));
+        assertThat(getValues(browseValueService.findValuesFrom(context, authorIndex, null, false, brown, 10)),
+                   contains("Adams, Anne"));
+
+        String bob = OrderFormat.makeSortString("Brown, Bob", null, OrderFormat.TEXT);
+        int offset = browseValueService.countValuesBefore(context, authorIndex, bob);
+        List<String> page = getValues(browseValueService.findValuesFrom(context, authorIndex, null, true, bob, 1));
+        assertThat(page, contains("Brown, Bob"));
+        assertThat(page, is(getValues(browseValueService.findValues(context, authorIndex, null, true, offset, 1))));
+    }
+
+    @Test
+    public void createIfAbsentKeepsASingleValueTest() throws Exception {
+        BrowseValue adams = browseValueService.findValues(context, authorIndex, null, true, 0, 1).get(0);
+
+        // as if another transaction had created the value since it was looked up
+        Integer id = browseValueDAO.createIfAbsent(context, new BrowseValue(adams.getIndexName(),
+            adams.getValueHash(), adams.getSortValue(), adams.getValue(), adams.getAuthority()));
+        assertThat(id, is(adams.getID()));
+
+        // the duplicate insert did not fail the transaction
+        List<BrowseValue> values = browseValueService.findValues(context, authorIndex, null, true, 0, 10);
+        assertThat(getValues(values), contains("Adams, Anne", "Brown, Bob", "Smith, John"));
+        assertThat(values.get(0).getItemCount(), is(2));
+        context.commit();
+    }
+
+    @Test
+    public void updateAndDeleteTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        itemService.clearMetadata(context, smith, "dc", "contributor", "author", Item.ANY);
+        itemService.addMetadata(context, smith, "dc", "contributor", "author", null, "Brown, Bob");
+        itemService.update(context, smith);
+        browseValueService.update(context, smith);
+        context.restoreAuthSystemState();
+
+        List<BrowseValue> values = browseValueService.findValues(context, authorIndex, null, true, 0, 10);
+        assertThat(getValues(values), contains("Adams, Anne", "Brown, Bob"));
+        assertThat(values.get(0).getItemCount(), is(1));
+        assertThat(values.get(1).getItemCount(), is(2));
+
+        browseValueService.delete(context, smith.getID());
+        values = browseValueService.findValues(context, authorIndex, null, true, 0, 10);
+        assertThat(getValues(values), contains("Adams, Anne", "Brown, Bob"));
+        assertThat(values.get(1).getItemCount(), is(1));
+    }
+
+    private List<String> getValues(List<BrowseValue> values) {
+        return values.stream().map(BrowseValue::getValue).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.browse.service.BrowseValueService;
+import org.dspace.core.Context;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.DiscoverResult;
+import org.dspace.discovery.SearchService;
+import org.dspace.eperson.EPerson;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the distinct value browses of the {@link SolrBrowseDAO}, read from the browse value store for anonymous
+ * users across the whole repository and from a Solr facet otherwise.
+ */
+public class SolrBrowseDAOTest extends AbstractDSpaceTest {
+
+    private static final String INDEX = "bi_2_dis";
+
+    private final Context context = mock(Context.class);
+    private final BrowseValueService browseValueService = mock(BrowseValueService.class);
+    private final SearchService searchService = mock(SearchService.class);
+
+    private SolrBrowseDAO dao;
+
+    @Before
+    public void setUpDAO() throws Exception {
+        dao = new SolrBrowseDAO(context);
+        dao.browseValueService = browseValueService;
+        dao.searcher = searchService;
+        dao.setDistinct(true);
+        dao.setTable(INDEX);
+        dao.setLimit(2);
+        dao.setOffset(0);
+        when(browseValueService.isEnabled()).thenReturn(true);
+
+        // the Solr facet of the authenticated browses
+        DiscoverResult facet = new DiscoverResult();
+        facet.setTotalEntries(1);
+        facet.addFacetResult(INDEX, new DiscoverResult.FacetResult(null, "Solr, Sam", null, "solr, sam", 1, null));
+        when(searchService.search(any(Context.class), any(DiscoverQuery.class))).thenReturn(facet);
+    }
+
+    @Test
+    public void testAnonymousBrowseReadsTheStore() throws Exception {
+        when(browseValueService.countValues(context, INDEX, null)).thenReturn(3);
+        when(browseValueService.findValues(context, INDEX, null, true, 0, 2)).thenReturn(List.of(
+            new BrowseValue(INDEX, "a", "adams, anne", "Adams, Anne", null),
+            new BrowseValue(INDEX, "b", "brown, bob", "Brown, Bob", "authority-b")));
+
+        List<String[]> values = dao.doValueQuery();
+
+        assertEquals(2, values.size());
+        assertArrayEquals(new String[] {"Adams, Anne", null, ""}, values.get(0));
+        assertArrayEquals(new String[] {"Brown, Bob", "authority-b", ""}, values.get(1));
+        assertEquals(3, dao.doCountQuery());
+        verify(searchService, never()).search(any(Context.class), any(DiscoverQuery.class));
+    }
+
+    @Test
+    public void testJumpToReadsTheStoreFromTheSortValue() throws Exception {
+        when(browseValueService.countValuesBefore(context, INDEX, "smith")).thenReturn(5);
+        when(browseValueService.findValuesFrom(context, INDEX, null, true, "smith", 2)).thenReturn(List.of(
+            new BrowseValue(INDEX, "s", "smith, john", "Smith, John", null)));
+
+        int offset = dao.doDistinctOffsetQuery("author", "smith", true);
+        dao.setOffset(offset);
+        List<String[]> values = dao.doValueQuery();
+
+        assertEquals(5, offset);
+        assertEquals("Smith, John", values.get(0)[0]);
+        // the values before the sort value are not skipped
+        verify(browseValueService, never()).findValues(any(), anyString(), any(), anyBoolean(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testAuthenticatedBrowseReadsSolr() throws Exception {
+        when(context.getCurrentUser()).thenReturn(mock(EPerson.class));
+
+        List<String[]> values = dao.doValueQuery();
+
+        assertEquals(1, values.size());
+        assertEquals("Solr, Sam", values.get(0)[0]);
+        verify(browseValueService, never()).findValues(any(), anyString(), any(), anyBoolean(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testDisabledStoreReadsSolr() throws Exception {
+        when(browseValueService.isEnabled()).thenReturn(false);
+
+        List<String[]> values = dao.doValueQuery();
+
+        assertEquals("Solr, Sam", values.get(0)[0]);
+        verify(browseValueService, never()).countValues(any(), anyString(), any());
+        verify(searchService).search(eq(context), any(DiscoverQuery.class));
+    }
+}
@@ -8,7 +8,9 @@
 package org.dspace.content.authority;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.io.IOException;
 
@@ -228,6 +230,62 @@ public class DSpaceControlledVocabularyTest extends AbstractDSpaceTest {
         assertEquals("Algerien", result.label);
     }
 
+    /**
+     * Test of getMatches method of class DSpaceControlledVocabulary with a hierarchical text and paging.
+     * @throws java.lang.ClassNotFoundException passed through.
+     */
+    @Test
+    public void testGetMatchesHierarchyAndPaging() throws ClassNotFoundException {
+        final String PLUGIN_INTERFACE = "org.dspace.content.authority.ChoiceAuthority";
+
+        DSpaceControlledVocabulary instance = (DSpaceControlledVocabulary)
+            CoreServiceFactory.getInstance().getPluginService().getNamedPlugin(Class.forName(PLUGIN_INTERFACE), "farm");
+        assertNotNull(instance);
+
+        // each part of the text matches a level of the hierarchy, ignoring the case
+        Choices result = instance.getMatches("FARM::south", 0, 10, null);
+        assertEquals(1, result.total);
+        assertEquals("s40", result.values[0].authority);
+        assertEquals("south 40", result.values[0].value);
+
+        // both fields match "40", the second page holds the second one
+        result = instance.getMatches("40", 1, 1, null);
+        assertEquals(2, result.total);
+        assertEquals(1, result.values.length);
+        assertEquals("south 40", result.values[0].value);
+        assertFalse(result.more);
+
+        assertEquals(0, instance.getMatches("the farm::north::south", 0, 10, null).total);
+    }
+
+    /**
+     * Test of getChoicesByParent and getParentChoice methods of class DSpaceControlledVocabulary.
+     * @throws java.lang.ClassNotFoundException passed through.
+     */
+    @Test
+    public void testGetChoicesByParent() throws ClassNotFoundException {
+        final String PLUGIN_INTERFACE = "org.dspace.content.authority.ChoiceAuthority";
+
+        DSpaceControlledVocabulary instance = (DSpaceControlledVocabulary)
+            CoreServiceFactory.getInstance().getPluginService().getNamedPlugin(Class.forName(PLUGIN_INTERFACE),
+                "countries");
+        assertNotNull(instance);
+
+        Choices result = instance.getChoicesByParent("countries", "Africa", 0, 10, null);
+        assertEquals(1, result.total);
+        assertEquals("DZA", result.values[0].authority);
+        assertEquals("false", result.values[0].extras.get("hasChildren"));
+
+        Choices topChoices = instance.getTopChoices("countries", 0, 10, null);
+        assertEquals("Africa", topChoices.values[0].authority);
+        assertEquals("true", topChoices.values[0].extras.get("hasChildren"));
+
+        assertEquals("Africa", instance.getParentChoice("countries", "DZA", null).authority);
+        // the root node is not a choice
+        assertNull(instance.getParentChoice("countries", "Africa", null));
+        assertNull(instance.getChoice("unknown", null));
+    }
+
     /**
      * Test of getBestMatch method, of class DSpaceControlledVocabulary.
      */
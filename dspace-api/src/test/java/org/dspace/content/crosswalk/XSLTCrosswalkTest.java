@@ -0,0 +1,75 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.crosswalk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.transform.Transformer;
+
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.transform.JDOMResult;
+import org.jdom2.transform.JDOMSource;
+import org.junit.Test;
+
+/**
+ * Tests of the transformers of the XSLT crosswalks used concurrently, as by the workers of the DOI organiser.
+ */
+public class XSLTCrosswalkTest extends AbstractDSpaceTest {
+
+    private static final Namespace DATACITE = Namespace.getNamespace("http://datacite.org/schema/kernel-4");
+
+    @Test
+    public void testConcurrentTransformers() throws Exception {
+        XSLTDisseminationCrosswalk crosswalk = (XSLTDisseminationCrosswalk) CoreServiceFactory.getInstance()
+            .getPluginService().getNamedPlugin(DisseminationCrosswalk.class, "DataCite");
+        assertNotNull(crosswalk);
+
+        Set<Transformer> transformers = Collections.newSetFromMap(new IdentityHashMap<>());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String publisher = "Publisher " + i;
+                results.add(executor.submit(() -> {
+                    Transformer transformer = crosswalk.getTransformer("dissemination");
+                    synchronized (transformers) {
+                        transformers.add(transformer);
+                    }
+                    // a parameter set on a transformer shared with the other threads could be overwritten
+                    transformer.setParameter("publisher", publisher);
+                    Element dim = new Element("dim", XSLTCrosswalk.DIM_NS).setAttribute("dspaceType", "ITEM");
+                    JDOMResult result = new JDOMResult();
+                    transformer.transform(new JDOMSource(new Document(dim)), result);
+                    assertEquals(publisher, result.getDocument().getRootElement()
+                                                  .getChildText("publisher", DATACITE));
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // each call got a transformer of its own
+        assertEquals(200, transformers.size());
+    }
+}
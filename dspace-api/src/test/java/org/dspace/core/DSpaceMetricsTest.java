@@ -0,0 +1,156 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.util.NamedList;
+import org.dspace.AbstractUnitTest;
+import org.dspace.discovery.MeteredSolrClient;
+import org.dspace.event.BasicDispatcher;
+import org.dspace.event.Consumer;
+import org.dspace.event.ConsumerProfile;
+import org.dspace.event.Event;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the names and tags of the meters recorded through {@link DSpaceMetrics}, in a {@link SimpleMeterRegistry}
+ * attached to the global registry.
+ */
+public class DSpaceMetricsTest extends AbstractUnitTest {
+
+    private SimpleMeterRegistry registry;
+
+    @Before
+    public void addRegistry() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @After
+    public void removeRegistry() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    public void testMetersArePrefixed() {
+        DSpaceMetrics.timer("test.timer", "Test timer", "key", "value").record(() -> { });
+        DSpaceMetrics.counter("test.counter", "Test counter", "key", "value").increment(2);
+        DSpaceMetrics.summary("test.summary", "Test summary", "bytes", "key", "value").record(10);
+        AtomicInteger value = new AtomicInteger(3);
+        DSpaceMetrics.gauge("test.gauge", "Test gauge", value, AtomicInteger::get, "key", "value");
+
+        assertEquals(1, registry.get("dspace.test.timer").tag("key", "value").timer().count());
+        assertEquals(2, registry.get("dspace.test.counter").tag("key", "value").counter().count(), 0);
+        assertEquals("Test counter", registry.get("dspace.test.counter").counter().getId().getDescription());
+        assertEquals(10, registry.get("dspace.test.summary").tag("key", "value").summary().totalAmount(), 0);
+        assertEquals("bytes", registry.get("dspace.test.summary").summary().getId().getBaseUnit());
+        assertEquals(3, registry.get("dspace.test.gauge").tag("key", "value").gauge().value(), 0);
+    }
+
+    @Test
+    public void testSolrRequestTimer() throws Exception {
+        SolrClient solr = mock(SolrClient.class);
+        when(solr.request(any(), any())).thenReturn(new NamedList<>());
+        MeteredSolrClient client = new MeteredSolrClient(solr, "search");
+
+        client.query(new SolrQuery("*:*"));
+
+        assertEquals(1, registry.get("dspace.solr.requests")
+                                .tags("core", "search", "path", "/select", DSpaceMetrics.OUTCOME, DSpaceMetrics.SUCCESS)
+                                .timer().count());
+
+        when(solr.request(any(), any())).thenThrow(new SolrServerException("Solr is down"));
+        try {
+            client.query(new SolrQuery("*:*"));
+            fail("The failure of the request should be thrown");
+        } catch (SolrServerException e) {
+            // expected
+        }
+
+        assertEquals(1, registry.get("dspace.solr.requests")
+                                .tags("core", "search", "path", "/select", DSpaceMetrics.OUTCOME, DSpaceMetrics.ERROR)
+                                .timer().count());
+    }
+
+    @Test
+    public void testContextTimers() throws Exception {
+        Context completed = new Context();
+        completed.complete();
+        Context aborted = new Context();
+        aborted.abort();
+
+        assertEquals(2, registry.get("dspace.context.open").timer().count());
+        assertEquals(1, registry.get("dspace.context.commit").timer().count());
+        assertEquals(1, registry.get("dspace.context.abort").timer().count());
+        assertEquals(2, registry.get("dspace.context.lifetime").timer().count());
+        assertEquals("entities", registry.get("dspace.context.entities").summary().getId().getBaseUnit());
+        assertNotNull(registry.get("dspace.context.leaks").counter());
+    }
+
+    @Test
+    public void testEventConsumerTimer() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("event.consumer.metricstest.class", FailingConsumer.class.getName());
+        configurationService.setProperty("event.consumer.metricstest.filters", "All+All");
+        BasicDispatcher dispatcher = new BasicDispatcher("metricstest");
+        dispatcher.addConsumerProfile(ConsumerProfile.makeConsumerProfile("metricstest"));
+
+        context.addEvent(new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), null));
+        dispatcher.dispatch(context);
+
+        assertEquals(1, registry.get("dspace.event.consumer")
+                                .tags("consumer", "metricstest", "phase", "consume",
+                                      DSpaceMetrics.OUTCOME, DSpaceMetrics.ERROR)
+                                .timer().count());
+        assertEquals(1, registry.get("dspace.event.consumer")
+                                .tags("consumer", "metricstest", "phase", "end",
+                                      DSpaceMetrics.OUTCOME, DSpaceMetrics.SUCCESS)
+                                .timer().count());
+    }
+
+    /**
+     * Consumer failing on every event
+     */
+    public static class FailingConsumer implements Consumer {
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) {
+            throw new IllegalStateException("Cannot consume " + event);
+        }
+
+        @Override
+        public void end(Context ctx) {
+        }
+
+        @Override
+        public void finish(Context ctx) {
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.services.ConfigurationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the mail outbox, without background sender.
+ */
+public class MailOutboxServiceImplTest extends AbstractDSpaceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ConfigurationService config;
+    private MailOutboxServiceImpl outbox;
+    private File directory;
+
+    @Before
+    public void setUpOutbox() throws Exception {
+        config = kernelImpl.getConfigurationService();
+        directory = folder.newFolder("outbox");
+        config.setProperty("mail.outbox.enabled", false);
+        config.setProperty("mail.outbox.dir", directory.getAbsolutePath());
+        outbox = (MailOutboxServiceImpl) CoreServiceFactory.getInstance().getMailOutboxService();
+    }
+
+    @After
+    public void tearDownOutbox() {
+        config.setProperty("mail.outbox.dir", null);
+        config.setProperty("mail.outbox.retry.max-attempts", null);
+    }
+
+    @Test
+    public void testDeliver() throws Exception {
+        outbox.enqueue(message());
+        assertEquals(1, outbox.getQueueSize());
+
+        MailTransport transport = mock(MailTransport.class);
+        doNothing().when(transport).send(any(), any());
+        outbox.deliver(transport, queued().get(0));
+        assertEquals(0, outbox.getQueueSize());
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        config.setProperty("mail.outbox.retry.max-attempts", 2);
+        outbox.enqueue(message());
+
+        MailTransport transport = mock(MailTransport.class);
+        doThrow(new MessagingException("Connection refused")).when(transport).send(any(), any());
+        long before = System.currentTimeMillis();
+        outbox.deliver(transport, queued().get(0));
+
+        // attempted again later
+        List<Path> files = queued();
+        assertEquals(1, files.size());
+        String[] parts = files.get(0).getFileName().toString().split("-", 3);
+        assertTrue(Long.parseLong(parts[0]) > before);
+        assertEquals("1", parts[1]);
+
+        // until the maximum number of attempts
+        outbox.deliver(transport, files.get(0));
+        assertEquals(0, outbox.getQueueSize());
+        assertEquals(1, failed());
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+        outbox.enqueue(message());
+
+        MailTransport transport = mock(MailTransport.class);
+        doThrow(new SendFailedException("Rejected", null, new Address[0], new Address[0],
+                                        new Address[] {new InternetAddress("nobody@example.com")}))
+            .when(transport).send(any(), any());
+        outbox.deliver(transport, queued().get(0));
+
+        assertEquals(0, outbox.getQueueSize());
+        assertEquals(1, failed());
+    }
+
+    @Test
+    public void testRetryOnlyUnsentRecipients() throws Exception {
+        MimeMessage queued = message();
+        queued.addRecipient(Message.RecipientType.CC, new InternetAddress("somebody@example.com"));
+        queued.addRecipient(Message.RecipientType.CC, new InternetAddress("anybody@example.com"));
+        queued.saveChanges();
+        outbox.enqueue(queued);
+
+        MailTransport transport = mock(MailTransport.class);
+        Address[] unsent = {new InternetAddress("somebody@example.com")};
+        doThrow(new SendFailedException("Partly rejected", null,
+                                        new Address[] {new InternetAddress("anybody@example.com")}, unsent,
+                                        new Address[] {new InternetAddress("nobody@example.com")}))
+            .when(transport).send(any(), any());
+        outbox.deliver(transport, queued().get(0));
+        assertEquals(1, outbox.getQueueSize());
+        assertEquals(0, failed());
+
+        // attempted again for the recipient not rejected to which the message was not sent, without the header
+        MailTransport retry = mock(MailTransport.class);
+        doNothing().when(retry).send(any(), any());
+        outbox.deliver(retry, queued().get(0));
+        verify(retry).send(argThat(message -> {
+            try {
+                return message.getHeader("X-DSpace-Outbox-Recipients") == null
+                    && message.getAllRecipients().length == 3;
+            } catch (MessagingException e) {
+                return false;
+            }
+        }), eq(unsent));
+        assertEquals(0, outbox.getQueueSize());
+    }
+
+    @Test
+    public void testUnexpectedFile() throws Exception {
+        Path stray = Files.writeString(directory.toPath().resolve("stray.eml"), "Not queued by the outbox");
+
+        MailTransport transport = mock(MailTransport.class);
+        outbox.deliver(transport, stray);
+
+        assertEquals(0, outbox.getQueueSize());
+        assertEquals(1, failed());
+        verify(transport, never()).send(any(), any());
+    }
+
+    private MimeMessage message() throws MessagingException {
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        message.setFrom(new InternetAddress("dspace@example.com"));
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress("nobody@example.com"));
+        message.setSubject("Outbox test");
+        message.setText("Queued");
+        message.saveChanges();
+        return message;
+    }
+
+    private long failed() throws Exception {
+        try (Stream<Path> files = Files.list(directory.toPath().resolve("failed"))) {
+            return files.count();
+        }
+    }
+
+    private List<Path> queued() throws Exception {
+        try (Stream<Path> files = Files.list(directory.toPath())) {
+            return files.filter(file -> file.toString().endsWith(".eml")).sorted().collect(Collectors.toList());
+        }
+    }
+}
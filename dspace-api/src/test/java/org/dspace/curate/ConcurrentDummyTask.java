@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+
+/**
+ * Makes no model changes, but records the items it performs on, and the
+ * Contexts it performs in, for inspection. The result of each performance
+ * names its item, and the performances on the failing items fail.
+ */
+@Concurrent
+public class ConcurrentDummyTask
+    extends AbstractCurationTask {
+    /**
+     * Number of performances on each item.
+     */
+    static final Map<UUID, Integer> performances = new ConcurrentHashMap<>();
+
+    /**
+     * Contexts of the performances, by thread name.
+     */
+    static final Map<String, Integer> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * Items on which the performances fail.
+     */
+    static final Set<UUID> failing = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public int perform(DSpaceObject dso)
+            throws IOException {
+        if (dso instanceof Item) {
+            performances.merge(dso.getID(), 1, Integer::sum);
+            try {
+                contexts.put(Thread.currentThread().getName(),
+                    System.identityHashCode(Curator.curationContext()));
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+            report(dso.getID() + "\n");
+            setResult("Result of " + dso.getID());
+            if (failing.contains(dso.getID())) {
+                return Curator.CURATE_FAIL;
+            }
+        }
+        return Curator.CURATE_SUCCESS;
+    }
+}
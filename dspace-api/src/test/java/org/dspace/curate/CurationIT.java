@@ -7,17 +7,31 @@
  */
 package org.dspace.curate;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 import org.apache.commons.cli.ParseException;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.configuration.ScriptConfiguration;
 import org.dspace.scripts.factory.ScriptServiceFactory;
 import org.dspace.scripts.service.ScriptService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Test;
 
 public class CurationIT extends AbstractIntegrationTestWithDatabase {
@@ -75,4 +89,92 @@ public class CurationIT extends AbstractIntegrationTestWithDatabase {
             }
         }
     }
+
+    @Test
+    public void concurrentCurationTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .build();
+        Community subCommunity = CommunityBuilder.createSubCommunity(context, community)
+                                                 .build();
+        Set<UUID> items = new HashSet<>();
+        for (Community parent : new Community[] {community, subCommunity}) {
+            Collection collection = CollectionBuilder.createCollection(context, parent)
+                                                     .build();
+            for (int i = 0; i < 10; i++) {
+                items.add(ItemBuilder.createItem(context, collection)
+                                     .withTitle("Item " + i)
+                                     .build().getID());
+            }
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+        DSpaceServicesFactory.getInstance().getConfigurationService().setProperty(
+            "plugin.named.org.dspace.curate.CurationTask", ConcurrentDummyTask.class.getName() + " = concurrent");
+        ConcurrentDummyTask.performances.clear();
+        ConcurrentDummyTask.contexts.clear();
+        ConcurrentDummyTask.failing.clear();
+
+        StringBuilder report = new StringBuilder();
+        Curator curator = new Curator()
+            .setThreads(3)
+            .setReporter(report)
+            .addTask("concurrent");
+        curator.curate(context, community);
+
+        assertEquals(Curator.CURATE_SUCCESS, curator.getStatus("concurrent"));
+        // each item is curated once, by the threads of the curator, in their own contexts
+        assertEquals(items, ConcurrentDummyTask.performances.keySet());
+        assertEquals(Set.of(1), new HashSet<>(ConcurrentDummyTask.performances.values()));
+        assertEquals(20, report.toString().split("\n").length);
+        ConcurrentDummyTask.contexts.forEach((thread, ctx) -> {
+            assertNotEquals(Thread.currentThread().getName(), thread);
+            assertNotEquals(System.identityHashCode(context), (int) ctx);
+        });
+    }
+
+    @Test
+    public void concurrentCurationStatusTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .build();
+        Map<String, Item> items = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            Item item = ItemBuilder.createItem(context, collection)
+                                   .withTitle("Item " + i)
+                                   .build();
+            items.put(item.getHandle(), item);
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+        DSpaceServicesFactory.getInstance().getConfigurationService().setProperty(
+            "plugin.named.org.dspace.curate.CurationTask", ConcurrentDummyTask.class.getName() + " = concurrent");
+        ConcurrentDummyTask.performances.clear();
+        ConcurrentDummyTask.contexts.clear();
+        ConcurrentDummyTask.failing.clear();
+        Item failingItem = items.values().iterator().next();
+        ConcurrentDummyTask.failing.add(failingItem.getID());
+
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+        Curator curator = new Curator(handler)
+            .setThreads(4)
+            .addTask("concurrent");
+        curator.curate(context, collection);
+
+        // the failure of one item is the status of the curation, whatever the order of the performances
+        assertEquals(Curator.CURATE_FAIL, curator.getStatus("concurrent"));
+        // each performance is logged with its own status and result
+        for (Map.Entry<String, Item> item : items.entrySet()) {
+            int status = item.getValue().equals(failingItem) ? Curator.CURATE_FAIL : Curator.CURATE_SUCCESS;
+            String message = "Curation task: concurrent performed on: " + item.getKey() + " with status: " + status
+                + ". Result: 'Result of " + item.getValue().getID() + "'";
+            assertTrue(message, handler.getInfoMessages().contains(message));
+        }
+    }
 }
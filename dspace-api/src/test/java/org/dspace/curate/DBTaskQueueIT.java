@@ -0,0 +1,85 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DBTaskQueueIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    @Before
+    public void setUpQueue() {
+        configurationService.setProperty("curate.taskqueue.db.claim-size", 2);
+        configurationService.setProperty("curate.taskqueue.db.visibility-timeout", 3600);
+    }
+
+    @Test
+    public void dequeueClaimsEntriesByPriority() throws Exception {
+        DBTaskQueue queue = new DBTaskQueue();
+        queue.enqueue("priorities", Set.of(entry("low")), 0);
+        queue.enqueue("priorities", Set.of(entry("high")), 10);
+        queue.enqueue("priorities", Set.of(entry("medium")), 5);
+        assertTrue(List.of(queue.queueNames()).contains("priorities"));
+
+        // the two entries of higher priority are claimed, the other consumer gets the last one
+        assertEquals(List.of("high", "medium"), objectIds(queue.dequeue("priorities", 1L)));
+        DBTaskQueue otherQueue = new DBTaskQueue();
+        assertEquals(List.of("low"), objectIds(otherQueue.dequeue("priorities", 1L)));
+        assertEquals(List.of(), objectIds(otherQueue.dequeue("priorities", 2L)));
+
+        queue.release("priorities", 1L, true);
+        otherQueue.release("priorities", 1L, true);
+        assertArrayEquals(new String[0], queue.queueNames());
+    }
+
+    @Test
+    public void releasedAndExpiredEntriesAreClaimedAgain() throws Exception {
+        DBTaskQueue queue = new DBTaskQueue();
+        queue.enqueue("retries", entry("first"));
+
+        // released without removal, the entry is visible again
+        assertEquals(List.of("first"), objectIds(queue.dequeue("retries", 1L)));
+        queue.release("retries", 1L, false);
+        assertEquals(List.of("first"), objectIds(queue.dequeue("retries", 2L)));
+
+        // once its visibility timeout expired, the entry is claimed by another consumer, and the release of the
+        // first claim does not remove it anymore
+        configurationService.setProperty("curate.taskqueue.db.visibility-timeout", 0);
+        queue.release("retries", 2L, false);
+        assertEquals(List.of("first"), objectIds(queue.dequeue("retries", 3L)));
+        DBTaskQueue otherQueue = new DBTaskQueue();
+        assertEquals(List.of("first"), objectIds(otherQueue.dequeue("retries", 3L)));
+        queue.release("retries", 3L, true);
+        // the entry claimed by the other consumer is still queued
+        assertEquals(List.of("retries"), List.of(queue.queueNames()));
+        otherQueue.release("retries", 3L, true);
+        assertArrayEquals(new String[0], queue.queueNames());
+    }
+
+    private TaskQueueEntry entry(String objectId) {
+        return new TaskQueueEntry("test@example.org", System.currentTimeMillis(), List.of("noop"), objectId);
+    }
+
+    private List<String> objectIds(Set<TaskQueueEntry> entries) {
+        return entries.stream().map(TaskQueueEntry::getObjectId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.dspace.app.client.DSpaceHttpClientFactory;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ListRecordsPages} of a harvest, downloaded from a mock OAI-PMH server.
+ */
+public class ListRecordsPagesTest {
+
+    private static final Namespace OAI_NS = Namespace.getNamespace("http://www.openarchives.org/OAI/2.0/");
+
+    private MockWebServer server;
+    private CloseableHttpClient httpClient;
+    private String baseURL;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        httpClient = new DSpaceHttpClientFactory().buildWithoutProxy();
+        baseURL = server.url("/oai/request").toString();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        httpClient.close();
+        server.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void followsTheResumptionTokens() throws Exception {
+        server.enqueue(xml(listRecords(records("oai:test:1", "oai:test:2"),
+            "<resumptionToken completeListSize=\"3\" cursor=\"0\">page-2</resumptionToken>")));
+        server.enqueue(xml(listRecords(records("oai:test:3"),
+                                       "<resumptionToken completeListSize=\"3\" cursor=\"2\"/>")));
+
+        List<String> identifiers = new ArrayList<>();
+        try (ListRecordsPages pages = new ListRecordsPages(httpClient, baseURL,
+            ListRecordsPage.requestURL(baseURL, null, "2026-10-19", "col_1", "oai_dc"))) {
+            ListRecordsPage first = pages.next();
+            assertThat(first.getErrors().isEmpty(), is(true));
+            assertThat(first.getRecordCount(), is(2));
+            assertThat(first.getCompleteListSize(), is(3L));
+            assertThat(first.getResumptionToken(), is("page-2"));
+
+            RecordedRequest firstRequest = server.takeRequest();
+            assertThat(firstRequest.getPath(),
+                       is("/oai/request?verb=ListRecords&until=2026-10-19&set=col_1&metadataPrefix=oai_dc"));
+            // the second page is requested before the records of the first one are read
+            RecordedRequest secondRequest = server.takeRequest(5, TimeUnit.SECONDS);
+            assertThat(secondRequest.getPath(), is("/oai/request?verb=ListRecords&resumptionToken=page-2"));
+            addIdentifiers(first, identifiers);
+
+            ListRecordsPage second = pages.next();
+            assertThat(second.getRecordCount(), is(1));
+            assertThat(second.getResumptionToken(), nullValue());
+            addIdentifiers(second, identifiers);
+
+            assertThat(pages.next(), nullValue());
+        }
+
+        assertThat(identifiers, contains("oai:test:1", "oai:test:2", "oai:test:3"));
+        assertThat(server.getRequestCount(), is(2));
+    }
+
+    @Test(timeout = 10000)
+    public void retriesAnUnavailableServer() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "1"));
+        server.enqueue(xml(listRecords(records("oai:test:1"), "")));
+
+        try (ListRecordsPages pages = new ListRecordsPages(httpClient, baseURL,
+            ListRecordsPage.requestURL(baseURL, "page-1"))) {
+            ListRecordsPage page = pages.next();
+            assertThat(page.getRecordCount(), is(1));
+            assertThat(page.getCompleteListSize(), is(-1L));
+            assertThat(pages.next(), nullValue());
+        }
+        assertThat(server.getRequestCount(), is(2));
+    }
+
+    @Test(timeout = 10000)
+    public void stopsOnAnError() throws Exception {
+        server.enqueue(xml(oaiPMH("<error code=\"noRecordsMatch\">No matching records</error>")));
+
+        try (ListRecordsPages pages = new ListRecordsPages(httpClient, baseURL,
+            ListRecordsPage.requestURL(baseURL, "2026-10-01", null, null, "oai_dc"))) {
+            ListRecordsPage page = pages.next();
+            assertThat(page.getErrors(), contains("noRecordsMatch"));
+            assertThat(page.getRecordCount(), is(0));
+            assertThat(page.records().hasNext(), is(false));
+            assertThat(pages.next(), nullValue());
+        }
+        assertThat(server.getRequestCount(), is(1));
+    }
+
+    @Test(timeout = 10000)
+    public void failedNextPageFailsTheHarvest() throws Exception {
+        server.enqueue(xml(listRecords(records("oai:test:1"),
+                                       "<resumptionToken completeListSize=\"2\">page-2</resumptionToken>")));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        try (ListRecordsPages pages = new ListRecordsPages(httpClient, baseURL,
+            ListRecordsPage.requestURL(baseURL, null, null, null, "oai_dc"))) {
+            assertThat(pages.next().getRecordCount(), is(1));
+            pages.next();
+            fail("The harvest should fail when the next page cannot be downloaded");
+        } catch (HarvestingException e) {
+            assertThat(e.getMessage().contains("HTTP status 500"), is(true));
+        }
+    }
+
+    private static void addIdentifiers(ListRecordsPage page, List<String> identifiers) throws Exception {
+        Iterator<Element> records = page.records();
+        while (records.hasNext()) {
+            Element record = records.next();
+            identifiers.add(record.getChild("header", OAI_NS).getChildText("identifier", OAI_NS));
+            // the metadata of the record is kept
+            assertThat(record.getChild("metadata", OAI_NS).getChildren().size(), is(1));
+        }
+    }
+
+    private static MockResponse xml(String body) {
+        return new MockResponse().setResponseCode(200).addHeader("Content-Type", "text/xml; charset=utf-8")
+                                 .setBody(body);
+    }
+
+    private static String records(String... identifiers) {
+        StringBuilder records = new StringBuilder();
+        for (String identifier : identifiers) {
+            records.append("<record><header><identifier>").append(identifier).append("</identifier>")
+                   .append("<datestamp>2026-10-18</datestamp></header><metadata>")
+                   .append("<oai_dc:dc xmlns:oai_dc=\"http://www.openarchives.org/OAI/2.0/oai_dc/\" ")
+                   .append("xmlns:dc=\"http://purl.org/dc/elements/1.1/\"><dc:title>Title of ")
+                   .append(identifier).append("</dc:title></oai_dc:dc></metadata></record>");
+        }
+        return records.toString();
+    }
+
+    private static String listRecords(String records, String resumptionToken) {
+        return oaiPMH("<ListRecords>" + records + resumptionToken + "</ListRecords>");
+    }
+
+    private static String oaiPMH(String content) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">"
+            + "<responseDate>2026-10-19T00:00:00Z</responseDate>"
+            + "<request verb=\"ListRecords\">http://localhost/oai/request</request>"
+            + content + "</OAI-PMH>";
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.identifier.doi.DOIConnector;
+import org.dspace.identifier.doi.DOIIdentifierException;
+import org.dspace.identifier.doi.DOIOrganiser;
+import org.dspace.identifier.factory.IdentifierServiceFactory;
+import org.dspace.identifier.service.DOIService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the DOI organiser registering DOIs with concurrent workers, against a mocked DOI connector.
+ */
+public class DOIOrganiserIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String PREFIX = "10.5072/dspace-organiser-";
+
+    private final DOIService doiService = IdentifierServiceFactory.getInstance().getDOIService();
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private DOIOrganiser organiser;
+
+    /**
+     * The number of registration attempts, by DOI suffix
+     */
+    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUpOrganiser() throws Exception {
+        configurationService.setProperty("identifier.doi.organiser.batch-size", 2);
+        configurationService.setProperty("identifier.doi.organiser.max-attempts", 3);
+        configurationService.setProperty("identifier.doi.organiser.retry-delay", 0);
+
+        DOIConnector connector = mock(DOIConnector.class);
+        doAnswer(invocation -> {
+            String doi = invocation.getArgument(2);
+            String suffix = doi.substring(doi.lastIndexOf('-') + 1);
+            int attempt = attempts.computeIfAbsent(suffix, s -> new AtomicInteger()).incrementAndGet();
+            switch (suffix) {
+                case "retried":
+                    if (attempt == 1) {
+                        throw new DOIIdentifierException("Too many requests",
+                                                         DOIIdentifierException.TEMPORARILY_UNAVAILABLE);
+                    }
+                    return null;
+                case "unavailable":
+                    throw new DOIIdentifierException("Service unavailable",
+                                                     DOIIdentifierException.TEMPORARILY_UNAVAILABLE);
+                case "invalid":
+                    throw new DOIIdentifierException("Invalid metadata", DOIIdentifierException.CONVERSION_ERROR);
+                case "unreadable":
+                    // as the connector reports the failures of the crosswalk: not a failure of DataCite
+                    throw new RuntimeException(new IOException("Cannot read the crosswalk"));
+                default:
+                    return null;
+            }
+        }).when(connector).registerDOI(any(), any(), anyString());
+
+        DOIIdentifierProvider provider = new DOIIdentifierProvider();
+        provider.doiService = doiService;
+        provider.contentServiceFactory = ContentServiceFactory.getInstance();
+        provider.itemService = ContentServiceFactory.getInstance().getItemService();
+        provider.setConfigurationService(configurationService);
+        provider.setDOIConnector(connector);
+        organiser = new DOIOrganiser(context, provider);
+    }
+
+    @Test
+    public void concurrentRegistrationTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        String[] suffixes = {"first", "second", "third", "retried", "unavailable", "invalid", "unreadable"};
+        for (String suffix : suffixes) {
+            Item item = ItemBuilder.createItem(context, collection).withTitle("Item " + suffix).build();
+            toBeRegistered(item, PREFIX + suffix);
+        }
+        context.restoreAuthSystemState();
+        // the workers process the DOIs in their own contexts
+        context.commit();
+
+        DOIOrganiser.runCLI(context, organiser, new String[] {"-r", "--threads", "3"});
+
+        context.uncacheEntities();
+        // a transient failure is retried, up to the maximum number of attempts
+        assertEquals(2, attempts.get("retried").get());
+        assertEquals(3, attempts.get("unavailable").get());
+        // the other failures are not
+        assertEquals(1, attempts.get("invalid").get());
+        assertEquals(1, attempts.get("unreadable").get());
+        for (String suffix : new String[] {"first", "second", "third"}) {
+            assertEquals(1, attempts.get(suffix).get());
+        }
+        for (String suffix : new String[] {"first", "second", "third", "retried"}) {
+            assertEquals(suffix, DOIIdentifierProvider.IS_REGISTERED, status(suffix));
+        }
+        for (String suffix : new String[] {"unavailable", "invalid", "unreadable"}) {
+            assertEquals(suffix, DOIIdentifierProvider.TO_BE_REGISTERED, status(suffix));
+        }
+    }
+
+    /**
+     * Queue a DOI of an item for registration.
+     */
+    private void toBeRegistered(Item item, String doi) throws Exception {
+        DOI doiRow = doiService.findDOIByDSpaceObject(context, item);
+        if (doiRow == null) {
+            doiRow = doiService.create(context);
+            doiRow.setDSpaceObject(item);
+        }
+        doiRow.setDoi(doi);
+        doiRow.setStatus(DOIIdentifierProvider.TO_BE_REGISTERED);
+        doiService.update(context, doiRow);
+    }
+
+    private Integer status(String suffix) throws Exception {
+        return doiService.findByDoi(context, PREFIX + suffix).getStatus();
+    }
+}
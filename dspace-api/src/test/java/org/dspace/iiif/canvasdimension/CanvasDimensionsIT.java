@@ -13,8 +13,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.regex.Pattern;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.builder.BitstreamBuilder;
@@ -364,7 +367,7 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
                               .enableIIIF()
                               .build();
 
-        // Add jp2 image to verify image server call for dimensions
+        // Add jp2 image (300 x 200) to verify the dimensions are read from the jp2 header
         InputStream input = this.getClass().getResourceAsStream("cat.jp2");
         bitstream = BitstreamBuilder
             .createBitstream(context, iiifItem, input)
@@ -378,6 +381,39 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
 
         execCanvasScript(id);
 
+        assertTrue(bitstream.getMetadata().stream()
+                            .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_HEIGHT))
+                            .anyMatch(m -> m.getValue().contentEquals("400")));
+        assertTrue(bitstream.getMetadata().stream()
+                            .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_WIDTH))
+                            .anyMatch(m -> m.getValue().contentEquals("600")));
+
+    }
+
+    @Test
+    public void processItemWithUnreadableImage() throws Exception {
+        context.turnOffAuthorisationSystem();
+        // Create a new Item
+        iiifItem = ItemBuilder.createItem(context, col1)
+                              .withTitle("Test Item")
+                              .withIssueDate("2017-10-17")
+                              .enableIIIF()
+                              .build();
+
+        // Add an image without a readable header to verify image server call for dimensions
+        InputStream input = IOUtils.toInputStream("not an image", StandardCharsets.UTF_8);
+        bitstream = BitstreamBuilder
+            .createBitstream(context, iiifItem, input)
+            .withName("Bitstream2.jp2")
+            .withMimeType("image/jp2")
+            .build();
+
+        context.restoreAuthSystemState();
+
+        String id = iiifItem.getID().toString();
+
+        execCanvasScript(id);
+
         assertTrue(bitstream.getMetadata().stream()
                             .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_HEIGHT))
                             .anyMatch(m -> m.getValue().contentEquals("64")));
@@ -387,6 +423,52 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
 
     }
 
+    @Test
+    public void processCollectionWithThreads() throws Exception {
+        context.turnOffAuthorisationSystem();
+        // Create two new Items
+        iiifItem = ItemBuilder.createItem(context, col1)
+                              .withTitle("Test Item 1")
+                              .withIssueDate("2017-10-17")
+                              .enableIIIF()
+                              .build();
+        iiifItem2 = ItemBuilder.createItem(context, col1)
+                               .withTitle("Test Item 2")
+                               .withIssueDate("2017-10-17")
+                               .enableIIIF()
+                               .build();
+
+        // Add jpeg and jp2 image bitstreams (300 x 200)
+        InputStream input = this.getClass().getResourceAsStream("cat.jpg");
+        bitstream = BitstreamBuilder
+            .createBitstream(context, iiifItem, input)
+            .withName("Bitstream1.jpg")
+            .withMimeType("image/jpeg")
+            .build();
+        input = this.getClass().getResourceAsStream("cat.jp2");
+        bitstream2 = BitstreamBuilder
+            .createBitstream(context, iiifItem2, input)
+            .withName("Bitstream2.jp2")
+            .withMimeType("image/jp2")
+            .build();
+        context.restoreAuthSystemState();
+
+        String id = col1.getID().toString();
+        execCanvasScriptWithThreads(id);
+
+        for (Bitstream bit : List.of(bitstream, bitstream2)) {
+            Bitstream reloaded = context.reloadEntity(bit);
+            assertTrue(reloaded.getMetadata().stream()
+                               .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_HEIGHT))
+                               .anyMatch(m -> m.getValue().contentEquals("400")));
+            assertTrue(reloaded.getMetadata().stream()
+                               .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_WIDTH))
+                               .anyMatch(m -> m.getValue().contentEquals("600")));
+        }
+        Pattern regex = Pattern.compile(".*2 IIIF items were processed", Pattern.DOTALL);
+        assertTrue(regex.matcher(StringUtils.chomp(outContent.toString())).find());
+    }
+
     @Test
     public void processParentCommunityWithMaximum() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -593,6 +675,10 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
         runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i",  id, "-m", "2", "-f", "-q");
     }
 
+    private void execCanvasScriptWithThreads(String id) throws Exception {
+        runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id, "-t", "2");
+    }
+
     private void execCanvasScriptWithSkipList(String id, String skip) throws Exception {
         runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id, "-s", skip, "-f");
     }
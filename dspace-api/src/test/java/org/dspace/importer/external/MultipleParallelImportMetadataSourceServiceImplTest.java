@@ -0,0 +1,160 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.importer.external;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.importer.external.datamodel.ImportRecord;
+import org.dspace.importer.external.exception.MetadataSourceException;
+import org.dspace.importer.external.metadatamapping.MetadatumDTO;
+import org.dspace.importer.external.service.ExternalLookupCache;
+import org.dspace.importer.external.service.components.QuerySource;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests of the timeouts, circuit breakers and cache of {@link MultipleParallelImportMetadataSourceServiceImpl}
+ */
+public class MultipleParallelImportMetadataSourceServiceImplTest extends AbstractDSpaceTest {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private QuerySource fastProvider;
+    private QuerySource slowProvider;
+    private MultipleParallelImportMetadataSourceServiceImpl parallelSource;
+
+    @Before
+    public void setUpProviders() throws Exception {
+        configurationService.setProperty("live-import.parallel.timeout", 200);
+        configurationService.setProperty("live-import.parallel.circuit-breaker.failures", 2);
+        configurationService.setProperty("live-import.parallel.circuit-breaker.open-time", 60000);
+
+        fastProvider = mock(QuerySource.class);
+        when(fastProvider.getImportSource()).thenReturn("fast");
+        when(fastProvider.getRecordsCount("query")).thenReturn(3);
+
+        slowProvider = mock(QuerySource.class);
+        when(slowProvider.getImportSource()).thenReturn("slow");
+        when(slowProvider.getRecordsCount("query")).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return 5;
+        });
+
+        parallelSource = new MultipleParallelImportMetadataSourceServiceImpl(List.of(fastProvider, slowProvider),
+                                                                             "parallel");
+    }
+
+    @After
+    public void resetConfiguration() {
+        parallelSource.destroy();
+        configurationService.setProperty("live-import.parallel.timeout", null);
+        configurationService.setProperty("live-import.parallel.circuit-breaker.failures", null);
+        configurationService.setProperty("live-import.parallel.circuit-breaker.open-time", null);
+        configurationService.setProperty("live-import.parallel.threads", null);
+    }
+
+    @Test
+    public void partialResultsOnTimeoutTest() throws MetadataSourceException {
+        assertEquals(3, parallelSource.getRecordsCount("query"));
+    }
+
+    @Test
+    public void circuitBreakerSkipsFailingProviderTest() throws MetadataSourceException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(3, parallelSource.getRecordsCount("query"));
+        }
+        // the circuit of the slow provider opens after two timeouts
+        verify(slowProvider, times(2)).getRecordsCount("query");
+        verify(fastProvider, times(3)).getRecordsCount("query");
+    }
+
+    @Test
+    public void cachedLookupsTest() throws MetadataSourceException {
+        ExternalLookupCache lookupCache = new ExternalLookupCache();
+        lookupCache.setCacheManager(new ConcurrentMapCacheManager(ExternalLookupCache.CACHE_NAME));
+        parallelSource.setLookupCache(lookupCache);
+
+        assertEquals(3, parallelSource.getRecordsCount("query"));
+        assertEquals(3, parallelSource.getRecordsCount("query"));
+        verify(fastProvider, times(1)).getRecordsCount("query");
+    }
+
+    @Test
+    public void queuedQueriesAreNotFailuresTest() throws Exception {
+        configurationService.setProperty("live-import.parallel.threads", 1);
+        // a provider which keeps the only thread busy after its timeout
+        when(slowProvider.getRecordsCount("query")).thenAnswer(invocation -> {
+            long end = System.currentTimeMillis() + 1000;
+            while (System.currentTimeMillis() < end) {
+                try {
+                    Thread.sleep(end - System.currentTimeMillis());
+                } catch (InterruptedException e) {
+                    // keep the thread busy
+                }
+            }
+            return 5;
+        });
+        parallelSource.destroy();
+        parallelSource = new MultipleParallelImportMetadataSourceServiceImpl(List.of(slowProvider, fastProvider),
+                                                                             "parallel");
+
+        assertEquals(0, parallelSource.getRecordsCount("query"));
+        // no thread is free for the second query, which times out in the queue
+        assertEquals(0, parallelSource.getRecordsCount("query"));
+
+        verify(slowProvider, times(1)).getRecordsCount("query");
+        assertEquals(1, failures(slowProvider));
+        assertEquals(0, failures(fastProvider));
+    }
+
+    @Test
+    public void cachedLookupsAreCopiesTest() throws MetadataSourceException {
+        ExternalLookupCache lookupCache = new ExternalLookupCache();
+        lookupCache.setCacheManager(new ConcurrentMapCacheManager(ExternalLookupCache.CACHE_NAME));
+        parallelSource.setLookupCache(lookupCache);
+        MetadatumDTO title = new MetadatumDTO();
+        title.setSchema("dc");
+        title.setElement("title");
+        title.setValue("Title");
+        when(fastProvider.getRecords("query", 0, 10)).thenReturn(List.of(new ImportRecord(List.of(title))));
+
+        Collection<ImportRecord> first = parallelSource.getRecords("query", 0, 10);
+        first.iterator().next().addValue(title);
+        Collection<ImportRecord> second = parallelSource.getRecords("query", 0, 10);
+
+        assertEquals(1, second.size());
+        assertEquals(1, second.iterator().next().getValueList().size());
+        verify(fastProvider, times(1)).getRecords("query", 0, 10);
+        // the cached records are given in unmodifiable lists
+        Collection<ImportRecord> cached = lookupCache.get("fast", "getRecords", () -> null,
+                                                          ExternalLookupCache::copyRecords, "query", 0, 10);
+        assertThrows(UnsupportedOperationException.class, () -> cached.add(null));
+    }
+
+    private int failures(QuerySource provider) {
+        Map<?, ?> circuitBreakers = (Map<?, ?>) ReflectionTestUtils.getField(parallelSource, "circuitBreakers");
+        Object circuitBreaker = circuitBreakers.get(provider);
+        return (int) ReflectionTestUtils.getField(circuitBreaker, "failures");
+    }
+}
@@ -93,4 +93,47 @@ public class HttpConnectionPoolServiceTest
             }
         }
     }
+
+    /**
+     * Closing a client must leave the pool open, and the requests must be
+     * counted in the pool statistics.
+     * @throws java.io.IOException if a connection cannot be closed.
+     * @throws java.net.URISyntaxException when an invalid URI is constructed.
+     */
+    @Test
+    public void testSharedPoolStatistics()
+            throws IOException, URISyntaxException {
+        HttpConnectionPoolService instance = new HttpConnectionPoolService("solr");
+        instance.configurationService = configurationService;
+        instance.init();
+
+        final String testPath = "/stats";
+        mockServerClient.when(
+                request()
+                .withPath(testPath)
+        ).respond(
+                response()
+                .withStatusCode(HttpStatus.OK_200)
+        );
+        URI uri = new URIBuilder()
+                .setScheme("http")
+                .setHost("localhost")
+                .setPort(mockServerClient.getPort())
+                .setPath(testPath)
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            try (CloseableHttpClient httpClient = instance.getClient();
+                 CloseableHttpResponse response = httpClient.execute(RequestBuilder.get(uri).build())) {
+                assertEquals("Response status should be OK", HttpStatus.OK_200,
+                        response.getStatusLine().getStatusCode());
+            }
+        }
+
+        String endpoint = "http://localhost:" + mockServerClient.getPort();
+        assertEquals("Both requests should be measured", 2,
+                instance.getEndpointStatistics().get(endpoint).getCount());
+        assertEquals("No connection should stay leased", 0, instance.getTotalStats().getLeased());
+        instance.destroy();
+    }
 }
@@ -0,0 +1,75 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.io.IOUtils;
+import org.dspace.core.DSpaceMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the names and tags of the meters of {@link BitStoreMetrics}, in a {@link SimpleMeterRegistry} attached to
+ * the global registry.
+ */
+public class BitStoreMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private final BitStoreMetrics metrics = new BitStoreMetrics();
+
+    @Before
+    public void addRegistry() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @After
+    public void removeRegistry() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    public void testPut() {
+        metrics.recordPut(1, System.nanoTime(), 100, true);
+        metrics.recordPut(1, System.nanoTime(), 100, false);
+
+        assertEquals(1, registry.get("dspace.bitstore.put")
+                                .tags("store", "1", DSpaceMetrics.OUTCOME, DSpaceMetrics.SUCCESS).timer().count());
+        assertEquals(1, registry.get("dspace.bitstore.put")
+                                .tags("store", "1", DSpaceMetrics.OUTCOME, DSpaceMetrics.ERROR).timer().count());
+        // the size of the failed storage is not recorded
+        assertEquals(100, registry.get("dspace.bitstore.put.bytes").tag("store", "1").summary().totalAmount(), 0);
+        assertEquals("bytes", registry.get("dspace.bitstore.put.bytes").summary().getId().getBaseUnit());
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        try (InputStream in = metrics.recordGet(0, System.nanoTime(), new ByteArrayInputStream(new byte[42]))) {
+            IOUtils.toByteArray(in);
+        }
+        assertNull(metrics.recordGet(0, System.nanoTime(), null));
+
+        assertEquals(1, registry.get("dspace.bitstore.get")
+                                .tags("store", "0", DSpaceMetrics.OUTCOME, DSpaceMetrics.SUCCESS).timer().count());
+        assertEquals(1, registry.get("dspace.bitstore.get")
+                                .tags("store", "0", DSpaceMetrics.OUTCOME, DSpaceMetrics.ERROR).timer().count());
+        // the bytes read are recorded when the stream is closed
+        assertEquals(1, registry.get("dspace.bitstore.get.bytes").tag("store", "0").summary().count());
+        assertEquals(42, registry.get("dspace.bitstore.get.bytes").tag("store", "0").summary().totalAmount(), 0);
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.in;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.bitstore.dao.BitstreamContentDAO;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the cleanup of the deleted bitstreams, expunging their rows as it does by default
+ */
+public class BitstreamCleanupIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final BitstreamStorageService bitstreamStorageService
+        = StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    private final BitstreamContentDAO bitstreamContentDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(BitstreamContentDAO.class).get(0);
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private Item item;
+
+    /**
+     * The internal identifiers of the files removed from the primary store, in the order of their removal
+     */
+    private final List<String> removed = new ArrayList<>();
+
+    private DSBitStoreService store;
+
+    @Before
+    public void setUpItem() throws Exception {
+        configurationService.setProperty("assetstore.deduplicate",
+                                         configurationService.getProperty("assetstore.index.primary"));
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        context.restoreAuthSystemState();
+
+        // record the files removed from the primary store
+        Map<Integer, BitStoreService> stores = ((BitstreamStorageServiceImpl) bitstreamStorageService).getStores();
+        store = (DSBitStoreService) stores.get(configurationService.getIntProperty("assetstore.index.primary"));
+        DSBitStoreService recording = spy(store);
+        doAnswer(invocation -> {
+            List<Bitstream> bitstreams = invocation.getArgument(0);
+            synchronized (removed) {
+                bitstreams.forEach(bitstream -> removed.add(bitstream.getInternalId()));
+            }
+            return invocation.callRealMethod();
+        }).when(recording).removeAll(anyList());
+        stores.put(configurationService.getIntProperty("assetstore.index.primary"), recording);
+    }
+
+    @After
+    public void resetStores() {
+        ((BitstreamStorageServiceImpl) bitstreamStorageService).getStores()
+            .put(configurationService.getIntProperty("assetstore.index.primary"), store);
+        configurationService.setProperty("assetstore.deduplicate", null);
+        configurationService.setProperty("assetstore.cleanup.batch-size", null);
+    }
+
+    @Test
+    public void dryRunLeavesFilesAndRowsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createDeletedBitstream("Dry run file");
+        Bitstream duplicate = createDeletedBitstream("Dry run file");
+        context.restoreAuthSystemState();
+        File file = store.getFile(bitstream);
+        BitstreamContent content = bitstreamContentDAO.findByInternalId(context, bitstream.getStoreNumber(),
+                                                                        bitstream.getInternalId());
+        context.commit();
+
+        bitstreamStorageService.cleanup(true, false, true, 2);
+        context.uncacheEntities();
+
+        assertThat(removed.isEmpty(), is(true));
+        assertThat(file.exists(), is(true));
+        assertThat(bitstreamService.find(context, bitstream.getID()), notNullValue());
+        assertThat(bitstreamService.find(context, duplicate.getID()), notNullValue());
+        assertThat(bitstreamContentDAO.getRefCount(context, content.getID()), is(2));
+    }
+
+    @Test
+    public void pagesOfDeletedBitstreamsAreExpungedOnceTest() throws Exception {
+        configurationService.setProperty("assetstore.cleanup.batch-size", 2);
+
+        context.turnOffAuthorisationSystem();
+        List<Bitstream> deleted = new ArrayList<>();
+        for (String content : List.of("First file", "Second file", "Third file", "Shared file", "Shared file")) {
+            deleted.add(createDeletedBitstream(content));
+        }
+        // a live bitstream keeps the file it shares with a deleted one
+        Bitstream kept = createBitstream("Kept file");
+        deleted.add(createDeletedBitstream("Kept file"));
+        context.restoreAuthSystemState();
+        Map<String, File> files = new HashMap<>();
+        for (Bitstream bitstream : deleted) {
+            files.put(bitstream.getInternalId(), store.getFile(bitstream));
+        }
+        context.commit();
+
+        bitstreamStorageService.cleanup(true, false, false, 2);
+        context.uncacheEntities();
+
+        for (Bitstream bitstream : deleted) {
+            assertThat(bitstreamService.find(context, bitstream.getID()), nullValue());
+        }
+        // each unshared file is removed once, even when its rows are expunged in different batches
+        files.remove(kept.getInternalId());
+        assertThat(removed.size(), is(files.size()));
+        assertThat(removed, everyItem(in(files.keySet())));
+        for (Map.Entry<String, File> file : files.entrySet()) {
+            assertThat(file.getValue().exists(), is(false));
+            assertThat(bitstreamContentDAO.findByInternalId(context, kept.getStoreNumber(), file.getKey()),
+                       nullValue());
+        }
+
+        BitstreamContent content = bitstreamContentDAO.findByInternalId(context, kept.getStoreNumber(),
+                                                                        kept.getInternalId());
+        assertThat(bitstreamContentDAO.getRefCount(context, content.getID()), is(1));
+        try (InputStream in = bitstreamStorageService.retrieve(context, bitstreamService.find(context, kept.getID()))) {
+            assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("Kept file"));
+        }
+    }
+
+    private Bitstream createBitstream(String content) throws Exception {
+        try (InputStream is = IOUtils.toInputStream(content, StandardCharsets.UTF_8)) {
+            return BitstreamBuilder.createBitstream(context, item, is).build();
+        }
+    }
+
+    /**
+     * @return a deleted bitstream whose file is old enough not to be taken for a file being stored
+     */
+    private Bitstream createDeletedBitstream(String content) throws Exception {
+        Bitstream bitstream = createBitstream(content);
+        bitstreamService.delete(context, bitstream);
+        assertThat(store.getFile(bitstream).setLastModified(System.currentTimeMillis() - 3600000), is(true));
+        return bitstream;
+    }
+}
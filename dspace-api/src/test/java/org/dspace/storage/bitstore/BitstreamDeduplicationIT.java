@@ -0,0 +1,236 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.bitstore.dao.BitstreamContentDAO;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the deduplicating mode of the assetstores
+ */
+public class BitstreamDeduplicationIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final BitstreamStorageService bitstreamStorageService
+        = StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    private final BitstreamContentDAO bitstreamContentDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(BitstreamContentDAO.class).get(0);
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private Item item;
+
+    @Before
+    public void setUpItem() throws Exception {
+        configurationService.setProperty("assetstore.deduplicate",
+                                         configurationService.getProperty("assetstore.index.primary"));
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void resetDeduplication() {
+        configurationService.setProperty("assetstore.deduplicate", null);
+    }
+
+    @Test
+    public void identicalContentIsStoredOnceTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream license = createBitstream("Same license text");
+        Bitstream sameLicense = createBitstream("Same license text");
+        Bitstream otherFile = createBitstream("Another file");
+        context.restoreAuthSystemState();
+
+        assertThat(sameLicense.getInternalId(), is(license.getInternalId()));
+        assertThat(otherFile.getInternalId(), not(license.getInternalId()));
+
+        BitstreamContent content = bitstreamContentDAO.findByInternalId(context, license.getStoreNumber(),
+                                                                        license.getInternalId());
+        assertThat(bitstreamContentDAO.getRefCount(context, content.getID()), is(2));
+        try (InputStream in = bitstreamStorageService.retrieve(context, sameLicense)) {
+            assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("Same license text"));
+        }
+    }
+
+    @Test
+    public void cloneAddsAReferenceTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Versioned file");
+        Bitstream clone = bitstreamStorageService.clone(context, bitstream);
+        context.restoreAuthSystemState();
+
+        assertThat(clone.getInternalId(), is(bitstream.getInternalId()));
+        BitstreamContent content = bitstreamContentDAO.findByInternalId(context, bitstream.getStoreNumber(),
+                                                                        bitstream.getInternalId());
+        assertThat(bitstreamContentDAO.getRefCount(context, content.getID()), is(2));
+    }
+
+    @Test
+    public void contentIsRecordedOnceTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Concurrently uploaded file");
+        context.restoreAuthSystemState();
+        BitstreamContent content = bitstreamContentDAO.findByInternalId(context, bitstream.getStoreNumber(),
+                                                                        bitstream.getInternalId());
+
+        // as if another transaction had recorded the same content under another object
+        assertThat(bitstreamContentDAO.createIfAbsent(context, new BitstreamContent(bitstream.getStoreNumber(),
+            content.getContentHash(), Utils.generateKey(), content.getSizeBytes())), is(false));
+
+        // the duplicate did not fail the transaction, and the existing object is still the one of the content
+        assertThat(bitstreamContentDAO.findByHash(context, bitstream.getStoreNumber(), content.getContentHash())
+                                      .getID(), is(content.getID()));
+        assertThat(bitstreamContentDAO.getRefCount(context, content.getID()), is(1));
+        context.commit();
+    }
+
+    @Test
+    public void cleanupWithoutExpungeReleasesTheContentTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Cleaned up file");
+        bitstreamService.delete(context, bitstream);
+        context.restoreAuthSystemState();
+        // old enough not to be taken for a file being stored
+        File file = ((DSBitStoreService) ((BitstreamStorageServiceImpl) bitstreamStorageService).getStores()
+            .get(bitstream.getStoreNumber())).getFile(bitstream);
+        assertThat(file.setLastModified(System.currentTimeMillis() - 3600000), is(true));
+        context.commit();
+
+        // keeping the rows of the deleted bitstreams, as without -l
+        bitstreamStorageService.cleanup(false, false);
+
+        assertThat(file.exists(), is(false));
+        assertThat(bitstreamContentDAO.findByInternalId(context, bitstream.getStoreNumber(),
+                                                        bitstream.getInternalId()), nullValue());
+
+        // the same content is stored again instead of being deduplicated to the removed file
+        context.turnOffAuthorisationSystem();
+        Bitstream uploadedAgain = createBitstream("Cleaned up file");
+        context.restoreAuthSystemState();
+        assertThat(uploadedAgain.getInternalId(), not(bitstream.getInternalId()));
+        BitstreamContent content = bitstreamContentDAO.findByInternalId(context, uploadedAgain.getStoreNumber(),
+                                                                        uploadedAgain.getInternalId());
+        assertThat(bitstreamContentDAO.getRefCount(context, content.getID()), is(1));
+        try (InputStream in = bitstreamStorageService.retrieve(context, uploadedAgain)) {
+            assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("Cleaned up file"));
+        }
+    }
+
+    @Test
+    public void cleanupKeepsTheFileOfAConcurrentDuplicateTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Uploaded while cleaned up");
+        bitstreamService.delete(context, bitstream);
+        context.restoreAuthSystemState();
+        Map<Integer, BitStoreService> stores = ((BitstreamStorageServiceImpl) bitstreamStorageService).getStores();
+        DSBitStoreService store = (DSBitStoreService) stores.get(bitstream.getStoreNumber());
+        File file = store.getFile(bitstream);
+        assertThat(file.setLastModified(System.currentTimeMillis() - 3600000), is(true));
+        context.commit();
+
+        // the same content is uploaded once the cleanup counted the references, while it removes the files
+        CompletableFuture<UUID> upload = new CompletableFuture<>();
+        DSBitStoreService removing = spy(store);
+        doAnswer(invocation -> {
+            new Thread(() -> {
+                try {
+                    upload.complete(uploadInAnotherContext("Uploaded while cleaned up"));
+                } catch (Exception e) {
+                    upload.completeExceptionally(e);
+                }
+            }).start();
+            return invocation.callRealMethod();
+        }).when(removing).removeAll(anyList());
+        stores.put(bitstream.getStoreNumber(), removing);
+        try {
+            bitstreamStorageService.cleanup(true, false);
+        } finally {
+            stores.put(bitstream.getStoreNumber(), store);
+        }
+
+        // the upload waited for the cleanup to commit, and stored its own copy instead of the removed file
+        Bitstream uploaded = bitstreamService.find(context, upload.get());
+        assertThat(file.exists(), is(false));
+        assertThat(uploaded.getInternalId(), not(bitstream.getInternalId()));
+        assertThat(bitstreamContentDAO.findByInternalId(context, uploaded.getStoreNumber(),
+                                                        uploaded.getInternalId()), notNullValue());
+        try (InputStream in = bitstreamStorageService.retrieve(context, uploaded)) {
+            assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("Uploaded while cleaned up"));
+        }
+
+        context.turnOffAuthorisationSystem();
+        bitstreamService.delete(context, uploaded);
+        bitstreamService.expunge(context, uploaded);
+        context.restoreAuthSystemState();
+    }
+
+    /**
+     * Store a new bitstream in a transaction of its own, as another request would
+     */
+    private UUID uploadInAnotherContext(String content) throws Exception {
+        Context otherContext = new Context();
+        try (InputStream is = IOUtils.toInputStream(content, StandardCharsets.UTF_8)) {
+            UUID id = bitstreamService.create(otherContext, is).getID();
+            otherContext.complete();
+            return id;
+        } finally {
+            if (otherContext.isValid()) {
+                otherContext.abort();
+            }
+        }
+    }
+
+    private Bitstream createBitstream(String content) throws Exception {
+        try (InputStream is = IOUtils.toInputStream(content, StandardCharsets.UTF_8)) {
+            return BitstreamBuilder.createBitstream(context, item, is).build();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.bitstore.dao.BitstreamMigrationDAO;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the migration of the bitstreams between two assetstores, its resumption and its
+ * verification of the copies
+ */
+public class BitstreamMigrationIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final int DESTINATION = 77;
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final BitstreamStorageService bitstreamStorageService
+        = StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    private final BitstreamMigrationDAO bitstreamMigrationDAO = DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServicesByType(BitstreamMigrationDAO.class).get(0);
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private Map<Integer, BitStoreService> stores;
+
+    private int sourceNumber;
+
+    private DSBitStoreService source;
+
+    private DSBitStoreService destination;
+
+    private File destinationDir;
+
+    private Item item;
+
+    @Before
+    public void setUpStores() throws Exception {
+        stores = ((BitstreamStorageServiceImpl) bitstreamStorageService).getStores();
+        sourceNumber = configurationService.getIntProperty("assetstore.index.primary");
+        source = (DSBitStoreService) stores.get(sourceNumber);
+        destinationDir = Files.createTempDirectory("assetstore-destination").toFile();
+        destination = new DSBitStoreService();
+        destination.setBaseDir(destinationDir);
+        destination.init();
+        stores.put(DESTINATION, destination);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void resetStores() throws IOException {
+        stores.put(sourceNumber, source);
+        stores.remove(DESTINATION);
+        FileUtils.deleteDirectory(destinationDir);
+    }
+
+    @Test
+    public void migrateBetweenTwoStoresTest() throws Exception {
+        List<Bitstream> bitstreams = createBitstreams("First file", "Second file", "Third file");
+        List<File> sourceFiles = new ArrayList<>();
+        for (Bitstream bitstream : bitstreams) {
+            sourceFiles.add(source.getFile(bitstream));
+        }
+        context.commit();
+
+        bitstreamStorageService.migrate(context, sourceNumber, DESTINATION, true, 2, 2, 0);
+        context.uncacheEntities();
+
+        for (int i = 0; i < bitstreams.size(); i++) {
+            Bitstream bitstream = bitstreamService.find(context, bitstreams.get(i).getID());
+            assertThat(bitstream.getStoreNumber(), is(DESTINATION));
+            assertThat(sourceFiles.get(i).exists(), is(false));
+            assertThat(read(bitstream), is(List.of("First file", "Second file", "Third file").get(i)));
+            assertMigration(bitstream, BitstreamMigration.Status.DONE);
+        }
+    }
+
+    @Test
+    public void resumeInterruptedMigrationTest() throws Exception {
+        Bitstream bitstream = createBitstreams("Interrupted file").get(0);
+        File sourceFile = source.getFile(bitstream);
+        context.commit();
+
+        // the run is interrupted once the copies are committed, before the old copies are removed
+        DSBitStoreService interrupted = spy(source);
+        doThrow(new IOException("Interrupted")).when(interrupted).remove(any(Bitstream.class));
+        stores.put(sourceNumber, interrupted);
+        try {
+            bitstreamStorageService.migrate(context, sourceNumber, DESTINATION, true, 10, 1, 0);
+            fail("The migration should have been interrupted");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), is("Interrupted"));
+        }
+        stores.put(sourceNumber, source);
+        context.uncacheEntities();
+
+        assertMigration(bitstream, BitstreamMigration.Status.COPIED);
+        assertThat(bitstreamService.find(context, bitstream.getID()).getStoreNumber(), is(DESTINATION));
+        assertThat(sourceFile.exists(), is(true));
+
+        // the resumed run removes the old copy left over
+        bitstreamStorageService.migrate(context, sourceNumber, DESTINATION, true, 10, 1, 0);
+        context.uncacheEntities();
+
+        assertMigration(bitstream, BitstreamMigration.Status.DONE);
+        assertThat(sourceFile.exists(), is(false));
+        assertThat(read(bitstreamService.find(context, bitstream.getID())), is("Interrupted file"));
+    }
+
+    @Test
+    public void checksumMismatchFailsTheMigrationTest() throws Exception {
+        Bitstream bitstream = createBitstreams("Corrupted file").get(0);
+        File sourceFile = source.getFile(bitstream);
+        context.commit();
+
+        // the copy does not have the content of the original
+        DSBitStoreService corrupting = spy(destination);
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            ((Bitstream) invocation.getArgument(0)).setChecksum(StringUtils.repeat("0", 32));
+            return null;
+        }).when(corrupting).put(any(Bitstream.class), any(InputStream.class));
+        stores.put(DESTINATION, corrupting);
+
+        bitstreamStorageService.migrate(context, sourceNumber, DESTINATION, true, 10, 1, 0);
+        context.uncacheEntities();
+
+        BitstreamMigration migration = assertMigration(bitstream, BitstreamMigration.Status.FAILED);
+        assertThat(migration.getLastError(), containsString("Checksum mismatch"));
+        Bitstream kept = bitstreamService.find(context, bitstream.getID());
+        assertThat(kept.getStoreNumber(), is(sourceNumber));
+        assertThat(sourceFile.exists(), is(true));
+        assertThat(destination.getFile(kept).exists(), is(false));
+
+        // the next run retries it
+        stores.put(DESTINATION, destination);
+        bitstreamStorageService.migrate(context, sourceNumber, DESTINATION, true, 10, 1, 0);
+        context.uncacheEntities();
+
+        migration = assertMigration(bitstream, BitstreamMigration.Status.DONE);
+        assertThat(migration.getAttempts(), is(2));
+        assertThat(read(bitstreamService.find(context, bitstream.getID())), is("Corrupted file"));
+    }
+
+    @Test
+    public void rateLimitedMigrationTest() throws Exception {
+        List<Bitstream> bitstreams = createBitstreams(StringUtils.repeat("a", 1000), StringUtils.repeat("b", 1000));
+        context.commit();
+
+        long start = System.nanoTime();
+        bitstreamStorageService.migrate(context, sourceNumber, DESTINATION, false, 10, 2, 500);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        context.uncacheEntities();
+
+        // the two streams share the limit: the first second of permits is granted at once, the rest is waited for
+        assertThat(elapsedMillis, greaterThanOrEqualTo(2000L));
+        for (Bitstream bitstream : bitstreams) {
+            assertThat(read(bitstreamService.find(context, bitstream.getID())).length(), is(1000));
+            assertMigration(bitstream, BitstreamMigration.Status.DONE);
+        }
+    }
+
+    private List<Bitstream> createBitstreams(String... contents) throws Exception {
+        List<Bitstream> bitstreams = new ArrayList<>();
+        context.turnOffAuthorisationSystem();
+        for (String content : contents) {
+            try (InputStream is = IOUtils.toInputStream(content, StandardCharsets.UTF_8)) {
+                bitstreams.add(BitstreamBuilder.createBitstream(context, item, is).build());
+            }
+        }
+        context.restoreAuthSystemState();
+        return bitstreams;
+    }
+
+    private String read(Bitstream bitstream) throws Exception {
+        try (InputStream in = bitstreamStorageService.retrieve(context, bitstream)) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+
+    private BitstreamMigration assertMigration(Bitstream bitstream, BitstreamMigration.Status status)
+        throws Exception {
+        BitstreamMigration migration = bitstreamMigrationDAO.findByID(context, BitstreamMigration.class,
+                                                                      bitstream.getID());
+        assertThat(migration.getStatus(), is(status));
+        assertThat(migration.getDestinationStore(), is(DESTINATION));
+        return migration;
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractUnitTest;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Utils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+/**
+ * Unit tests of the read-through cache of {@link CachingBitStoreService}
+ */
+public class CachingBitStoreServiceTest extends AbstractUnitTest {
+
+    private CachingBitStoreService cachingBitStoreService;
+
+    @Mock
+    private BitStoreService bitStoreService;
+
+    private Path cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheDir = Files.createTempDirectory("bitstore-cache");
+        when(bitStoreService.isEnabled()).thenReturn(true);
+        when(bitStoreService.isInitialized()).thenReturn(true);
+
+        cachingBitStoreService = new CachingBitStoreService();
+        cachingBitStoreService.setBitStoreService(bitStoreService);
+        cachingBitStoreService.setCacheDir(cacheDir.toString());
+        cachingBitStoreService.setMaxSize(20);
+        cachingBitStoreService.init();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testSecondReadIsServedFromTheCache() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "cached content");
+        when(bitStoreService.get(bitstream))
+            .thenReturn(new ByteArrayInputStream("cached content".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(read(bitstream), is("cached content"));
+        assertThat(read(bitstream), is("cached content"));
+
+        verify(bitStoreService, times(1)).get(bitstream);
+        assertThat(cachingBitStoreService.getMisses(), is(1L));
+        assertThat(cachingBitStoreService.getHits(), is(1L));
+    }
+
+    @Test
+    public void testConcurrentReadsShareOneDownload() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "shared content");
+        CountDownLatch downloading = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+        when(bitStoreService.get(bitstream)).thenAnswer(invocation -> {
+            downloading.countDown();
+            // the download lasts until the other reads wait for it
+            waiting.await(10, TimeUnit.SECONDS);
+            return new ByteArrayInputStream("shared content".getBytes(StandardCharsets.UTF_8));
+        });
+
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> contents = new ArrayList<>();
+            contents.add(readers.submit(() -> read(bitstream)));
+            downloading.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                contents.add(readers.submit(() -> read(bitstream)));
+            }
+            while (cachingBitStoreService.getCoalesced() < 3) {
+                Thread.sleep(10);
+            }
+            waiting.countDown();
+            for (Future<String> content : contents) {
+                assertThat(content.get(10, TimeUnit.SECONDS), is("shared content"));
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        verify(bitStoreService, times(1)).get(bitstream);
+        assertThat(cachingBitStoreService.getMisses(), is(1L));
+        assertThat(cachingBitStoreService.getCoalesced(), is(3L));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        Bitstream first = mockBitstream("1", "first content");
+        Bitstream second = mockBitstream("2", "second content");
+        when(bitStoreService.get(first))
+            .thenAnswer(invocation -> new ByteArrayInputStream("first content".getBytes(StandardCharsets.UTF_8)));
+        when(bitStoreService.get(second))
+            .thenAnswer(invocation -> new ByteArrayInputStream("second content".getBytes(StandardCharsets.UTF_8)));
+
+        read(first);
+        // both do not fit in 20 bytes
+        read(second);
+        read(first);
+
+        verify(bitStoreService, times(2)).get(first);
+        assertThat(cachingBitStoreService.getEvictions(), is(2L));
+        assertThat(cachingBitStoreService.getCurrentSize(), is(13L));
+    }
+
+    @Test
+    public void testCorruptCopyIsNotCached() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "expected content");
+        when(bitStoreService.get(bitstream))
+            .thenAnswer(invocation -> new ByteArrayInputStream("altered content!".getBytes(StandardCharsets.UTF_8)));
+
+        read(bitstream);
+
+        assertThat(cachingBitStoreService.getCurrentSize(), is(0L));
+        verify(bitStoreService, times(2)).get(bitstream);
+    }
+
+    @Test
+    public void testRemoveDropsTheCachedCopy() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "removed content");
+        when(bitStoreService.get(bitstream))
+            .thenReturn(new ByteArrayInputStream("removed content".getBytes(StandardCharsets.UTF_8)));
+        read(bitstream);
+
+        cachingBitStoreService.remove(bitstream);
+
+        verify(bitStoreService).remove(bitstream);
+        assertThat(cachingBitStoreService.getCurrentSize(), is(0L));
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertThat(files.count(), is(0L));
+        }
+    }
+
+    @Test
+    public void testRemoveKeepsTheCopiesOfOtherAssets() throws Exception {
+        Bitstream removed = mockBitstream("1", "removed");
+        Bitstream kept = mockBitstream("2", "kept");
+        when(bitStoreService.get(removed))
+            .thenAnswer(invocation -> new ByteArrayInputStream("removed".getBytes(StandardCharsets.UTF_8)));
+        when(bitStoreService.get(kept))
+            .thenAnswer(invocation -> new ByteArrayInputStream("kept".getBytes(StandardCharsets.UTF_8)));
+        read(removed);
+        read(kept);
+
+        cachingBitStoreService.remove(removed);
+        read(kept);
+
+        assertThat(cachingBitStoreService.getCurrentSize(), is(4L));
+        verify(bitStoreService, times(1)).get(kept);
+    }
+
+    private Bitstream mockBitstream(String internalId, String content) throws Exception {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        Bitstream bitstream = mock(Bitstream.class);
+        when(bitstream.getInternalId()).thenReturn(internalId);
+        when(bitstream.getSizeBytes()).thenReturn((long) bytes.length);
+        when(bitstream.getChecksum()).thenReturn(Utils.toHex(MessageDigest.getInstance("MD5").digest(bytes)));
+        when(bitstream.getChecksumAlgorithm()).thenReturn("MD5");
+        return bitstream;
+    }
+
+    private String read(Bitstream bitstream) throws Exception {
+        try (InputStream in = cachingBitStoreService.get(bitstream)) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
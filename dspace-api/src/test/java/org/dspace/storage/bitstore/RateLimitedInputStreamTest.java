@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link RateLimitedInputStream} used by the migration of the assetstores
+ */
+public class RateLimitedInputStreamTest {
+
+    private static final int RATE = 100;
+
+    @Test
+    public void testReadsTheWholeStream() throws IOException {
+        byte[] content = new byte[3 * RATE];
+        new Random(1).nextBytes(content);
+        RateLimiter rateLimiter = RateLimiter.create(10 * RATE);
+        try (InputStream in = new RateLimitedInputStream(new ByteArrayInputStream(content), rateLimiter)) {
+            int first = in.read();
+            assertEquals(content[0] & 0xff, first);
+            byte[] rest = IOUtils.toByteArray(in);
+            assertEquals(content.length - 1, rest.length);
+            assertArrayEquals(Arrays.copyOfRange(content, 1, content.length), rest);
+            // the end of the stream takes no permit
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testLimitsTheRateOfTheStreamsSharingTheLimiter() throws IOException {
+        RateLimiter rateLimiter = RateLimiter.create(RATE);
+        InputStream first = new RateLimitedInputStream(new ByteArrayInputStream(new byte[2 * RATE]), rateLimiter);
+        InputStream second = new RateLimitedInputStream(new ByteArrayInputStream(new byte[2 * RATE]), rateLimiter);
+        byte[] buffer = new byte[RATE];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 2; i++) {
+            assertEquals(RATE, first.read(buffer, 0, RATE));
+            assertEquals(RATE, second.read(buffer, 0, RATE));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // the first second of permits is granted at once, the three seconds of the next reads are waited for
+        assertTrue("Read " + 4 * RATE + " bytes in " + elapsedMillis + " ms", elapsedMillis >= 2500);
+    }
+}
@@ -44,6 +44,7 @@ import io.findify.s3mock.S3Mock;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.matcher.LambdaMatcher;
 import org.dspace.authorize.AuthorizeException;
@@ -113,6 +114,7 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     @After
     public void cleanUp() throws IOException {
+        s3BitStoreService.destroy();
         FileUtils.deleteDirectory(s3Directory);
         s3Mock.shutdown();
     }
@@ -194,6 +196,58 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamPutAndGetWithMultipartUpload() throws IOException {
+
+        s3BitStoreService.setUploadPartSize(10);
+        s3BitStoreService.setUploadThreads(2);
+        s3BitStoreService.setUploadBuffers(2);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content spanning several upload parts";
+        String contentExactlyTwoParts = "Two parts of content";
+        Bitstream bitstream = createBitstream(content);
+        Bitstream bitstreamExactlyTwoParts = createBitstream(contentExactlyTwoParts);
+        context.restoreAuthSystemState();
+
+        for (Map.Entry<Bitstream, String> entry : Map.of(bitstream, content,
+                                                         bitstreamExactlyTwoParts, contentExactlyTwoParts).entrySet()) {
+            s3BitStoreService.put(entry.getKey(), toInputStream(entry.getValue()));
+
+            assertThat(entry.getKey().getSizeBytes(), is((long) entry.getValue().length()));
+            assertThat(entry.getKey().getChecksum(), is(Utils.toHex(generateChecksum(entry.getValue()))));
+            assertThat(entry.getKey().getChecksumAlgorithm(), is(CSA));
+
+            InputStream inputStream = s3BitStoreService.get(entry.getKey());
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(entry.getValue()));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamPutAndGetWithGrowingUploadParts() throws IOException {
+
+        s3BitStoreService.setUploadPartSize(10);
+        s3BitStoreService.setUploadThreads(4);
+        s3BitStoreService.setUploadBuffers(4);
+        s3BitStoreService.init();
+
+        // 1,000 parts of 10 bytes, then parts of 20 bytes
+        String content = StringUtils.repeat("0123456789", 1000) + "parts of twenty bytes, the last one shorter";
+
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        assertThat(bitstream.getSizeBytes(), is((long) content.length()));
+        assertThat(bitstream.getChecksum(), is(Utils.toHex(generateChecksum(content))));
+        InputStream inputStream = s3BitStoreService.get(bitstream);
+        assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+    }
+
     @Test
     public void testBitstreamPutAndGetWithSubFolder() throws IOException {
 
@@ -240,6 +294,48 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testServerSideCopyBetweenBuckets() throws IOException {
+
+        s3BitStoreService.setBucketName("source-bucket");
+        s3BitStoreService.init();
+        S3BitStoreService destination = new S3BitStoreService(amazonS3Client);
+        destination.setEnabled(true);
+        destination.setBucketName("destination-bucket");
+        destination.init();
+
+        try {
+            context.turnOffAuthorisationSystem();
+            String content = "Test bitstream content";
+            Bitstream bitstream = createBitstream(content);
+            context.restoreAuthSystemState();
+            s3BitStoreService.put(bitstream, toInputStream(content));
+
+            assertTrue(destination.copyFrom(s3BitStoreService, bitstream));
+
+            assertThat(IOUtils.toString(destination.get(bitstream), UTF_8), is(content));
+            // the source object is left to the caller
+            assertThat(IOUtils.toString(s3BitStoreService.get(bitstream), UTF_8), is(content));
+        } finally {
+            destination.destroy();
+        }
+    }
+
+    @Test
+    public void testServerSideCopyFallsBackForOtherStores() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Test bitstream content");
+        context.restoreAuthSystemState();
+
+        // the asset of a store which is not S3 has to be streamed by the caller
+        assertFalse(s3BitStoreService.copyFrom(new DSBitStoreService(), bitstream));
+        IOException exception = assertThrows(IOException.class, () -> s3BitStoreService.get(bitstream));
+        assertThat(((AmazonS3Exception) exception.getCause()).getStatusCode(), is(404));
+    }
+
     @Test
     public void testAbout() throws IOException {
 
@@ -0,0 +1,156 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.rdbms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.dbcp2.DelegatingConnection;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.dspace.AbstractUnitTest;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the connections of the {@link DSpaceDataSource} pool held beyond the leak detection threshold, and of the
+ * contexts held beyond the same threshold.
+ */
+public class DSpaceDataSourceTest extends AbstractUnitTest {
+
+    private static final long THRESHOLD = 100;
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private SimpleMeterRegistry registry;
+    private DSpaceDataSource dataSource;
+    private LogEvents logEvents;
+
+    @Before
+    public void setUpDataSource() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+
+        dataSource = new DSpaceDataSource();
+        dataSource.setDriverClassName(configurationService.getProperty("db.driver"));
+        dataSource.setUrl(configurationService.getProperty("db.url"));
+        dataSource.setUsername(configurationService.getProperty("db.username"));
+        dataSource.setPassword(configurationService.getProperty("db.password"));
+        dataSource.setLeakDetectionThreshold(THRESHOLD);
+
+        logEvents = new LogEvents();
+        logEvents.start();
+        logger(DSpaceDataSource.class).addAppender(logEvents);
+        logger(Context.class).addAppender(logEvents);
+    }
+
+    @After
+    public void tearDownDataSource() throws Exception {
+        logger(DSpaceDataSource.class).removeAppender(logEvents);
+        logger(Context.class).removeAppender(logEvents);
+        logEvents.stop();
+        configurationService.setProperty("db.leakdetectionthreshold", null);
+        dataSource.close();
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    public void testConnectionHeldBeyondThreshold() throws Exception {
+        double leaks = leaks();
+        try (Connection connection = dataSource.getConnection()) {
+            long deadline = System.currentTimeMillis() + 10 * THRESHOLD;
+            while (leaks() == leaks && System.currentTimeMillis() < deadline) {
+                Thread.sleep(THRESHOLD / 2);
+            }
+            assertEquals(leaks + 1, leaks(), 0);
+            assertTrue(logged(Level.WARN, "held for more than " + THRESHOLD + " ms"));
+            // the trace of the borrowing code is logged with the warning
+            assertTrue(logEvents.events.stream().anyMatch(event -> event.getThrown() != null
+                && event.getThrown().getMessage().contains(Thread.currentThread().getName())));
+        }
+        assertTrue(logged(Level.INFO, "reported as possibly leaked was returned"));
+    }
+
+    @Test
+    public void testConnectionReturnedBeforeThreshold() throws Exception {
+        double leaks = leaks();
+        long uses = registry.get("dspace.db.connections.usage").timer().count();
+
+        Connection connection = dataSource.getConnection();
+        // the connections of the pool are wrapped to record their use
+        assertTrue(connection instanceof DelegatingConnection);
+        assertEquals(1, dataSource.getNumActive());
+        connection.close();
+        // closing a connection again neither returns it nor records its use twice
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        assertEquals(0, dataSource.getNumActive());
+        assertEquals(1, dataSource.getNumIdle());
+        assertEquals(uses + 1, registry.get("dspace.db.connections.usage").timer().count());
+        Thread.sleep(2 * THRESHOLD);
+        assertEquals(leaks, leaks(), 0);
+        assertFalse(logged(Level.WARN, "it may have leaked"));
+    }
+
+    @Test
+    public void testContextHeldBeyondThreshold() throws Exception {
+        configurationService.setProperty("db.leakdetectionthreshold", THRESHOLD);
+
+        Context longContext = new Context();
+        Thread.sleep(2 * THRESHOLD);
+        longContext.abort();
+        assertTrue(logged(Level.WARN, "long_held_context"));
+    }
+
+    private double leaks() {
+        return registry.get("dspace.db.connections.leaks").counter().count();
+    }
+
+    private boolean logged(Level level, String message) {
+        return logEvents.events.stream().anyMatch(event -> event.getLevel() == level
+            && event.getMessage().getFormattedMessage().contains(message));
+    }
+
+    private static Logger logger(Class<?> clazz) {
+        return (Logger) LogManager.getLogger(clazz);
+    }
+
+    /**
+     * Appender keeping the events logged
+     */
+    private static class LogEvents extends AbstractAppender {
+        private final List<LogEvent> events = new CopyOnWriteArrayList<>();
+
+        LogEvents() {
+            super("DSpaceDataSourceTest", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            events.add(event.toImmutable());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.subscriptions;
+
+import static org.dspace.builder.SubscribeBuilder.subscribeBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.ResourcePolicyBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.SubscriptionParameter;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.subscriptions.service.DSpaceObjectUpdates;
+import org.dspace.subscriptions.service.SubscriptionGenerator;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests of the digests of the subscribers of a collection, sharing the updates of the collection and the
+ * authorization decisions of subscribers members of the same groups.
+ */
+public class SubscriptionDigestIT extends AbstractIntegrationTestWithDatabase {
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private Collection collection;
+    private Item publicItem;
+    private Item groupItem;
+    private Item personalItem;
+    private EPerson member;
+    private EPerson memberWithPolicy;
+    private EPerson outsider;
+
+    /**
+     * The number of searches of the updates, by subscribed object ID
+     */
+    private final Map<UUID, Integer> searches = new HashMap<>();
+
+    /**
+     * The updated items of the collections in the digest of each subscriber, by subscriber ID
+     */
+    private final Map<UUID, List<Item>> digests = new HashMap<>();
+
+    @Before
+    public void setUpSubscriptions() throws Exception {
+        context.turnOffAuthorisationSystem();
+        member = EPersonBuilder.createEPerson(context).withEmail("member@example.com").build();
+        memberWithPolicy = EPersonBuilder.createEPerson(context).withEmail("member-with-policy@example.com").build();
+        outsider = EPersonBuilder.createEPerson(context).withEmail("outsider@example.com").build();
+        Group readers = GroupBuilder.createGroup(context).withName("Readers")
+                                    .addMember(member).addMember(memberWithPolicy).build();
+        Group nobody = GroupBuilder.createGroup(context).withName("Nobody").build();
+
+        Community community = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, community).build();
+        // only the readers can read the collection
+        authorizeService.removePoliciesActionFilter(context, collection, Constants.READ);
+        authorizeService.addPolicy(context, collection, Constants.READ, readers);
+
+        publicItem = ItemBuilder.createItem(context, collection).withTitle("Public").build();
+        groupItem = ItemBuilder.createItem(context, collection).withTitle("Readers only")
+                               .withReaderGroup(readers).build();
+        personalItem = ItemBuilder.createItem(context, collection).withTitle("Personal")
+                                  .withReaderGroup(nobody).build();
+        ResourcePolicyBuilder.createResourcePolicy(context, memberWithPolicy, null)
+                             .withDspaceObject(personalItem)
+                             .withAction(Constants.READ)
+                             .build();
+
+        for (EPerson subscriber : List.of(member, memberWithPolicy, outsider)) {
+            SubscriptionParameter daily = new SubscriptionParameter();
+            daily.setName("frequency");
+            daily.setValue("D");
+            subscribeBuilder(context, "content", collection, subscriber, List.of(daily)).build();
+        }
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void digestsOfSubscribersSharingTheUpdatesTest() throws Exception {
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+        service().perform(context, handler, "content", "D");
+
+        assertNull(handler.getException());
+        // the updates of the collection are searched once for all its subscribers
+        assertEquals(Map.of(collection.getID(), 1), searches);
+        // the members of the same groups, but the one with a personal policy on an item, read different updates
+        assertThat(digests.get(member.getID()), containsInAnyOrder(publicItem, groupItem));
+        assertThat(digests.get(memberWithPolicy.getID()), containsInAnyOrder(publicItem, groupItem, personalItem));
+        // the subscriber who cannot read the collection gets a digest without its updates
+        assertThat(digests.get(outsider.getID()), empty());
+    }
+
+    /**
+     * @return the subscriptions service finding the updates of the collections with {@link #searches counted}
+     * searches, and recording the {@link #digests} instead of sending them
+     */
+    @SuppressWarnings("rawtypes")
+    private SubscriptionEmailNotificationServiceImpl service() {
+        DSpaceObjectUpdates collectionUpdates = (Context c, DSpaceObject dSpaceObject, String frequency) -> {
+            searches.merge(dSpaceObject.getID(), 1, Integer::sum);
+            List<IndexableObject> updates = new ArrayList<>();
+            for (Item item : List.of(publicItem, groupItem, personalItem)) {
+                updates.add(new IndexableItem(item));
+            }
+            return updates;
+        };
+        SubscriptionGenerator<IndexableObject> generator = (c, ePerson, comm, coll) ->
+            digests.put(ePerson.getID(), coll.stream().map(update -> (Item) update.getIndexedObject())
+                                             .collect(Collectors.toList()));
+
+        SubscriptionEmailNotificationServiceImpl service =
+            new SubscriptionEmailNotificationServiceImpl(Map.of("collection", collectionUpdates),
+                                                         Map.of("content", generator));
+        ReflectionTestUtils.setField(service, "authorizeService", authorizeService);
+        ReflectionTestUtils.setField(service, "subscribeService",
+                                     ContentServiceFactory.getInstance().getSubscribeService());
+        ReflectionTestUtils.setField(service, "groupService", EPersonServiceFactory.getInstance().getGroupService());
+        ReflectionTestUtils.setField(service, "resourcePolicyService",
+                                     AuthorizeServiceFactory.getInstance().getResourcePolicyService());
+        return service;
+    }
+}
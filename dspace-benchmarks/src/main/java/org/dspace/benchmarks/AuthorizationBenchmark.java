@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmarks;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the authorization checks on all the bitstreams of an item, see
+ * {@code AuthorizeServiceImpl.authorize}. The checks of a WRITE action by a regular user are denied, after looking
+ * for administrators of each of the communities above the item.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthorizationBenchmark {
+
+    private AuthorizeService authorizeService;
+
+    @Setup
+    public void setUp(RepositoryFixture fixture) {
+        authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+    }
+
+    @Benchmark
+    public void anonymousRead(RepositoryFixture fixture, Blackhole blackhole) throws SQLException {
+        for (Bitstream bitstream : fixture.getBitstreams()) {
+            blackhole.consume(authorizeService.authorizeActionBoolean(fixture.getContext(), null, bitstream,
+                                                                      Constants.READ, true));
+        }
+    }
+
+    @Benchmark
+    public void userWrite(RepositoryFixture fixture, Blackhole blackhole) throws SQLException {
+        for (Bitstream bitstream : fixture.getBitstreams()) {
+            blackhole.consume(authorizeService.authorizeActionBoolean(fixture.getContext(), fixture.getEPerson(),
+                                                                      bitstream, Constants.WRITE, true));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compare the JSON results of a run of the benchmarks ({@code -rf json}) to baseline results, such as the ones kept
+ * in the {@code baselines} directory of this module. The benchmarks are all measured in average time per operation,
+ * so a higher score is a slowdown.
+ * <p>
+ * Usage: {@code CompareResults <baseline.json> <results.json> [maximum slowdown in percent, default 10]}
+ * <p>
+ * Exits with status 1 if a benchmark is slower than its baseline by more than the maximum slowdown, beyond the error
+ * margins of both measures.
+ */
+public class CompareResults {
+
+    private CompareResults() { }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <results.json> [maximum slowdown in percent]");
+            System.exit(2);
+        }
+        double maxSlowdown = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> baseline = readResults(new File(args[0]));
+        Map<String, JsonNode> results = readResults(new File(args[1]));
+
+        boolean regression = false;
+        for (Map.Entry<String, JsonNode> result : results.entrySet()) {
+            JsonNode reference = baseline.get(result.getKey());
+            if (reference == null) {
+                System.out.printf("%-90s no baseline%n", result.getKey());
+                continue;
+            }
+            double before = reference.get("score").asDouble();
+            double after = result.getValue().get("score").asDouble();
+            double change = (after - before) / before * 100;
+            double margin = reference.get("scoreError").asDouble(0) + result.getValue().get("scoreError").asDouble(0);
+            boolean slower = change > maxSlowdown && after - before > margin;
+            regression |= slower;
+            System.out.printf("%-90s %12.3f -> %12.3f %s  %+7.1f%%%s%n", result.getKey(), before, after,
+                              result.getValue().get("scoreUnit").asText(), change, slower ? "  REGRESSION" : "");
+        }
+        System.exit(regression ? 1 : 0);
+    }
+
+    /**
+     * @return the primary metric of each benchmark of a JSON result file, by benchmark name and parameters
+     */
+    private static Map<String, JsonNode> readResults(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(benchmark.get("benchmark").asText());
+            JsonNode params = benchmark.get("params");
+            if (params != null) {
+                Map<String, String> sortedParams = new TreeMap<>();
+                params.fields().forEachRemaining(param -> sortedParams.put(param.getKey(), param.getValue().asText()));
+                key.append(sortedParams);
+            }
+            results.put(key.toString(), benchmark.get("primaryMetric"));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.app.rest.model.CollectionRest;
+import org.dspace.app.rest.model.ItemRest;
+import org.dspace.app.rest.projection.Projection;
+import org.dspace.content.Bitstream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the conversion of the content to the objects of the REST API, see {@code ConverterService.toRest},
+ * including the check of the READ permission of the converted objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ConverterBenchmark {
+
+    @Benchmark
+    public ItemRest itemToRest(RepositoryFixture repository, WebApplicationFixture web) {
+        return web.getConverter().toRest(repository.getItem(), Projection.DEFAULT);
+    }
+
+    @Benchmark
+    public CollectionRest collectionToRest(RepositoryFixture repository, WebApplicationFixture web) {
+        return web.getConverter().toRest(repository.getCollection(), Projection.DEFAULT);
+    }
+
+    @Benchmark
+    public void bitstreamsToRest(RepositoryFixture repository, WebApplicationFixture web, Blackhole blackhole) {
+        for (Bitstream bitstream : repository.getBitstreams()) {
+            blackhole.consume(web.getConverter().toRest(bitstream, Projection.DEFAULT));
+        }
+    }
+}
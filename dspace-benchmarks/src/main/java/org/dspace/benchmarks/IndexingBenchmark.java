@@ -0,0 +1,53 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmarks;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the building of the Solr document of an item with many metadata values and bitstreams, see
+ * {@code ItemIndexFactoryImpl.buildDocument}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class IndexingBenchmark {
+
+    private ItemIndexFactory itemIndexFactory;
+
+    @Setup
+    public void setUp(RepositoryFixture fixture) {
+        itemIndexFactory = (ItemIndexFactory) IndexObjectFactoryFactory.getInstance()
+                                                                       .getIndexFactoryByType(IndexableItem.TYPE);
+    }
+
+    @Benchmark
+    public SolrInputDocument buildItemDocument(RepositoryFixture fixture) throws SQLException, IOException {
+        return itemIndexFactory.buildDocument(fixture.getContext(), new IndexableItem(fixture.getItem()));
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.content.Item;
+import org.dspace.content.MetadataValue;
+import org.dspace.content.MetadataValueComparators;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the lookup and the sorting of the metadata values of an item,
+ * see {@code DSpaceObjectServiceImpl.getMetadata} and {@link MetadataValueComparators#sort(List)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MetadataBenchmark {
+
+    private ItemService itemService;
+
+    @Setup
+    public void setUp(RepositoryFixture fixture) {
+        // the services are available once the fixture has started the kernel
+        itemService = ContentServiceFactory.getInstance().getItemService();
+    }
+
+    @Benchmark
+    public List<MetadataValue> getAllMetadata(RepositoryFixture fixture) {
+        return itemService.getMetadata(fixture.getItem(), Item.ANY, Item.ANY, Item.ANY, Item.ANY);
+    }
+
+    @Benchmark
+    public List<MetadataValue> getMetadataOfField(RepositoryFixture fixture) {
+        return itemService.getMetadata(fixture.getItem(), "dc", "subject", null, Item.ANY);
+    }
+
+    @Benchmark
+    public String getFirstMetadataValue(RepositoryFixture fixture) {
+        return itemService.getMetadataFirstValue(fixture.getItem(), "dc", "title", null, Item.ANY);
+    }
+
+    @Benchmark
+    public List<MetadataValue> sortMetadata(RepositoryFixture fixture) {
+        return MetadataValueComparators.sort(fixture.getItem().getMetadata());
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.BundleBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Repository content shared by the benchmarks: an item at the bottom of a deep tree of communities, with thousands
+ * of metadata values and many bundles of bitstreams. The content is built with the builders of the integration
+ * tests, in the H2 database of the test environment, once per trial, and deleted at the end of the trial.
+ * <p>
+ * The fixture is per thread, as the Hibernate session of the {@link Context} is bound to the thread which opened it.
+ */
+@State(Scope.Thread)
+public class RepositoryFixture extends AbstractIntegrationTestWithDatabase {
+
+    /**
+     * Number of metadata values of the item, spread over a few fields
+     */
+    @Param({"100", "2000"})
+    public int metadataValues;
+
+    /**
+     * Number of bundles of the item
+     */
+    @Param({"5"})
+    public int bundles;
+
+    /**
+     * Number of bitstreams in each bundle
+     */
+    @Param({"20"})
+    public int bitstreamsPerBundle;
+
+    /**
+     * Depth of the tree of communities above the collection of the item
+     */
+    @Param({"10"})
+    public int communityDepth;
+
+    private Collection collection;
+    private Item item;
+    private final List<Bitstream> bitstreams = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUpRepository() throws Exception {
+        initTestEnvironment();
+        initDatabase();
+        setUp();
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community 0").build();
+        for (int depth = 1; depth < communityDepth; depth++) {
+            community = CommunityBuilder.createSubCommunity(context, community)
+                                        .withName("Community " + depth)
+                                        .build();
+        }
+        collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+
+        ItemBuilder itemBuilder = ItemBuilder.createItem(context, collection)
+                                             .withTitle("Benchmark item")
+                                             .withIssueDate("2024-01-01");
+        for (int i = 0; i < metadataValues; i++) {
+            switch (i % 4) {
+                case 0:
+                    itemBuilder.withAuthor("Author, " + i);
+                    break;
+                case 1:
+                    itemBuilder.withSubject("Subject " + i);
+                    break;
+                case 2:
+                    itemBuilder.withMetadata("dc", "description", null, "Description " + i);
+                    break;
+                default:
+                    itemBuilder.withMetadata("dc", "identifier", "other", "ID-" + i);
+                    break;
+            }
+        }
+        item = itemBuilder.build();
+
+        for (int b = 0; b < bundles; b++) {
+            Bundle bundle = BundleBuilder.createBundle(context, item).withName("BUNDLE" + b).build();
+            for (int i = 0; i < bitstreamsPerBundle; i++) {
+                byte[] content = ("Bitstream " + b + "-" + i).getBytes(StandardCharsets.UTF_8);
+                bitstreams.add(BitstreamBuilder.createBitstream(context, bundle, new ByteArrayInputStream(content))
+                                               .withName("bitstream-" + b + "-" + i + ".txt")
+                                               .withMimeType("text/plain")
+                                               .build());
+            }
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // reload the entities in the session of the context, and load the metadata of the item
+        collection = context.reloadEntity(collection);
+        item = context.reloadEntity(item);
+        bitstreams.replaceAll(bitstream -> reload(bitstream));
+        ContentServiceFactory.getInstance().getItemService().getMetadata(item, Item.ANY, Item.ANY, Item.ANY,
+                                                                         Item.ANY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownRepository() throws Exception {
+        destroy();
+        destroyTestEnvironment();
+    }
+
+    private Bitstream reload(Bitstream bitstream) {
+        try {
+            return context.reloadEntity(bitstream);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    /**
+     * @return a user without any particular right on the content
+     */
+    public EPerson getEPerson() {
+        return eperson;
+    }
+
+    public Collection getCollection() {
+        return collection;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public List<Bitstream> getBitstreams() {
+        return bitstreams;
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmarks;
+
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.util.IPTable;
+import org.dspace.statistics.util.SpiderDetectorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the detection of the spiders in the usage statistics: lookups in an {@link IPTable} of many ranges,
+ * and {@code SpiderDetectorServiceImpl.isSpider} with the spider lists of the test environment. Only the kernel is
+ * started, no database is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StatisticsBenchmark {
+
+    private static final String[] AGENTS = {
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36",
+        "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)",
+        "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_4) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4",
+        "curl/8.5.0"
+    };
+
+    /**
+     * Number of entries (addresses, subnets and ranges) of the IP table
+     */
+    @Param({"5000"})
+    public int ipTableEntries;
+
+    /**
+     * Number of addresses looked up by each invocation
+     */
+    @Param({"1000"})
+    public int lookups;
+
+    private IPTable ipTable;
+    private String[] addresses;
+    private SpiderDetectorService spiderDetectorService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IPTable.IPFormatException {
+        AbstractDSpaceTest.initKernel();
+        spiderDetectorService = StatisticsServiceFactory.getInstance().getSpiderDetectorService();
+
+        Random random = new Random(42);
+        ipTable = new IPTable();
+        for (int i = 0; i < ipTableEntries; i++) {
+            String subnet = random.nextInt(224) + "." + random.nextInt(256) + "." + random.nextInt(256);
+            switch (i % 3) {
+                case 0:
+                    ipTable.add(subnet + "." + random.nextInt(256));
+                    break;
+                case 1:
+                    ipTable.add(subnet);
+                    break;
+                default:
+                    int low = random.nextInt(128);
+                    ipTable.add(subnet + "." + low + "-" + subnet + "." + (low + random.nextInt(128)));
+                    break;
+            }
+        }
+        addresses = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            addresses[i] = random.nextInt(224) + "." + random.nextInt(256) + "." + random.nextInt(256) + "."
+                + random.nextInt(256);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        AbstractDSpaceTest.destroyKernel();
+    }
+
+    @Benchmark
+    public void ipTableContains(Blackhole blackhole) throws IPTable.IPFormatException {
+        for (String address : addresses) {
+            blackhole.consume(ipTable.contains(address));
+        }
+    }
+
+    @Benchmark
+    public void isSpider(Blackhole blackhole) {
+        for (int i = 0; i < addresses.length; i++) {
+            blackhole.consume(spiderDetectorService.isSpider(addresses[i], null, null, AGENTS[i % AGENTS.length]));
+        }
+    }
+}
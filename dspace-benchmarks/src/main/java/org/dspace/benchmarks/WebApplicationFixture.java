@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmarks;
+
+import org.dspace.app.TestApplication;
+import org.dspace.app.rest.converter.ConverterService;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.app.rest.utils.DSpaceConfigurationInitializer;
+import org.dspace.app.rest.utils.DSpaceKernelInitializer;
+import org.dspace.services.RequestService;
+import org.dspace.utils.DSpace;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestContextManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+/**
+ * The Spring application of the REST API, loaded as by the integration tests of {@code dspace-server-webapp}, on the
+ * content of the {@link RepositoryFixture}. The fixture binds an anonymous request to the benchmark thread, holding
+ * the context of the content, so that the REST objects are converted as for a request of an anonymous user.
+ */
+@State(Scope.Thread)
+@SpringBootTest(classes = TestApplication.class)
+@ContextConfiguration(initializers = { DSpaceKernelInitializer.class, DSpaceConfigurationInitializer.class })
+@WebAppConfiguration
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class WebApplicationFixture {
+
+    @Autowired
+    private ConverterService converter;
+
+    private RequestService requestService;
+
+    @Setup(Level.Trial)
+    public void setUpWebApplication(RepositoryFixture repository) throws Exception {
+        // the kernel started by the repository fixture is the one of the application
+        new TestContextManager(getClass()).prepareTestInstance(this);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(ContextUtil.DSPACE_CONTEXT, repository.getContext());
+        requestService = new DSpace().getRequestService();
+        requestService.startRequest(request, new MockHttpServletResponse());
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+            "benchmark", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownWebApplication() {
+        SecurityContextHolder.clearContext();
+        requestService.endRequest(null);
+    }
+
+    public ConverterService getConverter() {
+        return converter;
+    }
+}
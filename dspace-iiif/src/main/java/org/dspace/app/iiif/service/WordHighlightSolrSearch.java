@@ -17,6 +17,7 @@ import java.util.UUID;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Named;
 import org.apache.commons.validator.routines.UrlValidator;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrQuery;
@@ -32,6 +33,7 @@ import org.dspace.app.iiif.model.generator.ContentAsTextGenerator;
 import org.dspace.app.iiif.model.generator.ManifestGenerator;
 import org.dspace.app.iiif.model.generator.SearchResultGenerator;
 import org.dspace.app.iiif.service.utils.IIIFUtils;
+import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -65,6 +67,9 @@ public class WordHighlightSolrSearch implements SearchAnnotationService {
     @Autowired
     ManifestGenerator manifestGenerator;
 
+    @Autowired @Named("solrHttpConnectionPoolService")
+    HttpConnectionPoolService httpConnectionPoolService;
+
 
     @Override
     public boolean useSearchPlugin(String className) {
@@ -86,14 +91,16 @@ public class WordHighlightSolrSearch implements SearchAnnotationService {
                 .getBooleanProperty("discovery.solr.url.validation.enabled");
         UrlValidator urlValidator = new UrlValidator(UrlValidator.ALLOW_LOCAL_URLS);
         if (urlValidator.isValid(solrService) || validationEnabled) {
-            HttpSolrClient solrServer = new HttpSolrClient.Builder(solrService).build();
-            solrServer.setUseMultiPartPost(true);
             SolrQuery solrQuery = getSolrQuery(adjustQuery(query), manifestId);
             QueryRequest req = new QueryRequest(solrQuery);
             // returns raw json response.
             req.setResponseParser(new NoOpResponseParser("json"));
             NamedList<Object> resp;
-            try {
+            // the connections are shared with the other solr clients, closing this client keeps them open
+            try (HttpSolrClient solrServer = new HttpSolrClient.Builder(solrService)
+                    .withHttpClient(httpConnectionPoolService.getClient())
+                    .build()) {
+                solrServer.setUseMultiPartPost(true);
                 resp = solrServer.request(req);
                 json =  (String) resp.get("response");
             } catch (SolrServerException | IOException e) {
@@ -0,0 +1,214 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.app;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.xoai.solr.exceptions.DSpaceSolrIndexerException;
+
+/**
+ * Pipeline compiling tasks into Solr documents with concurrent compilers, and adding the documents to Solr with a
+ * single writer, committing every batch.
+ * <p>
+ * The tasks and the documents are handed over through bounded queues. A stage waiting for room in a queue checks that
+ * the stages consuming the queue are still running, so that a stage dying, even of an {@link Error}, fails the
+ * pipeline instead of blocking it forever. A task failing to compile is logged and skipped.
+ *
+ * @param <T> the type of the tasks
+ */
+class DocumentPipeline<T> implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(DocumentPipeline.class);
+
+    /**
+     * Marks the end of the tasks for a compiler
+     */
+    private static final Object END_OF_TASKS = new Object();
+
+    /**
+     * Marks the end of the compiled documents for the writer
+     */
+    private static final SolrInputDocument END_OF_DOCUMENTS = new SolrInputDocument();
+
+    /**
+     * Compiler of the tasks of one compiler thread, created and closed by that thread.
+     *
+     * @param <T> the type of the tasks
+     */
+    interface Compiler<T> extends AutoCloseable {
+
+        /**
+         * @param task the task to compile
+         * @return the document of the task, or null to skip the task
+         * @throws Exception if the task cannot be compiled: it is skipped
+         */
+        SolrInputDocument compile(T task) throws Exception;
+
+        @Override
+        void close();
+    }
+
+    private final BlockingQueue<Object> tasks;
+    private final BlockingQueue<SolrInputDocument> documents;
+    private final ExecutorService executor;
+    private final List<Future<Void>> compilers;
+    private final List<Future<Void>> writer;
+
+    /**
+     * Start the compilers and the writer of the pipeline.
+     *
+     * @param threads         the number of compilers
+     * @param queueSize       the capacity of the queues of tasks and documents
+     * @param compilerFactory creates the compiler of each compiler thread, in that thread
+     * @param server          the Solr client the documents are added to
+     * @param batchSize       the number of documents added and committed at once
+     */
+    DocumentPipeline(int threads, int queueSize, Supplier<Compiler<T>> compilerFactory, SolrClient server,
+                     int batchSize) {
+        tasks = new ArrayBlockingQueue<>(queueSize);
+        documents = new ArrayBlockingQueue<>(queueSize);
+        executor = Executors.newFixedThreadPool(threads + 1);
+        writer = Collections.singletonList(executor.submit(() -> write(server, batchSize)));
+        compilers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            compilers.add(executor.submit(() -> compile(compilerFactory)));
+        }
+    }
+
+    /**
+     * Queue a task for compilation, waiting for room in the queue.
+     *
+     * @param task the task
+     * @throws DSpaceSolrIndexerException if a compiler failed
+     * @throws InterruptedException       if interrupted while waiting
+     */
+    void submit(T task) throws DSpaceSolrIndexerException, InterruptedException {
+        put(tasks, task, compilers);
+    }
+
+    /**
+     * Wait for the compilation of the queued tasks and the writing of their documents.
+     *
+     * @throws DSpaceSolrIndexerException if a compiler or the writer failed
+     * @throws InterruptedException       if interrupted while waiting
+     */
+    void finish() throws DSpaceSolrIndexerException, InterruptedException {
+        for (int t = 0; t < compilers.size(); t++) {
+            put(tasks, END_OF_TASKS, compilers);
+        }
+        for (Future<Void> compiler : compilers) {
+            await(compiler);
+        }
+        put(documents, END_OF_DOCUMENTS, writer);
+        await(writer.get(0));
+    }
+
+    /**
+     * Stop the stages still running.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Void compile(Supplier<Compiler<T>> compilerFactory) throws Exception {
+        try (Compiler<T> compiler = compilerFactory.get()) {
+            for (Object task = tasks.take(); task != END_OF_TASKS; task = tasks.take()) {
+                SolrInputDocument document;
+                try {
+                    document = compiler.compile((T) task);
+                } catch (Exception ex) {
+                    log.error(ex.getMessage(), ex);
+                    continue;
+                }
+                if (document != null) {
+                    put(documents, document, writer);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Void write(SolrClient server, int batchSize) throws Exception {
+        List<SolrInputDocument> list = new ArrayList<>(batchSize);
+        Exception failure = null;
+        int written = 0;
+        for (SolrInputDocument doc = documents.take(); doc != END_OF_DOCUMENTS; doc = documents.take()) {
+            if (failure != null) {
+                // Keep draining so that the compilers are never blocked on a full queue
+                continue;
+            }
+            list.add(doc);
+            if (list.size() == batchSize) {
+                try {
+                    server.add(list);
+                    server.commit();
+                    written += list.size();
+                } catch (SolrServerException | IOException ex) {
+                    failure = ex;
+                }
+                list.clear();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        if (!list.isEmpty()) {
+            server.add(list);
+            written += list.size();
+        }
+        if (written > 0) {
+            server.commit(true, true);
+        }
+        return null;
+    }
+
+    /**
+     * Put an element in a queue, waiting for room as long as the stages consuming the queue are running.
+     */
+    private static <E> void put(BlockingQueue<E> queue, E element, List<Future<Void>> consumers)
+            throws DSpaceSolrIndexerException, InterruptedException {
+        while (!queue.offer(element, 1, TimeUnit.SECONDS)) {
+            for (Future<Void> consumer : consumers) {
+                if (consumer.isDone()) {
+                    await(consumer);
+                    throw new DSpaceSolrIndexerException("A stage of the indexing pipeline ended unexpectedly");
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for a stage to finish, unwrapping any failure it ended with.
+     */
+    private static void await(Future<Void> stage) throws DSpaceSolrIndexerException, InterruptedException {
+        try {
+            stage.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            throw new DSpaceSolrIndexerException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -24,9 +24,12 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 import java.util.UUID;
 import javax.xml.stream.XMLStreamException;
 
@@ -43,6 +46,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrQuery.ORDER;
+import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
@@ -107,7 +111,7 @@ public class XOAI {
 
     private List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -273,71 +277,84 @@ public class XOAI {
     }
 
     /**
-     * Check if an item is already indexed. Using this, it is possible to check if
-     * withdrawn or nondiscoverable items have to be indexed at all.
+     * Look up the current OAI index state of a batch of items with a single Solr
+     * query. Using this, it is possible to check if withdrawn or nondiscoverable
+     * items have to be indexed at all, and whether already indexed items are
+     * currently flagged visible.
      *
-     * @param item Item that should be checked for its presence in the index.
-     * @return has it been indexed?
+     * @param ids IDs of the items that should be checked for their presence in the index.
+     * @return the "item.public" flag of every given item which has been indexed,
+     *         keyed by item ID. Items which are not indexed are absent.
      */
-    private boolean checkIfIndexed(Item item) throws IOException {
-        SolrQuery params = new SolrQuery("item.id:" + item.getID().toString()).addField("item.id");
+    private Map<UUID, Boolean> findIndexedVisibility(List<UUID> ids) throws IOException {
+        Map<UUID, Boolean> visibility = new HashMap<>();
+        if (ids.isEmpty()) {
+            return visibility;
+        }
+        StringJoiner terms = new StringJoiner(",", "{!terms f=item.id}", "");
+        for (UUID id : ids) {
+            terms.add(id.toString());
+        }
+        SolrQuery params = new SolrQuery(terms.toString()).addField("item.id").addField("item.public")
+                .setRows(ids.size());
         try {
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
-            return documents.getNumFound() == 1;
-        } catch (DSpaceSolrException | SolrServerException e) {
-            return false;
+            // POST, as the list of IDs easily exceeds the maximum length of a request line
+            QueryResponse response = solrServerResolver.getServer().query(params, SolrRequest.METHOD.POST);
+            for (SolrDocument document : response.getResults()) {
+                Object isPublic = document.getFieldValue("item.public");
+                visibility.put(UUID.fromString((String) document.getFieldValue("item.id")),
+                        isPublic != null && (boolean) isPublic);
+            }
+        } catch (SolrServerException e) {
+            log.warn("Unable to look up the indexed state of " + ids.size() + " items", e);
         }
+        return visibility;
     }
 
     /**
-     * Check if an item is flagged visible in the index.
+     * Index the given items. Items are compiled into Solr documents by a pool of
+     * "oai.import.threads" workers, each using its own read-only Context. Compiled
+     * documents are handed through a bounded queue to a single writer, which adds
+     * them to Solr and commits every "oai.import.batch.size" documents.
      *
-     * @param item Item that should be checked for its presence in the index.
-     * @return has it been indexed?
+     * @param iterator items to index
+     * @return number of items processed
+     * @throws DSpaceSolrIndexerException if the documents could not be written to Solr
      */
-    private boolean checkIfVisibleInOAI(Item item) throws IOException {
-        SolrQuery params = new SolrQuery("item.id:" + item.getID().toString()).addField("item.public");
+    private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+        int batchSize = Math.max(1, configurationService.getIntProperty("oai.import.batch.size", 1000));
+        int threads = Math.max(1, configurationService.getIntProperty("oai.import.threads", 1));
+        int queueSize = Math.max(1, configurationService.getIntProperty("oai.import.queue.size", batchSize));
+
+        SolrClient server;
         try {
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
-            if (documents.getNumFound() == 1) {
-                return (boolean) documents.get(0).getFieldValue("item.public");
-            } else {
-                return false;
-            }
-        } catch (DSpaceSolrException | SolrServerException e) {
-            return false;
+            server = solrServerResolver.getServer();
+        } catch (SolrServerException ex) {
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
-    }
 
-    private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
-        try {
-            int i = 0;
-            int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
-            SolrClient server = solrServerResolver.getServer();
-            ArrayList<SolrInputDocument> list = new ArrayList<>();
+        int i = 0;
+        try (DocumentPipeline<CompileTask> pipeline = new DocumentPipeline<>(threads, queueSize, ItemCompiler::new,
+                                                                             server, batchSize)) {
+            List<UUID> batch = new ArrayList<>(batchSize);
             while (iterator.hasNext()) {
-                try {
-                    Item item = iterator.next();
-                    if (item.getHandle() == null) {
-                        log.warn("Skipped item without handle: " + item.getID());
-                    } else {
-                        list.add(this.index(item));
-                    }
-                    // Uncache the item to keep memory consumption low
-                    context.uncacheEntity(item);
-
-                } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
-                    log.error(ex.getMessage(), ex);
+                Item item = iterator.next();
+                if (item.getHandle() == null) {
+                    log.warn("Skipped item without handle: " + item.getID());
+                } else {
+                    batch.add(item.getID());
                 }
+                // Uncache the item to keep memory consumption low
+                context.uncacheEntity(item);
+
                 i++;
                 if (i % 1000 == 0 && batchSize != 1000) {
                     System.out.println(i + " items imported so far...");
                 }
                 if (i % batchSize == 0) {
                     System.out.println(i + " items imported so far...");
-                    server.add(list);
-                    server.commit();
-                    list.clear();
+                    dispatch(batch, pipeline);
+                    batch.clear();
                     try {
                         context.uncacheEntities();
                     } catch (SQLException ex) {
@@ -345,17 +362,72 @@ public class XOAI {
                     }
                 }
             }
-            System.out.println("Total: " + i + " items");
-            if (i > 0) {
-                if (!list.isEmpty()) {
-                    server.add(list);
+            dispatch(batch, pipeline);
+            pipeline.finish();
+        } catch (SQLException | IOException ex) {
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        }
+        System.out.println("Total: " + i + " items");
+        return i;
+    }
+
+    /**
+     * Look up the index state of a batch of items and queue them for compilation.
+     */
+    private void dispatch(List<UUID> batch, DocumentPipeline<CompileTask> pipeline)
+            throws IOException, InterruptedException, DSpaceSolrIndexerException {
+        Map<UUID, Boolean> visibility = findIndexedVisibility(batch);
+        for (UUID id : batch) {
+            Boolean isCurrentlyVisible = visibility.get(id);
+            pipeline.submit(new CompileTask(id, isCurrentlyVisible != null, Boolean.TRUE.equals(isCurrentlyVisible)));
+        }
+    }
+
+    /**
+     * An item queued for compilation, along with its state in the index at the
+     * time it was queued.
+     */
+    private static class CompileTask {
+        private final UUID itemId;
+        private final boolean isIndexed;
+        private final boolean isCurrentlyVisible;
+
+        CompileTask(UUID itemId, boolean isIndexed, boolean isCurrentlyVisible) {
+            this.itemId = itemId;
+            this.isIndexed = isIndexed;
+            this.isCurrentlyVisible = isCurrentlyVisible;
+        }
+    }
+
+    /**
+     * Compiles queued items into Solr documents, using its own read-only Context.
+     * The Context is bound to the compiler thread, so it is created and closed there.
+     */
+    private class ItemCompiler implements DocumentPipeline.Compiler<CompileTask> {
+        private final Context workerContext = new Context(Context.Mode.READ_ONLY);
+
+        @Override
+        public SolrInputDocument compile(CompileTask task)
+                throws SQLException, IOException, XMLStreamException, WritingXmlException {
+            try {
+                Item item = itemService.find(workerContext, task.itemId);
+                return item != null ? index(workerContext, item, task.isIndexed, task.isCurrentlyVisible) : null;
+            } finally {
+                // Uncache everything to keep memory consumption low
+                try {
+                    workerContext.uncacheEntities();
+                } catch (SQLException ex) {
+                    log.error("Error uncaching entities", ex);
                 }
-                server.commit(true, true);
-                list.clear();
             }
-            return i;
-        } catch (SolrServerException | IOException ex) {
-            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        }
+
+        @Override
+        public void close() {
+            workerContext.abort();
         }
     }
 
@@ -364,11 +436,12 @@ public class XOAI {
      * OAI deleted status (policy start and end dates for all anonymous READ
      * policies and the standard last modification date)
      *
+     * @param context DSpace context
      * @param item Item
      * @return date
      * @throws SQLException
      */
-    private Instant getMostRecentModificationDate(Item item) throws SQLException {
+    private Instant getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Instant> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -394,7 +467,16 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    /**
+     * Compile an item into its OAI Solr document.
+     *
+     * @param context            DSpace context the item was loaded with
+     * @param item               item to compile
+     * @param isIndexed          whether the item is already present in the index
+     * @param isCurrentlyVisible whether the item is currently flagged visible in the index
+     * @return the Solr document
+     */
+    private SolrInputDocument index(Context context, Item item, boolean isIndexed, boolean isCurrentlyVisible)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -402,9 +484,7 @@ public class XOAI {
         String handle = item.getHandle();
         doc.addField("item.handle", handle);
 
-        boolean isEmbargoed = !this.isPublic(item);
-        boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
-        boolean isIndexed = this.checkIfIndexed(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
 
         /*
          * If the item is not under embargo, it should be visible. If it is, make it
@@ -425,7 +505,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -446,7 +526,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -483,7 +563,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -513,7 +593,7 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -529,7 +609,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
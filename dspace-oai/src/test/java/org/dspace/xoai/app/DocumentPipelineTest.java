@@ -0,0 +1,172 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.app;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.xoai.solr.exceptions.DSpaceSolrIndexerException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link DocumentPipeline} compiling the OAI item documents.
+ */
+public class DocumentPipelineTest {
+
+    private SolrClient server;
+    /**
+     * The IDs of the documents added to Solr, in the order they were added
+     */
+    private final List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger closedCompilers = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        server = mock(SolrClient.class);
+        doAnswer(invocation -> {
+            Collection<SolrInputDocument> documents = invocation.getArgument(0);
+            for (SolrInputDocument document : documents) {
+                written.add((Integer) document.getFieldValue("id"));
+            }
+            return null;
+        }).when(server).add(anyCollection());
+    }
+
+    @Test(timeout = 10000)
+    public void singleCompilerKeepsTheOrderOfTheTasks() throws Exception {
+        try (DocumentPipeline<Integer> pipeline = new DocumentPipeline<>(1, 2, () -> compiler(-1), server, 10)) {
+            for (int i = 0; i < 25; i++) {
+                pipeline.submit(i);
+            }
+            pipeline.finish();
+        }
+
+        assertThat(written, is(range(25)));
+        // two full batches committed on the way, the last one at the end
+        verify(server, times(3)).add(anyCollection());
+        verify(server, times(2)).commit();
+        verify(server).commit(true, true);
+        assertThat(closedCompilers.get(), is(1));
+    }
+
+    @Test(timeout = 10000)
+    public void concurrentCompilersWriteEveryDocumentOnce() throws Exception {
+        try (DocumentPipeline<Integer> pipeline = new DocumentPipeline<>(4, 3, () -> compiler(-1), server, 7)) {
+            for (int i = 0; i < 100; i++) {
+                pipeline.submit(i);
+            }
+            pipeline.finish();
+        }
+
+        assertThat(written.size(), is(100));
+        assertThat(new HashSet<>(written), is((Set<Integer>) new HashSet<>(range(100))));
+        // every compiler got its end of tasks
+        assertThat(closedCompilers.get(), is(4));
+    }
+
+    @Test(timeout = 10000)
+    public void failingTaskIsSkipped() throws Exception {
+        try (DocumentPipeline<Integer> pipeline = new DocumentPipeline<>(2, 2, () -> compiler(5), server, 4)) {
+            for (int i = 0; i < 10; i++) {
+                pipeline.submit(i);
+            }
+            pipeline.finish();
+        }
+
+        List<Integer> expected = range(10);
+        expected.remove(Integer.valueOf(5));
+        assertThat(written.stream().sorted().collect(Collectors.toList()), is(expected));
+    }
+
+    @Test(timeout = 20000)
+    public void compilerDyingOfAnErrorFailsThePipeline() throws Exception {
+        DocumentPipeline.Compiler<Integer> dying = new DocumentPipeline.Compiler<>() {
+            @Override
+            public SolrInputDocument compile(Integer task) {
+                throw new OutOfMemoryError("compiler died");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (DocumentPipeline<Integer> pipeline = new DocumentPipeline<>(1, 1, () -> dying, server, 10)) {
+            // more tasks than the queue can hold: without a check of the compilers, this would block forever
+            for (int i = 0; i < 10; i++) {
+                pipeline.submit(i);
+            }
+            pipeline.finish();
+            fail("The pipeline should fail when its only compiler died");
+        } catch (DSpaceSolrIndexerException ex) {
+            assertThat(ex.getCause() instanceof OutOfMemoryError, is(true));
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void writerFailureFailsThePipeline() throws Exception {
+        when(server.commit()).thenThrow(new SolrServerException("Solr is down"));
+        try (DocumentPipeline<Integer> pipeline = new DocumentPipeline<>(2, 1, () -> compiler(-1), server, 2)) {
+            for (int i = 0; i < 20; i++) {
+                pipeline.submit(i);
+            }
+            pipeline.finish();
+            fail("The pipeline should fail when Solr fails");
+        } catch (DSpaceSolrIndexerException ex) {
+            assertThat(ex.getCause() instanceof SolrServerException, is(true));
+        }
+        verify(server, times(0)).commit(anyBoolean(), anyBoolean());
+    }
+
+    /**
+     * @return a compiler of a document with the task as ID, failing on the given task
+     */
+    private DocumentPipeline.Compiler<Integer> compiler(int failingTask) {
+        return new DocumentPipeline.Compiler<>() {
+            @Override
+            public SolrInputDocument compile(Integer task) {
+                if (task == failingTask) {
+                    throw new IllegalStateException("Cannot compile " + task);
+                }
+                SolrInputDocument document = new SolrInputDocument();
+                document.addField("id", task);
+                return document;
+            }
+
+            @Override
+            public void close() {
+                closedCompilers.incrementAndGet();
+            }
+        };
+    }
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+}
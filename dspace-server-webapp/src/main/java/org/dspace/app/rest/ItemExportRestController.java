@@ -0,0 +1,122 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.dspace.app.itemexport.service.ItemExportService;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.service.CollectionService;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This controller streams the Simple Archive Format export of an item or of all the items of a collection as a zip
+ * archive, on the api/core/items/{uuid}/export and api/core/collections/{uuid}/export endpoints. The archive is
+ * written to the response while the items are exported, so it is sent in chunks without a content length. An export
+ * larger than the {@code org.dspace.app.itemexport.max.size} configuration is refused before anything is written,
+ * with a 413 status.
+ */
+@RestController
+@RequestMapping("/api/core")
+public class ItemExportRestController {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CollectionService collectionService;
+
+    @Autowired
+    private ItemExportService itemExportService;
+
+    /**
+     * Stream the export of an item.
+     *
+     * @param uuid              The UUID of the item to export
+     * @param migrate           Whether to export for migration, without handle and the metadata re-created on import
+     * @param excludeBitstreams Whether to leave the bitstreams out of the export
+     * @param request           The request object
+     * @param response          The response object
+     * @throws Exception If the export fails
+     */
+    @GetMapping("/items" + REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID + "/export")
+    @PreAuthorize("hasPermission(#uuid, 'ITEM', 'ADMIN')")
+    public void exportItem(@PathVariable UUID uuid,
+                           @RequestParam(name = "migrate", defaultValue = "false") boolean migrate,
+                           @RequestParam(name = "excludeBitstreams", defaultValue = "false")
+                           boolean excludeBitstreams,
+                           HttpServletRequest request, HttpServletResponse response) throws Exception {
+        Context context = ContextUtil.obtainContext(request);
+        Item item = itemService.find(context, uuid);
+        if (item == null) {
+            throw new ResourceNotFoundException("No such item: " + uuid);
+        }
+        if (!excludeBitstreams) {
+            itemExportService.checkExportSize(itemExportService.getExportDownloadSize(context, item));
+        }
+        streamExport(context, List.of(item).iterator(), "item_export_" + uuid, migrate, excludeBitstreams,
+                     response);
+    }
+
+    /**
+     * Stream the export of all the items of a collection.
+     *
+     * @param uuid              The UUID of the collection to export
+     * @param migrate           Whether to export for migration, without handle and the metadata re-created on import
+     * @param excludeBitstreams Whether to leave the bitstreams out of the export
+     * @param request           The request object
+     * @param response          The response object
+     * @throws Exception If the export fails
+     */
+    @GetMapping("/collections" + REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID + "/export")
+    @PreAuthorize("hasPermission(#uuid, 'COLLECTION', 'ADMIN')")
+    public void exportCollection(@PathVariable UUID uuid,
+                                 @RequestParam(name = "migrate", defaultValue = "false") boolean migrate,
+                                 @RequestParam(name = "excludeBitstreams", defaultValue = "false")
+                                 boolean excludeBitstreams,
+                                 HttpServletRequest request, HttpServletResponse response) throws Exception {
+        Context context = ContextUtil.obtainContext(request);
+        Collection collection = collectionService.find(context, uuid);
+        if (collection == null) {
+            throw new ResourceNotFoundException("No such collection: " + uuid);
+        }
+        if (!excludeBitstreams) {
+            itemExportService.checkExportSize(itemExportService.getExportDownloadSize(context, collection));
+        }
+        streamExport(context, itemService.findByCollection(context, collection), "collection_export_" + uuid,
+                     migrate, excludeBitstreams, response);
+    }
+
+    private void streamExport(Context context, Iterator<Item> items, String fileName, boolean migrate,
+                              boolean excludeBitstreams, HttpServletResponse response) throws Exception {
+        response.setContentType(ItemExportService.COMPRESSED_EXPORT_MIME_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                           ContentDisposition.attachment().filename(fileName + ".zip").build().toString());
+        itemExportService.exportAsZip(context, items, response.getOutputStream(), 1, migrate, excludeBitstreams);
+        response.flushBuffer();
+    }
+}
@@ -38,6 +38,25 @@ public interface AuthorizationFeatureService {
     boolean isAuthorized(Context context, AuthorizationFeature feature, BaseObjectRest object)
         throws SQLException, SearchServiceException;
 
+    /**
+     * Check if the eperson in the provided context, or the anonymous user if not loggedin, has access to the requested
+     * feature for each of the requested objects. A {@link BatchAuthorizationFeature} is checked for all the objects
+     * at once, the other features are checked object by object.
+     *
+     * @param context
+     *            the DSpace Context
+     * @param feature
+     *            the Authorization Feature to check
+     * @param objects
+     *            the objects target by the feature: references for a {@link BatchAuthorizationFeature}, full rest
+     *            objects otherwise. The objects of a type not supported by the feature are never authorized
+     * @return the objects, among the requested ones, for which the user associated with the context has access to
+     *         the feature
+     */
+    List<BaseObjectRest> findAuthorizedObjects(Context context, AuthorizationFeature feature,
+                                               List<BaseObjectRest> objects)
+        throws SQLException, SearchServiceException;
+
     /**
      * Get all the authorization features defined in the system
      *
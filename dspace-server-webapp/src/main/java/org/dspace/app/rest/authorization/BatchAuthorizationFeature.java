@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.authorization;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.app.rest.model.BaseObjectRest;
+import org.dspace.core.Context;
+import org.dspace.discovery.SearchServiceException;
+
+/**
+ * An {@link AuthorizationFeature} that can be checked for many objects at once, as done by the
+ * {@code /api/authz/authorizations/search/objects} endpoint.
+ * <p>
+ * The objects passed to a batch feature are references: rest objects of the right class holding only the
+ * identifier of the object, and its uuid for DSpace objects, see
+ * {@link org.dspace.app.rest.utils.Utils#getBaseObjectRestReferenceFromTypeAndUUID(Context, String, String)}.
+ * This saves the conversion of the objects to their full rest representation, so a batch feature MUST only rely on
+ * the type and the identifier of the objects, and load the DSpace API objects if it needs them. The features that
+ * don't implement this interface receive the full rest objects, one at a time.
+ *
+ * @see AuthorizationFeatureService#findAuthorizedObjects(Context, AuthorizationFeature, List)
+ */
+public interface BatchAuthorizationFeature extends AuthorizationFeature {
+    /**
+     * Check if the eperson in the provided context, or the anonymous user if not loggedin, has access to the feature
+     * for each of the requested objects. The search endpoint makes the checks while the context is in read-only
+     * mode, so that the authorizations, the group memberships and the administrator status cached by the context are
+     * shared by all the objects and features. The default implementation checks the objects one by one, features
+     * able to answer for many objects at once should override it.
+     *
+     * @param context
+     *            the DSpace Context
+     * @param objects
+     *            the references to the objects target by the feature, all of a type supported by the feature
+     * @return the objects, among the requested ones, for which the user associated with the context has access to
+     *         the feature
+     */
+    default List<BaseObjectRest> getAuthorizedObjects(Context context, List<BaseObjectRest> objects)
+        throws SQLException, SearchServiceException {
+        List<BaseObjectRest> authorizedObjects = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            if (isAuthorized(context, object)) {
+                authorizedObjects.add(object);
+            }
+        }
+        return authorizedObjects;
+    }
+}
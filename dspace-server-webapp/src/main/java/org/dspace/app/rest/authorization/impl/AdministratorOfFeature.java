@@ -8,9 +8,11 @@
 package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
-import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.CollectionRest;
 import org.dspace.app.rest.model.CommunityRest;
@@ -35,7 +37,7 @@ import org.springframework.stereotype.Component;
 @AuthorizationFeatureDocumentation(name = AdministratorOfFeature.NAME,
         description = "It can be used for verify that an user has access "
                     + "to the administrative features of the repository or of a specific community and collection")
-public class AdministratorOfFeature implements AuthorizationFeature {
+public class AdministratorOfFeature implements BatchAuthorizationFeature {
 
     public static final String NAME = "administratorOf";
 
@@ -63,6 +65,22 @@ public class AdministratorOfFeature implements AuthorizationFeature {
         return authService.isAdmin(context);
     }
 
+    @Override
+    public List<BaseObjectRest> getAuthorizedObjects(Context context, List<BaseObjectRest> objects)
+        throws SQLException {
+        // the administrators of the repository are administrators of all the objects
+        if (authService.isAdmin(context)) {
+            return objects;
+        }
+        List<BaseObjectRest> authorizedObjects = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            if (isAuthorized(context, object)) {
+                authorizedObjects.add(object);
+            }
+        }
+        return authorizedObjects;
+    }
+
     @Override
     public String[] getSupportedTypes() {
         return new String[]{
@@ -8,6 +8,7 @@
 package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -15,6 +16,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureService;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.utils.Utils;
 import org.dspace.core.Context;
@@ -53,6 +55,33 @@ public class AuthorizationFeatureServiceImpl implements AuthorizationFeatureServ
         return feature.isAuthorized(context, object);
     }
 
+    @Override
+    public List<BaseObjectRest> findAuthorizedObjects(Context context, AuthorizationFeature feature,
+                                                      List<BaseObjectRest> objects)
+        throws SQLException, SearchServiceException {
+        if (feature == null) {
+            return new ArrayList<>();
+        }
+        List<BaseObjectRest> supportedObjects = objects.stream()
+                .filter(object -> object != null
+                        && ArrayUtils.contains(feature.getSupportedTypes(), object.getUniqueType()))
+                .collect(Collectors.toList());
+        if (supportedObjects.isEmpty()) {
+            return supportedObjects;
+        }
+
+        if (feature instanceof BatchAuthorizationFeature) {
+            return ((BatchAuthorizationFeature) feature).getAuthorizedObjects(context, supportedObjects);
+        }
+        List<BaseObjectRest> authorizedObjects = new ArrayList<>();
+        for (BaseObjectRest object : supportedObjects) {
+            if (feature.isAuthorized(context, object)) {
+                authorizedObjects.add(object);
+            }
+        }
+        return authorizedObjects;
+    }
+
     @Override
     public List<AuthorizationFeature> findAll() {
         return features;
@@ -8,8 +8,8 @@
 package org.dspace.app.rest.authorization.impl;
 import java.sql.SQLException;
 
-import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.utils.Utils;
@@ -29,7 +29,7 @@ import org.springframework.stereotype.Component;
 @Component
 @AuthorizationFeatureDocumentation(name = CanManageBitstreamBundlesFeature.NAME,
     description = "It can be used to verify if the user can manage (ADD | REMOVE) the bundles of bitstreams of an Item")
-public class CanManageBitstreamBundlesFeature implements AuthorizationFeature {
+public class CanManageBitstreamBundlesFeature implements BatchAuthorizationFeature {
 
     public static final String NAME = "canManageBitstreamBundles";
 
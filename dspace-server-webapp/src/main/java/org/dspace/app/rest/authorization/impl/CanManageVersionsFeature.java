@@ -10,8 +10,8 @@ import java.sql.SQLException;
 import java.util.Objects;
 import java.util.UUID;
 
-import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.authorize.service.AuthorizeService;
@@ -31,7 +31,7 @@ import org.springframework.stereotype.Component;
 @Component
 @AuthorizationFeatureDocumentation(name = CanManageVersionsFeature.NAME,
     description = "It can be used to verify if the user can create/delete or update the version of an Item")
-public class CanManageVersionsFeature implements AuthorizationFeature {
+public class CanManageVersionsFeature implements BatchAuthorizationFeature {
 
     public static final String NAME = "canManageVersions";
 
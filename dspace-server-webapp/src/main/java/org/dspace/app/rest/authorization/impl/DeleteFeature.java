@@ -9,9 +9,9 @@ package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
 
-import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
 import org.dspace.app.rest.authorization.AuthorizeServiceRestUtil;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.model.BundleRest;
@@ -49,7 +49,7 @@ import org.springframework.stereotype.Component;
 @Component
 @AuthorizationFeatureDocumentation(name = DeleteFeature.NAME,
     description = "It can be used to verify if specific content can be deleted/expunged")
-public class DeleteFeature implements AuthorizationFeature {
+public class DeleteFeature implements BatchAuthorizationFeature {
 
     public final static String NAME = "canDelete";
 
@@ -9,9 +9,9 @@ package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
 
-import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
 import org.dspace.app.rest.authorization.AuthorizeServiceRestUtil;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.security.DSpaceRestPermission;
@@ -27,7 +27,7 @@ import org.springframework.stereotype.Component;
 @Component
 @AuthorizationFeatureDocumentation(name = DownloadFeature.NAME,
         description = "It can be used to verify if the user can download a bitstream")
-public class DownloadFeature implements AuthorizationFeature {
+public class DownloadFeature implements BatchAuthorizationFeature {
 
     public final static String NAME = "canDownload";
 
@@ -9,8 +9,8 @@ package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
 
-import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.model.SiteRest;
@@ -27,7 +27,7 @@ import org.springframework.stereotype.Component;
 @Component
 @AuthorizationFeatureDocumentation(name = EditItemFeature.NAME,
     description = "It can be used to verify if a user has rights to edit any item.")
-public class EditItemFeature implements AuthorizationFeature {
+public class EditItemFeature implements BatchAuthorizationFeature {
     public static final String NAME = "canEditItem";
     @Autowired
     AuthorizeService authService;
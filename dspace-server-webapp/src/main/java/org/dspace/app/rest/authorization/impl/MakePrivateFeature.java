@@ -9,9 +9,9 @@ package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
 
-import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
 import org.dspace.app.rest.authorization.AuthorizeServiceRestUtil;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.security.DSpaceRestPermission;
@@ -27,7 +27,7 @@ import org.springframework.stereotype.Component;
 @Component
 @AuthorizationFeatureDocumentation(name = MakePrivateFeature.NAME,
     description = "It can be used to verify if an item can be made private")
-public class MakePrivateFeature implements AuthorizationFeature {
+public class MakePrivateFeature implements BatchAuthorizationFeature {
 
     public final static String NAME = "canMakePrivate";
 
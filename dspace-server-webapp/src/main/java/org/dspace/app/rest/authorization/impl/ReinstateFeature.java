@@ -9,8 +9,8 @@ package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
 
-import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.utils.Utils;
@@ -31,7 +31,7 @@ import org.springframework.stereotype.Component;
 @AuthorizationFeatureDocumentation(name = ReinstateFeature.NAME,
         description = "It can be used by administrators (or community/collection delegate) to reinstate an item that "
                 + "was previously withdrawn")
-public class ReinstateFeature implements AuthorizationFeature {
+public class ReinstateFeature implements BatchAuthorizationFeature {
 
     public static final String NAME = "reinstateItem";
 
@@ -22,6 +22,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.exception.ResourceAlreadyExistsException;
+import org.dspace.app.itemexport.ItemExportException;
 import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.core.Context;
@@ -113,6 +114,12 @@ public class DSpaceApiExceptionControllerAdvice extends ResponseEntityExceptionH
                           HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(ItemExportException.class)
+    protected void handleItemExportException(HttpServletRequest request, HttpServletResponse response,
+                                             ItemExportException ex) throws IOException {
+        sendErrorResponse(request, response, ex, ex.getMessage(), HttpStatus.PAYLOAD_TOO_LARGE.value());
+    }
+
     @ExceptionHandler(MethodNotAllowedException.class)
     protected void methodNotAllowedException(HttpServletRequest request, HttpServletResponse response,
                                                   Exception ex) throws IOException {
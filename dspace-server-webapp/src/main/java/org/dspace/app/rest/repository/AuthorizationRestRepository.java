@@ -13,7 +13,10 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,6 +29,7 @@ import org.dspace.app.rest.authorization.Authorization;
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureService;
 import org.dspace.app.rest.authorization.AuthorizationRestUtil;
+import org.dspace.app.rest.authorization.BatchAuthorizationFeature;
 import org.dspace.app.rest.converter.ConverterService;
 import org.dspace.app.rest.exception.RepositoryMethodNotImplementedException;
 import org.dspace.app.rest.model.AuthorizationRest;
@@ -204,30 +208,83 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
         return converter.toRestPage(authorizations, pageable, utils.obtainProjection());
     }
 
+    /**
+     * Check the requested features for all the objects at once. The objects are first loaded as references,
+     * without converting them to rest, which is enough for the features supporting batches; they are only converted
+     * when a feature without batch support is requested. The checks are made while the context is in read-only mode,
+     * so that the authorizations, group memberships and administrator status cached by the context are shared by
+     * all the objects and features.
+     */
     private List<Authorization> findAuthorizationsByUUIDList(
         Context context,
         String type, List<String> uuidList, EPerson user,
-        List<String> featureNames) {
+        List<String> featureNames) throws SQLException {
 
         if (featureNames.isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<Authorization> authorizations = new ArrayList<>();
+        List<BaseObjectRest> objects = new ArrayList<>();
+        for (String uuid : uuidList) {
+            BaseObjectRest object = utils.getBaseObjectRestReferenceFromTypeAndUUID(context, type, uuid);
+            if (object != null) {
+                objects.add(object);
+            }
+        }
+        if (objects.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // a blank feature name stands for all the features supporting the type of the objects
+        List<AuthorizationFeature> features = new ArrayList<>();
+        for (String featureName : featureNames) {
+            if (isNotBlank(featureName)) {
+                features.add(authorizationFeatureService.find(featureName));
+            } else {
+                features.addAll(authorizationFeatureService.findByResourceType(objects.get(0).getUniqueType()));
+            }
+        }
 
-        List<BaseObjectRest> objects = uuidList.stream()
-            .map(uuid -> utils.getBaseObjectRestFromTypeAndUUID(context, type, uuid))
-            .collect(Collectors.toList());
-
-        objects.forEach(object ->
-            featureNames.forEach(featureName -> {
-                try {
-                    authorizations.addAll(authorizationsForObject(context, user, featureName, object));
-                } catch (Exception ex) {
-                    log.error("An error occurred during authorizations check");
-                    throw new RuntimeException(ex);
+        Context.Mode originalMode = context.getCurrentMode();
+        Map<AuthorizationFeature, Set<Object>> authorizedIds = new HashMap<>();
+        try {
+            context.setMode(Context.Mode.READ_ONLY);
+            List<BaseObjectRest> fullObjects = null;
+            for (AuthorizationFeature feature : features) {
+                if (feature == null || authorizedIds.containsKey(feature)) {
+                    continue;
+                }
+                List<BaseObjectRest> candidates = objects;
+                if (!(feature instanceof BatchAuthorizationFeature)) {
+                    if (fullObjects == null) {
+                        fullObjects = objects.stream()
+                            .map(object -> utils.getBaseObjectRestFromTypeAndUUID(context, type,
+                                                                                 object.getId().toString()))
+                            .collect(Collectors.toList());
+                    }
+                    candidates = fullObjects;
                 }
-            }));
+                authorizedIds.put(feature,
+                                  authorizationFeatureService.findAuthorizedObjects(context, feature, candidates)
+                                                             .stream()
+                                                             .map(BaseObjectRest::getId)
+                                                             .collect(Collectors.toSet()));
+            }
+        } catch (Exception ex) {
+            log.error("An error occurred during authorizations check");
+            throw new RuntimeException(ex);
+        } finally {
+            context.setMode(originalMode);
+        }
+
+        List<Authorization> authorizations = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            for (AuthorizationFeature feature : features) {
+                if (feature != null && authorizedIds.get(feature).contains(object.getId())) {
+                    authorizations.add(new Authorization(user, feature, object));
+                }
+            }
+        }
         return authorizations;
     }
 
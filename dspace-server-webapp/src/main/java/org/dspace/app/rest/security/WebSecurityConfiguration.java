@@ -95,6 +95,9 @@ public class WebSecurityConfiguration {
                 // Ensure /actuator/info endpoint is restricted to admins
                 .requestMatchers(new AntPathRequestMatcher(actuatorBasePath + "/info", HttpMethod.GET.name()))
                     .hasAnyAuthority(ADMIN_GRANT)
+                // Ensure /actuator/prometheus endpoint is restricted to admins
+                .requestMatchers(new AntPathRequestMatcher(actuatorBasePath + "/prometheus", HttpMethod.GET.name()))
+                    .hasAnyAuthority(ADMIN_GRANT)
                 // All other requests should be permitted at this layer because we check permissions on each method
                 // via @PreAuthorize annotations. As this code runs first, we must permitAll() here in order to pass
                 // the request on to those annotations.
@@ -55,6 +55,7 @@ import org.dspace.app.rest.exception.PaginationException;
 import org.dspace.app.rest.exception.RepositoryNotFoundException;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.CommunityRest;
+import org.dspace.app.rest.model.DSpaceObjectRest;
 import org.dspace.app.rest.model.LinkRest;
 import org.dspace.app.rest.model.LinksRest;
 import org.dspace.app.rest.model.OrcidHistoryRest;
@@ -85,6 +86,8 @@ import org.dspace.services.ConfigurationService;
 import org.dspace.services.RequestService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.util.UUIDUtils;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -1041,7 +1044,60 @@ public class Utils {
      * @return the {@link BaseObjectRest} identified by the provided uuid
      */
     public BaseObjectRest getBaseObjectRestFromTypeAndUUID(Context context, String type, String uuid) {
+        String[] split = splitType(type);
+        return findBaseObjectRest(context, split[0], split[1], uuid);
+    }
 
+    /**
+     * Gets a reference to the rest object of the specified type (i.e. "core.item", "core.collection",
+     * "workflow.workflowitem",...) having given uuid: a rest object of the right class holding only the identifier of
+     * the object, and its uuid for DSpace objects. The object is loaded from the database but not converted, so the
+     * reference is much cheaper to get than the rest object returned by
+     * {@link #getBaseObjectRestFromTypeAndUUID(Context, String, String)}. The full rest object is returned instead if
+     * its class cannot be instantiated.
+     *
+     * @param context the DSpace context
+     * @param type Object type
+     * @param uuid Object uuid
+     * @return the reference to the {@link BaseObjectRest} identified by the provided uuid, or null if it doesn't exist
+     * @throws SQLException if a database error occurs
+     */
+    @SuppressWarnings("unchecked")
+    public BaseObjectRest getBaseObjectRestReferenceFromTypeAndUUID(Context context, String type, String uuid)
+        throws SQLException {
+        String[] split = splitType(type);
+        ReloadableEntityObjectRepository repository = getReloadableEntityObjectRepository(split[0], split[1]);
+        Serializable pk = getPK(repository, uuid);
+        if (pk == null) {
+            throw new IllegalArgumentException("the supplied uuid is empty");
+        }
+        Object domainObject;
+        try {
+            context.turnOffAuthorisationSystem();
+            domainObject = repository.findDomainObjectByPk(context, pk);
+        } finally {
+            context.restoreAuthSystemState();
+        }
+        if (domainObject == null) {
+            return null;
+        }
+        BaseObjectRest reference;
+        try {
+            reference = (BaseObjectRest) BeanUtils.instantiateClass(
+                ((DSpaceRestRepository) repository).getDomainClass());
+        } catch (BeanInstantiationException e) {
+            log.debug("Unable to instantiate a reference of type {}, using the full rest object", type, e);
+            return findBaseObjectRest(context, split[0], split[1], uuid);
+        }
+        if (reference instanceof DSpaceObjectRest) {
+            ((DSpaceObjectRest) reference).setUuid(pk.toString());
+        } else {
+            reference.setId(pk);
+        }
+        return reference;
+    }
+
+    private String[] splitType(String type) {
         if (StringUtils.isBlank(type)) {
             throw new IllegalArgumentException("Type is missing");
         }
@@ -1050,11 +1106,10 @@ public class Utils {
         if (split.length != 2) {
             throw new IllegalArgumentException("Provided type is not valid: " + type);
         }
-        return findBaseObjectRest(context, split[0], split[1], uuid);
+        return split;
     }
 
-    private BaseObjectRest findBaseObjectRest(Context context, String apiCategory, String model, String uuid) {
-
+    private ReloadableEntityObjectRepository getReloadableEntityObjectRepository(String apiCategory, String model) {
         DSpaceRestRepository repository;
         try {
             repository = getResourceRepository(apiCategory, model);
@@ -1067,19 +1122,27 @@ public class Utils {
             throw new IllegalArgumentException("the repository for the category '" + apiCategory + "' and model '"
                 + model + "' was not found", e);
         }
+        return (ReloadableEntityObjectRepository) repository;
+    }
 
-        Serializable pk;
+    private Serializable getPK(ReloadableEntityObjectRepository repository, String uuid) {
         try {
             // cast the string id in the uriParts to the real pk class
-            pk = castToPKClass((ReloadableEntityObjectRepository) repository, uuid);
+            return castToPKClass(repository, uuid);
         } catch (Exception e) {
             throw new IllegalArgumentException(
                 "the supplied uuid could not be cast to a Primary Key class: " + uuid, e);
         }
+    }
+
+    private BaseObjectRest findBaseObjectRest(Context context, String apiCategory, String model, String uuid) {
+
+        ReloadableEntityObjectRepository repository = getReloadableEntityObjectRepository(apiCategory, model);
+        Serializable pk = getPK(repository, uuid);
         try {
             // disable the security as we only need to retrieve the object to further process the authorization
             context.turnOffAuthorisationSystem();
-            return (BaseObjectRest) repository.findOne(context, pk);
+            return (BaseObjectRest) ((DSpaceRestRepository) repository).findOne(context, pk);
         } finally {
             context.restoreAuthSystemState();
         }
@@ -35,6 +35,7 @@ import org.dspace.app.rest.authorization.TrueForAdminsFeature;
 import org.dspace.app.rest.authorization.TrueForLoggedUsersFeature;
 import org.dspace.app.rest.authorization.TrueForTestUsersFeature;
 import org.dspace.app.rest.authorization.TrueForUsersInGroupTestFeature;
+import org.dspace.app.rest.authorization.impl.AdministratorOfFeature;
 import org.dspace.app.rest.converter.CommunityConverter;
 import org.dspace.app.rest.converter.EPersonConverter;
 import org.dspace.app.rest.converter.ItemConverter;
@@ -2494,6 +2495,56 @@ public class AuthorizationRestRepositoryIT extends AbstractControllerIntegration
             .andExpect(jsonPath("$.page.totalElements", is(0)));
     }
 
+    /**
+     * Verify that the find by multiple objects and features mixes the features checked in batch, like
+     * {@link AdministratorOfFeature}, and the features checked object by object.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void findByMultipleObjectsAndBatchFeatureTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community com = CommunityBuilder.createCommunity(context).withName("A test community")
+                                        .withAdminGroup(eperson).build();
+        String comId = com.getID().toString();
+        CommunityRest comRest = communityConverter.convert(com, DefaultProjection.DEFAULT);
+        Community secondCom = CommunityBuilder.createCommunity(context).withName("Another test community").build();
+        String secondComId = secondCom.getID().toString();
+        CommunityRest secondComRest = communityConverter.convert(secondCom, DefaultProjection.DEFAULT);
+        context.restoreAuthSystemState();
+
+        Supplier<MockHttpServletRequestBuilder> baseFeatureRequest = () ->
+            get("/api/authz/authorizations/search/objects")
+                .param("type", "core.communities")
+                .param("uuid", comId)
+                .param("uuid", secondComId)
+                .param("feature", AdministratorOfFeature.NAME)
+                .param("feature", alwaysTrue.getName());
+
+        String adminToken = getAuthToken(admin.getEmail(), password);
+        getClient(adminToken).perform(baseFeatureRequest.get())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page.totalElements", is(4)))
+            .andExpect(jsonPath("$._embedded.authorizations[*].id", containsInAnyOrder(
+                admin.getID() + "_" + AdministratorOfFeature.NAME + "_" + comRest.getUniqueType() + "_" + comId,
+                admin.getID() + "_" + alwaysTrue.getName() + "_" + comRest.getUniqueType() + "_" + comId,
+                admin.getID() + "_" + AdministratorOfFeature.NAME + "_" + secondComRest.getUniqueType() + "_"
+                    + secondComId,
+                admin.getID() + "_" + alwaysTrue.getName() + "_" + secondComRest.getUniqueType() + "_"
+                    + secondComId)));
+
+        // the eperson is only administrator of the first community
+        String epersonToken = getAuthToken(eperson.getEmail(), password);
+        getClient(epersonToken).perform(baseFeatureRequest.get())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page.totalElements", is(3)))
+            .andExpect(jsonPath("$._embedded.authorizations[*].id", containsInAnyOrder(
+                eperson.getID() + "_" + AdministratorOfFeature.NAME + "_" + comRest.getUniqueType() + "_" + comId,
+                eperson.getID() + "_" + alwaysTrue.getName() + "_" + comRest.getUniqueType() + "_" + comId,
+                eperson.getID() + "_" + alwaysTrue.getName() + "_" + secondComRest.getUniqueType() + "_"
+                    + secondComId)));
+    }
+
     /**
      * Verify that the find by multiple objects and features
      * return the 204 No Content code when the requested object doesn't exist
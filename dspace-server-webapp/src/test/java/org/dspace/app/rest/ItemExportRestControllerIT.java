@@ -0,0 +1,153 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.app.itemexport.factory.ItemExportServiceFactory;
+import org.dspace.app.itemexport.service.ItemExportService;
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration test of the streamed Simple Archive Format exports of {@link ItemExportRestController}
+ */
+public class ItemExportRestControllerIT extends AbstractControllerIntegrationTest {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private Collection collection;
+    private Item item;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection").build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Exported item").build();
+        try (InputStream is = IOUtils.toInputStream("exported file", StandardCharsets.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, item, is).withName("file.txt").build();
+        }
+        ItemBuilder.createItem(context, collection).withTitle("Another item").build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void exportItemTest() throws Exception {
+        String token = getAuthToken(admin.getEmail(), password);
+        byte[] zip = getClient(token).perform(get("/api/core/items/" + item.getID() + "/export"))
+                                     .andExpect(status().isOk())
+                                     .andExpect(content().contentType("application/zip"))
+                                     .andExpect(header().string("Content-Disposition", containsString("attachment")))
+                                     .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(entryNames(zip), containsInAnyOrder("1/dublin_core.xml", "1/file.txt", "1/contents",
+                                                       "1/collections", "1/handle"));
+    }
+
+    @Test
+    public void exportCollectionTest() throws Exception {
+        String token = getAuthToken(admin.getEmail(), password);
+        byte[] zip = getClient(token).perform(get("/api/core/collections/" + collection.getID() + "/export")
+                                                  .param("excludeBitstreams", "true"))
+                                     .andExpect(status().isOk())
+                                     .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(entryNames(zip), containsInAnyOrder("1/dublin_core.xml", "1/contents", "1/collections",
+                                                       "1/handle", "2/dublin_core.xml", "2/contents",
+                                                       "2/collections", "2/handle"));
+    }
+
+    @Test
+    public void exportTooLargeTest() throws Exception {
+        // less than the size of the exported file
+        configurationService.setProperty("org.dspace.app.itemexport.max.size", "0.000001");
+        String token = getAuthToken(admin.getEmail(), password);
+        getClient(token).perform(get("/api/core/items/" + item.getID() + "/export"))
+                        .andExpect(status().isPayloadTooLarge());
+        getClient(token).perform(get("/api/core/collections/" + collection.getID() + "/export"))
+                        .andExpect(status().isPayloadTooLarge());
+        // without the bitstreams, the size of the export is not limited
+        getClient(token).perform(get("/api/core/items/" + item.getID() + "/export")
+                                     .param("excludeBitstreams", "true"))
+                        .andExpect(status().isOk());
+    }
+
+    @Test
+    public void exportSizeTest() throws Exception {
+        ItemExportService itemExportService = ItemExportServiceFactory.getInstance().getItemExportService();
+        context.turnOffAuthorisationSystem();
+        Collection other = CollectionBuilder.createCollection(context, parentCommunity).withName("Other").build();
+        Item otherItem = ItemBuilder.createItem(context, other).withTitle("Other item").build();
+        try (InputStream is = IOUtils.toInputStream("other file", StandardCharsets.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, otherItem, is).withName("other.txt").build();
+        }
+        // the mapped items are exported with the collection
+        ContentServiceFactory.getInstance().getCollectionService().addItem(context, other, item);
+        context.restoreAuthSystemState();
+
+        long itemSize = "exported file".length();
+        assertThat(itemExportService.getExportDownloadSize(context, item), is(itemSize));
+        assertThat(itemExportService.getExportDownloadSize(context, collection), is(itemSize));
+        assertThat(itemExportService.getExportDownloadSize(context, other), is(itemSize + "other file".length()));
+    }
+
+    @Test
+    public void exportItemUnauthorizedTest() throws Exception {
+        getClient().perform(get("/api/core/items/" + item.getID() + "/export"))
+                   .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void exportItemForbiddenTest() throws Exception {
+        String token = getAuthToken(eperson.getEmail(), password);
+        getClient(token).perform(get("/api/core/items/" + item.getID() + "/export"))
+                        .andExpect(status().isForbidden());
+    }
+
+    private List<String> entryNames(byte[] zip) throws Exception {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
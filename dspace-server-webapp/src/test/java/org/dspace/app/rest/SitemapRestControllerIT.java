@@ -8,12 +8,15 @@
 package org.dspace.app.rest;
 
 import static org.dspace.builder.ItemBuilder.createItem;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.File;
+
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
 import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.builder.CollectionBuilder;
@@ -279,4 +282,36 @@ public class SitemapRestControllerIT extends AbstractControllerIntegrationTest {
         assertFalse(response.contains(configurationService.getProperty("dspace.ui.url") + "/items/"
                 + entityPublicationUndiscoverable.getID()));
     }
+
+    @Test
+    public void testSitemap_incremental() throws Exception {
+        runDSpaceScript("generate-sitemaps", "-i");
+
+        String itemShard = "sitemap_items_" + item1.getID().toString().substring(0, 2) + ".xml";
+        MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap_index.xml"))
+                                      .andExpect(status().isOk())
+                                      .andReturn();
+        String response = result.getResponse().getContentAsString();
+        // the index links to the shards, which replace the numbered sitemaps of a full run
+        assertTrue(response.contains("/sitemap_communities.xml"));
+        assertTrue(response.contains("/sitemap_collections.xml"));
+        assertTrue(response.contains("/" + itemShard));
+        assertFalse(response.contains("/sitemap0.xml"));
+        getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap0.xml"))
+                   .andExpect(status().isNotFound());
+
+        result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/" + itemShard))
+                            .andExpect(status().isOk())
+                            .andReturn();
+        response = result.getResponse().getContentAsString();
+        assertTrue(response.contains("<url><loc>" + configurationService.getProperty("dspace.ui.url") + "/items/"
+                + item1.getID() + "</loc><lastmod>"));
+
+        // a second run without any change leaves every shard untouched
+        File shardFile = new File(configurationService.getProperty("sitemap.dir"), itemShard);
+        long lastModified = shardFile.lastModified();
+        Thread.sleep(1000);
+        runDSpaceScript("generate-sitemaps", "-i");
+        assertEquals(lastModified, shardFile.lastModified());
+    }
 }